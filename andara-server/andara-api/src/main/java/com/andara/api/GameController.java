@@ -1,7 +1,9 @@
 package com.andara.api;
 
+import com.andara.application.command.CommandBus;
 import com.andara.application.game.StartNewGameCommand;
-import com.andara.application.game.StartNewGameCommandHandler;
+import com.andara.common.Result;
+import com.andara.domain.DomainEvent;
 import com.andara.domain.party.Appearance;
 import com.andara.domain.party.Attributes;
 import com.andara.domain.party.Origin;
@@ -20,10 +22,10 @@ import java.util.UUID;
 @RequestMapping("/api/v1/game")
 public class GameController {
 
-    private final StartNewGameCommandHandler startNewGameCommandHandler;
+    private final CommandBus commandBus;
 
-    public GameController(StartNewGameCommandHandler startNewGameCommandHandler) {
-        this.startNewGameCommandHandler = startNewGameCommandHandler;
+    public GameController(CommandBus commandBus) {
+        this.commandBus = commandBus;
     }
 
     /**
@@ -54,15 +56,18 @@ public class GameController {
             );
 
             // Handle command
-            StartNewGameCommandHandler.StartNewGameResponse response =
-                startNewGameCommandHandler.handle(command);
+            Result<List<DomainEvent>> result = commandBus.send(command);
+            if (!result.isSuccess()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "errors", result.getErrors()));
+            }
 
             // Return response
             return ResponseEntity.ok(Map.of(
                 "success", true,
-                "instanceId", response.instanceId().toString(),
-                "partyId", response.partyId().toString(),
-                "characterId", response.characterId().toString()
+                "instanceId", command.instanceId().toString(),
+                "partyId", command.partyId().toString(),
+                "characterId", command.characterId().toString()
             ));
 
         } catch (IllegalArgumentException e) {
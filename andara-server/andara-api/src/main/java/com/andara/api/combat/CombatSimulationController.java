@@ -0,0 +1,55 @@
+package com.andara.api.combat;
+
+import com.andara.application.combat.CombatSimulationService;
+import com.andara.domain.combat.SimulationReport;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * REST controller for combat balancing tools.
+ * TODO: Add @PreAuthorize("hasRole('ADMIN')") when authentication is implemented
+ */
+@RestController
+@RequestMapping("/api/admin/combat")
+public class CombatSimulationController {
+    private static final Logger log = LoggerFactory.getLogger(CombatSimulationController.class);
+
+    private final CombatSimulationService simulationService;
+
+    public CombatSimulationController(CombatSimulationService simulationService) {
+        this.simulationService = simulationService;
+    }
+
+    /**
+     * Simulate a batch of encounters between sides of NPC templates.
+     * The seed is returned so the batch can be reproduced exactly.
+     */
+    @PostMapping("/simulations")
+    // TODO: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> simulate(@Valid @RequestBody CombatSimulationRequestDto request) {
+        try {
+            CombatSimulationService.SimulationRequest simulation =
+                request.toRequest(ThreadLocalRandom.current().nextLong());
+            SimulationReport report = simulationService.simulate(simulation);
+            return ResponseEntity.ok(Map.of(
+                "seed", simulation.seed(),
+                "report", report
+            ));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to run combat simulation", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to run combat simulation: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.andara.api.combat;
+
+import com.andara.application.combat.CombatSimulationService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for a bulk combat simulation request.
+ */
+public record CombatSimulationRequestDto(
+    @NotNull(message = "Sides are required")
+    @Size(min = 2, message = "At least two sides are required")
+    List<@Valid SideDto> sides,
+
+    @Min(value = 1, message = "Encounters must be at least 1")
+    Integer encounters,
+
+    Long seed,
+
+    @Min(value = 1, message = "Width must be at least 1")
+    @Max(value = MAX_SIZE, message = "Width must be at most 256")
+    Integer width,
+
+    @Min(value = 1, message = "Height must be at least 1")
+    @Max(value = MAX_SIZE, message = "Height must be at most 256")
+    Integer height
+) {
+    public static final int DEFAULT_ENCOUNTERS = 1000;
+    public static final int DEFAULT_WIDTH = 20;
+    public static final int DEFAULT_HEIGHT = 12;
+    public static final int MAX_SIZE = 256;
+
+    /**
+     * @param weaponTemplateId Weapon item template the whole side uses instead of its inventory
+     */
+    public record SideDto(
+        @NotEmpty(message = "Each side needs at least one NPC")
+        List<String> npcIds,
+
+        String weaponTemplateId
+    ) {
+    }
+
+    public CombatSimulationService.SimulationRequest toRequest(long defaultSeed) {
+        return new CombatSimulationService.SimulationRequest(
+            sides.stream()
+                .map(side -> new CombatSimulationService.Side(side.npcIds(), side.weaponTemplateId()))
+                .toList(),
+            encounters != null ? encounters : DEFAULT_ENCOUNTERS,
+            seed != null ? seed : defaultSeed,
+            width != null ? width : DEFAULT_WIDTH,
+            height != null ? height : DEFAULT_HEIGHT
+        );
+    }
+}
@@ -1,6 +1,8 @@
 package com.andara.api.content;
 
+import com.andara.application.content.ContentDependencyIndex;
 import com.andara.application.content.ContentImportService;
+import com.andara.application.content.ContentInUseException;
 import com.andara.application.content.ContentQueryService;
 import com.andara.application.content.ContentRepositoryService;
 import com.andara.content.ContentType;
@@ -12,8 +14,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * REST controller for content CRUD operations.
@@ -23,27 +27,36 @@ import java.util.Map;
 @RequestMapping("/api/admin/content")
 public class ContentController {
     private static final Logger log = LoggerFactory.getLogger(ContentController.class);
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_LOOT_ROLLS = 10_000;
     
     private final ContentQueryService queryService;
     private final ContentRepositoryService repositoryService;
     private final ContentImportService importService;
+    private final ContentDependencyIndex dependencyIndex;
 
     public ContentController(
         ContentQueryService queryService,
         ContentRepositoryService repositoryService,
-        ContentImportService importService
+        ContentImportService importService,
+        ContentDependencyIndex dependencyIndex
     ) {
         this.queryService = queryService;
         this.repositoryService = repositoryService;
         this.importService = importService;
+        this.dependencyIndex = dependencyIndex;
     }
 
     /**
      * List all content of a given type with pagination and search.
-     * 
+     * Passing {@code after} (empty for the first page) switches to cursor pagination;
+     * follow {@code nextCursor} from each response. {@code page} is kept for
+     * existing clients but gets slower on deep pages.
+     *
      * @param contentTypeStr Content type
      * @param page Page number (default: 0)
-     * @param pageSize Page size (default: 20)
+     * @param pageSize Page size (default: 20, 1 to 500)
+     * @param after Optional cursor returned as nextCursor by the previous page
      * @param search Optional search term
      * @return Paginated list of content items
      */
@@ -53,11 +66,40 @@ public class ContentController {
         @PathVariable("type") String contentTypeStr,
         @RequestParam(value = "page", defaultValue = "0") int page,
         @RequestParam(value = "pageSize", defaultValue = "20") int pageSize,
+        @RequestParam(value = "after", required = false) String after,
         @RequestParam(value = "search", required = false) String search
     ) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", String.format("pageSize must be between 1 and %d", MAX_PAGE_SIZE)));
+        }
+        if (page < 0) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "page must not be negative"));
+        }
         try {
             ContentType contentType = ContentType.valueOf(contentTypeStr.toUpperCase());
-            
+
+            if (after != null) {
+                ContentQueryService.ContentPage result = queryService.listActiveContentAfter(
+                    contentType,
+                    after,
+                    pageSize,
+                    search
+                );
+
+                // nextCursor/totalCount may be null, which Map.of does not allow
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("items", result.items());
+                body.put("pageSize", pageSize);
+                body.put("nextCursor", result.nextCursor());
+                body.put("hasNext", result.hasNext());
+                if (result.totalCount() != null) {
+                    body.put("totalCount", result.totalCount());
+                }
+                return ResponseEntity.ok(body);
+            }
+
             ContentQueryService.ContentListResult result = queryService.listActiveContent(
                 contentType,
                 page,
@@ -74,6 +116,9 @@ public class ContentController {
                 "hasNext", result.hasNext()
             ));
             
+        } catch (ContentQueryService.InvalidCursorException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", "Invalid content type: " + contentTypeStr));
@@ -251,21 +296,24 @@ public class ContentController {
 
     /**
      * Delete content item (deactivates it, preserves version history).
+     * Refused with 409 while other active content references it, unless forced.
      * 
      * @param contentTypeStr Content type
      * @param contentId Content ID
+     * @param force Delete even if other content references it
      * @return Deletion result
      */
     @DeleteMapping("/{type}/{id}")
     // TODO: @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteContent(
         @PathVariable("type") String contentTypeStr,
-        @PathVariable("id") String contentId
+        @PathVariable("id") String contentId,
+        @RequestParam(value = "force", defaultValue = "false") boolean force
     ) {
         try {
             ContentType contentType = ContentType.valueOf(contentTypeStr.toUpperCase());
             
-            boolean deleted = repositoryService.deleteContent(contentType, contentId);
+            boolean deleted = repositoryService.deleteContent(contentType, contentId, force);
             
             if (deleted) {
                 return ResponseEntity.ok(Map.of(
@@ -276,6 +324,12 @@ public class ContentController {
                 return ResponseEntity.notFound().build();
             }
             
+        } catch (ContentInUseException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                    "error", e.getMessage(),
+                    "referencedBy", e.getReferrers()
+                ));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", "Invalid content type: " + contentTypeStr));
@@ -291,18 +345,20 @@ public class ContentController {
      * 
      * @param contentTypeStr Content type
      * @param contentId Content ID
-     * @return List of all versions
+     * @param includeContent Whether to include each version's content (rebuilt from stored deltas)
+     * @return List of all versions, metadata only unless includeContent is set
      */
     @GetMapping("/{type}/{id}/history")
     // TODO: @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getVersionHistory(
         @PathVariable("type") String contentTypeStr,
-        @PathVariable("id") String contentId
+        @PathVariable("id") String contentId,
+        @RequestParam(value = "includeContent", defaultValue = "false") boolean includeContent
     ) {
         try {
             ContentType contentType = ContentType.valueOf(contentTypeStr.toUpperCase());
             
-            List<ContentVersion> history = queryService.getVersionHistory(contentType, contentId);
+            List<ContentVersion> history = queryService.getVersionHistory(contentType, contentId, includeContent);
             
             if (history.isEmpty()) {
                 return ResponseEntity.notFound().build();
@@ -323,4 +379,215 @@ public class ContentController {
                 .body(Map.of("error", "Failed to get version history: " + e.getMessage()));
         }
     }
+
+    /**
+     * Get one version of a content item with its content.
+     * 
+     * @param contentTypeStr Content type
+     * @param contentId Content ID
+     * @param versionNumber Version number
+     * @return The version, or 404 if it does not exist
+     */
+    @GetMapping("/{type}/{id}/versions/{version}")
+    // TODO: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getVersion(
+        @PathVariable("type") String contentTypeStr,
+        @PathVariable("id") String contentId,
+        @PathVariable("version") int versionNumber
+    ) {
+        try {
+            ContentType contentType = ContentType.valueOf(contentTypeStr.toUpperCase());
+            
+            return queryService.getVersion(contentType, contentId, versionNumber)
+                .map(version -> (ResponseEntity<?>) ResponseEntity.ok(version))
+                .orElse(ResponseEntity.notFound().build());
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Invalid content type: " + contentTypeStr));
+        } catch (Exception e) {
+            log.error("Failed to get content version", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to get content version: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Diff two versions of a content item.
+     * 
+     * @param contentTypeStr Content type
+     * @param contentId Content ID
+     * @param fromVersion Source version number
+     * @param toVersion Target version number (defaults to the active version)
+     * @return RFC 6902 patch from the source version to the target
+     */
+    @GetMapping("/{type}/{id}/diff")
+    // TODO: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> diffVersions(
+        @PathVariable("type") String contentTypeStr,
+        @PathVariable("id") String contentId,
+        @RequestParam("from") int fromVersion,
+        @RequestParam(value = "to", required = false) Integer toVersion
+    ) {
+        try {
+            ContentType contentType = ContentType.valueOf(contentTypeStr.toUpperCase());
+            
+            return queryService.diffVersions(contentType, contentId, fromVersion, toVersion)
+                .map(patch -> (ResponseEntity<?>) ResponseEntity.ok(Map.of(
+                    "contentId", contentId,
+                    "contentType", contentType,
+                    "fromVersion", fromVersion,
+                    "toVersion", toVersion != null ? toVersion : "active",
+                    "patch", patch
+                )))
+                .orElse(ResponseEntity.notFound().build());
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Invalid content type: " + contentTypeStr));
+        } catch (Exception e) {
+            log.error("Failed to diff content", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to diff content: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Diff the active version of a content item against the posted content.
+     * 
+     * @param contentTypeStr Content type
+     * @param contentId Content ID
+     * @param content Candidate content, e.g. a local file
+     * @return RFC 6902 patch from the active version to the posted content
+     */
+    @PostMapping("/{type}/{id}/diff")
+    // TODO: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> diffAgainstActive(
+        @PathVariable("type") String contentTypeStr,
+        @PathVariable("id") String contentId,
+        @RequestBody Object content
+    ) {
+        try {
+            ContentType contentType = ContentType.valueOf(contentTypeStr.toUpperCase());
+            
+            return queryService.diffAgainstActive(contentType, contentId, content)
+                .map(patch -> (ResponseEntity<?>) ResponseEntity.ok(Map.of(
+                    "contentId", contentId,
+                    "contentType", contentType,
+                    "patch", patch
+                )))
+                .orElse(ResponseEntity.notFound().build());
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Invalid content type: " + contentTypeStr));
+        } catch (Exception e) {
+            log.error("Failed to diff content", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to diff content: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the active content items that reference a content item.
+     * 
+     * @param contentTypeStr Content type
+     * @param contentId Content ID
+     * @return Referencing items with the path of each reference
+     */
+    @GetMapping("/{type}/{id}/references")
+    // TODO: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getReferrers(
+        @PathVariable("type") String contentTypeStr,
+        @PathVariable("id") String contentId
+    ) {
+        try {
+            ContentType contentType = ContentType.valueOf(contentTypeStr.toUpperCase());
+            
+            return ResponseEntity.ok(Map.of(
+                "contentId", contentId,
+                "contentType", contentType,
+                "referencedBy", dependencyIndex.findReferrers(contentType, contentId)
+            ));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Invalid content type: " + contentTypeStr));
+        } catch (Exception e) {
+            log.error("Failed to get references", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to get references: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Roll the loot of a POI or encounter, for previewing drop tables.
+     * The seed is returned so the roll can be replayed exactly.
+     * 
+     * @param contentTypeStr POI_TEMPLATE or ENCOUNTER_TEMPLATE
+     * @param contentId Content ID
+     * @param seed Generator seed; random if omitted
+     * @param rolls Draws from a weighted loot table (1 to 10000)
+     */
+    @GetMapping("/{type}/{id}/loot")
+    // TODO: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rollLoot(
+        @PathVariable("type") String contentTypeStr,
+        @PathVariable("id") String contentId,
+        @RequestParam(value = "seed", required = false) Long seed,
+        @RequestParam(value = "rolls", defaultValue = "1") int rolls
+    ) {
+        if (rolls < 1 || rolls > MAX_LOOT_ROLLS) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", String.format("rolls must be between 1 and %d", MAX_LOOT_ROLLS)));
+        }
+        ContentType contentType;
+        try {
+            contentType = ContentType.valueOf(contentTypeStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Invalid content type: " + contentTypeStr));
+        }
+        
+        try {
+            long rollSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+            return queryService.rollLoot(contentType, contentId, rollSeed, rolls)
+                .map(drops -> (ResponseEntity<?>) ResponseEntity.ok(Map.of(
+                    "contentId", contentId,
+                    "contentType", contentType,
+                    "seed", rollSeed,
+                    "drops", drops
+                )))
+                .orElse(ResponseEntity.notFound().build());
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to roll loot", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to roll loot: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Rebuild the reverse-dependency index from all active content.
+     * 
+     * @return Number of references indexed
+     */
+    @PostMapping("/references/rebuild")
+    // TODO: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildReferences() {
+        try {
+            int indexed = dependencyIndex.rebuild();
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "indexedReferences", indexed
+            ));
+        } catch (Exception e) {
+            log.error("Failed to rebuild reference index", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to rebuild reference index: " + e.getMessage()));
+        }
+    }
 }
@@ -1,8 +1,10 @@
 package com.andara.api.content;
 
 import com.andara.application.content.ContentExportService;
+import com.andara.application.content.ContentPackService;
 import com.andara.content.ContentType;
 import com.andara.content.model.ExportResult;
+import com.andara.content.pack.ContentPack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -11,7 +13,10 @@ import org.springframework.web.bind.annotation.*;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * REST controller for content export operations.
@@ -23,35 +28,66 @@ public class ContentExportController {
     private static final Logger log = LoggerFactory.getLogger(ContentExportController.class);
     
     private final ContentExportService exportService;
+    private final ContentPackService packService;
 
-    public ContentExportController(ContentExportService exportService) {
+    public ContentExportController(ContentExportService exportService, ContentPackService packService) {
         this.exportService = exportService;
+        this.packService = packService;
     }
 
+    /**
+     * Export content to the server filesystem.
+     *
+     * @param contentTypeStr A content type, a comma-separated list of types, or ALL
+     * @param formatStr directory (default) or zip
+     * @param outputDir Output directory; for zip, the archive path or a directory to put content-export.zip in
+     * @param incremental Only write files that changed since the manifest already in outputDir
+     */
     @GetMapping("/export")
     // TODO: @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> exportContent(
         @RequestParam("type") String contentTypeStr,
+        @RequestParam(value = "format", defaultValue = "directory") String formatStr,
         @RequestParam(value = "outputDir", defaultValue = "./content-export") String outputDir,
         @RequestParam(value = "exportedBy", defaultValue = "system") String exportedBy,
-        @RequestParam(value = "environment", defaultValue = "unknown") String environment
+        @RequestParam(value = "environment", defaultValue = "unknown") String environment,
+        @RequestParam(value = "incremental", defaultValue = "false") boolean incremental
     ) {
+        ContentExportService.ExportFormat format;
         try {
-            ContentType contentType = ContentType.valueOf(contentTypeStr.toUpperCase());
+            format = ContentExportService.ExportFormat.valueOf(formatStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Invalid export format: " + formatStr));
+        }
+        if (incremental && format != ContentExportService.ExportFormat.DIRECTORY) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Incremental export requires the directory format"));
+        }
+        
+        try {
+            Set<ContentType> contentTypes = parseContentTypes(contentTypeStr);
             Path outputPath = Paths.get(outputDir);
+            if (format == ContentExportService.ExportFormat.ZIP && !outputDir.endsWith(".zip")) {
+                outputPath = outputPath.resolve("content-export.zip");
+            }
             
-            log.info("Exporting {} content to {}", contentType, outputPath);
+            log.info("Exporting {} content to {}", contentTypes, outputPath);
             
             ExportResult result = exportService.exportContent(
-                contentType,
+                contentTypes,
                 outputPath,
+                format,
                 exportedBy,
-                environment
+                environment,
+                incremental
             );
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "exportedCount", result.getExportedCount(),
+                "writtenCount", result.getWrittenCount(),
+                "deletedPaths", result.getDeletedPaths(),
                 "outputDirectory", result.getOutputDirectory(),
                 "manifestPath", result.getManifestPath(),
                 "errors", result.getErrors() != null ? result.getErrors() : java.util.Collections.emptyList()
@@ -66,4 +102,47 @@ public class ContentExportController {
                 .body(Map.of("error", "Export failed: " + e.getMessage()));
         }
     }
+
+    /**
+     * Compile all active content into a binary content pack and switch runtime lookups to it.
+     *
+     * @param outputPath Pack file relative to content.pack.output-directory; defaults to content.pack.path
+     */
+    @PostMapping("/pack")
+    // TODO: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> compilePack(@RequestParam(value = "output", required = false) String outputPath) {
+        try {
+            long started = System.nanoTime();
+            ContentPack pack = outputPath != null ? packService.compile(outputPath) : packService.compile();
+            Map<String, Object> counts = new LinkedHashMap<>();
+            for (ContentType contentType : ContentType.values()) {
+                counts.put(contentType.name(), pack.count(contentType));
+            }
+
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "itemCount", pack.size(),
+                "counts", counts,
+                "elapsedMs", (System.nanoTime() - started) / 1_000_000
+            ));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Content pack compile failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to compile content pack: " + e.getMessage()));
+        }
+    }
+
+    private Set<ContentType> parseContentTypes(String contentTypeStr) {
+        if ("ALL".equalsIgnoreCase(contentTypeStr.trim())) {
+            return EnumSet.allOf(ContentType.class);
+        }
+        Set<ContentType> contentTypes = EnumSet.noneOf(ContentType.class);
+        for (String type : contentTypeStr.split(",")) {
+            contentTypes.add(ContentType.valueOf(type.trim().toUpperCase()));
+        }
+        return contentTypes;
+    }
 }
@@ -4,12 +4,18 @@ import com.andara.application.content.ContentImportService;
 import com.andara.content.ContentType;
 import com.andara.content.model.ImportResult;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +28,9 @@ import java.util.Map;
 public class ContentImportController {
     private static final Logger log = LoggerFactory.getLogger(ContentImportController.class);
     
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_WINDOW_SIZE = 5000;
+    
     private final ContentImportService importService;
     private final ObjectMapper objectMapper;
 
@@ -90,4 +99,93 @@ public class ContentImportController {
                 .body(Map.of("error", "Import failed: " + e.getMessage()));
         }
     }
+
+    /**
+     * Import newline-delimited JSON (one content item per line) in fixed-size windows.
+     * The response is also NDJSON: one progress line per window, flushed as soon as the
+     * window is written, followed by a summary line. Server memory is bounded by the
+     * window size, not by the pack size.
+     */
+    @PostMapping(value = "/import/stream", consumes = {NDJSON, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    // TODO: @PreAuthorize("hasRole('ADMIN')")
+    public void importStream(
+        @RequestParam("type") String contentTypeStr,
+        @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun,
+        @RequestParam(value = "windowSize", defaultValue = "500") int windowSize,
+        @RequestParam(value = "importedBy", defaultValue = "system") String importedBy,
+        @RequestParam(value = "changeSummary", defaultValue = "") String changeSummary,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        ContentType contentType;
+        try {
+            contentType = ContentType.valueOf(contentTypeStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Invalid content type: " + contentTypeStr);
+            return;
+        }
+        if (windowSize < 1 || windowSize > MAX_WINDOW_SIZE) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                "windowSize must be between 1 and " + MAX_WINDOW_SIZE);
+            return;
+        }
+        
+        log.info("Streaming import of {} (windowSize={}, dryRun={})", contentType, windowSize, dryRun);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        OutputStream out = response.getOutputStream();
+        
+        try {
+            ContentImportService.StreamImportSummary summary = importService.importStream(
+                contentType,
+                request.getInputStream(),
+                windowSize,
+                importedBy,
+                changeSummary,
+                dryRun,
+                progress -> writeLine(out, Map.of(
+                    "window", progress.window(),
+                    "windowItems", progress.windowItems(),
+                    "processed", progress.processed(),
+                    "imported", progress.imported(),
+                    "importedIds", progress.result().getImportedIds(),
+                    "errors", progress.result().getErrors(),
+                    "warnings", progress.result().getWarnings()
+                ))
+            );
+            
+            writeLine(out, Map.of(
+                "done", true,
+                "success", summary.success(),
+                "windows", summary.windows(),
+                "processed", summary.processed(),
+                "imported", summary.imported(),
+                "dryRun", dryRun
+            ));
+        } catch (Exception e) {
+            // Status is already committed; report the failure as the last line
+            log.error("Streaming import failed", e);
+            writeLine(out, Map.of(
+                "done", true,
+                "success", false,
+                "error", "Import failed: " + e.getMessage()
+            ));
+        }
+    }
+
+    private void writeLine(OutputStream out, Map<String, Object> line) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write import progress", e);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
 }
@@ -0,0 +1,52 @@
+package com.andara.api.crafting;
+
+import com.andara.application.crafting.CraftingService;
+import com.andara.content.crafting.RecipeGraph;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST controller for crafting queries.
+ */
+@RestController
+@RequestMapping("/api/v1/crafting")
+public class CraftingController {
+    private static final Logger log = LoggerFactory.getLogger(CraftingController.class);
+
+    private final CraftingService craftingService;
+
+    public CraftingController(CraftingService craftingService) {
+        this.craftingService = craftingService;
+    }
+
+    /**
+     * Whether an item can be crafted from an inventory, and the cheapest chain of recipes if so;
+     * otherwise the raw materials that are missing.
+     */
+    @PostMapping("/plans")
+    public ResponseEntity<?> plan(@Valid @RequestBody CraftingPlanRequestDto request) {
+        try {
+            RecipeGraph.Plan plan = craftingService.plan(
+                request.itemTemplateId(),
+                request.quantityOrDefault(),
+                request.inventory() != null ? request.inventory() : Map.of(),
+                request.proficiencies() != null ? request.proficiencies() : Map.of()
+            );
+            return ResponseEntity.ok(plan);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to plan crafting of {}", request.itemTemplateId(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to plan crafting: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.andara.api.crafting;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.Map;
+
+/**
+ * DTO for a crafting query: can {@code quantity} of an item be crafted from this inventory.
+ *
+ * @param inventory     Item quantities on hand, by itemTemplateId
+ * @param proficiencies Skill levels by skill ID
+ */
+public record CraftingPlanRequestDto(
+    @NotBlank(message = "Item template ID is required")
+    String itemTemplateId,
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Max(value = 10_000, message = "Quantity must be at most 10000")
+    Integer quantity,
+
+    Map<String, Integer> inventory,
+
+    Map<String, Integer> proficiencies
+) {
+    public int quantityOrDefault() {
+        return quantity != null ? quantity : 1;
+    }
+}
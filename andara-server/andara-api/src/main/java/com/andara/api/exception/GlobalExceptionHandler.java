@@ -1,7 +1,9 @@
 package com.andara.api.exception;
 
+import com.andara.domain.ConcurrencyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -29,5 +31,30 @@ public class GlobalExceptionHandler {
                 "message", e.getMessage() != null ? e.getMessage() : "Invalid argument provided"
             ));
     }
-}
 
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidBody(MethodArgumentNotValidException e) {
+        // Without this the catch-all above turns a failed @Valid body into a 500
+        String message = e.getBindingResult().getAllErrors().stream()
+            .map(error -> error.getDefaultMessage())
+            .reduce((first, second) -> first + "; " + second)
+            .orElse("Invalid request body");
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(Map.of(
+                "error", "Bad Request",
+                "message", message
+            ));
+    }
+
+    @ExceptionHandler(ConcurrencyException.class)
+    public ResponseEntity<Map<String, String>> handleConcurrency(ConcurrencyException e) {
+        // Only reached once the command bus has used up its retries
+        return ResponseEntity
+            .status(HttpStatus.CONFLICT)
+            .body(Map.of(
+                "error", "Conflict",
+                "message", e.getMessage() != null ? e.getMessage() : "Concurrent modification, please retry"
+            ));
+    }
+}
@@ -0,0 +1,31 @@
+package com.andara.api.system;
+
+import com.andara.application.command.CommandRetryPolicy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for observing command execution.
+ * TODO: Add @PreAuthorize("hasRole('ADMIN')") when authentication is implemented
+ */
+@RestController
+@RequestMapping("/api/admin/commands")
+public class CommandMetricsController {
+
+    private final CommandRetryPolicy commandRetryPolicy;
+
+    public CommandMetricsController(CommandRetryPolicy commandRetryPolicy) {
+        this.commandRetryPolicy = commandRetryPolicy;
+    }
+
+    /**
+     * Command executions, concurrency conflicts, retries and the conflict rate, in total and per command.
+     */
+    @GetMapping("/metrics")
+    // TODO: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CommandRetryPolicy.Metrics> getMetrics() {
+        return ResponseEntity.ok(commandRetryPolicy.metrics());
+    }
+}
@@ -0,0 +1,31 @@
+package com.andara.api.system;
+
+import com.andara.application.system.WorldTickScheduler;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for observing the world tick.
+ * TODO: Add @PreAuthorize("hasRole('ADMIN')") when authentication is implemented
+ */
+@RestController
+@RequestMapping("/api/admin/world-tick")
+public class WorldTickController {
+
+    private final WorldTickScheduler worldTickScheduler;
+
+    public WorldTickController(WorldTickScheduler worldTickScheduler) {
+        this.worldTickScheduler = worldTickScheduler;
+    }
+
+    /**
+     * Registered, active and idle instance counts, tick totals and tick lag.
+     */
+    @GetMapping("/metrics")
+    // TODO: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WorldTickScheduler.Metrics> getMetrics() {
+        return ResponseEntity.ok(worldTickScheduler.metrics());
+    }
+}
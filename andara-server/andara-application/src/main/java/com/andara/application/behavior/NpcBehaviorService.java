@@ -0,0 +1,216 @@
+package com.andara.application.behavior;
+
+import com.andara.application.content.ContentQueryService;
+import com.andara.content.behavior.BehaviorAction;
+import com.andara.content.behavior.BehaviorPopulation;
+import com.andara.content.behavior.BehaviorSlot;
+import com.andara.content.behavior.BehaviorTree;
+import com.andara.content.behavior.Blackboard;
+import com.andara.domain.combat.Battlefield;
+import com.andara.domain.combat.BattlefieldPosition;
+import com.andara.domain.combat.CombatEncounter;
+import com.andara.domain.combat.CombatantProfile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs NPC behavior trees compiled from NPC_TEMPLATE content.
+ * World ticks evaluate a whole {@link BehaviorPopulation}: each group of NPCs sharing a tree is
+ * cut into batches of contiguous blackboard rows, and the batches run on a fixed worker pool.
+ * A batch that has not started when the tick budget runs out is skipped and keeps its previous
+ * decisions; batches are handed out from a rotating offset so an overloaded tick does not
+ * starve the same NPCs every time.
+ */
+@Service
+public class NpcBehaviorService {
+    private static final Logger log = LoggerFactory.getLogger(NpcBehaviorService.class);
+
+    private final ContentQueryService queryService;
+    private final int batchSize;
+    private final long tickBudgetNanos;
+    private final ExecutorService workerPool;
+    private final AtomicLong tickCount = new AtomicLong();
+
+    public NpcBehaviorService(
+        ContentQueryService queryService,
+        @Value("${npc.behavior.threads:0}") int threads,
+        @Value("${npc.behavior.batch-size:1024}") int batchSize,
+        @Value("${npc.behavior.tick-budget-ms:50}") long tickBudgetMillis
+    ) {
+        this.queryService = queryService;
+        this.batchSize = Math.max(1, batchSize);
+        this.tickBudgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickBudgetMillis));
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workerPool = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "npc-behavior-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdown();
+        try {
+            if (!workerPool.awaitTermination(5, TimeUnit.SECONDS)) {
+                workerPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workerPool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Lay out one NPC per template ID, in order; NPCs of the same template share its compiled tree.
+     *
+     * @throws IllegalArgumentException if a template is missing or its behavior tree does not compile
+     */
+    public BehaviorPopulation createPopulation(List<String> npcTemplateIds) {
+        Map<String, BehaviorTree> trees = new HashMap<>();
+        List<BehaviorTree> instances = new ArrayList<>(npcTemplateIds.size());
+        for (String npcTemplateId : npcTemplateIds) {
+            instances.add(trees.computeIfAbsent(npcTemplateId, this::behaviorTree));
+        }
+        return BehaviorPopulation.of(instances);
+    }
+
+    /**
+     * Evaluate every NPC of the population once, within the configured tick budget.
+     * The caller updates blackboard inputs before the tick and reads decisions after it;
+     * one population must not be ticked concurrently.
+     */
+    public TickResult tick(BehaviorPopulation population) {
+        long started = System.nanoTime();
+        long deadline = started + tickBudgetNanos;
+
+        List<Batch> batches = new ArrayList<>();
+        for (BehaviorPopulation.Group group : population.groups()) {
+            for (int from = group.from(); from < group.to(); from += batchSize) {
+                batches.add(new Batch(group.tree(), from, Math.min(group.to(), from + batchSize)));
+            }
+        }
+        if (batches.isEmpty()) {
+            return new TickResult(0, 0, 0);
+        }
+
+        Blackboard blackboard = population.blackboard();
+        AtomicInteger ticked = new AtomicInteger();
+        int offset = (int) (tickCount.getAndIncrement() % batches.size());
+        List<Future<?>> futures = new ArrayList<>(batches.size());
+        for (int i = 0; i < batches.size(); i++) {
+            Batch batch = batches.get((offset + i) % batches.size());
+            futures.add(workerPool.submit(() -> {
+                if (System.nanoTime() - deadline < 0) {
+                    batch.tree().tick(blackboard, batch.from(), batch.to());
+                    ticked.addAndGet(batch.to() - batch.from());
+                }
+            }));
+        }
+        awaitAll(futures);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        int skipped = population.size() - ticked.get();
+        if (skipped > 0) {
+            log.warn("NPC behavior tick over budget: {} of {} NPCs skipped after {} ms",
+                skipped, population.size(), elapsedMillis);
+        } else {
+            log.debug("Ticked {} NPCs in {} batches in {} ms", ticked.get(), batches.size(), elapsedMillis);
+        }
+        return new TickResult(ticked.get(), skipped, elapsedMillis);
+    }
+
+    /**
+     * Decide what an NPC combatant does on its turn, from its template's behavior and the
+     * current state of the encounter.
+     *
+     * @throws IllegalArgumentException if the template is missing or its behavior tree does not compile
+     */
+    public BehaviorAction decide(CombatEncounter encounter, String combatantId, String npcTemplateId) {
+        BehaviorTree tree = behaviorTree(npcTemplateId);
+        Blackboard blackboard = new Blackboard(1);
+        tree.initialize(blackboard, 0);
+        observe(encounter, combatantId, blackboard, 0);
+        return tree.tick(blackboard, 0);
+    }
+
+    /**
+     * Fill a blackboard row from a combatant's view of an encounter: health, whether an enemy
+     * is in sight, the distance to the nearest enemy and whether a visible enemy is within
+     * weapon range. Combatants in an encounter always count as threatened.
+     */
+    static void observe(CombatEncounter encounter, String combatantId, Blackboard blackboard, int row) {
+        CombatantProfile self = encounter.getProfile(combatantId);
+        BattlefieldPosition position = encounter.getPosition(combatantId);
+        Battlefield battlefield = encounter.getBattlefield();
+
+        boolean visible = false;
+        boolean inRange = false;
+        int nearest = Integer.MAX_VALUE;
+        for (String otherId : encounter.getInitiativeOrder()) {
+            if (!encounter.isAlive(otherId) || encounter.getProfile(otherId).team() == self.team()) {
+                continue;
+            }
+            BattlefieldPosition other = encounter.getPosition(otherId);
+            int distance = battlefield.distance(position, other);
+            nearest = Math.min(nearest, distance);
+            if (battlefield.hasLineOfSight(position, other)) {
+                visible = true;
+                inRange |= distance <= self.weapon().maxRange();
+            }
+        }
+
+        blackboard.set(row, BehaviorSlot.HEALTH, encounter.getHealth(combatantId) * 100 / self.maxHealth());
+        blackboard.set(row, BehaviorSlot.THREATENED, true);
+        blackboard.set(row, BehaviorSlot.ENEMY_VISIBLE, visible);
+        blackboard.set(row, BehaviorSlot.ENEMY_DISTANCE, nearest);
+        blackboard.set(row, BehaviorSlot.IN_ATTACK_RANGE, inRange);
+    }
+
+    private BehaviorTree behaviorTree(String npcTemplateId) {
+        return queryService.getBehaviorTree(npcTemplateId)
+            .orElseThrow(() -> new IllegalArgumentException("NPC template not found: " + npcTemplateId));
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while ticking NPC behavior", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("NPC behavior tick failed", e.getCause());
+        }
+    }
+
+    private record Batch(BehaviorTree tree, int from, int to) {
+    }
+
+    /**
+     * @param ticked  NPCs evaluated this tick
+     * @param skipped NPCs whose batch did not start within the budget
+     */
+    public record TickResult(int ticked, int skipped, long elapsedMillis) {
+    }
+}
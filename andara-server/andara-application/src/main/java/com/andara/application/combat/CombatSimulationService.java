@@ -0,0 +1,198 @@
+package com.andara.application.combat;
+
+import com.andara.application.content.ContentRepositoryService;
+import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.andara.domain.combat.Battlefield;
+import com.andara.domain.combat.BattlefieldPosition;
+import com.andara.domain.combat.CombatSimulator;
+import com.andara.domain.combat.CombatantPlacement;
+import com.andara.domain.combat.CombatantProfile;
+import com.andara.domain.combat.SimulationReport;
+import com.andara.domain.combat.Weapon;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk combat simulation over active NPC and item templates, for balancing.
+ * Each side's NPCs are lined up on an open battlefield and fight with the weapon in their
+ * inventory (or a weapon template under test) until one side is left standing.
+ */
+@Service
+public class CombatSimulationService {
+    private static final Logger log = LoggerFactory.getLogger(CombatSimulationService.class);
+
+    static final int DEFAULT_ATTRIBUTE = 10;
+    static final int DEFAULT_ACTION_POINTS = 8;
+    static final int BASE_WEAPON_AP_COST = 4;
+
+    private final ContentRepositoryService repositoryService;
+    private final ObjectMapper objectMapper;
+    private final int maxEncounters;
+
+    public CombatSimulationService(
+        ContentRepositoryService repositoryService,
+        ObjectMapper objectMapper,
+        @Value("${combat.simulation.max-encounters:1000000}") int maxEncounters
+    ) {
+        this.repositoryService = repositoryService;
+        this.objectMapper = objectMapper;
+        this.maxEncounters = maxEncounters;
+    }
+
+    /**
+     * Simulate a batch of encounters between sides of NPC templates.
+     *
+     * @throws IllegalArgumentException if a template is missing or the request is out of bounds
+     */
+    public SimulationReport simulate(SimulationRequest request) {
+        if (request.sides().size() < 2) {
+            throw new IllegalArgumentException("A simulation needs at least two sides");
+        }
+        if (request.encounters() < 1 || request.encounters() > maxEncounters) {
+            throw new IllegalArgumentException(
+                String.format("Encounters must be between 1 and %d, but got %d", maxEncounters, request.encounters())
+            );
+        }
+
+        Map<String, JsonNode> npcs = load(ContentType.NPC_TEMPLATE, request.sides().stream()
+            .flatMap(side -> side.npcIds().stream())
+            .collect(Collectors.toCollection(LinkedHashSet::new)));
+        Set<String> itemIds = new LinkedHashSet<>();
+        for (Side side : request.sides()) {
+            if (side.weaponTemplateId() != null) {
+                itemIds.add(side.weaponTemplateId());
+            }
+        }
+        for (JsonNode npc : npcs.values()) {
+            for (JsonNode entry : npc.path("inventory")) {
+                itemIds.add(entry.path("itemTemplateId").asText());
+            }
+        }
+        Map<String, JsonNode> items = load(ContentType.ITEM_TEMPLATE, itemIds);
+
+        Battlefield battlefield = new Battlefield(request.width(), request.height());
+        List<CombatantPlacement> placements = new ArrayList<>();
+        for (int team = 0; team < request.sides().size(); team++) {
+            Side side = request.sides().get(team);
+            int x = team * (request.width() - 1) / (request.sides().size() - 1);
+            for (int slot = 0; slot < side.npcIds().size(); slot++) {
+                String npcId = side.npcIds().get(slot);
+                JsonNode npc = npcs.get(npcId);
+                if (npc == null) {
+                    throw new IllegalArgumentException("NPC template not found: " + npcId);
+                }
+                Weapon weapon = side.weaponTemplateId() != null
+                    ? weapon(items.get(side.weaponTemplateId()), side.weaponTemplateId())
+                    : inventoryWeapon(npc, items);
+                int y = (slot + 1) * request.height() / (side.npcIds().size() + 1);
+                placements.add(new CombatantPlacement(
+                    profile(npcId + "#" + team + "." + slot, team, npc, weapon),
+                    BattlefieldPosition.of(x, Math.min(y, request.height() - 1))
+                ));
+            }
+        }
+
+        long started = System.nanoTime();
+        SimulationReport report = new CombatSimulator().simulateMany(battlefield, placements, request.seed(), request.encounters());
+        log.info("Simulated {} encounters with {} combatants in {} ms",
+            request.encounters(), placements.size(), (System.nanoTime() - started) / 1_000_000);
+        return report;
+    }
+
+    static CombatantProfile profile(String combatantId, int team, JsonNode npc, Weapon weapon) {
+        JsonNode stats = npc.path("stats");
+        int skill = 0;
+        for (Iterator<JsonNode> levels = stats.path("skills").elements(); levels.hasNext(); ) {
+            skill = Math.max(skill, levels.next().asInt());
+        }
+        return new CombatantProfile(
+            combatantId,
+            team,
+            Math.max(1, stats.path("health").asInt(10)),
+            DEFAULT_ACTION_POINTS,
+            DEFAULT_ATTRIBUTE,
+            DEFAULT_ATTRIBUTE,
+            DEFAULT_ATTRIBUTE,
+            Math.min(100, skill),
+            Math.max(0, stats.path("armor").asInt(0)),
+            weapon
+        );
+    }
+
+    /**
+     * Map an item template's weapon properties to combat statistics.
+     * Faster weapons (higher attackSpeed) cost fewer action points per attack.
+     */
+    static Weapon weapon(JsonNode item, String templateId) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item template not found: " + templateId);
+        }
+        JsonNode properties = item.path("properties").path("weapon");
+        if (properties.isMissingNode()) {
+            throw new IllegalArgumentException("Item template is not a weapon: " + templateId);
+        }
+        int damageMin = Math.max(0, properties.path("damageMin").asInt(1));
+        int damageMax = Math.max(damageMin, properties.path("damageMax").asInt(damageMin));
+        double attackSpeed = properties.path("attackSpeed").asDouble(1.0);
+        int apCost = attackSpeed > 0
+            ? (int) Math.max(1, Math.min(DEFAULT_ACTION_POINTS, Math.round(BASE_WEAPON_AP_COST / attackSpeed)))
+            : BASE_WEAPON_AP_COST;
+        return new Weapon(templateId, damageMin, damageMax, Math.max(1, properties.path("range").asInt(1)), apCost);
+    }
+
+    private static Weapon inventoryWeapon(JsonNode npc, Map<String, JsonNode> items) {
+        for (JsonNode entry : npc.path("inventory")) {
+            String templateId = entry.path("itemTemplateId").asText();
+            JsonNode item = items.get(templateId);
+            if (item != null && item.path("properties").has("weapon")) {
+                return weapon(item, templateId);
+            }
+        }
+        return Weapon.UNARMED;
+    }
+
+    private Map<String, JsonNode> load(ContentType contentType, Set<String> contentIds) {
+        if (contentIds.isEmpty()) {
+            return Map.of();
+        }
+        return repositoryService.findActiveByIds(contentType, contentIds).stream()
+            .collect(Collectors.toMap(
+                ContentVersion::getContentId,
+                version -> objectMapper.valueToTree(version.getContentData()),
+                (first, second) -> first
+            ));
+    }
+
+    /**
+     * One side of a simulated encounter.
+     *
+     * @param weaponTemplateId Weapon every NPC of the side uses instead of its inventory; may be null
+     */
+    public record Side(List<String> npcIds, String weaponTemplateId) {
+        public Side {
+            if (npcIds == null || npcIds.isEmpty()) {
+                throw new IllegalArgumentException("A side needs at least one NPC");
+            }
+            npcIds = List.copyOf(npcIds);
+        }
+    }
+
+    public record SimulationRequest(List<Side> sides, int encounters, long seed, int width, int height) {
+        public SimulationRequest {
+            sides = sides == null ? List.of() : List.copyOf(sides);
+        }
+    }
+}
@@ -13,4 +13,14 @@ public interface Command {
      * @return Agent identifier
      */
     AgentId issuedBy();
+
+    /**
+     * Get the aggregate this command changes, if any.
+     * {@link CommandBus#dispatch} runs commands for the same aggregate one at a time, in order.
+     *
+     * @return Aggregate identifier, or null if the command needs no ordering
+     */
+    default String targetAggregateId() {
+        return null;
+    }
 }
@@ -2,24 +2,70 @@ package com.andara.application.command;
 
 import com.andara.common.Result;
 import com.andara.domain.DomainEvent;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Command bus for routing commands to their handlers.
  * Provides a centralized point for command execution.
+ *
+ * {@link #send} runs the handler on the caller's thread. {@link #dispatch} queues the command in
+ * the mailbox of its {@link Command#targetAggregateId() target aggregate} and runs it on the
+ * dispatch pool: commands for one aggregate run one at a time in dispatch order, so they do not
+ * race each other into concurrency conflicts, while different aggregates proceed in parallel.
+ * Mailboxes are lock-free queues that exist only while the aggregate has commands pending.
+ * Both paths re-run a handler whose save hits a concurrency conflict, per {@link CommandRetryPolicy}.
  */
 @Service
 public class CommandBus {
     
     private static final Logger log = LoggerFactory.getLogger(CommandBus.class);
+
+    /** Commands a mailbox runs before yielding its worker to other aggregates. */
+    private static final int MAILBOX_BATCH = 32;
     
-    private final Map<Class<? extends Command>, CommandHandler<?>> handlers = new HashMap<>();
+    private final Map<Class<? extends Command>, CommandHandler<?>> handlers = new ConcurrentHashMap<>();
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final CommandRetryPolicy retryPolicy;
+    private final ExecutorService dispatchPool;
+
+    public CommandBus(CommandRetryPolicy retryPolicy, @Value("${command.dispatch.threads:0}") int threads) {
+        this.retryPolicy = retryPolicy;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatchPool = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "command-dispatch-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchPool.shutdown();
+        try {
+            if (!dispatchPool.awaitTermination(5, TimeUnit.SECONDS)) {
+                dispatchPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            dispatchPool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
     
     /**
      * Register a command handler.
@@ -29,10 +75,9 @@ public class CommandBus {
      * @param <C> Command type
      */
     public <C extends Command> void register(Class<C> commandType, CommandHandler<C> handler) {
-        if (handlers.containsKey(commandType)) {
+        if (handlers.put(commandType, handler) != null) {
             log.warn("Overriding existing handler for command type: {}", commandType.getName());
         }
-        handlers.put(commandType, handler);
         log.debug("Registered handler for command type: {}", commandType.getName());
     }
     
@@ -44,17 +89,113 @@ public class CommandBus {
      * @return Result containing domain events or failure
      * @throws NoHandlerException if no handler is registered for the command type
      */
-    @SuppressWarnings("unchecked")
     public <C extends Command> Result<List<DomainEvent>> send(C command) {
+        CommandHandler<C> handler = handlerFor(command);
+        String commandName = command.getClass().getSimpleName();
+        log.debug("Routing command {} to handler", commandName);
+        return retryPolicy.execute(commandName, () -> handler.handle(command));
+    }
+
+    /**
+     * Dispatch a command to run asynchronously, after any commands already dispatched for the
+     * same target aggregate. Commands without a target aggregate run as soon as a worker is free.
+     *
+     * @param command Command to execute
+     * @param <C> Command type
+     * @return Future of the handler's result; completes exceptionally if the handler throws
+     * @throws NoHandlerException if no handler is registered for the command type
+     */
+    public <C extends Command> CompletableFuture<Result<List<DomainEvent>>> dispatch(C command) {
+        CommandHandler<C> handler = handlerFor(command);
+        CompletableFuture<Result<List<DomainEvent>>> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                future.complete(retryPolicy.execute(command.getClass().getSimpleName(), () -> handler.handle(command)));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        };
+
+        String aggregateId = command.targetAggregateId();
+        if (aggregateId == null) {
+            dispatchPool.execute(task);
+            return future;
+        }
+        while (true) {
+            Mailbox mailbox = mailboxes.computeIfAbsent(aggregateId, Mailbox::new);
+            if (mailbox.offer(task)) {
+                log.debug("Dispatched command {} for aggregate {}", command.getClass().getSimpleName(), aggregateId);
+                return future;
+            }
+            // The mailbox drained and closed after we looked it up; the next lookup creates a fresh one
+        }
+    }
+
+    /**
+     * Number of aggregates with dispatched commands still queued or running.
+     */
+    public int activeMailboxes() {
+        return mailboxes.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <C extends Command> CommandHandler<C> handlerFor(C command) {
         Class<? extends Command> commandType = command.getClass();
         CommandHandler<?> handler = handlers.get(commandType);
-        
         if (handler == null) {
             throw new NoHandlerException(commandType);
         }
-        
-        log.debug("Routing command {} to handler", commandType.getSimpleName());
-        return ((CommandHandler<C>) handler).handle(command);
+        return (CommandHandler<C>) handler;
+    }
+
+    /**
+     * Commands for one aggregate. {@code pending} counts queued and running commands; the
+     * producer that raises it from 0 schedules the drain, so at most one worker runs the
+     * mailbox at a time. A drained mailbox closes by setting {@code pending} to -1 and is
+     * removed, and producers that still hold it retry against a fresh one.
+     */
+    private final class Mailbox implements Runnable {
+        private final String aggregateId;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Mailbox(String aggregateId) {
+            this.aggregateId = aggregateId;
+        }
+
+        boolean offer(Runnable task) {
+            int current;
+            do {
+                current = pending.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!pending.compareAndSet(current, current + 1));
+            queue.add(task);
+            if (current == 0) {
+                dispatchPool.execute(this);
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
+            for (int ran = 0; ran < MAILBOX_BATCH; ran++) {
+                Runnable task;
+                // A producer counts its command before queueing it, so it can briefly be missing
+                while ((task = queue.poll()) == null) {
+                    Thread.onSpinWait();
+                }
+                task.run();
+                if (pending.compareAndSet(1, -1)) {
+                    mailboxes.remove(aggregateId, this);
+                    return;
+                }
+                pending.decrementAndGet();
+            }
+            // Still busy: yield the worker and continue behind other queued work
+            dispatchPool.execute(this);
+        }
     }
     
     /**
@@ -0,0 +1,157 @@
+package com.andara.application.command;
+
+import com.andara.domain.ConcurrencyException;
+import com.andara.infrastructure.repository.AggregateReloadScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a command handler when saving its events hits a {@link ConcurrencyException}.
+ * Attempts are bounded and separated by exponential back-off with full jitter, so commands
+ * that collided do not collide again in lock step. All attempts share an
+ * {@link AggregateReloadScope}, so a retry reloads only the events appended since the failed
+ * attempt loaded its aggregates. Each attempt must run its own transaction: a retry inside the
+ * transaction that hit the conflict cannot succeed.
+ */
+@Component
+public class CommandRetryPolicy {
+    private static final Logger log = LoggerFactory.getLogger(CommandRetryPolicy.class);
+
+    private final int maxAttempts;
+    private final long backoffNanos;
+    private final long maxBackoffNanos;
+
+    private final Counters totals = new Counters();
+    private final Map<String, Counters> byCommand = new ConcurrentHashMap<>();
+
+    public CommandRetryPolicy(
+        @Value("${command.retry.max-attempts:5}") int maxAttempts,
+        @Value("${command.retry.backoff-ms:5}") long backoffMillis,
+        @Value("${command.retry.max-backoff-ms:200}") long maxBackoffMillis
+    ) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, backoffMillis));
+        this.maxBackoffNanos = Math.max(backoffNanos, TimeUnit.MILLISECONDS.toNanos(maxBackoffMillis));
+    }
+
+    /**
+     * Run an action, re-running it after concurrency conflicts.
+     *
+     * @param commandName Name used in log messages and per-command metrics
+     * @throws ConcurrencyException if the last attempt still conflicts
+     */
+    public <T> T execute(String commandName, Supplier<T> action) {
+        Counters commandCounters = byCommand.computeIfAbsent(commandName, name -> new Counters());
+        totals.executions.incrementAndGet();
+        commandCounters.executions.incrementAndGet();
+        return AggregateReloadScope.call(() -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return action.get();
+                } catch (RuntimeException e) {
+                    if (!isConflict(e)) {
+                        throw e;
+                    }
+                    totals.conflicts.incrementAndGet();
+                    commandCounters.conflicts.incrementAndGet();
+                    if (attempt >= maxAttempts) {
+                        totals.exhausted.incrementAndGet();
+                        commandCounters.exhausted.incrementAndGet();
+                        log.warn("Command {} still conflicting after {} attempts", commandName, attempt);
+                        throw e;
+                    }
+                    totals.retries.incrementAndGet();
+                    commandCounters.retries.incrementAndGet();
+                    log.debug("Command {} hit a concurrency conflict on attempt {}, retrying", commandName, attempt);
+                    backoff(attempt);
+                }
+            }
+        });
+    }
+
+    public Metrics metrics() {
+        Map<String, CommandMetrics> commands = new TreeMap<>();
+        byCommand.forEach((name, counters) -> commands.put(name, counters.snapshot()));
+        CommandMetrics total = totals.snapshot();
+        return new Metrics(
+            total.executions(),
+            total.conflicts(),
+            total.retries(),
+            total.exhausted(),
+            total.conflictRate(),
+            commands
+        );
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, backoffNanos << Math.min(attempt - 1, 30));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off from a concurrency conflict", e);
+        }
+    }
+
+    private static boolean isConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConcurrencyException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Counters {
+        final AtomicLong executions = new AtomicLong();
+        final AtomicLong conflicts = new AtomicLong();
+        final AtomicLong retries = new AtomicLong();
+        final AtomicLong exhausted = new AtomicLong();
+
+        CommandMetrics snapshot() {
+            long executionCount = executions.get();
+            long conflictCount = conflicts.get();
+            return new CommandMetrics(
+                executionCount,
+                conflictCount,
+                retries.get(),
+                exhausted.get(),
+                executionCount == 0 ? 0.0 : (double) conflictCount / executionCount
+            );
+        }
+    }
+
+    /**
+     * @param executions   Commands run through the policy
+     * @param conflicts    Attempts that failed with a concurrency conflict
+     * @param retries      Attempts re-run after a conflict
+     * @param exhausted    Commands that failed after the last attempt
+     * @param conflictRate Conflicts per command
+     * @param byCommand    The same counters per command name, to find which commands contend
+     */
+    public record Metrics(
+        long executions,
+        long conflicts,
+        long retries,
+        long exhausted,
+        double conflictRate,
+        Map<String, CommandMetrics> byCommand
+    ) {
+    }
+
+    public record CommandMetrics(long executions, long conflicts, long retries, long exhausted, double conflictRate) {
+    }
+}
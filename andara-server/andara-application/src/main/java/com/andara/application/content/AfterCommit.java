@@ -0,0 +1,31 @@
+package com.andara.application.content;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers cache invalidation until the surrounding transaction commits.
+ * Invalidating earlier lets a concurrent reader reload the old rows and cache them again,
+ * where they would then stay; after a rollback there is nothing to invalidate at all.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Run the action once the current transaction commits, or right away outside a transaction.
+     */
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Cache of runtime models compiled from active content (dialogue trees, loot tables, ...).
+ * Each content type compiles to one kind of model. Models are compiled on first use and
+ * dropped when their content is saved or deleted. Models built from a whole type, such as
+ * the world graph, compare {@link #generation} instead of caching entries here.
+ */
+@Component
+public class CompiledContentCache {
+    private static final Logger log = LoggerFactory.getLogger(CompiledContentCache.class);
+
+    private final Map<ContentKey, Object> compiled = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(ContentType.values().length);
+
+    /**
+     * Get a compiled model, compiling it with the loader if absent.
+     *
+     * @param loader Loads and compiles the active content, or returns null if there is none
+     */
+    public <T> Optional<T> get(ContentType contentType, String contentId, Class<T> modelType, Function<String, T> loader) {
+        Object model = compiled.computeIfAbsent(new ContentKey(contentType, contentId), key -> {
+            T loaded = loader.apply(key.contentId());
+            if (loaded != null) {
+                log.debug("Compiled {} {}", contentType, contentId);
+            }
+            return loaded;
+        });
+        return Optional.ofNullable(modelType.cast(model));
+    }
+
+    /**
+     * Drop the compiled models of the given items.
+     */
+    public void invalidate(ContentType contentType, Collection<String> contentIds) {
+        for (String contentId : contentIds) {
+            compiled.remove(new ContentKey(contentType, contentId));
+        }
+        generations.incrementAndGet(contentType.ordinal());
+    }
+
+    /**
+     * Drop all compiled models.
+     */
+    public void invalidateAll() {
+        compiled.clear();
+        for (ContentType contentType : ContentType.values()) {
+            generations.incrementAndGet(contentType.ordinal());
+        }
+    }
+
+    /**
+     * Get a counter that changes whenever content of the type is saved or deleted.
+     */
+    public long generation(ContentType contentType) {
+        return generations.get(contentType.ordinal());
+    }
+
+    private record ContentKey(ContentType contentType, String contentId) {
+    }
+}
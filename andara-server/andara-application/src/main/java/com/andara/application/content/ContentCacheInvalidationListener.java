@@ -0,0 +1,73 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kafka listener that invalidates content caches when content is reloaded or imported.
+ * The node that saved the content has already invalidated its own caches; this brings every
+ * other node in line, including the items that reference what changed.
+ */
+@Component
+public class ContentCacheInvalidationListener {
+    private static final Logger log = LoggerFactory.getLogger(ContentCacheInvalidationListener.class);
+
+    private final CompiledContentCache compiledCache;
+    private final ContentCountCache countCache;
+
+    public ContentCacheInvalidationListener(CompiledContentCache compiledCache, ContentCountCache countCache) {
+        this.compiledCache = compiledCache;
+        this.countCache = countCache;
+    }
+
+    @KafkaListener(topics = {"andara.events.content", "andara.events.general"})
+    public void handleContentEvent(Map<String, Object> eventEnvelope) {
+        try {
+            String eventType = (String) eventEnvelope.get("eventType");
+            
+            if ("ContentReloaded".equals(eventType)) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> payload = (Map<String, Object>) eventEnvelope.get("payload");
+                
+                String contentType = (String) payload.get("contentType");
+                @SuppressWarnings("unchecked")
+                List<String> reloadedIds = (List<String>) payload.get("reloadedIds");
+                
+                log.info("Invalidating cache for {} {} items", reloadedIds.size(), contentType);
+                invalidate(contentType, reloadedIds);
+                
+            } else if ("ContentImported".equals(eventType)) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> payload = (Map<String, Object>) eventEnvelope.get("payload");
+                
+                String contentType = (String) payload.get("contentType");
+                @SuppressWarnings("unchecked")
+                List<String> importedIds = (List<String>) payload.get("importedIds");
+                @SuppressWarnings("unchecked")
+                Map<String, List<String>> dependentIds =
+                    (Map<String, List<String>>) payload.getOrDefault("dependentIds", Map.of());
+                
+                // Only the imported items and the items referencing them are stale
+                int dependentCount = dependentIds.values().stream().mapToInt(List::size).sum();
+                log.info("Invalidating cache for {} {} items and {} dependents",
+                    importedIds.size(), contentType, dependentCount);
+                
+                invalidate(contentType, importedIds);
+                countCache.invalidate(ContentType.valueOf(contentType));
+                dependentIds.forEach(this::invalidate);
+            }
+        } catch (Exception e) {
+            log.error("Error handling content reload event", e);
+        }
+    }
+
+    private void invalidate(String contentType, List<String> contentIds) {
+        compiledCache.invalidate(ContentType.valueOf(contentType), contentIds);
+    }
+}
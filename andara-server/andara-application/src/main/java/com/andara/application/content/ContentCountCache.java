@@ -0,0 +1,65 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Per-type cache of active content counts.
+ * Entries are dropped when content of that type is imported or deleted, and
+ * otherwise expire after a TTL so writes from other nodes are eventually seen.
+ */
+@Component
+public class ContentCountCache {
+    private static final Logger log = LoggerFactory.getLogger(ContentCountCache.class);
+
+    private final Map<ContentType, CachedCount> counts = new ConcurrentHashMap<>();
+    private final Duration ttl;
+
+    public ContentCountCache(
+        @Value("${content.query.count-cache-ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    /**
+     * Get the cached count for a type, loading it if absent or expired.
+     */
+    public int get(ContentType contentType, ToIntFunction<ContentType> loader) {
+        Instant now = Instant.now();
+        CachedCount cached = counts.get(contentType);
+        if (cached != null && cached.loadedAt().plus(ttl).isAfter(now)) {
+            return cached.count();
+        }
+
+        int count = loader.applyAsInt(contentType);
+        counts.put(contentType, new CachedCount(count, now));
+        log.debug("Refreshed active count for {}: {}", contentType, count);
+        return count;
+    }
+
+    /**
+     * Drop the cached count for a type.
+     */
+    public void invalidate(ContentType contentType) {
+        counts.remove(contentType);
+    }
+
+    /**
+     * Drop all cached counts.
+     */
+    public void invalidateAll() {
+        counts.clear();
+    }
+
+    private record CachedCount(int count, Instant loadedAt) {
+    }
+}
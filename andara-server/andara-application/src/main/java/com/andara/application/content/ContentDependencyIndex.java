@@ -0,0 +1,209 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import com.andara.content.validation.ReferenceExtractor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Persisted reverse-dependency index over active content.
+ * Every reference an active item makes (a recipe's input item, a zone's POI, ...) is stored
+ * as a row keyed by its target, so "what references X" is an index lookup instead of a
+ * scan over all content. Rows are replaced whenever their source item is imported.
+ */
+@Service
+public class ContentDependencyIndex {
+    private static final Logger log = LoggerFactory.getLogger(ContentDependencyIndex.class);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ContentDependencyIndex(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * An active item that references another item.
+     */
+    public record Referrer(ContentType sourceType, String sourceId, String path) {
+    }
+
+    /**
+     * Replace the indexed references of the given source items with the ones in their new content.
+     */
+    @Transactional
+    public void replaceReferences(ContentType sourceType, List<Map.Entry<String, Object>> contentById) {
+        if (contentById.isEmpty()) {
+            return;
+        }
+
+        // Last occurrence wins, matching which version ends up active
+        Map<String, Object> latest = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : contentById) {
+            latest.put(entry.getKey(), entry.getValue());
+        }
+
+        String[] sourceIds = latest.keySet().toArray(String[]::new);
+        jdbcTemplate.update(
+            connection -> {
+                var ps = connection.prepareStatement(
+                    "DELETE FROM content_references WHERE source_type = ? AND source_id = ANY(?)"
+                );
+                ps.setString(1, sourceType.name());
+                ps.setArray(2, connection.createArrayOf("varchar", sourceIds));
+                return ps;
+            }
+        );
+
+        List<Object[]> rows = new ArrayList<>();
+        latest.forEach((sourceId, content) ->
+            addRows(rows, sourceType, sourceId, objectMapper.valueToTree(content)));
+        insertRows(rows);
+
+        log.debug("Indexed {} references from {} {} items", rows.size(), latest.size(), sourceType);
+    }
+
+    /**
+     * Drop the indexed references made by an item that is no longer active.
+     */
+    public void removeReferences(ContentType sourceType, String sourceId) {
+        jdbcTemplate.update(
+            "DELETE FROM content_references WHERE source_type = ? AND source_id = ?",
+            sourceType.name(),
+            sourceId
+        );
+    }
+
+    /**
+     * Get every active item that references the given item.
+     */
+    public List<Referrer> findReferrers(ContentType targetType, String targetId) {
+        return jdbcTemplate.query(
+            """
+            SELECT source_type, source_id, path
+            FROM content_references
+            WHERE target_type = ? AND target_id = ?
+            ORDER BY source_type, source_id, path
+            """,
+            (rs, rowNum) -> new Referrer(
+                ContentType.valueOf(rs.getString("source_type")),
+                rs.getString("source_id"),
+                rs.getString("path")
+            ),
+            targetType.name(),
+            targetId
+        );
+    }
+
+    /**
+     * Get the items that reference any of the given items, grouped by type.
+     * Used to invalidate exactly the cached content that embeds or resolves changed items.
+     */
+    public Map<ContentType, Set<String>> findDependents(ContentType targetType, Collection<String> targetIds) {
+        Map<ContentType, Set<String>> dependents = new EnumMap<>(ContentType.class);
+        if (targetIds.isEmpty()) {
+            return dependents;
+        }
+
+        String[] ids = targetIds.toArray(String[]::new);
+        jdbcTemplate.query(
+            connection -> {
+                var ps = connection.prepareStatement(
+                    """
+                    SELECT DISTINCT source_type, source_id
+                    FROM content_references
+                    WHERE target_type = ? AND target_id = ANY(?)
+                    """
+                );
+                ps.setString(1, targetType.name());
+                ps.setArray(2, connection.createArrayOf("varchar", ids));
+                return ps;
+            },
+            (RowCallbackHandler) rs -> dependents
+                .computeIfAbsent(ContentType.valueOf(rs.getString("source_type")), t -> new TreeSet<>())
+                .add(rs.getString("source_id"))
+        );
+        return dependents;
+    }
+
+    /**
+     * Rebuild the whole index from active content, e.g. after content was loaded
+     * before the index existed.
+     *
+     * @return Number of references indexed
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM content_references");
+
+        List<Object[]> rows = new ArrayList<>();
+        int[] total = {0};
+        jdbcTemplate.query(
+            """
+            SELECT cv.content_type, cv.content_id, cv.content_data
+            FROM active_content ac
+            JOIN content_versions cv ON cv.version_id = ac.version_id
+            """,
+            (RowCallbackHandler) rs -> {
+                try {
+                    addRows(
+                        rows,
+                        ContentType.valueOf(rs.getString("content_type")),
+                        rs.getString("content_id"),
+                        objectMapper.readTree(rs.getString("content_data"))
+                    );
+                } catch (Exception e) {
+                    throw new RuntimeException("Failed to index content " + rs.getString("content_id"), e);
+                }
+                if (rows.size() >= REBUILD_BATCH_SIZE) {
+                    total[0] += rows.size();
+                    insertRows(rows);
+                    rows.clear();
+                }
+            }
+        );
+        total[0] += rows.size();
+        insertRows(rows);
+
+        log.info("Rebuilt content dependency index: {} references", total[0]);
+        return total[0];
+    }
+
+    private void addRows(List<Object[]> rows, ContentType sourceType, String sourceId, JsonNode content) {
+        // The primary key covers the full row, so duplicates within one item are dropped here
+        Set<ReferenceExtractor.Reference> references =
+            new LinkedHashSet<>(ReferenceExtractor.extract(sourceType, content));
+        for (ReferenceExtractor.Reference reference : references) {
+            rows.add(new Object[]{
+                sourceType.name(),
+                sourceId,
+                reference.targetType().name(),
+                reference.targetId(),
+                reference.path()
+            });
+        }
+    }
+
+    private void insertRows(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+            """
+            INSERT INTO content_references (source_type, source_id, target_type, target_id, path)
+            VALUES (?, ?, ?, ?, ?)
+            """,
+            rows
+        );
+    }
+}
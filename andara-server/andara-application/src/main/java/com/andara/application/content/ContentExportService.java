@@ -3,39 +3,93 @@ package com.andara.application.content;
 import com.andara.content.ContentType;
 import com.andara.content.model.ContentVersion;
 import com.andara.content.model.ExportResult;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Service for exporting content from database to JSON files.
+ * Content is read in pages and each file is serialized, written and hashed in a single
+ * pass, so memory use is bounded by the page size rather than the amount of content.
  */
 @Service
 public class ContentExportService {
     private static final Logger log = LoggerFactory.getLogger(ContentExportService.class);
     private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_INSTANT;
-    
+    private static final String MANIFEST_FILE = "manifest.json";
+
     private final ContentRepositoryService repositoryService;
     private final ObjectMapper objectMapper;
+    private final ObjectWriter prettyWriter;
+    private final int pageSize;
+    private final ExecutorService writerPool;
 
     public ContentExportService(
         ContentRepositoryService repositoryService,
-        ObjectMapper objectMapper
+        ObjectMapper objectMapper,
+        @Value("${content.export.page-size:500}") int pageSize,
+        @Value("${content.export.writer-threads:0}") int writerThreads
     ) {
         this.repositoryService = repositoryService;
         this.objectMapper = objectMapper;
+        this.prettyWriter = objectMapper.writerWithDefaultPrettyPrinter();
+        this.pageSize = pageSize;
+
+        int threads = writerThreads > 0 ? writerThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writerPool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "content-export-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writerPool.shutdown();
+        try {
+            if (!writerPool.awaitTermination(5, TimeUnit.SECONDS)) {
+                writerPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writerPool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Output layout of an export.
+     */
+    public enum ExportFormat {
+        /** One JSON file per item under per-type subdirectories, plus manifest.json. */
+        DIRECTORY,
+        /** The same layout packed into a single .zip archive. */
+        ZIP
     }
 
     public ExportResult exportContent(
@@ -44,170 +98,472 @@ public class ContentExportService {
         String exportedBy,
         String environment
     ) {
-        log.info("Exporting {} content to {}", contentType, outputDirectory);
-        
+        return exportContent(EnumSet.of(contentType), outputDirectory, ExportFormat.DIRECTORY, exportedBy, environment);
+    }
+
+    /**
+     * Export every content type in one run.
+     */
+    public ExportResult exportAll(
+        Path output,
+        ExportFormat format,
+        String exportedBy,
+        String environment
+    ) {
+        return exportContent(EnumSet.allOf(ContentType.class), output, format, exportedBy, environment);
+    }
+
+    /**
+     * Export the given content types to a directory or a zip archive.
+     *
+     * @param output Target directory, or the archive file for {@link ExportFormat#ZIP}
+     */
+    public ExportResult exportContent(
+        Set<ContentType> contentTypes,
+        Path output,
+        ExportFormat format,
+        String exportedBy,
+        String environment
+    ) {
+        return exportContent(contentTypes, output, format, exportedBy, environment, false);
+    }
+
+    /**
+     * Export the given content types, optionally as an incremental update of a previous export.
+     * An incremental export reads the manifest already in the output directory and only
+     * loads and writes items whose active version changed, then deletes files for items
+     * that are no longer active. Its cost follows the size of the change set.
+     *
+     * @param incremental Diff against the existing manifest; requires {@link ExportFormat#DIRECTORY}
+     */
+    public ExportResult exportContent(
+        Set<ContentType> contentTypes,
+        Path output,
+        ExportFormat format,
+        String exportedBy,
+        String environment,
+        boolean incremental
+    ) {
+        if (incremental && format != ExportFormat.DIRECTORY) {
+            throw new IllegalArgumentException("Incremental export requires the DIRECTORY format");
+        }
+        log.info("Exporting {} to {} ({}, incremental={})", contentTypes, output, format, incremental);
+
+        Map<String, List<ExportResult.ExportedFile>> filesByType = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+        ExportStats stats = new ExportStats();
+        String manifestPath;
+
         try {
-            // Ensure output directory exists
-            Files.createDirectories(outputDirectory);
-            
-            // Get all active content
-            List<ContentVersion> versions = repositoryService.findAllActive(contentType);
-            log.info("Found {} active {} items", versions.size(), contentType);
-            
-            Map<String, List<ExportResult.ExportedFile>> filesByType = new HashMap<>();
-            List<String> errors = new ArrayList<>();
-            
+            if (format == ExportFormat.ZIP) {
+                manifestPath = exportToZip(contentTypes, output, filesByType, errors, exportedBy, environment);
+                stats.written = filesByType.values().stream().mapToInt(List::size).sum();
+            } else {
+                manifestPath = exportToDirectory(
+                    contentTypes, output, incremental, filesByType, errors, stats, exportedBy, environment
+                );
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write export to " + output, e);
+        }
+
+        int exportedCount = filesByType.values().stream().mapToInt(List::size).sum();
+        log.info("Export complete: {} files in {} ({} written, {} deleted)",
+            exportedCount, output, stats.written, stats.deletedPaths.size());
+
+        return new ExportResult(
+            exportedCount,
+            output.toString(),
+            manifestPath,
+            filesByType,
+            errors.isEmpty() ? null : errors,
+            stats.written,
+            List.copyOf(stats.deletedPaths)
+        );
+    }
+
+    private String exportToDirectory(
+        Set<ContentType> contentTypes,
+        Path outputDirectory,
+        boolean incremental,
+        Map<String, List<ExportResult.ExportedFile>> filesByType,
+        List<String> errors,
+        ExportStats stats,
+        String exportedBy,
+        String environment
+    ) throws IOException {
+        Files.createDirectories(outputDirectory);
+        Map<ContentType, Map<String, ExportResult.ExportedFile>> previous = incremental
+            ? readPreviousManifest(outputDirectory)
+            : Map.of();
+
+        for (ContentType contentType : contentTypes) {
+            Files.createDirectories(outputDirectory.resolve(contentType.getDirectoryName()));
             List<ExportResult.ExportedFile> exportedFiles = new ArrayList<>();
-            
-            for (ContentVersion version : versions) {
-                try {
-                    ExportResult.ExportedFile file = exportSingleContent(
-                        version,
-                        contentType,
-                        outputDirectory
-                    );
-                    exportedFiles.add(file);
-                } catch (Exception e) {
-                    String error = String.format("Failed to export %s: %s", version.getContentId(), e.getMessage());
-                    errors.add(error);
-                    log.error(error, e);
+            Map<String, ExportResult.ExportedFile> previousFiles =
+                new HashMap<>(previous.getOrDefault(contentType, Map.of()));
+            Map<String, ExportResult.ExportedFile> moved = new HashMap<>();
+
+            String afterId = null;
+            int pageCount;
+            do {
+                List<ContentVersion> changed;
+                if (incremental) {
+                    // Only versions that moved since the last export are loaded and written
+                    List<ContentRepositoryService.ActiveVersionRef> refs =
+                        repositoryService.findActiveVersionRefs(contentType, afterId, pageSize);
+                    List<String> changedIds = new ArrayList<>();
+                    for (ContentRepositoryService.ActiveVersionRef ref : refs) {
+                        ExportResult.ExportedFile prior = previousFiles.remove(ref.contentId());
+                        if (isUnchanged(prior, ref, contentType, outputDirectory)) {
+                            exportedFiles.add(prior);
+                        } else {
+                            changedIds.add(ref.contentId());
+                            if (prior != null
+                                && !prior.getPath().equals(relativePath(contentType, ref.contentId()))) {
+                                moved.put(ref.contentId(), prior);
+                            }
+                        }
+                    }
+                    changed = repositoryService.findActiveByIds(contentType, changedIds);
+                    pageCount = refs.size();
+                    if (!refs.isEmpty()) {
+                        afterId = refs.get(refs.size() - 1).contentId();
+                    }
+                } else {
+                    changed = repositoryService.findActivePage(contentType, afterId, pageSize);
+                    pageCount = changed.size();
+                    if (!changed.isEmpty()) {
+                        afterId = changed.get(changed.size() - 1).getContentId();
+                    }
+                }
+
+                stats.written += writeParallel(changed, outputDirectory, exportedFiles, errors);
+            } while (pageCount == pageSize);
+
+            // An item written under a new path would otherwise leave its old copy behind
+            for (ExportResult.ExportedFile written : exportedFiles) {
+                ExportResult.ExportedFile prior = moved.get(written.getId());
+                if (prior != null && deleteStale(outputDirectory, prior, stats)) {
+                    log.debug("Deleted {} ({} moved to {})", prior.getPath(), prior.getId(), written.getPath());
+                }
+            }
+
+            // Whatever is left in the previous manifest is no longer active
+            for (ExportResult.ExportedFile removed : previousFiles.values()) {
+                if (deleteStale(outputDirectory, removed, stats)) {
+                    log.debug("Deleted {} ({} is no longer active)", removed.getPath(), removed.getId());
                 }
             }
-            
+
+            exportedFiles.sort(Comparator.comparing(ExportResult.ExportedFile::getId));
+            log.info("Exported {} {} items", exportedFiles.size(), contentType);
             filesByType.put(contentType.name(), exportedFiles);
-            
-            // Generate manifest
-            String manifestPath = generateManifest(
-                contentType,
-                outputDirectory,
-                exportedFiles,
-                exportedBy,
-                environment
-            );
-            
-            log.info("Export complete: {} files exported to {}", exportedFiles.size(), outputDirectory);
-            
-            return new ExportResult(
-                exportedFiles.size(),
-                outputDirectory.toString(),
-                manifestPath,
-                filesByType,
-                errors.isEmpty() ? null : errors
-            );
-            
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to create output directory", e);
         }
+
+        // Types left out of this run keep their files, so they stay in the manifest as well
+        Set<ContentType> manifestTypes = EnumSet.noneOf(ContentType.class);
+        manifestTypes.addAll(contentTypes);
+        Map<String, List<ExportResult.ExportedFile>> manifestFiles = new LinkedHashMap<>(filesByType);
+        previous.forEach((contentType, files) -> {
+            if (manifestTypes.add(contentType)) {
+                List<ExportResult.ExportedFile> carried = new ArrayList<>(files.values());
+                carried.sort(Comparator.comparing(ExportResult.ExportedFile::getId));
+                manifestFiles.put(contentType.name(), carried);
+            }
+        });
+
+        Path manifestPath = outputDirectory.resolve(MANIFEST_FILE);
+        try (OutputStream out = Files.newOutputStream(manifestPath)) {
+            prettyWriter.writeValue(out, buildManifest(manifestTypes, manifestFiles, exportedBy, environment));
+        }
+        return outputDirectory.relativize(manifestPath).toString();
+    }
+
+    private boolean deleteStale(Path outputDirectory, ExportResult.ExportedFile stale, ExportStats stats)
+        throws IOException {
+        Path file = outputDirectory.resolve(stale.getPath()).normalize();
+        if (file.startsWith(outputDirectory.normalize()) && Files.deleteIfExists(file)) {
+            stats.deletedPaths.add(stale.getPath());
+            return true;
+        }
+        return false;
     }
 
-    private ExportResult.ExportedFile exportSingleContent(
-        ContentVersion version,
+    /**
+     * Write a page of items in parallel, collecting results in page order.
+     *
+     * @return Number of files written
+     */
+    private int writeParallel(
+        List<ContentVersion> versions,
+        Path outputDirectory,
+        List<ExportResult.ExportedFile> exportedFiles,
+        List<String> errors
+    ) throws IOException {
+        List<Future<ExportResult.ExportedFile>> pending = new ArrayList<>(versions.size());
+        for (ContentVersion version : versions) {
+            pending.add(writerPool.submit(() -> writeFile(version, outputDirectory)));
+        }
+
+        int written = 0;
+        for (int i = 0; i < pending.size(); i++) {
+            try {
+                exportedFiles.add(pending.get(i).get());
+                written++;
+            } catch (ExecutionException e) {
+                String error = String.format("Failed to export %s: %s",
+                    versions.get(i).getContentId(), e.getCause().getMessage());
+                errors.add(error);
+                log.error(error, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Export interrupted", e);
+            }
+        }
+        return written;
+    }
+
+    private boolean isUnchanged(
+        ExportResult.ExportedFile prior,
+        ContentRepositoryService.ActiveVersionRef ref,
         ContentType contentType,
         Path outputDirectory
     ) throws IOException {
-        // Determine file path based on content type
-        Path filePath = determineFilePath(contentType, version.getContentId(), outputDirectory);
-        
-        // Ensure parent directory exists
-        Files.createDirectories(filePath.getParent());
-        
-        // Serialize content
-        String json = objectMapper.writerWithDefaultPrettyPrinter()
-            .writeValueAsString(version.getContentData());
-        
-        // Write file
-        Files.writeString(filePath, json);
-        
-        // Calculate checksum
-        String checksum = calculateChecksum(json);
-        long fileSize = Files.size(filePath);
-        
-        log.debug("Exported {} to {}", version.getContentId(), filePath);
-        
-        return new ExportResult.ExportedFile(
-            version.getContentId(),
-            outputDirectory.relativize(filePath).toString(),
-            checksum,
-            fileSize
-        );
+        if (prior == null
+            || prior.getVersionNumber() == null
+            || prior.getVersionNumber() != ref.versionNumber()
+            || !prior.getPath().equals(relativePath(contentType, ref.contentId()))) {
+            return false;
+        }
+        // A file edited or removed by hand since the last export is rewritten
+        Path file = outputDirectory.resolve(prior.getPath());
+        return Files.isRegularFile(file) && Files.size(file) == prior.getFileSize();
     }
 
-    private Path determineFilePath(ContentType contentType, String contentId, Path outputDirectory) {
-        // Organize files by subdirectory based on content type
-        String subDir = switch (contentType) {
-            case ITEM_TEMPLATE -> "items";
-            case SKILL_DEFINITION -> "skills";
-            case ABILITY_DEFINITION -> "abilities";
-            case RECIPE -> "recipes";
-            case REGION_DEFINITION -> "regions";
-            case ZONE_TEMPLATE -> "zones";
-            case POI_TEMPLATE -> "pois";
-            case NPC_TEMPLATE -> "npcs";
-            case FACTION_DEFINITION -> "factions";
-            case ENCOUNTER_TEMPLATE -> "encounters";
-            case DIALOGUE_TREE -> "dialogue";
-        };
-        
-        // Create filename from content ID (sanitize)
-        String fileName = contentId.replaceAll("[^a-zA-Z0-9_-]", "_") + ".json";
-        
-        return outputDirectory.resolve(subDir).resolve(fileName);
+    /**
+     * Read the files listed in an existing manifest, grouped by content type and keyed by ID.
+     * A missing or unreadable manifest yields an empty map, which turns the export into a full one.
+     */
+    private Map<ContentType, Map<String, ExportResult.ExportedFile>> readPreviousManifest(Path outputDirectory) {
+        Path manifestPath = outputDirectory.resolve(MANIFEST_FILE);
+        if (!Files.isRegularFile(manifestPath)) {
+            log.info("No previous manifest in {}, exporting everything", outputDirectory);
+            return Map.of();
+        }
+
+        Map<ContentType, Map<String, ExportResult.ExportedFile>> previous = new EnumMap<>(ContentType.class);
+        try {
+            JsonNode manifest = objectMapper.readTree(manifestPath.toFile());
+            // Single-type manifests from older exports carry the type only at the top level
+            String defaultType = manifest.path("contentType").asText(null);
+            for (JsonNode file : manifest.path("contents").path("files")) {
+                String type = file.path("contentType").asText(defaultType);
+                if (type == null) {
+                    continue;
+                }
+                JsonNode version = file.get("versionNumber");
+                ExportResult.ExportedFile entry = new ExportResult.ExportedFile(
+                    file.path("id").asText(),
+                    file.path("path").asText(),
+                    file.path("checksum").asText(),
+                    file.path("fileSize").asLong(),
+                    version != null && version.canConvertToInt() ? version.asInt() : null
+                );
+                previous.computeIfAbsent(ContentType.valueOf(type), t -> new HashMap<>()).put(entry.getId(), entry);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring unreadable manifest {}: {}", manifestPath, e.getMessage());
+            return Map.of();
+        }
+        return previous;
     }
 
-    private String generateManifest(
-        ContentType contentType,
-        Path outputDirectory,
-        List<ExportResult.ExportedFile> files,
+    private String exportToZip(
+        Set<ContentType> contentTypes,
+        Path archive,
+        Map<String, List<ExportResult.ExportedFile>> filesByType,
+        List<String> errors,
         String exportedBy,
         String environment
     ) throws IOException {
+        if (archive.getParent() != null) {
+            Files.createDirectories(archive.getParent());
+        }
+
+        // Zip entries must be written one after another, so this path is sequential
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+            for (ContentType contentType : contentTypes) {
+                List<ExportResult.ExportedFile> exportedFiles = new ArrayList<>();
+
+                String afterId = null;
+                List<ContentVersion> page;
+                do {
+                    page = repositoryService.findActivePage(contentType, afterId, pageSize);
+                    for (ContentVersion version : page) {
+                        String path = relativePath(contentType, version.getContentId());
+                        try {
+                            zip.putNextEntry(new ZipEntry(path));
+                            exportedFiles.add(writeHashed(version, path, zip));
+                            zip.closeEntry();
+                        } catch (IOException e) {
+                            String error = String.format("Failed to export %s: %s", version.getContentId(), e.getMessage());
+                            errors.add(error);
+                            log.error(error, e);
+                        }
+                    }
+                    if (!page.isEmpty()) {
+                        afterId = page.get(page.size() - 1).getContentId();
+                    }
+                } while (page.size() == pageSize);
+
+                log.info("Exported {} {} items", exportedFiles.size(), contentType);
+                filesByType.put(contentType.name(), exportedFiles);
+            }
+
+            zip.putNextEntry(new ZipEntry(MANIFEST_FILE));
+            prettyWriter.writeValue(
+                new NonClosingOutputStream(zip),
+                buildManifest(contentTypes, filesByType, exportedBy, environment)
+            );
+            zip.closeEntry();
+        }
+        return MANIFEST_FILE;
+    }
+
+    private ExportResult.ExportedFile writeFile(ContentVersion version, Path outputDirectory) throws IOException {
+        String path = relativePath(version.getContentType(), version.getContentId());
+        try (OutputStream out = Files.newOutputStream(outputDirectory.resolve(path))) {
+            ExportResult.ExportedFile file = writeHashed(version, path, out);
+            log.debug("Exported {} to {}", version.getContentId(), path);
+            return file;
+        }
+    }
+
+    /**
+     * Serialize one item to the stream while hashing and counting the bytes written.
+     * The target stream is left open.
+     */
+    private ExportResult.ExportedFile writeHashed(ContentVersion version, String path, OutputStream target)
+            throws IOException {
+        CountingOutputStream counter = new CountingOutputStream(new NonClosingOutputStream(target));
+        DigestOutputStream digestOut = new DigestOutputStream(counter, sha256());
+        prettyWriter.writeValue(digestOut, version.getContentData());
+
+        return new ExportResult.ExportedFile(
+            version.getContentId(),
+            path,
+            "sha256:" + HexFormat.of().formatHex(digestOut.getMessageDigest().digest()),
+            counter.count,
+            version.getVersionNumber()
+        );
+    }
+
+    private Map<String, Object> buildManifest(
+        Set<ContentType> contentTypes,
+        Map<String, List<ExportResult.ExportedFile>> filesByType,
+        String exportedBy,
+        String environment
+    ) {
         Map<String, Object> manifest = new LinkedHashMap<>();
         manifest.put("version", "0.1.0");
         manifest.put("exportedAt", ISO_FORMATTER.format(Instant.now()));
         manifest.put("exportedBy", exportedBy);
         manifest.put("environment", environment);
-        manifest.put("contentType", contentType.name());
-        
-        Map<String, Object> contents = new LinkedHashMap<>();
-        contents.put("count", files.size());
-        
-        List<Map<String, Object>> fileList = files.stream()
-            .map(file -> {
+        if (contentTypes.size() == 1) {
+            manifest.put("contentType", contentTypes.iterator().next().name());
+        } else {
+            manifest.put("contentTypes", contentTypes.stream().map(Enum::name).toList());
+        }
+
+        List<Map<String, Object>> fileList = new ArrayList<>();
+        filesByType.forEach((type, files) -> {
+            for (ExportResult.ExportedFile file : files) {
                 Map<String, Object> fileInfo = new LinkedHashMap<>();
                 fileInfo.put("id", file.getId());
+                fileInfo.put("contentType", type);
                 fileInfo.put("path", file.getPath());
                 fileInfo.put("checksum", file.getChecksum());
                 fileInfo.put("fileSize", file.getFileSize());
-                return fileInfo;
-            })
-            .collect(Collectors.toList());
+                if (file.getVersionNumber() != null) {
+                    fileInfo.put("versionNumber", file.getVersionNumber());
+                }
+                fileList.add(fileInfo);
+            }
+        });
+
+        Map<String, Object> contents = new LinkedHashMap<>();
+        contents.put("count", fileList.size());
         contents.put("files", fileList);
-        
         manifest.put("contents", contents);
-        
-        Path manifestPath = outputDirectory.resolve("manifest.json");
-        String manifestJson = objectMapper.writerWithDefaultPrettyPrinter()
-            .writeValueAsString(manifest);
-        Files.writeString(manifestPath, manifestJson);
-        
-        return outputDirectory.relativize(manifestPath).toString();
+
+        return manifest;
+    }
+
+    /**
+     * Path of an exported item relative to the export root, always with '/' separators.
+     */
+    static String relativePath(ContentType contentType, String contentId) {
+        // Create filename from content ID (sanitize)
+        String fileName = contentId.replaceAll("[^a-zA-Z0-9_-]", "_") + ".json";
+        return contentType.getDirectoryName() + "/" + fileName;
     }
 
-    private String calculateChecksum(String content) {
+    private static MessageDigest sha256() {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(content.getBytes());
-            return "sha256:" + bytesToHex(hash);
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("SHA-256 algorithm not available", e);
         }
     }
 
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder result = new StringBuilder();
-        for (byte b : bytes) {
-            result.append(String.format("%02x", b));
+    /**
+     * Running totals of a directory export.
+     */
+    private static class ExportStats {
+        private int written;
+        private final List<String> deletedPaths = new ArrayList<>();
+    }
+
+    /**
+     * Counts bytes on their way to the underlying stream.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * Shields a shared stream (a zip entry or a caller-owned file) from being closed by Jackson.
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
         }
-        return result.toString();
     }
 }
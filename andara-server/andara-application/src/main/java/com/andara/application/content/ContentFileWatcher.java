@@ -1,11 +1,13 @@
 package com.andara.application.content;
 
 import com.andara.content.ContentType;
+import com.andara.domain.DomainEvent;
 import com.andara.domain.content.events.ContentReloaded;
 import com.andara.infrastructure.EventPublisher;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -14,16 +16,24 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Watches content directory for changes and automatically reloads content in development.
- * Only active in 'dev' and 'local' profiles.
+ * Watches the content directory tree for changes and automatically reloads content in development.
+ * Events are coalesced until the tree has been quiet for a short window, then the whole change
+ * set is imported as one batch per content type and announced with one ContentReloaded per type.
+ * When a batch fails validation its files are retried one by one, so a single broken file does
+ * not hold back the others. Only active in 'dev' and 'local' profiles.
  */
 @Component
 @Profile({"dev", "local"})
@@ -35,8 +45,10 @@ public class ContentFileWatcher {
     private final EventPublisher eventPublisher;
     private final ObjectMapper objectMapper;
     private final Path contentDir;
-    private final long debounceMs;
+    private final long quietWindowMs;
+    private final long maxBatchDelayMs;
     
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
     private WatchService watchService;
     private ExecutorService executorService;
     private volatile boolean running = false;
@@ -44,14 +56,17 @@ public class ContentFileWatcher {
     public ContentFileWatcher(
         ContentImportService importService,
         EventPublisher eventPublisher,
-        ObjectMapper objectMapper
+        ObjectMapper objectMapper,
+        @Value("${content.hot-reload.directory:./content}") String contentDir,
+        @Value("${content.hot-reload.quiet-window-ms:200}") long quietWindowMs,
+        @Value("${content.hot-reload.max-batch-delay-ms:2000}") long maxBatchDelayMs
     ) {
         this.importService = importService;
         this.eventPublisher = eventPublisher;
         this.objectMapper = objectMapper;
-        // Default to ./content directory, can be configured via properties
-        this.contentDir = Paths.get("./content");
-        this.debounceMs = 500; // 500ms debounce
+        this.contentDir = Paths.get(contentDir);
+        this.quietWindowMs = quietWindowMs;
+        this.maxBatchDelayMs = maxBatchDelayMs;
     }
 
     @PostConstruct
@@ -63,11 +78,7 @@ public class ContentFileWatcher {
         
         try {
             watchService = FileSystems.getDefault().newWatchService();
-            contentDir.register(
-                watchService,
-                StandardWatchEventKinds.ENTRY_MODIFY,
-                StandardWatchEventKinds.ENTRY_CREATE
-            );
+            registerTree(contentDir, null);
             
             executorService = Executors.newSingleThreadExecutor(r -> {
                 Thread t = new Thread(r, "content-file-watcher");
@@ -78,7 +89,7 @@ public class ContentFileWatcher {
             running = true;
             executorService.submit(this::watchLoop);
             
-            log.info("Content file watcher started for directory: {}", contentDir);
+            log.info("Content file watcher started for {} ({} directories)", contentDir, watchedDirs.size());
         } catch (IOException e) {
             log.error("Failed to start content file watcher", e);
         }
@@ -111,125 +122,216 @@ public class ContentFileWatcher {
         log.info("Content file watcher stopped");
     }
 
+    /**
+     * Register a directory and all of its subdirectories.
+     *
+     * @param discovered Collects files already present in newly created directories, or null
+     */
+    private void registerTree(Path root, Set<Path> discovered) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                WatchKey key = dir.register(
+                    watchService,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_CREATE
+                );
+                watchedDirs.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (discovered != null) {
+                    discovered.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
     private void watchLoop() {
+        Set<Path> pending = new LinkedHashSet<>();
+        long batchStartedAt = 0;
+        
         while (running) {
             try {
-                WatchKey key = watchService.take();
+                // Block until something happens, then keep collecting until the tree goes quiet
+                WatchKey key = pending.isEmpty()
+                    ? watchService.take()
+                    : watchService.poll(quietWindowMs, TimeUnit.MILLISECONDS);
                 
-                for (WatchEvent<?> event : key.pollEvents()) {
-                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
-                        continue;
+                if (key != null) {
+                    if (pending.isEmpty()) {
+                        batchStartedAt = System.currentTimeMillis();
                     }
-                    
-                    @SuppressWarnings("unchecked")
-                    WatchEvent<Path> pathEvent = (WatchEvent<Path>) event;
-                    Path changedFile = contentDir.resolve(pathEvent.context());
-                    
-                    log.debug("Content file changed: {}", changedFile);
-                    
-                    // Debounce: wait a bit for file write to complete
-                    Thread.sleep(debounceMs);
-                    
-                    handleContentChange(changedFile);
+                    collectEvents(key, pending);
                 }
                 
-                boolean valid = key.reset();
-                if (!valid) {
-                    log.warn("Watch key no longer valid");
-                    break;
+                boolean quiet = key == null;
+                boolean overdue = !pending.isEmpty()
+                    && System.currentTimeMillis() - batchStartedAt >= maxBatchDelayMs;
+                if ((quiet || overdue) && !pending.isEmpty()) {
+                    reloadBatch(List.copyOf(pending));
+                    pending.clear();
                 }
                 
-            } catch (InterruptedException e) {
+            } catch (InterruptedException | ClosedWatchServiceException e) {
                 Thread.currentThread().interrupt();
                 break;
             } catch (Exception e) {
                 log.error("Error in file watcher loop", e);
+                pending.clear();
             }
         }
     }
 
-    private void handleContentChange(Path file) {
-        try {
-            if (!Files.exists(file) || !Files.isRegularFile(file)) {
-                return;
+    private void collectEvents(WatchKey key, Set<Path> pending) throws IOException {
+        Path dir = watchedDirs.get(key);
+        
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || dir == null) {
+                continue;
             }
             
-            // Determine content type from file path
+            @SuppressWarnings("unchecked")
+            WatchEvent<Path> pathEvent = (WatchEvent<Path>) event;
+            Path changed = dir.resolve(pathEvent.context());
+            
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changed)) {
+                // New directory: watch it and pick up anything copied in with it
+                registerTree(changed, pending);
+            } else {
+                pending.add(changed);
+            }
+        }
+        
+        if (!key.reset()) {
+            watchedDirs.remove(key);
+            log.debug("Stopped watching {}", dir);
+        }
+    }
+
+    /**
+     * Import a coalesced change set, one batch per content type in dependency order.
+     */
+    void reloadBatch(List<Path> files) {
+        long started = System.currentTimeMillis();
+        Map<ContentType, List<ContentFile>> filesByType = new EnumMap<>(ContentType.class);
+        
+        for (Path file : files) {
+            if (!Files.isRegularFile(file) || !file.getFileName().toString().endsWith(".json")) {
+                continue;
+            }
             ContentType contentType = detectContentType(file);
             if (contentType == null) {
                 log.debug("Could not determine content type for: {}", file);
-                return;
+                continue;
+            }
+            try {
+                filesByType.computeIfAbsent(contentType, t -> new ArrayList<>())
+                    .add(new ContentFile(file, objectMapper.readValue(file.toFile(), Object.class)));
+            } catch (IOException e) {
+                // Usually an editor mid-save; the next write triggers another batch
+                log.warn("Skipping unreadable content file {}: {}", file, e.getMessage());
+            }
+        }
+        
+        List<DomainEvent> events = new ArrayList<>();
+        for (ContentType contentType : ContentType.importOrder()) {
+            List<ContentFile> changed = filesByType.get(contentType);
+            if (changed == null) {
+                continue;
             }
             
-            // Read and parse content
-            String contentJson = Files.readString(file);
-            Object contentData = objectMapper.readValue(contentJson, Object.class);
-            
-            // Import (this validates internally)
-            var result = importService.importContent(
-                contentType,
-                List.of(contentData),
-                "hot-reload",
-                "Auto-reloaded from file: " + file.getFileName(),
-                false
-            );
-            
-            if (result.isSuccess()) {
-                // Publish reload event
-                ContentReloaded event = ContentReloaded.create(
+            List<String> reloadedIds = importFiles(contentType, changed);
+            if (!reloadedIds.isEmpty()) {
+                events.add(ContentReloaded.create(
                     contentType.name(),
-                    result.getImportedIds(),
-                    file.toString(),
+                    reloadedIds,
+                    contentDir.toString(),
                     null, // instanceId
                     null  // agentId
-                );
-                // Publish event and await completion to ensure it's sent before continuing
-                try {
-                    var future = eventPublisher.publish(List.of(event));
-                    if (future != null) {
-                        future.join();
-                    }
-                } catch (Exception e) {
-                    log.error("Failed to publish ContentReloaded event", e);
-                    // Continue execution - event publishing failure is logged but doesn't block hot-reload
+                ));
+                log.info("Hot-reloaded {} {} items", reloadedIds.size(), contentType);
+            }
+        }
+        
+        if (!events.isEmpty()) {
+            // Publish all reload events together and await completion before the next batch
+            try {
+                var future = eventPublisher.publish(events);
+                if (future != null) {
+                    future.join();
                 }
-                
-                log.info("Hot-reloaded content: {} from {}", contentType, file.getFileName());
-            } else {
-                log.warn("Hot-reload validation failed for {}: {}", file, result.getErrors());
+            } catch (Exception e) {
+                log.error("Failed to publish ContentReloaded events", e);
+                // Continue execution - event publishing failure is logged but doesn't block hot-reload
             }
-            
-        } catch (Exception e) {
-            log.error("Failed to hot-reload content from: {}", file, e);
         }
+        
+        log.debug("Hot-reload batch of {} changes took {} ms", files.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Import the changed files of one type as a batch, falling back to one import per file
+     * when the batch is rejected (validation rejects a batch as a whole).
+     *
+     * @return IDs of the items that were imported
+     */
+    private List<String> importFiles(ContentType contentType, List<ContentFile> changed) {
+        // Import (this validates internally)
+        var result = importService.importContent(
+            contentType,
+            changed.stream().map(ContentFile::content).toList(),
+            "hot-reload",
+            "Auto-reloaded " + changed.size() + " file(s)",
+            false
+        );
+        List<String> batchIds = result.getImportedIds() != null ? result.getImportedIds() : List.of();
+        // Only a batch rejected before writing anything is retried, so no item is imported twice
+        if (result.isSuccess() || changed.size() == 1 || !batchIds.isEmpty()) {
+            if (!result.isSuccess()) {
+                log.warn("Hot-reload failed for {} {} files: {}", changed.size(), contentType, result.getErrors());
+            }
+            return batchIds;
+        }
+        
+        log.debug("Batch of {} {} files rejected, reloading them one by one", changed.size(), contentType);
+        List<String> importedIds = new ArrayList<>();
+        for (ContentFile file : changed) {
+            var single = importService.importContent(
+                contentType,
+                List.of(file.content()),
+                "hot-reload",
+                "Auto-reloaded " + file.path().getFileName(),
+                false
+            );
+            if (single.getImportedIds() != null) {
+                importedIds.addAll(single.getImportedIds());
+            }
+            if (!single.isSuccess()) {
+                log.warn("Hot-reload validation failed for {}: {}", file.path(), single.getErrors());
+            }
+        }
+        return importedIds;
     }
 
     private ContentType detectContentType(Path file) {
         String fileName = file.getFileName().toString();
         String parentDir = file.getParent() != null ? file.getParent().getFileName().toString() : "";
         
-        // Try to infer from directory structure
-        return switch (parentDir) {
-            case "items" -> ContentType.ITEM_TEMPLATE;
-            case "skills" -> ContentType.SKILL_DEFINITION;
-            case "abilities" -> ContentType.ABILITY_DEFINITION;
-            case "recipes" -> ContentType.RECIPE;
-            case "regions" -> ContentType.REGION_DEFINITION;
-            case "zones" -> ContentType.ZONE_TEMPLATE;
-            case "pois" -> ContentType.POI_TEMPLATE;
-            case "npcs" -> ContentType.NPC_TEMPLATE;
-            case "factions" -> ContentType.FACTION_DEFINITION;
-            case "encounters" -> ContentType.ENCOUNTER_TEMPLATE;
-            case "dialogue" -> ContentType.DIALOGUE_TREE;
-            default -> {
-                // Try to infer from schema filename pattern
-                try {
-                    String baseName = fileName.replace(".json", "");
-                    yield ContentType.fromSchemaFileName(baseName + ".json");
-                } catch (Exception e) {
-                    yield null;
-                }
+        // Try to infer from directory structure, then from schema filename pattern
+        return ContentType.fromDirectoryName(parentDir).orElseGet(() -> {
+            try {
+                String baseName = fileName.replace(".json", "");
+                return ContentType.fromSchemaFileName(baseName + ".json");
+            } catch (Exception e) {
+                return null;
             }
-        };
+        });
+    }
+
+    private record ContentFile(Path path, Object content) {
     }
 }
@@ -6,14 +6,25 @@ import com.andara.content.validation.ValidationEngine;
 import com.andara.content.validation.ValidationResult;
 import com.andara.domain.content.events.ContentImported;
 import com.andara.infrastructure.EventPublisher;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service for importing content with validation and event publishing.
@@ -25,15 +36,27 @@ public class ContentImportService {
     private final ValidationEngine validationEngine;
     private final ContentRepositoryService repositoryService;
     private final EventPublisher eventPublisher;
+    private final ContentCountCache countCache;
+    private final ObjectMapper objectMapper;
+    private final ContentDependencyIndex dependencyIndex;
+    private final TransactionTemplate transactionTemplate;
 
     public ContentImportService(
         ValidationEngine validationEngine,
         ContentRepositoryService repositoryService,
-        EventPublisher eventPublisher
+        EventPublisher eventPublisher,
+        ContentCountCache countCache,
+        ObjectMapper objectMapper,
+        ContentDependencyIndex dependencyIndex,
+        PlatformTransactionManager transactionManager
     ) {
         this.validationEngine = validationEngine;
         this.repositoryService = repositoryService;
         this.eventPublisher = eventPublisher;
+        this.countCache = countCache;
+        this.objectMapper = objectMapper;
+        this.dependencyIndex = dependencyIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional
@@ -64,23 +87,12 @@ public class ContentImportService {
             return ImportResult.dryRun(validation);
         }
         
-        // Import each item
+        // Resolve IDs up front, then write the whole batch in a few round trips
+        List<Map.Entry<String, Object>> contentById = new ArrayList<>(contentItems.size());
         for (Object content : contentItems) {
             try {
                 String contentId = repositoryService.extractContentId(contentType, content);
-                
-                // Save version
-                repositoryService.saveVersion(
-                    contentType,
-                    contentId,
-                    content,
-                    importedBy,
-                    changeSummary
-                );
-                
-                importedIds.add(contentId);
-                log.debug("Imported {}: {}", contentType, contentId);
-                
+                contentById.add(new AbstractMap.SimpleImmutableEntry<>(contentId, content));
             } catch (Exception e) {
                 String errorMsg = String.format("Failed to import content: %s", e.getMessage());
                 errors.add(errorMsg);
@@ -88,26 +100,39 @@ public class ContentImportService {
             }
         }
         
+        try {
+            repositoryService.saveVersions(contentType, contentById, importedBy, changeSummary)
+                .forEach(version -> importedIds.add(version.getContentId()));
+            log.debug("Imported {} {} items", importedIds.size(), contentType);
+        } catch (Exception e) {
+            String errorMsg = String.format("Failed to import content: %s", e.getMessage());
+            errors.add(errorMsg);
+            log.error(errorMsg, e);
+        }
+        
+        if (!importedIds.isEmpty()) {
+            // A recount before commit would cache the old total until the TTL runs out
+            AfterCommit.run(() -> countCache.invalidate(contentType));
+        }
+        
         // Publish event if successful
         if (errors.isEmpty() && !importedIds.isEmpty()) {
+            // Items referencing what changed, so caches can drop exactly those
+            Map<String, List<String>> dependentIds = new HashMap<>();
+            dependencyIndex.findDependents(contentType, importedIds)
+                .forEach((type, ids) -> dependentIds.put(type.name(), List.copyOf(ids)));
+            
             ContentImported event = ContentImported.create(
                 contentType.name(),
                 importedIds,
+                dependentIds,
                 importedBy,
                 null, // instanceId - system operation
                 null  // agentId - system operation
             );
-            // Publish event and await completion to ensure it's sent
-            try {
-                var future = eventPublisher.publish(List.of(event));
-                if (future != null) {
-                    future.join();
-                }
-            } catch (Exception e) {
-                log.error("Failed to publish ContentImported event", e);
-                // Continue execution - event publishing failure is logged but doesn't block import
-            }
-            log.info("Published ContentImported event for {} items", importedIds.size());
+            // Consumers drop cached dependents on this event, so it must not arrive before the rows are visible
+            int importedCount = importedIds.size();
+            AfterCommit.run(() -> publishImported(event, importedCount));
         }
         
         if (errors.isEmpty()) {
@@ -118,4 +143,114 @@ public class ContentImportService {
             return ImportResult.partial(importedIds, errors);
         }
     }
+
+    private void publishImported(ContentImported event, int importedCount) {
+        // Publish event and await completion to ensure it's sent
+        try {
+            var future = eventPublisher.publish(List.of(event));
+            if (future != null) {
+                future.join();
+            }
+        } catch (Exception e) {
+            log.error("Failed to publish ContentImported event", e);
+            // Continue execution - event publishing failure is logged but doesn't block import
+        }
+        log.info("Published ContentImported event for {} items", importedCount);
+    }
+
+    /**
+     * Import newline-delimited JSON content in fixed-size windows.
+     * Each window is validated and written as its own batch, so only one window of
+     * items is held in memory regardless of the stream length. Each window commits in its
+     * own transaction, so items may reference content from earlier windows, which is already
+     * committed when they are validated. Stops at the first window that fails, which is
+     * rolled back as a whole.
+     *
+     * @param ndjson Stream of JSON documents, one content item per line
+     * @param windowSize Maximum number of items per validate/write batch
+     * @param progress Called after every window
+     * @return Totals across all processed windows
+     */
+    public StreamImportSummary importStream(
+        ContentType contentType,
+        InputStream ndjson,
+        int windowSize,
+        String importedBy,
+        String changeSummary,
+        boolean dryRun,
+        Consumer<WindowProgress> progress
+    ) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        
+        List<Object> window = new ArrayList<>(windowSize);
+        int windowNumber = 0;
+        int processed = 0;
+        int imported = 0;
+        
+        try (MappingIterator<Object> items = objectMapper.readerFor(Object.class).readValues(ndjson)) {
+            boolean more = items.hasNextValue();
+            while (more) {
+                window.add(items.nextValue());
+                more = items.hasNextValue();
+                if (window.size() < windowSize && more) {
+                    continue;
+                }
+                
+                windowNumber++;
+                // A direct call would bypass the @Transactional proxy, so each window gets its own transaction here
+                List<Object> batch = window;
+                ImportResult result = transactionTemplate.execute(status -> {
+                    ImportResult windowResult = importContent(contentType, batch, importedBy, changeSummary, dryRun);
+                    if (!windowResult.isSuccess()) {
+                        status.setRollbackOnly();
+                        // A partial result still lists the items the rollback undoes
+                        return ImportResult.failure(windowResult.getErrors());
+                    }
+                    return windowResult;
+                });
+                processed += window.size();
+                // Only a committed window has written anything
+                if (result.isSuccess()) {
+                    imported += result.getSuccessfulImports();
+                }
+                progress.accept(new WindowProgress(windowNumber, window.size(), processed, imported, result));
+                window = new ArrayList<>(windowSize);
+                
+                if (!result.isSuccess()) {
+                    log.warn("Stream import of {} stopped at window {}", contentType, windowNumber);
+                    return new StreamImportSummary(false, windowNumber, processed, imported);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import stream at item " + (processed + window.size() + 1), e);
+        }
+        
+        log.info("Stream import of {} finished: {} items in {} windows", contentType, processed, windowNumber);
+        return new StreamImportSummary(true, windowNumber, processed, imported);
+    }
+
+    /**
+     * Progress of a streaming import after one window.
+     */
+    public record WindowProgress(
+        int window,
+        int windowItems,
+        int processed,
+        int imported,
+        ImportResult result
+    ) {
+    }
+
+    /**
+     * Totals of a streaming import.
+     */
+    public record StreamImportSummary(
+        boolean success,
+        int windows,
+        int processed,
+        int imported
+    ) {
+    }
 }
@@ -0,0 +1,21 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+
+import java.util.List;
+
+/**
+ * Thrown when content cannot be removed because other active content references it.
+ */
+public class ContentInUseException extends RuntimeException {
+    private final List<ContentDependencyIndex.Referrer> referrers;
+
+    public ContentInUseException(ContentType contentType, String contentId, List<ContentDependencyIndex.Referrer> referrers) {
+        super(String.format("%s %s is referenced by %d item(s)", contentType, contentId, referrers.size()));
+        this.referrers = List.copyOf(referrers);
+    }
+
+    public List<ContentDependencyIndex.Referrer> getReferrers() {
+        return referrers;
+    }
+}
@@ -0,0 +1,169 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.andara.content.pack.ContentPack;
+import com.andara.content.pack.ContentPackWriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compiles the active content of every type into a binary content pack and serves lookups
+ * from the memory-mapped pack. The pack is an immutable snapshot: it is loaded on startup
+ * when content.pack.path points at an existing pack, and replaced by {@link #compile}.
+ * Once content of a type is saved or deleted, lookups of that type miss until the next
+ * compile, so callers fall back to the database instead of reading stale items.
+ */
+@Service
+public class ContentPackService {
+    private static final Logger log = LoggerFactory.getLogger(ContentPackService.class);
+
+    private final ContentRepositoryService repositoryService;
+    private final ObjectMapper objectMapper;
+    private final CompiledContentCache compiledCache;
+    private final Path packPath;
+    private final Path outputDirectory;
+    private final int pageSize;
+
+    private volatile LoadedPack loaded;
+
+    public ContentPackService(
+        ContentRepositoryService repositoryService,
+        ObjectMapper objectMapper,
+        CompiledContentCache compiledCache,
+        @Value("${content.pack.path:}") String packPath,
+        @Value("${content.pack.output-directory:./content/packs}") String outputDirectory,
+        @Value("${content.export.page-size:500}") int pageSize
+    ) {
+        this.repositoryService = repositoryService;
+        this.objectMapper = objectMapper;
+        this.compiledCache = compiledCache;
+        this.packPath = packPath.isBlank() ? null : Paths.get(packPath);
+        this.outputDirectory = Paths.get(outputDirectory).toAbsolutePath().normalize();
+        this.pageSize = pageSize;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (packPath == null || !Files.exists(packPath)) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            long[] generations = generations();
+            ContentPack pack = ContentPack.open(packPath);
+            loaded = new LoadedPack(pack, generations);
+            log.info("Mapped content pack {} with {} items in {} ms",
+                packPath, pack.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Could not load content pack {}: {}", packPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Get the loaded pack, if any.
+     */
+    public Optional<ContentPack> current() {
+        LoadedPack current = loaded;
+        return current != null ? Optional.of(current.pack()) : Optional.empty();
+    }
+
+    /**
+     * Look up an item in the loaded pack.
+     *
+     * @return The item, or empty if no pack is loaded, the pack does not contain it, or content
+     *         of the type has changed since the pack was compiled
+     */
+    public Optional<JsonNode> find(ContentType contentType, String contentId) {
+        LoadedPack current = loaded;
+        if (current == null || current.generations()[contentType.ordinal()] != compiledCache.generation(contentType)) {
+            return Optional.empty();
+        }
+        return current.pack().get(contentType, contentId);
+    }
+
+    /**
+     * Compile all active content into the configured pack path and switch lookups to it.
+     */
+    public ContentPack compile() {
+        if (packPath == null) {
+            throw new IllegalStateException("content.pack.path is not configured");
+        }
+        return compile(packPath);
+    }
+
+    /**
+     * Compile all active content into a pack in the configured output directory and switch lookups to it.
+     *
+     * @param output Pack file, relative to content.pack.output-directory
+     * @throws IllegalArgumentException if the path leaves the output directory
+     */
+    public ContentPack compile(String output) {
+        Path target = outputDirectory.resolve(output).normalize();
+        if (!target.startsWith(outputDirectory) || target.equals(outputDirectory)) {
+            throw new IllegalArgumentException(String.format(
+                "Pack output must be a file inside %s: %s", outputDirectory, output));
+        }
+        try {
+            Files.createDirectories(target.getParent());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create pack directory " + target.getParent(), e);
+        }
+        return compile(target);
+    }
+
+    private ContentPack compile(Path target) {
+        long started = System.nanoTime();
+        // Taken before reading so a write during the compile leaves its type marked stale
+        long[] generations = generations();
+        ContentPackWriter writer = new ContentPackWriter();
+        for (ContentType contentType : ContentType.values()) {
+            String afterId = null;
+            List<ContentVersion> page;
+            do {
+                page = repositoryService.findActivePage(contentType, afterId, pageSize);
+                for (ContentVersion version : page) {
+                    writer.add(contentType, version.getContentId(), objectMapper.valueToTree(version.getContentData()));
+                    afterId = version.getContentId();
+                }
+            } while (page.size() == pageSize);
+        }
+
+        try {
+            writer.write(target);
+            ContentPack compiled = ContentPack.open(target);
+            loaded = new LoadedPack(compiled, generations);
+            log.info("Compiled content pack {} with {} items in {} ms",
+                target, compiled.size(), (System.nanoTime() - started) / 1_000_000);
+            return compiled;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write content pack " + target, e);
+        }
+    }
+
+    private long[] generations() {
+        long[] generations = new long[ContentType.values().length];
+        for (ContentType contentType : ContentType.values()) {
+            generations[contentType.ordinal()] = compiledCache.generation(contentType);
+        }
+        return generations;
+    }
+
+    /**
+     * A mapped pack with the content generations it was compiled at.
+     */
+    private record LoadedPack(ContentPack pack, long[] generations) {
+    }
+}
@@ -1,7 +1,13 @@
 package com.andara.application.content;
 
 import com.andara.content.ContentType;
+import com.andara.content.behavior.BehaviorTree;
+import com.andara.content.dialogue.DialogueTree;
+import com.andara.content.loot.LootTable;
+import com.andara.content.diff.JsonDiff;
+import com.andara.content.diff.JsonPatch;
 import com.andara.content.model.ContentVersion;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -9,8 +15,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.SplittableRandom;
 import java.util.UUID;
 
 /**
@@ -22,10 +34,122 @@ public class ContentQueryService {
     
     private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
+    private final ContentCountCache countCache;
+    private final CompiledContentCache compiledCache;
+    private final ContentPackService packService;
 
-    public ContentQueryService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+    public ContentQueryService(
+        JdbcTemplate jdbcTemplate,
+        ObjectMapper objectMapper,
+        ContentCountCache countCache,
+        CompiledContentCache compiledCache,
+        ContentPackService packService
+    ) {
         this.jdbcTemplate = jdbcTemplate;
         this.objectMapper = objectMapper;
+        this.countCache = countCache;
+        this.compiledCache = compiledCache;
+        this.packService = packService;
+    }
+
+    /**
+     * List active content of a given type after a cursor, ordered by content_id.
+     * Seeks on the (content_type, content_id) key instead of skipping rows, so every
+     * page costs the same. The total is the cached per-type count and is omitted
+     * when searching.
+     *
+     * @param after Opaque cursor from a previous page, or null/blank for the first page
+     * @throws IllegalArgumentException if pageSize is not positive
+     */
+    public ContentPage listActiveContentAfter(
+        ContentType contentType,
+        String after,
+        int pageSize,
+        String searchTerm
+    ) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException(String.format("Page size must be positive: %d", pageSize));
+        }
+        String afterId = decodeCursor(after);
+        boolean searching = searchTerm != null && !searchTerm.isBlank();
+
+        StringBuilder sql = new StringBuilder("""
+            SELECT cv.version_id, cv.content_type, cv.content_id, cv.version_number,
+                   cv.content_data, cv.imported_at, cv.imported_by, cv.change_summary
+            FROM active_content ac
+            JOIN content_versions cv ON cv.version_id = ac.version_id
+            WHERE ac.content_type = ?
+            """);
+        List<Object> params = new ArrayList<>();
+        params.add(contentType.name());
+
+        if (afterId != null) {
+            sql.append("  AND ac.content_id > ?\n");
+            params.add(afterId);
+        }
+        if (searching) {
+            String searchPattern = "%" + searchTerm + "%";
+            sql.append("  AND (cv.content_id ILIKE ? OR cv.content_data::text ILIKE ?)\n");
+            params.add(searchPattern);
+            params.add(searchPattern);
+        }
+        // Fetch one extra row to learn whether another page exists
+        sql.append("ORDER BY ac.content_id\nLIMIT ?\n");
+        params.add(pageSize + 1);
+
+        List<ContentVersion> rows = jdbcTemplate.query(
+            sql.toString(),
+            (rs, rowNum) -> mapVersion(rs),
+            params.toArray()
+        );
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ContentVersion> items = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext
+            ? encodeCursor(items.get(items.size() - 1).getContentId())
+            : null;
+        Integer totalCount = searching ? null : countActive(contentType);
+
+        return new ContentPage(List.copyOf(items), nextCursor, totalCount);
+    }
+
+    /**
+     * Get the number of active items of a type, served from the count cache.
+     */
+    public int countActive(ContentType contentType) {
+        return countCache.get(contentType, type -> {
+            Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM active_content WHERE content_type = ?",
+                Integer.class,
+                type.name()
+            );
+            return count != null ? count : 0;
+        });
+    }
+
+    /**
+     * Encode a content ID as an opaque page cursor.
+     */
+    public static String encodeCursor(String contentId) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(contentId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a page cursor back to the content ID it points after.
+     *
+     * @return The content ID, or null for a blank cursor
+     * @throws InvalidCursorException if the cursor is not valid
+     */
+    public static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
     }
 
     /**
@@ -110,11 +234,7 @@ public class ContentQueryService {
                 searchPattern
             );
         } else {
-            totalCount = jdbcTemplate.queryForObject(
-                "SELECT COUNT(*) FROM active_content WHERE content_type = ?",
-                Integer.class,
-                contentType.name()
-            );
+            totalCount = countActive(contentType);
         }
         
         return new ContentListResult(items, totalCount, page, pageSize);
@@ -156,38 +276,279 @@ public class ContentQueryService {
     }
 
     /**
-     * Get version history for a content item.
+     * Get the data of an active item from the loaded content pack, or from the database
+     * when no current pack holds it.
+     */
+    public Optional<JsonNode> getContentData(ContentType contentType, String contentId) {
+        return packService.find(contentType, contentId)
+            .or(() -> getContent(contentType, contentId)
+                .map(version -> objectMapper.valueToTree(version.getContentData())));
+    }
+
+    /**
+     * Get the compiled runtime form of an active dialogue tree, compiling it on first use.
+     *
+     * @throws IllegalArgumentException if the stored tree does not compile
+     */
+    public Optional<DialogueTree> getDialogueTree(String dialogueTreeId) {
+        return compiledCache.get(ContentType.DIALOGUE_TREE, dialogueTreeId, DialogueTree.class,
+            id -> getContentData(ContentType.DIALOGUE_TREE, id).map(DialogueTree::compile).orElse(null));
+    }
+
+    /**
+     * Get the compiled behavior tree of an active NPC template, compiling it on first use.
+     *
+     * @throws IllegalArgumentException if the template's behaviorTree does not compile
+     */
+    public Optional<BehaviorTree> getBehaviorTree(String npcId) {
+        return compiledCache.get(ContentType.NPC_TEMPLATE, npcId, BehaviorTree.class,
+            id -> getContentData(ContentType.NPC_TEMPLATE, id).map(BehaviorTree::compile).orElse(null));
+    }
+
+    /**
+     * Get the compiled loot of an active POI or encounter, compiling it on first use.
+     *
+     * @throws IllegalArgumentException if the type carries no loot
+     */
+    public Optional<LootTable> getLootTable(ContentType contentType, String contentId) {
+        if (contentType != ContentType.POI_TEMPLATE && contentType != ContentType.ENCOUNTER_TEMPLATE) {
+            throw new IllegalArgumentException("Content type has no loot: " + contentType);
+        }
+        return compiledCache.get(contentType, contentId, LootTable.class,
+            id -> getContentData(contentType, id).map(data -> LootTable.compile(contentType, data)).orElse(null));
+    }
+
+    /**
+     * Roll the loot of an active POI or encounter. The same seed and content version always
+     * give the same drops, so storing the seed with the outcome allows exact replay.
+     *
+     * @param rolls Number of draws from a weighted loot table
+     * @return The drops, or empty if the content does not exist
+     */
+    public Optional<List<LootTable.LootDrop>> rollLoot(ContentType contentType, String contentId, long seed, int rolls) {
+        return getLootTable(contentType, contentId)
+            .map(table -> table.roll(new SplittableRandom(seed), rolls));
+    }
+
+    /**
+     * Get version history metadata for a content item, newest first.
+     * Content bodies are not loaded; use {@link #getVersionHistory(ContentType, String, boolean)}
+     * or {@link #getVersion} when they are needed.
      */
     public List<ContentVersion> getVersionHistory(ContentType contentType, String contentId) {
-        return jdbcTemplate.query(
+        return getVersionHistory(contentType, contentId, false);
+    }
+
+    /**
+     * Get version history for a content item, newest first.
+     * Older versions are stored as reverse patches, so bodies are rebuilt in one pass
+     * from the newest version downwards.
+     *
+     * @param includeContent Whether to reconstruct each version's content
+     */
+    public List<ContentVersion> getVersionHistory(ContentType contentType, String contentId, boolean includeContent) {
+        if (!includeContent) {
+            return jdbcTemplate.query(
+                """
+                SELECT version_id, content_type, content_id, version_number,
+                       imported_at, imported_by, change_summary
+                FROM content_versions
+                WHERE content_type = ? AND content_id = ?
+                ORDER BY version_number DESC
+                """,
+                (rs, rowNum) -> mapVersionMetadata(rs),
+                contentType.name(),
+                contentId
+            );
+        }
+
+        List<StoredVersion> stored = jdbcTemplate.query(
             """
             SELECT version_id, content_type, content_id, version_number,
-                   content_data, imported_at, imported_by, change_summary
+                   content_data, content_patch, imported_at, imported_by, change_summary
             FROM content_versions
             WHERE content_type = ? AND content_id = ?
             ORDER BY version_number DESC
             """,
-            (rs, rowNum) -> {
-                try {
-                    JsonNode contentData = objectMapper.readTree(rs.getString("content_data"));
-                    return new ContentVersion(
-                        (UUID) rs.getObject("version_id"),
-                        ContentType.valueOf(rs.getString("content_type")),
-                        rs.getString("content_id"),
-                        rs.getInt("version_number"),
-                        objectMapper.treeToValue(contentData, Object.class),
-                        null,
-                        rs.getTimestamp("imported_at").toInstant(),
-                        rs.getString("imported_by"),
-                        rs.getString("change_summary")
-                    );
-                } catch (Exception e) {
-                    throw new RuntimeException("Failed to deserialize content", e);
-                }
-            },
+            (rs, rowNum) -> mapStoredVersion(rs),
             contentType.name(),
             contentId
         );
+        return reconstruct(stored);
+    }
+
+    /**
+     * Get one version of a content item with its content reconstructed.
+     * Reads only the versions between the requested one and the nearest full
+     * checkpoint above it.
+     */
+    public Optional<ContentVersion> getVersion(ContentType contentType, String contentId, int versionNumber) {
+        List<StoredVersion> stored = jdbcTemplate.query(
+            """
+            SELECT version_id, content_type, content_id, version_number,
+                   content_data, content_patch, imported_at, imported_by, change_summary
+            FROM content_versions
+            WHERE content_type = ? AND content_id = ? AND version_number >= ?
+              AND version_number <= (
+                  SELECT MIN(version_number)
+                  FROM content_versions
+                  WHERE content_type = ? AND content_id = ? AND version_number >= ?
+                    AND content_data IS NOT NULL
+              )
+            ORDER BY version_number DESC
+            """,
+            (rs, rowNum) -> mapStoredVersion(rs),
+            contentType.name(),
+            contentId,
+            versionNumber,
+            contentType.name(),
+            contentId,
+            versionNumber
+        );
+
+        List<ContentVersion> versions = reconstruct(stored);
+        if (versions.isEmpty() || versions.get(versions.size() - 1).getVersionNumber() != versionNumber) {
+            return Optional.empty();
+        }
+        return Optional.of(versions.get(versions.size() - 1));
+    }
+
+    /**
+     * Diff two versions of a content item.
+     *
+     * @param toVersion Target version, or null for the active version
+     * @return RFC 6902 patch from {@code fromVersion} to the target, or empty if either version does not exist
+     */
+    public Optional<JsonNode> diffVersions(ContentType contentType, String contentId, int fromVersion, Integer toVersion) {
+        Optional<ContentVersion> from = getVersion(contentType, contentId, fromVersion);
+        Optional<ContentVersion> to = toVersion != null
+            ? getVersion(contentType, contentId, toVersion)
+            : getContent(contentType, contentId);
+        if (from.isEmpty() || to.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(JsonDiff.diff(
+            objectMapper.valueToTree(from.get().getContentData()),
+            objectMapper.valueToTree(to.get().getContentData())
+        ));
+    }
+
+    /**
+     * Diff the active version of a content item against candidate content, e.g. a local file.
+     *
+     * @return RFC 6902 patch from the active version to {@code content}, or empty if the item is not active
+     */
+    public Optional<JsonNode> diffAgainstActive(ContentType contentType, String contentId, Object content) {
+        return getContent(contentType, contentId)
+            .map(active -> JsonDiff.diff(
+                objectMapper.valueToTree(active.getContentData()),
+                objectMapper.valueToTree(content)
+            ));
+    }
+
+    /**
+     * Rebuild content bodies from stored versions ordered newest first.
+     */
+    private List<ContentVersion> reconstruct(List<StoredVersion> stored) {
+        List<ContentVersion> versions = new ArrayList<>(stored.size());
+        JsonNode current = null;
+        try {
+            for (StoredVersion version : stored) {
+                if (version.contentData() != null) {
+                    current = objectMapper.readTree(version.contentData());
+                } else if (current != null) {
+                    current = JsonPatch.apply(current, objectMapper.readTree(version.contentPatch()));
+                } else {
+                    throw new IllegalStateException("No full version to rebuild " + version.metadata().getContentId()
+                        + " v" + version.metadata().getVersionNumber() + " from");
+                }
+                ContentVersion metadata = version.metadata();
+                versions.add(new ContentVersion(
+                    metadata.getVersionId(),
+                    metadata.getContentType(),
+                    metadata.getContentId(),
+                    metadata.getVersionNumber(),
+                    objectMapper.treeToValue(current, Object.class),
+                    null,
+                    metadata.getImportedAt(),
+                    metadata.getImportedBy(),
+                    metadata.getChangeSummary()
+                ));
+            }
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to deserialize content", e);
+        }
+        return versions;
+    }
+
+    private StoredVersion mapStoredVersion(ResultSet rs) throws SQLException {
+        return new StoredVersion(
+            mapVersionMetadata(rs),
+            rs.getString("content_data"),
+            rs.getString("content_patch")
+        );
+    }
+
+    private ContentVersion mapVersionMetadata(ResultSet rs) throws SQLException {
+        return new ContentVersion(
+            (UUID) rs.getObject("version_id"),
+            ContentType.valueOf(rs.getString("content_type")),
+            rs.getString("content_id"),
+            rs.getInt("version_number"),
+            null,
+            null,
+            rs.getTimestamp("imported_at").toInstant(),
+            rs.getString("imported_by"),
+            rs.getString("change_summary")
+        );
+    }
+
+    /**
+     * A version row as stored: either a full body or a patch from the next version.
+     */
+    private record StoredVersion(ContentVersion metadata, String contentData, String contentPatch) {
+    }
+
+    private ContentVersion mapVersion(ResultSet rs) throws SQLException {
+        try {
+            JsonNode contentData = objectMapper.readTree(rs.getString("content_data"));
+            return new ContentVersion(
+                (UUID) rs.getObject("version_id"),
+                ContentType.valueOf(rs.getString("content_type")),
+                rs.getString("content_id"),
+                rs.getInt("version_number"),
+                objectMapper.treeToValue(contentData, Object.class),
+                null,
+                rs.getTimestamp("imported_at").toInstant(),
+                rs.getString("imported_by"),
+                rs.getString("change_summary")
+            );
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to deserialize content", e);
+        }
+    }
+
+    /**
+     * Result wrapper for a cursor-paginated content list.
+     * nextCursor is null on the last page; totalCount is null when not computed.
+     */
+    public record ContentPage(
+        List<ContentVersion> items,
+        String nextCursor,
+        Integer totalCount
+    ) {
+        public boolean hasNext() {
+            return nextCursor != null;
+        }
+    }
+
+    /**
+     * Thrown when a page cursor cannot be decoded.
+     */
+    public static class InvalidCursorException extends IllegalArgumentException {
+        public InvalidCursorException(String cursor) {
+            super("Invalid cursor: " + cursor);
+        }
     }
 
     /**
@@ -1,6 +1,8 @@
 package com.andara.application.content;
 
 import com.andara.content.ContentType;
+import com.andara.content.diff.JsonDiff;
+import com.andara.content.diff.JsonPatch;
 import com.andara.content.model.ContentVersion;
 import com.andara.domain.content.events.ContentImported;
 import com.andara.infrastructure.EventPublisher;
@@ -9,10 +11,15 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.*;
@@ -27,15 +34,27 @@ public class ContentRepositoryService {
     private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
     private final EventPublisher eventPublisher;
+    private final ContentCountCache countCache;
+    private final ContentDependencyIndex dependencyIndex;
+    private final CompiledContentCache compiledCache;
+    private final int checkpointInterval;
 
     public ContentRepositoryService(
         JdbcTemplate jdbcTemplate,
         ObjectMapper objectMapper,
-        EventPublisher eventPublisher
+        EventPublisher eventPublisher,
+        ContentCountCache countCache,
+        ContentDependencyIndex dependencyIndex,
+        CompiledContentCache compiledCache,
+        @Value("${content.versions.checkpoint-interval:10}") int checkpointInterval
     ) {
         this.jdbcTemplate = jdbcTemplate;
         this.objectMapper = objectMapper;
         this.eventPublisher = eventPublisher;
+        this.countCache = countCache;
+        this.dependencyIndex = dependencyIndex;
+        this.compiledCache = compiledCache;
+        this.checkpointInterval = checkpointInterval;
     }
 
     @Transactional
@@ -46,75 +65,247 @@ public class ContentRepositoryService {
         String importedBy,
         String changeSummary
     ) {
-        try {
-            // Get next version number
-            Integer currentVersion = jdbcTemplate.queryForObject(
-                """
-                SELECT COALESCE(MAX(version_number), 0)
-                FROM content_versions
-                WHERE content_type = ? AND content_id = ?
-                """,
-                Integer.class,
-                contentType.name(),
-                contentId
-            );
-            
-            int versionNumber = (currentVersion != null ? currentVersion : 0) + 1;
+        ContentVersion version = saveVersions(
+            contentType,
+            List.of(new AbstractMap.SimpleImmutableEntry<>(contentId, contentData)),
+            importedBy,
+            changeSummary
+        ).get(0);
+        log.debug("Saved content version: {} {} v{}", contentType, contentId, version.getVersionNumber());
+        return version;
+    }
+
+    /**
+     * Save a batch of content items as new versions and activate them.
+     * Next version numbers and current head bodies for the whole batch come from one
+     * query, and all tables are written with JDBC batches, so the round trips do not grow
+     * with the item count. Items are keyed by content ID; if an ID repeats, each occurrence
+     * gets its own version and the last one becomes active.
+     * <p>
+     * New versions are stored in full. The version each one supersedes is rewritten as a
+     * reverse JSON patch unless its number is a multiple of the checkpoint interval.
+     */
+    @Transactional
+    public List<ContentVersion> saveVersions(
+        ContentType contentType,
+        List<Map.Entry<String, Object>> contentById,
+        String importedBy,
+        String changeSummary
+    ) {
+        if (contentById.isEmpty()) {
+            return List.of();
+        }
+
+        String[] contentIds = contentById.stream()
+            .map(Map.Entry::getKey)
+            .distinct()
+            .toArray(String[]::new);
+
+        // Current head version and body for every ID in the batch, in one round trip.
+        // Heads are never delta-encoded, so content_data is always present here.
+        Map<String, StoredHead> heads = new HashMap<>();
+        jdbcTemplate.query(
+            connection -> {
+                var ps = connection.prepareStatement(
+                    """
+                    SELECT DISTINCT ON (content_id) content_id, version_number, content_data
+                    FROM content_versions
+                    WHERE content_type = ? AND content_id = ANY(?)
+                    ORDER BY content_id, version_number DESC
+                    """
+                );
+                ps.setString(1, contentType.name());
+                ps.setArray(2, connection.createArrayOf("varchar", contentIds));
+                return ps;
+            },
+            (RowCallbackHandler) rs -> heads.put(
+                rs.getString("content_id"),
+                new StoredHead(rs.getInt("version_number"), rs.getString("content_data"))
+            )
+        );
+
+        Instant now = Instant.now();
+        Timestamp importedAt = Timestamp.from(now);
+        List<ContentVersion> versions = new ArrayList<>(contentById.size());
+        List<JsonNode> trees = new ArrayList<>(contentById.size());
+        List<String> bodies = new ArrayList<>(contentById.size());
+        List<String> patches = new ArrayList<>(contentById.size());
+        Map<String, Integer> latestIndex = new HashMap<>();
+        Map<String, UUID> activeVersionIds = new LinkedHashMap<>();
+        List<Object[]> demotions = new ArrayList<>();
+
+        for (Map.Entry<String, Object> entry : contentById) {
+            String contentId = entry.getKey();
+            StoredHead head = heads.get(contentId);
+            Integer previousIndex = latestIndex.put(contentId, versions.size());
+            int versionNumber = previousIndex != null
+                ? versions.get(previousIndex).getVersionNumber() + 1
+                : (head != null ? head.versionNumber() : 0) + 1;
             UUID versionId = UUID.randomUUID();
-            
-            // Serialize content data
-            String contentJson = objectMapper.writeValueAsString(contentData);
-            
-            // Insert version
-            jdbcTemplate.update(
-                """
-                INSERT INTO content_versions (
-                    version_id, content_type, content_id, version_number,
-                    content_data, imported_at, imported_by, change_summary
-                ) VALUES (?, ?, ?, ?, ?::jsonb, ?, ?, ?)
-                """,
-                versionId,
-                contentType.name(),
-                contentId,
-                versionNumber,
-                contentJson,
-                Timestamp.from(Instant.now()),
-                importedBy,
-                changeSummary
-            );
-            
-            // Activate (upsert)
-            jdbcTemplate.update(
-                """
-                INSERT INTO active_content (content_type, content_id, version_id, activated_at)
-                VALUES (?, ?, ?, CURRENT_TIMESTAMP)
-                ON CONFLICT (content_type, content_id)
-                DO UPDATE SET version_id = EXCLUDED.version_id, activated_at = EXCLUDED.activated_at
-                """,
-                contentType.name(),
-                contentId,
-                versionId
-            );
-            
-            log.debug("Saved content version: {} {} v{}", contentType, contentId, versionNumber);
-            
-            return new ContentVersion(
+            JsonNode tree = objectMapper.valueToTree(entry.getValue());
+            String body;
+            try {
+                body = objectMapper.writeValueAsString(tree);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Failed to serialize content data for " + contentId, e);
+            }
+
+            // The version this one supersedes becomes a reverse patch from this one
+            if (previousIndex != null) {
+                String patch = reversePatch(
+                    tree, trees.get(previousIndex), versions.get(previousIndex).getVersionNumber(),
+                    bodies.get(previousIndex).length()
+                );
+                if (patch != null) {
+                    bodies.set(previousIndex, null);
+                    patches.set(previousIndex, patch);
+                }
+            } else if (head != null) {
+                String patch = reversePatch(tree, readTree(head.body()), head.versionNumber(), head.body().length());
+                if (patch != null) {
+                    demotions.add(new Object[]{patch, contentType.name(), contentId, head.versionNumber()});
+                }
+            }
+
+            versions.add(new ContentVersion(
                 versionId,
                 contentType,
                 contentId,
                 versionNumber,
-                contentData,
+                entry.getValue(),
                 null,
-                Instant.now(),
+                now,
                 importedBy,
                 changeSummary
+            ));
+            trees.add(tree);
+            bodies.add(body);
+            patches.add(null);
+            activeVersionIds.put(contentId, versionId);
+        }
+
+        jdbcTemplate.batchUpdate(
+            """
+            INSERT INTO content_versions (
+                version_id, content_type, content_id, version_number,
+                content_data, content_patch, imported_at, imported_by, change_summary
+            ) VALUES (?, ?, ?, ?, ?::jsonb, ?::jsonb, ?, ?, ?)
+            """,
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ContentVersion version = versions.get(i);
+                    ps.setObject(1, version.getVersionId());
+                    ps.setString(2, contentType.name());
+                    ps.setString(3, version.getContentId());
+                    ps.setInt(4, version.getVersionNumber());
+                    ps.setString(5, bodies.get(i));
+                    ps.setString(6, patches.get(i));
+                    ps.setTimestamp(7, importedAt);
+                    ps.setString(8, importedBy);
+                    ps.setString(9, changeSummary);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return versions.size();
+                }
+            }
+        );
+
+        if (!demotions.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                """
+                UPDATE content_versions
+                SET content_data = NULL, content_patch = ?::jsonb
+                WHERE content_type = ? AND content_id = ? AND version_number = ?
+                """,
+                demotions
             );
-            
+        }
+
+        List<Map.Entry<String, UUID>> activations = new ArrayList<>(activeVersionIds.entrySet());
+        jdbcTemplate.batchUpdate(
+            """
+            INSERT INTO active_content (content_type, content_id, version_id, activated_at)
+            VALUES (?, ?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (content_type, content_id)
+            DO UPDATE SET version_id = EXCLUDED.version_id, activated_at = EXCLUDED.activated_at
+            """,
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, contentType.name());
+                    ps.setString(2, activations.get(i).getKey());
+                    ps.setObject(3, activations.get(i).getValue());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return activations.size();
+                }
+            }
+        );
+
+        dependencyIndex.replaceReferences(contentType, contentById);
+        // Drops compiled models and bumps the type's generation once the new versions are visible
+        Set<String> savedIds = activeVersionIds.keySet();
+        AfterCommit.run(() -> compiledCache.invalidate(contentType, savedIds));
+
+        log.debug("Saved {} {} versions in batch ({} earlier versions delta-encoded)",
+            versions.size(), contentType, demotions.size());
+        return versions;
+    }
+
+    /**
+     * Compute the stored form of a superseded version: a patch that turns its successor back into it.
+     *
+     * @return Patch JSON, or null if the version stays a full checkpoint
+     */
+    private String reversePatch(JsonNode successor, JsonNode previous, int previousVersion, int previousBodyLength) {
+        if (checkpointInterval <= 1 || previousVersion % checkpointInterval == 0) {
+            return null;
+        }
+        try {
+            JsonNode diff = JsonDiff.diff(successor, previous);
+            String patch = objectMapper.writeValueAsString(diff);
+            // Rewrites of most of the document are cheaper to keep whole
+            if (patch.length() >= previousBodyLength) {
+                return null;
+            }
+            // Only give up the full body once the patch provably restores it
+            if (!restores(successor, diff, previous)) {
+                log.warn("Reverse patch does not restore version {}; keeping its full body", previousVersion);
+                return null;
+            }
+            return patch;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize content patch", e);
+        }
+    }
+
+    private static boolean restores(JsonNode successor, JsonNode patch, JsonNode previous) {
+        try {
+            return previous.equals(JsonPatch.apply(successor, patch));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
         } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to serialize content data", e);
+            throw new RuntimeException("Failed to deserialize content", e);
         }
     }
 
+    /**
+     * Newest stored version of an item before a save.
+     */
+    private record StoredHead(int versionNumber, String body) {
+    }
+
     public Optional<ContentVersion> findActiveVersion(ContentType contentType, String contentId) {
         return jdbcTemplate.query(
             """
@@ -179,25 +370,126 @@ public class ContentRepositoryService {
         );
     }
 
+    /**
+     * Get one page of active content ordered by content ID, starting after the given ID.
+     * Used to walk a whole type without loading it at once.
+     *
+     * @param afterId Content ID to continue after, or null for the first page
+     */
+    public List<ContentVersion> findActivePage(ContentType contentType, String afterId, int limit) {
+        return jdbcTemplate.query(
+            """
+            SELECT cv.version_id, cv.content_type, cv.content_id, cv.version_number,
+                   cv.content_data, cv.imported_at, cv.imported_by, cv.change_summary
+            FROM active_content ac
+            JOIN content_versions cv ON cv.version_id = ac.version_id
+            WHERE ac.content_type = ? AND ac.content_id > ?
+            ORDER BY ac.content_id
+            LIMIT ?
+            """,
+            (rs, rowNum) -> {
+                try {
+                    JsonNode contentData = objectMapper.readTree(rs.getString("content_data"));
+                    return new ContentVersion(
+                        (UUID) rs.getObject("version_id"),
+                        ContentType.valueOf(rs.getString("content_type")),
+                        rs.getString("content_id"),
+                        rs.getInt("version_number"),
+                        contentData,
+                        null,
+                        rs.getTimestamp("imported_at").toInstant(),
+                        rs.getString("imported_by"),
+                        rs.getString("change_summary")
+                    );
+                } catch (Exception e) {
+                    throw new RuntimeException("Failed to deserialize content", e);
+                }
+            },
+            contentType.name(),
+            afterId != null ? afterId : "",
+            limit
+        );
+    }
+
+    /**
+     * Get one page of active content IDs and version numbers, without content bodies.
+     *
+     * @param afterId Content ID to continue after, or null for the first page
+     */
+    public List<ActiveVersionRef> findActiveVersionRefs(ContentType contentType, String afterId, int limit) {
+        return jdbcTemplate.query(
+            """
+            SELECT ac.content_id, cv.version_number
+            FROM active_content ac
+            JOIN content_versions cv ON cv.version_id = ac.version_id
+            WHERE ac.content_type = ? AND ac.content_id > ?
+            ORDER BY ac.content_id
+            LIMIT ?
+            """,
+            (rs, rowNum) -> new ActiveVersionRef(rs.getString("content_id"), rs.getInt("version_number")),
+            contentType.name(),
+            afterId != null ? afterId : "",
+            limit
+        );
+    }
+
+    /**
+     * Get the active versions of the given content IDs, ordered by content ID.
+     */
+    public List<ContentVersion> findActiveByIds(ContentType contentType, Collection<String> contentIds) {
+        if (contentIds.isEmpty()) {
+            return List.of();
+        }
+        String[] ids = contentIds.toArray(String[]::new);
+        return jdbcTemplate.query(
+            connection -> {
+                var ps = connection.prepareStatement(
+                    """
+                    SELECT cv.version_id, cv.content_type, cv.content_id, cv.version_number,
+                           cv.content_data, cv.imported_at, cv.imported_by, cv.change_summary
+                    FROM active_content ac
+                    JOIN content_versions cv ON cv.version_id = ac.version_id
+                    WHERE ac.content_type = ? AND ac.content_id = ANY(?)
+                    ORDER BY ac.content_id
+                    """
+                );
+                ps.setString(1, contentType.name());
+                ps.setArray(2, connection.createArrayOf("varchar", ids));
+                return ps;
+            },
+            (rs, rowNum) -> {
+                try {
+                    return new ContentVersion(
+                        (UUID) rs.getObject("version_id"),
+                        ContentType.valueOf(rs.getString("content_type")),
+                        rs.getString("content_id"),
+                        rs.getInt("version_number"),
+                        objectMapper.readTree(rs.getString("content_data")),
+                        null,
+                        rs.getTimestamp("imported_at").toInstant(),
+                        rs.getString("imported_by"),
+                        rs.getString("change_summary")
+                    );
+                } catch (Exception e) {
+                    throw new RuntimeException("Failed to deserialize content", e);
+                }
+            }
+        );
+    }
+
+    /**
+     * Content ID and active version number of one item.
+     */
+    public record ActiveVersionRef(String contentId, int versionNumber) {
+    }
+
     /**
      * Extract content ID from a content object based on its type.
      */
     public String extractContentId(ContentType contentType, Object content) {
         try {
             JsonNode node = objectMapper.valueToTree(content);
-            return switch (contentType) {
-                case ITEM_TEMPLATE -> node.path("templateId").asText();
-                case SKILL_DEFINITION -> node.path("skillId").asText();
-                case ABILITY_DEFINITION -> node.path("abilityId").asText();
-                case RECIPE -> node.path("recipeId").asText();
-                case REGION_DEFINITION -> node.path("regionId").asText();
-                case ZONE_TEMPLATE -> node.path("zoneId").asText();
-                case POI_TEMPLATE -> node.path("poiId").asText();
-                case NPC_TEMPLATE -> node.path("npcId").asText();
-                case FACTION_DEFINITION -> node.path("factionId").asText();
-                case ENCOUNTER_TEMPLATE -> node.path("encounterId").asText();
-                case DIALOGUE_TREE -> node.path("dialogueTreeId").asText();
-            };
+            return node.path(contentType.getIdField()).asText();
         } catch (Exception e) {
             throw new RuntimeException("Failed to extract content ID", e);
         }
@@ -222,9 +514,28 @@ public class ContentRepositoryService {
     /**
      * Delete content by deactivating it (removing from active_content).
      * Version history is preserved in content_versions.
+     *
+     * @throws ContentInUseException if other active content still references it
      */
-    @Transactional
     public boolean deleteContent(ContentType contentType, String contentId) {
+        return deleteContent(contentType, contentId, false);
+    }
+
+    /**
+     * Delete content by deactivating it, optionally even while other content references it.
+     *
+     * @param force Delete even if referenced, leaving the referrers dangling
+     * @throws ContentInUseException if not forced and other active content references it
+     */
+    @Transactional
+    public boolean deleteContent(ContentType contentType, String contentId, boolean force) {
+        if (!force) {
+            List<ContentDependencyIndex.Referrer> referrers = dependencyIndex.findReferrers(contentType, contentId);
+            if (!referrers.isEmpty()) {
+                throw new ContentInUseException(contentType, contentId, referrers);
+            }
+        }
+        
         int deleted = jdbcTemplate.update(
             """
             DELETE FROM active_content
@@ -235,6 +546,11 @@ public class ContentRepositoryService {
         );
         
         if (deleted > 0) {
+            dependencyIndex.removeReferences(contentType, contentId);
+            AfterCommit.run(() -> {
+                countCache.invalidate(contentType);
+                compiledCache.invalidate(contentType, List.of(contentId));
+            });
             log.info("Deleted (deactivated) content: {} {}", contentType, contentId);
             return true;
         }
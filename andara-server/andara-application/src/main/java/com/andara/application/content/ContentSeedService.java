@@ -1,46 +1,255 @@
 package com.andara.application.content;
 
 import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.andara.content.model.ImportResult;
+import com.andara.content.validation.ReferenceExtractor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.Yaml;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 /**
  * Service that seeds baseline content on application startup.
  * Only runs if content.seed.enabled=true and content.seed.on-startup=true
+ * <p>
+ * The seed directory holds a manifest.yml listing IDs per content directory (items, skills, ...)
+ * and one {@code <directory>/<id>.json} file per listed ID. Types are imported in waves: a type
+ * waits only for the types it references, and the types of one wave are imported in parallel
+ * through the batch import path. Items identical to their active version are skipped, so
+ * seeding an already seeded database writes nothing.
  */
 @Component
 @ConditionalOnProperty(name = "content.seed.on-startup", havingValue = "true", matchIfMissing = false)
 @Order(100) // Run after database migrations
 public class ContentSeedService implements CommandLineRunner {
     private static final Logger log = LoggerFactory.getLogger(ContentSeedService.class);
-    
+
+    static final String MANIFEST_FILE = "manifest.yml";
+    private static final Set<String> MANIFEST_PROPERTIES = Set.of("description", "version");
+
     private final ContentImportService importService;
+    private final ContentRepositoryService repositoryService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path seedDir;
+    private final int threads;
 
-    public ContentSeedService(ContentImportService importService) {
+    public ContentSeedService(
+        ContentImportService importService,
+        ContentRepositoryService repositoryService,
+        ObjectMapper objectMapper,
+        @Value("${content.seed.enabled:true}") boolean enabled,
+        @Value("${content.seed.directory:./content/seed}") String seedDir,
+        @Value("${content.seed.threads:0}") int threads
+    ) {
         this.importService = importService;
+        this.repositoryService = repositoryService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.seedDir = Paths.get(seedDir);
+        this.threads = threads;
     }
 
     @Override
     public void run(String... args) throws Exception {
-        log.info("Starting content seeding...");
-        
-        Path seedDir = Paths.get("./content/seed");
-        if (!Files.exists(seedDir)) {
-            log.warn("Seed content directory not found: {}. Skipping seeding.", seedDir);
+        if (!enabled) {
+            log.info("Content seeding disabled");
             return;
         }
-        
-        // TODO: Implement actual seed content loading
-        // For now, this is a placeholder that can be expanded
-        log.info("Content seeding completed (placeholder implementation)");
-        log.info("To seed content, place files in: {}", seedDir);
+        if (!Files.exists(seedDir.resolve(MANIFEST_FILE))) {
+            log.warn("Seed manifest not found: {}. Skipping seeding.", seedDir.resolve(MANIFEST_FILE));
+            return;
+        }
+        seed(seedDir);
+    }
+
+    /**
+     * Seed the content listed in a seed directory's manifest.
+     */
+    public SeedResult seed(Path directory) throws IOException {
+        long started = System.nanoTime();
+        log.info("Starting content seeding from {}", directory);
+
+        SeedManifest manifest = readManifest(directory.resolve(MANIFEST_FILE));
+        List<List<ContentType>> waves = importWaves(manifest.idsByType().keySet());
+
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, manifest.idsByType().size())));
+        List<TypeResult> results = new ArrayList<>();
+        try {
+            for (List<ContentType> wave : waves) {
+                List<Future<TypeResult>> futures = new ArrayList<>();
+                for (ContentType contentType : wave) {
+                    List<String> ids = manifest.idsByType().get(contentType);
+                    futures.add(pool.submit(() -> seedType(directory, contentType, ids, manifest.version())));
+                }
+                // The next wave may reference this one, so it has to be committed first
+                for (Future<TypeResult> future : futures) {
+                    results.add(future.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Content seeding interrupted", e);
+        } catch (Exception e) {
+            throw new RuntimeException("Content seeding failed", e);
+        } finally {
+            pool.shutdown();
+        }
+
+        SeedResult result = new SeedResult(
+            results.stream().mapToInt(TypeResult::imported).sum(),
+            results.stream().mapToInt(TypeResult::unchanged).sum(),
+            results.stream().flatMap(type -> type.errors().stream()).toList()
+        );
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        if (result.errors().isEmpty()) {
+            log.info("Content seeding completed: {} imported, {} unchanged in {} ms",
+                result.imported(), result.unchanged(), elapsedMs);
+        } else {
+            log.warn("Content seeding completed with {} errors: {} imported, {} unchanged in {} ms",
+                result.errors().size(), result.imported(), result.unchanged(), elapsedMs);
+            result.errors().forEach(error -> log.warn("  {}", error));
+        }
+        return result;
+    }
+
+    /**
+     * Group content types into import waves. A type lands in the wave after the last type it
+     * references; references to types later in {@link ContentType#importOrder()} (cycles such
+     * as NPCs and encounters) do not order types, matching the file importer.
+     */
+    static List<List<ContentType>> importWaves(Set<ContentType> contentTypes) {
+        List<ContentType> order = ContentType.importOrder();
+        Map<ContentType, Integer> waveOf = new EnumMap<>(ContentType.class);
+        for (ContentType contentType : order) {
+            if (!contentTypes.contains(contentType)) {
+                continue;
+            }
+            int wave = 0;
+            for (ContentType referenced : ReferenceExtractor.referencedTypes(contentType)) {
+                Integer referencedWave = waveOf.get(referenced);
+                if (referencedWave != null && referenced != contentType) {
+                    wave = Math.max(wave, referencedWave + 1);
+                }
+            }
+            waveOf.put(contentType, wave);
+        }
+
+        Map<Integer, List<ContentType>> waves = new TreeMap<>();
+        waveOf.forEach((contentType, wave) -> waves.computeIfAbsent(wave, w -> new ArrayList<>()).add(contentType));
+        return new ArrayList<>(waves.values());
+    }
+
+    private TypeResult seedType(Path directory, ContentType contentType, List<String> ids, String version) {
+        List<String> errors = new ArrayList<>();
+        Map<String, JsonNode> items = new TreeMap<>();
+        for (String id : ids) {
+            Path file = directory.resolve(contentType.getDirectoryName()).resolve(id + ".json");
+            if (!Files.exists(file)) {
+                errors.add(contentType.getDirectoryName() + "/" + id + ".json: listed in manifest but not found");
+                continue;
+            }
+            try {
+                items.put(id, objectMapper.readTree(file.toFile()));
+            } catch (IOException e) {
+                errors.add(contentType.getDirectoryName() + "/" + id + ".json: " + e.getMessage());
+            }
+        }
+
+        // Compare against what is active; only new or changed items go through import
+        Map<String, JsonNode> active = repositoryService.findActiveByIds(contentType, items.keySet()).stream()
+            .collect(Collectors.toMap(
+                ContentVersion::getContentId,
+                activeVersion -> objectMapper.valueToTree(activeVersion.getContentData()),
+                (first, second) -> first
+            ));
+        List<Object> changed = items.entrySet().stream()
+            .filter(item -> !item.getValue().equals(active.get(item.getKey())))
+            .map(item -> objectMapper.convertValue(item.getValue(), Object.class))
+            .toList();
+        int unchanged = items.size() - changed.size();
+
+        if (changed.isEmpty()) {
+            log.debug("Seed {}: {} items unchanged", contentType, unchanged);
+            return new TypeResult(0, unchanged, errors);
+        }
+
+        ImportResult result = importService.importContent(
+            contentType, changed, "seed", "Seed content " + version, false
+        );
+        if (!result.isSuccess() && result.getErrors() != null) {
+            result.getErrors().forEach(error -> errors.add(contentType + ": " + error));
+        }
+        log.info("Seed {}: {} imported, {} unchanged", contentType, result.getSuccessfulImports(), unchanged);
+        return new TypeResult(result.getSuccessfulImports(), unchanged, errors);
+    }
+
+    private SeedManifest readManifest(Path manifestFile) throws IOException {
+        Map<String, Object> manifest;
+        try (InputStream in = Files.newInputStream(manifestFile)) {
+            manifest = new Yaml().load(in);
+        }
+        if (manifest == null) {
+            manifest = Map.of();
+        }
+
+        Map<ContentType, List<String>> idsByType = new EnumMap<>(ContentType.class);
+        for (Map.Entry<String, Object> entry : manifest.entrySet()) {
+            if (MANIFEST_PROPERTIES.contains(entry.getKey())) {
+                continue;
+            }
+            ContentType contentType = ContentType.fromDirectoryName(entry.getKey()).orElse(null);
+            if (contentType == null || !(entry.getValue() instanceof List<?> entries)) {
+                log.warn("Ignoring unknown seed manifest section: {}", entry.getKey());
+                continue;
+            }
+            List<String> ids = new ArrayList<>();
+            for (Object item : entries) {
+                Object id = item instanceof Map<?, ?> map ? map.get("id") : item;
+                if (id != null) {
+                    ids.add(id.toString());
+                }
+            }
+            idsByType.put(contentType, ids);
+        }
+        return new SeedManifest(String.valueOf(manifest.getOrDefault("version", "unversioned")), idsByType);
+    }
+
+    private record SeedManifest(String version, Map<ContentType, List<String>> idsByType) {
+    }
+
+    private record TypeResult(int imported, int unchanged, List<String> errors) {
+    }
+
+    /**
+     * Totals of one seeding run.
+     *
+     * @param unchanged Items skipped because they match their active version
+     */
+    public record SeedResult(int imported, int unchanged, List<String> errors) {
     }
 }
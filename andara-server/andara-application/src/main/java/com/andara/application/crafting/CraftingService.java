@@ -0,0 +1,146 @@
+package com.andara.application.crafting;
+
+import com.andara.application.content.CompiledContentCache;
+import com.andara.application.content.ContentRepositoryService;
+import com.andara.content.ContentType;
+import com.andara.content.crafting.RecipeGraph;
+import com.andara.content.model.ContentVersion;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Crafting queries over the recipe graph compiled from active recipes.
+ * The graph is rebuilt on the first query after recipe content changes. Plans are kept in an
+ * LRU cache keyed by the query's item, quantity, inventory and skill levels, so repeating a
+ * query (as a crafting UI does while the inventory is unchanged) does not walk the graph
+ * again; the cache is dropped with the graph.
+ */
+@Service
+public class CraftingService {
+    private static final Logger log = LoggerFactory.getLogger(CraftingService.class);
+
+    private final ContentRepositoryService repositoryService;
+    private final CompiledContentCache compiledCache;
+    private final ObjectMapper objectMapper;
+    private final int planCacheSize;
+
+    private volatile Recipes recipes;
+
+    public CraftingService(
+        ContentRepositoryService repositoryService,
+        CompiledContentCache compiledCache,
+        ObjectMapper objectMapper,
+        @Value("${crafting.plan-cache-size:4096}") int planCacheSize
+    ) {
+        this.repositoryService = repositoryService;
+        this.compiledCache = compiledCache;
+        this.objectMapper = objectMapper;
+        this.planCacheSize = planCacheSize;
+    }
+
+    /**
+     * Plan how to craft an item from an inventory.
+     *
+     * @param inventory     Item quantities on hand, by itemTemplateId
+     * @param proficiencies Skill levels by skill ID
+     * @throws IllegalArgumentException if the quantity is not positive
+     */
+    public RecipeGraph.Plan plan(
+        String itemTemplateId,
+        int quantity,
+        Map<String, Integer> inventory,
+        Map<String, Integer> proficiencies
+    ) {
+        Recipes current = current();
+        PlanKey key = new PlanKey(itemTemplateId, quantity, normalize(inventory), normalize(proficiencies));
+        RecipeGraph.Plan cached = current.plans().get(key);
+        if (cached != null) {
+            return cached;
+        }
+        RecipeGraph.Plan plan = current.graph().plan(itemTemplateId, quantity, key.inventory(), key.proficiencies());
+        current.plans().put(key, plan);
+        return plan;
+    }
+
+    /**
+     * Get the compiled recipe graph.
+     */
+    public RecipeGraph graph() {
+        return current().graph();
+    }
+
+    private Recipes current() {
+        long generation = compiledCache.generation(ContentType.RECIPE);
+        Recipes current = recipes;
+        if (current != null && current.generation() == generation) {
+            return current;
+        }
+        synchronized (this) {
+            current = recipes;
+            if (current == null || current.generation() != generation) {
+                current = build(generation);
+                recipes = current;
+            }
+            return current;
+        }
+    }
+
+    private Recipes build(long generation) {
+        long started = System.nanoTime();
+        RecipeGraph graph = RecipeGraph.compile(repositoryService.findAllActive(ContentType.RECIPE).stream()
+            .map(ContentVersion::getContentData)
+            .map(content -> objectMapper.<JsonNode>valueToTree(content))
+            .toList());
+        if (!graph.cycles().isEmpty()) {
+            log.warn("Recipe graph has {} crafting cycles, e.g. {}", graph.cycles().size(), graph.cycles().get(0));
+        }
+        log.info("Built recipe graph: {} recipes, {} items in {} ms",
+            graph.recipeCount(), graph.itemCount(), (System.nanoTime() - started) / 1_000_000);
+
+        Map<PlanKey, RecipeGraph.Plan> plans = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<PlanKey, RecipeGraph.Plan> eldest) {
+                    return size() > planCacheSize;
+                }
+            }
+        );
+        return new Recipes(generation, graph, plans);
+    }
+
+    /**
+     * Drop non-positive entries so that "0 of X" and "no X" share a cache entry.
+     */
+    private static Map<String, Integer> normalize(Map<String, Integer> quantities) {
+        if (quantities == null || quantities.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Integer> normalized = new HashMap<>();
+        quantities.forEach((id, quantity) -> {
+            if (id != null && quantity != null && quantity > 0) {
+                normalized.put(id, quantity);
+            }
+        });
+        return Map.copyOf(normalized);
+    }
+
+    private record PlanKey(
+        String itemTemplateId,
+        int quantity,
+        Map<String, Integer> inventory,
+        Map<String, Integer> proficiencies
+    ) {
+    }
+
+    private record Recipes(long generation, RecipeGraph graph, Map<PlanKey, RecipeGraph.Plan> plans) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.andara.application.game;
 
+import com.andara.application.command.Command;
+import com.andara.domain.AgentId;
 import com.andara.domain.party.Origin;
 import com.andara.domain.party.Attributes;
 import com.andara.domain.party.Appearance;
@@ -9,6 +11,8 @@ import java.util.UUID;
 
 /**
  * Command to start a new game instance with character creation.
+ * The IDs of the new aggregates are chosen up front, so the caller knows them without
+ * inspecting the resulting events and a retried command recreates the same aggregates.
  */
 public record StartNewGameCommand(
     String name,
@@ -16,8 +20,23 @@ public record StartNewGameCommand(
     Attributes attributes,
     List<String> skillFocuses, // Skill IDs as strings
     Appearance appearance,
-    UUID agentId
-) {
+    UUID agentId,
+    UUID instanceId,
+    UUID partyId,
+    UUID characterId
+) implements Command {
+    public StartNewGameCommand(
+        String name,
+        Origin origin,
+        Attributes attributes,
+        List<String> skillFocuses,
+        Appearance appearance,
+        UUID agentId
+    ) {
+        this(name, origin, attributes, skillFocuses, appearance, agentId,
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    }
+
     public StartNewGameCommand {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("Character name cannot be null or blank");
@@ -40,5 +59,18 @@ public record StartNewGameCommand(
         if (agentId == null) {
             throw new IllegalArgumentException("Agent ID cannot be null");
         }
+        if (instanceId == null || partyId == null || characterId == null) {
+            throw new IllegalArgumentException("Instance, party and character IDs cannot be null");
+        }
+    }
+
+    @Override
+    public AgentId issuedBy() {
+        return AgentId.from(agentId);
+    }
+
+    @Override
+    public String targetAggregateId() {
+        return instanceId.toString();
     }
 }
@@ -1,9 +1,14 @@
 package com.andara.application.game;
 
+import com.andara.application.command.CommandHandler;
+import com.andara.application.command.CommandHandlerAnnotation;
+import com.andara.application.party.SkillIndexService;
 import com.andara.application.persistence.GamePersistenceService;
+import com.andara.application.system.WorldTickScheduler;
 import com.andara.infrastructure.CharacterRepository;
 import com.andara.infrastructure.EventPublisher;
 import com.andara.infrastructure.party.PartyRepository;
+import com.andara.common.Result;
 import com.andara.domain.DomainEvent;
 import com.andara.domain.game.Instance;
 import com.andara.domain.game.InstanceId;
@@ -26,10 +31,11 @@ import java.util.stream.Collectors;
 
 /**
  * Command handler for starting a new game.
- * Creates Instance, Party, and Character aggregates.
+ * Creates Instance, Party, and Character aggregates under the IDs carried by the command.
  */
 @Component
-public class StartNewGameCommandHandler {
+@CommandHandlerAnnotation
+public class StartNewGameCommandHandler implements CommandHandler<StartNewGameCommand> {
 
     private static final Logger log = LoggerFactory.getLogger(StartNewGameCommandHandler.class);
     private static final UUID SYSTEM_AGENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
@@ -39,29 +45,35 @@ public class StartNewGameCommandHandler {
     private final PartyRepository partyRepository;
     private final EventPublisher eventPublisher;
     private final GamePersistenceService persistenceService;
+    private final WorldTickScheduler worldTickScheduler;
+    private final SkillIndexService skillIndexService;
 
     public StartNewGameCommandHandler(
         EventStore eventStore,
         CharacterRepository characterRepository,
         PartyRepository partyRepository,
         EventPublisher eventPublisher,
-        GamePersistenceService persistenceService
+        GamePersistenceService persistenceService,
+        WorldTickScheduler worldTickScheduler,
+        SkillIndexService skillIndexService
     ) {
         this.eventStore = eventStore;
         this.characterRepository = characterRepository;
         this.partyRepository = partyRepository;
         this.eventPublisher = eventPublisher;
         this.persistenceService = persistenceService;
+        this.worldTickScheduler = worldTickScheduler;
+        this.skillIndexService = skillIndexService;
     }
 
+    @Override
     @Transactional
-    public StartNewGameResponse handle(StartNewGameCommand command) {
+    public Result<List<DomainEvent>> handle(StartNewGameCommand command) {
         log.info("Handling StartNewGameCommand for agent {}", command.agentId());
 
-        // Generate IDs
-        InstanceId instanceId = InstanceId.generate();
-        PartyId partyId = PartyId.generate();
-        CharacterId characterId = CharacterId.random();
+        InstanceId instanceId = InstanceId.from(command.instanceId());
+        PartyId partyId = PartyId.from(command.partyId());
+        CharacterId characterId = CharacterId.from(command.characterId());
 
         // Create Instance aggregate
         Instance instance = Instance.create(instanceId, command.agentId(), SYSTEM_AGENT_ID);
@@ -69,7 +81,8 @@ public class StartNewGameCommandHandler {
         // Create Party aggregate
         Party party = Party.create(partyId, instanceId, characterId, command.agentId());
 
-        // Create Character aggregate
+        // Create Character aggregate; defined skills take their dense indices first
+        skillIndexService.ensureCurrent();
         List<SkillId> skillFocusIds = command.skillFocuses().stream()
             .map(SkillId::of)
             .collect(Collectors.toList());
@@ -90,6 +103,9 @@ public class StartNewGameCommandHandler {
         // Collect Instance events BEFORE saving (saveAggregate calls markCommitted which clears events)
         // Note: Party and Character events will be published by their respective repositories
         List<DomainEvent> instanceEvents = new ArrayList<>(instance.getUncommittedEvents());
+        List<DomainEvent> allEvents = new ArrayList<>(instanceEvents);
+        allEvents.addAll(party.getUncommittedEvents());
+        allEvents.addAll(character.getUncommittedEvents());
 
         // Save all aggregates to event store
         saveAggregate(instance, "Instance");
@@ -125,14 +141,13 @@ public class StartNewGameCommandHandler {
             // The game instance is still created successfully
         }
 
+        // Ticks start once the instance is committed; a rolled back game is never ticked
+        worldTickScheduler.registerAfterCommit(instanceId);
+
         log.info("Successfully created game instance {} with party {} and character {}", 
             instanceId, partyId, characterId);
 
-        return new StartNewGameResponse(
-            instanceId.value(),
-            partyId.value(),
-            characterId.getValue()
-        );
+        return Result.success(allEvents);
     }
 
     private void saveAggregate(com.andara.domain.AggregateRoot aggregate, String aggregateType) {
@@ -142,6 +157,4 @@ public class StartNewGameCommandHandler {
             aggregate.markCommitted();
         }
     }
-
-    public record StartNewGameResponse(UUID instanceId, UUID partyId, UUID characterId) {}
 }
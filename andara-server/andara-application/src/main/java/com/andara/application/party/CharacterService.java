@@ -1,25 +1,36 @@
 package com.andara.application.party;
 
+import com.andara.application.command.CommandBus;
 import com.andara.common.Result;
 import com.andara.domain.DomainEvent;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
 /**
  * Application service for character operations.
+ * Commands are dispatched through the {@link CommandBus}: creations for one party run one at a
+ * time instead of racing each other, and concurrency conflicts are retried.
  */
 @Service
 public class CharacterService {
 
-    private final CreateCharacterCommandHandler commandHandler;
+    private final CommandBus commandBus;
 
-    public CharacterService(CreateCharacterCommandHandler commandHandler) {
-        this.commandHandler = commandHandler;
+    public CharacterService(CommandBus commandBus) {
+        this.commandBus = commandBus;
     }
 
     public Result<List<DomainEvent>> createCharacter(CreateCharacterCommand command) {
-        return commandHandler.handle(command);
+        try {
+            return commandBus.dispatch(command).join();
+        } catch (CompletionException e) {
+            // Surface the handler's own exception, such as an exhausted concurrency conflict
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
-
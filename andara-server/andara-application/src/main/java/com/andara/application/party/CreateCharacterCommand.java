@@ -27,6 +27,7 @@ public record CreateCharacterCommand(
     public AgentId issuedBy() {
         return AgentId.from(agentId);
     }
+
     public CreateCharacterCommand {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("Character name cannot be null or blank");
@@ -53,5 +54,10 @@ public record CreateCharacterCommand(
             throw new IllegalArgumentException("Agent ID cannot be null");
         }
     }
-}
 
+    @Override
+    public String targetAggregateId() {
+        // Characters join their party, so creations for one party are serialized
+        return partyId.toString();
+    }
+}
@@ -2,9 +2,12 @@ package com.andara.application.party;
 
 import com.andara.application.command.CommandHandler;
 import com.andara.application.command.CommandHandlerAnnotation;
+import com.andara.application.system.WorldTickScheduler;
 import com.andara.common.Result;
 import com.andara.infrastructure.CharacterRepository;
+import com.andara.domain.ConcurrencyException;
 import com.andara.domain.DomainEvent;
+import com.andara.domain.game.InstanceId;
 import com.andara.domain.party.Character;
 import com.andara.domain.party.CharacterId;
 import com.andara.domain.party.CharacterName;
@@ -22,9 +25,17 @@ import java.util.stream.Collectors;
 public class CreateCharacterCommandHandler implements CommandHandler<CreateCharacterCommand> {
 
     private final CharacterRepository characterRepository;
+    private final SkillIndexService skillIndexService;
+    private final WorldTickScheduler worldTickScheduler;
 
-    public CreateCharacterCommandHandler(CharacterRepository characterRepository) {
+    public CreateCharacterCommandHandler(
+        CharacterRepository characterRepository,
+        SkillIndexService skillIndexService,
+        WorldTickScheduler worldTickScheduler
+    ) {
         this.characterRepository = characterRepository;
+        this.skillIndexService = skillIndexService;
+        this.worldTickScheduler = worldTickScheduler;
     }
 
     public Result<List<DomainEvent>> handle(CreateCharacterCommand command) {
@@ -35,6 +46,9 @@ public class CreateCharacterCommandHandler implements CommandHandler<CreateChara
                 .map(SkillId::of)
                 .collect(Collectors.toList());
 
+            // Defined skills take their dense indices before the character's skill array is sized
+            skillIndexService.ensureCurrent();
+
             // Create value objects
             CharacterId characterId = CharacterId.random();
             CharacterName name = CharacterName.of(command.name());
@@ -58,11 +72,15 @@ public class CreateCharacterCommandHandler implements CommandHandler<CreateChara
 
             // Save character (repository handles event persistence AND publishing)
             characterRepository.save(character);
+            worldTickScheduler.markActive(InstanceId.from(command.instanceId()));
 
             // Return events that were saved and published
             return Result.success(events);
         } catch (IllegalArgumentException e) {
             return Result.failure(e.getMessage());
+        } catch (ConcurrencyException e) {
+            // Rethrown so the command bus can retry the command
+            throw e;
         } catch (Exception e) {
             return Result.failure("Failed to create character: " + e.getMessage());
         }
@@ -0,0 +1,68 @@
+package com.andara.application.party;
+
+import com.andara.application.content.CompiledContentCache;
+import com.andara.application.content.ContentRepositoryService;
+import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.andara.domain.party.SkillTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Registers active SKILL_DEFINITION content with the shared {@link SkillTable}, so defined
+ * skills take the low, dense indices of every character's proficiency array.
+ * Registration runs at startup, before any character is replayed, and is checked against the
+ * skill definitions' cache generation before characters are created. Skills without content
+ * still get an index on first use from the table itself.
+ */
+@Service
+public class SkillIndexService {
+    private static final Logger log = LoggerFactory.getLogger(SkillIndexService.class);
+
+    private final ContentRepositoryService repositoryService;
+    private final CompiledContentCache compiledCache;
+
+    private volatile long registeredGeneration = -1;
+
+    public SkillIndexService(ContentRepositoryService repositoryService, CompiledContentCache compiledCache) {
+        this.repositoryService = repositoryService;
+        this.compiledCache = compiledCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerOnStartup() {
+        try {
+            ensureCurrent();
+        } catch (RuntimeException e) {
+            // Registration is retried before the next character is created
+            log.warn("Could not register skill definitions at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Register any skill definitions imported since the last call.
+     */
+    public void ensureCurrent() {
+        long generation = compiledCache.generation(ContentType.SKILL_DEFINITION);
+        if (registeredGeneration == generation) {
+            return;
+        }
+        synchronized (this) {
+            if (registeredGeneration != generation) {
+                List<String> skillIds = repositoryService.findAllActive(ContentType.SKILL_DEFINITION).stream()
+                    .map(ContentVersion::getContentId)
+                    .sorted()
+                    .toList();
+                SkillTable.shared().registerAll(skillIds);
+                registeredGeneration = generation;
+                log.info("Registered {} skill definitions; skill table holds {} skills",
+                    skillIds.size(), SkillTable.shared().size());
+            }
+        }
+    }
+}
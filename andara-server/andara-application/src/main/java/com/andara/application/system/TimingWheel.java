@@ -0,0 +1,170 @@
+package com.andara.application.system;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel of {@link #LEVELS} levels with {@link #SLOTS} slots each.
+ * Level 0 holds entries due within the next 64 ticks, one slot per tick; level n holds entries
+ * due within 64^(n+1) ticks, one slot per 64^n ticks, and its slots are cascaded down a level
+ * as time reaches them. Scheduling and cancelling are O(1) and advancing costs one step per
+ * elapsed tick plus the due entries, independent of how many entries are scheduled further out.
+ * Not thread-safe: each scheduler shard owns its wheel.
+ */
+final class TimingWheel<T> {
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 4;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long HORIZON = 1L << (SLOT_BITS * LEVELS);
+
+    private final Entry<T>[][] slots = newSlots();
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long startTick) {
+        this.currentTick = startTick;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Schedule an item. Items due at or before the current tick fire on the next advance.
+     */
+    Entry<T> schedule(T item, long dueTick) {
+        Entry<T> entry = new Entry<>(item, dueTick);
+        insert(entry, 1);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Remove a scheduled entry; does nothing if it already fired or was cancelled.
+     */
+    void cancel(Entry<T> entry) {
+        if (entry.level >= 0) {
+            unlink(entry);
+            size--;
+        }
+    }
+
+    /**
+     * Move time forward to {@code tick}, handing every entry that falls due to {@code due}
+     * tick by tick. The consumer may schedule new entries.
+     *
+     * @return The number of entries that fired
+     */
+    int advance(long tick, Consumer<Entry<T>> due) {
+        int fired = 0;
+        while (currentTick < tick) {
+            if (size == 0) {
+                currentTick = tick;
+                break;
+            }
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                }
+            }
+            int slot = (int) currentTick & SLOT_MASK;
+            Entry<T> entry;
+            while ((entry = slots[0][slot]) != null) {
+                unlink(entry);
+                size--;
+                fired++;
+                due.accept(entry);
+            }
+        }
+        return fired;
+    }
+
+    private void cascade(int level, int slot) {
+        Entry<T> entry = slots[level][slot];
+        slots[level][slot] = null;
+        while (entry != null) {
+            Entry<T> next = entry.next;
+            entry.next = null;
+            entry.previous = null;
+            // Cascades run before the current tick's slot fires, so entries due now still make it
+            insert(entry, 0);
+            entry = next;
+        }
+    }
+
+    private void insert(Entry<T> entry, long minDelta) {
+        // Overdue entries go into the earliest slot still to fire; entries beyond the horizon
+        // wait in the top level and are re-placed each time their slot cascades
+        long delta = Math.max(minDelta, entry.dueTick - currentTick);
+        long target = currentTick + Math.min(delta, HORIZON - 1);
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) (target >>> (SLOT_BITS * level)) & SLOT_MASK;
+
+        // Append, so entries of one slot fire in the order they reached it
+        entry.level = level;
+        entry.slot = slot;
+        Entry<T> head = slots[level][slot];
+        if (head == null) {
+            slots[level][slot] = entry;
+            entry.previous = entry;
+        } else {
+            Entry<T> tail = head.previous;
+            tail.next = entry;
+            entry.previous = tail;
+            head.previous = entry;
+        }
+    }
+
+    private void unlink(Entry<T> entry) {
+        Entry<T> head = slots[entry.level][entry.slot];
+        if (entry == head) {
+            slots[entry.level][entry.slot] = entry.next;
+            if (entry.next != null) {
+                entry.next.previous = entry.previous;
+            }
+        } else {
+            entry.previous.next = entry.next;
+            if (entry.next != null) {
+                entry.next.previous = entry.previous;
+            } else {
+                head.previous = entry.previous;
+            }
+        }
+        entry.next = null;
+        entry.previous = null;
+        entry.level = -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Entry<T>[][] newSlots() {
+        // Slots only ever hold Entry<T> of this wheel, so the unchecked view is safe
+        return (Entry<T>[][]) new Entry<?>[LEVELS][SLOTS];
+    }
+
+    /**
+     * A scheduled item. Slot lists are doubly linked through {@code previous}, where the head's
+     * {@code previous} is the tail.
+     */
+    static final class Entry<T> {
+        final T item;
+        final long dueTick;
+        private Entry<T> next;
+        private Entry<T> previous;
+        private int level = -1;
+        private int slot;
+
+        private Entry(T item, long dueTick) {
+            this.item = item;
+            this.dueTick = dueTick;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.andara.application.system;
+
+import com.andara.domain.game.InstanceId;
+
+/**
+ * Work done for an active instance on each of its world ticks, such as advancing world time
+ * or running NPC behavior. Spring beans implementing this are picked up by {@link WorldTickScheduler}.
+ * No gameplay system implements this yet: until one does, the scheduler only tracks instance
+ * activity and tick lag, which is why it logs a warning at startup when no handler is present.
+ */
+public interface WorldTickHandler {
+
+    /**
+     * Advance one instance by one world tick. Called on the instance's shard thread, so ticks
+     * of one instance never overlap; handlers must not block for long, as they delay every
+     * other instance of the shard.
+     *
+     * @param tick Number of this instance's tick, starting at 1
+     */
+    void onWorldTick(InstanceId instanceId, long tick);
+}
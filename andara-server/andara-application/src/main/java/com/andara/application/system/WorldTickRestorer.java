@@ -0,0 +1,57 @@
+package com.andara.application.system;
+
+import com.andara.domain.game.InstanceId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Registers persisted game instances with the {@link WorldTickScheduler} on startup, since
+ * registrations only live in memory. Each instance's last event counts as its last activity, so
+ * instances idle before the restart are parked at once and only recently played ones tick.
+ */
+@Component
+public class WorldTickRestorer {
+    private static final Logger log = LoggerFactory.getLogger(WorldTickRestorer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WorldTickScheduler worldTickScheduler;
+
+    public WorldTickRestorer(JdbcTemplate jdbcTemplate, WorldTickScheduler worldTickScheduler) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.worldTickScheduler = worldTickScheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreRegistrations() {
+        int[] restored = {0};
+        try {
+            jdbcTemplate.query(
+                """
+                SELECT instance_id, MAX(timestamp) AS last_event_at
+                FROM domain_events
+                GROUP BY instance_id
+                """,
+                rs -> {
+                    InstanceId instanceId = InstanceId.from(rs.getObject("instance_id", UUID.class));
+                    Timestamp lastEventAt = rs.getTimestamp("last_event_at");
+                    if (worldTickScheduler.restore(instanceId, lastEventAt.getTime())) {
+                        restored[0]++;
+                    }
+                }
+            );
+        } catch (DataAccessException e) {
+            // Instances stay playable; they only miss world ticks until the next successful restore
+            log.warn("Could not restore world tick registrations: {}", e.getMessage());
+            return;
+        }
+        log.info("Restored world tick registrations for {} instances", restored[0]);
+    }
+}
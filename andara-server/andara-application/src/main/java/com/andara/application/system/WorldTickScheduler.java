@@ -0,0 +1,456 @@
+package com.andara.application.system;
+
+import com.andara.domain.game.InstanceId;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * World tick of the system manager: runs every {@link WorldTickHandler} for each registered
+ * instance at the instance's tick interval.
+ * Instances are sharded by ID across single-threaded workers, each owning a {@link TimingWheel}
+ * of upcoming ticks and touched by no other thread, so ticks of one instance never overlap and
+ * shard state needs no locks. A clock thread pulses every shard once per resolution step; a
+ * shard still busy with the previous pulse is left alone and catches up on the next one.
+ * Instances without activity for the idle timeout are parked: they leave the wheel and cost
+ * nothing until {@link #markActive} wakes them, so tick cost follows active instances rather
+ * than registered ones. Lag between a tick's due time and when it ran is reported through
+ * {@link #metrics()}.
+ */
+@Service
+public class WorldTickScheduler {
+    private static final Logger log = LoggerFactory.getLogger(WorldTickScheduler.class);
+
+    private final List<WorldTickHandler> handlers;
+    private final Clock clock;
+    private final long resolutionMillis;
+    private final long defaultIntervalMillis;
+    private final long idleAfterMillis;
+    private final boolean enabled;
+    private final Shard[] shards;
+    private final Map<InstanceId, Registration> registrations = new ConcurrentHashMap<>();
+    private ScheduledExecutorService clockThread;
+
+    @Autowired
+    public WorldTickScheduler(
+        ObjectProvider<WorldTickHandler> handlers,
+        @Value("${world.tick.shards:0}") int shardCount,
+        @Value("${world.tick.resolution-ms:100}") long resolutionMillis,
+        @Value("${world.tick.interval-ms:1000}") long defaultIntervalMillis,
+        @Value("${world.tick.idle-after-ms:300000}") long idleAfterMillis,
+        @Value("${world.tick.enabled:true}") boolean enabled
+    ) {
+        this(
+            handlers.orderedStream().toList(),
+            Clock.systemUTC(),
+            shardCount,
+            resolutionMillis,
+            defaultIntervalMillis,
+            idleAfterMillis,
+            enabled
+        );
+    }
+
+    WorldTickScheduler(
+        List<WorldTickHandler> handlers,
+        Clock clock,
+        int shardCount,
+        long resolutionMillis,
+        long defaultIntervalMillis,
+        long idleAfterMillis,
+        boolean enabled
+    ) {
+        this.handlers = List.copyOf(handlers);
+        this.clock = clock;
+        this.resolutionMillis = Math.max(1, resolutionMillis);
+        this.defaultIntervalMillis = Math.max(this.resolutionMillis, defaultIntervalMillis);
+        this.idleAfterMillis = Math.max(1, idleAfterMillis);
+        this.enabled = enabled;
+
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        long startTick = clock.millis() / this.resolutionMillis;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i, startTick);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("World tick scheduler disabled");
+            return;
+        }
+        clockThread = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "world-tick-clock");
+            t.setDaemon(true);
+            return t;
+        });
+        if (handlers.isEmpty()) {
+            log.warn("No WorldTickHandler beans found; world ticks will only track instance activity");
+        }
+        clockThread.scheduleAtFixedRate(this::pulse, resolutionMillis, resolutionMillis, TimeUnit.MILLISECONDS);
+        log.info("World tick scheduler started with {} shards at {} ms resolution", shards.length, resolutionMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (clockThread != null) {
+            clockThread.shutdownNow();
+        }
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        try {
+            for (Shard shard : shards) {
+                if (!shard.executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    shard.executor.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            for (Shard shard : shards) {
+                shard.executor.shutdownNow();
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Start ticking an instance at the default interval.
+     *
+     * @return false if the instance was already registered
+     */
+    public boolean register(InstanceId instanceId) {
+        return register(instanceId, defaultIntervalMillis);
+    }
+
+    /**
+     * Start ticking an instance every {@code intervalMillis}, rounded up to the resolution.
+     * The instance counts as active from now.
+     *
+     * @return false if the instance was already registered
+     */
+    public boolean register(InstanceId instanceId, long intervalMillis) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("Tick interval must be positive, but got " + intervalMillis);
+        }
+        return register(instanceId, intervalMillis, clock.millis());
+    }
+
+    /**
+     * Register an instance once the current transaction commits, so an instance whose creation
+     * rolls back is never ticked. Outside a transaction it is registered right away.
+     */
+    public void registerAfterCommit(InstanceId instanceId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            register(instanceId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                register(instanceId);
+            }
+        });
+    }
+
+    /**
+     * Re-register a persisted instance at the default interval, for instance after a restart.
+     * Its last activity is taken from {@code lastActiveMillis} instead of now, so an instance
+     * that was already idle is parked on its first due tick without running any handler.
+     *
+     * @return false if the instance was already registered
+     */
+    public boolean restore(InstanceId instanceId, long lastActiveMillis) {
+        return register(instanceId, defaultIntervalMillis, Math.min(lastActiveMillis, clock.millis()));
+    }
+
+    private boolean register(InstanceId instanceId, long intervalMillis, long lastActiveMillis) {
+        Shard shard = shards[Math.floorMod(instanceId.value().hashCode(), shards.length)];
+        long intervalTicks = (intervalMillis + resolutionMillis - 1) / resolutionMillis;
+        Registration registration = new Registration(instanceId, shard, intervalTicks, lastActiveMillis);
+        if (registrations.putIfAbsent(instanceId, registration) != null) {
+            return false;
+        }
+        long firstTick = clock.millis() / resolutionMillis + intervalTicks;
+        shard.executor.execute(() -> shard.schedule(registration, firstTick));
+        return true;
+    }
+
+    /**
+     * Stop ticking an instance. A tick already running finishes.
+     *
+     * @return false if the instance was not registered
+     */
+    public boolean unregister(InstanceId instanceId) {
+        Registration registration = registrations.remove(instanceId);
+        if (registration == null) {
+            return false;
+        }
+        registration.shard.executor.execute(() -> registration.shard.remove(registration));
+        return true;
+    }
+
+    /**
+     * Record activity in an instance, waking it if it was parked as idle. Cheap enough to call
+     * on every command: unless the instance is parked it only stores a timestamp.
+     */
+    public void markActive(InstanceId instanceId) {
+        Registration registration = registrations.get(instanceId);
+        if (registration == null) {
+            return;
+        }
+        registration.lastActiveMillis = clock.millis();
+        // Pairs with the re-check in Shard#fire: either the shard sees this activity or we see it parked
+        if (registration.parked) {
+            registration.shard.executor.execute(() -> registration.shard.wake(registration));
+        }
+    }
+
+    public boolean isRegistered(InstanceId instanceId) {
+        return registrations.containsKey(instanceId);
+    }
+
+    public Metrics metrics() {
+        int active = 0;
+        long ticks = 0;
+        long missedTicks = 0;
+        long idleParks = 0;
+        long busyPulses = 0;
+        long totalLag = 0;
+        long maxLag = 0;
+        long currentLag = 0;
+        for (Shard shard : shards) {
+            active += shard.scheduled;
+            ticks += shard.ticks;
+            missedTicks += shard.missedTicks;
+            idleParks += shard.idleParks;
+            busyPulses += shard.busyPulses;
+            totalLag += shard.totalLagMillis;
+            maxLag = Math.max(maxLag, shard.maxLagMillis);
+            currentLag = Math.max(currentLag, shard.lastLagMillis);
+        }
+        int registered = registrations.size();
+        return new Metrics(
+            shards.length,
+            registered,
+            active,
+            Math.max(0, registered - active),
+            ticks,
+            missedTicks,
+            idleParks,
+            busyPulses,
+            currentLag,
+            maxLag,
+            ticks == 0 ? 0.0 : (double) totalLag / ticks
+        );
+    }
+
+    /**
+     * Advance every shard to the current time and wait for them, instead of waiting for the
+     * clock thread.
+     */
+    void advanceNow() {
+        List<Future<?>> futures = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            futures.add(shard.executor.submit(() -> shard.advance(clock.millis())));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while advancing world ticks", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("World tick failed", e.getCause());
+        }
+    }
+
+    private void pulse() {
+        for (Shard shard : shards) {
+            if (!shard.advancing.compareAndSet(false, true)) {
+                shard.busyPulses++;
+                continue;
+            }
+            try {
+                shard.executor.execute(() -> {
+                    try {
+                        shard.advance(clock.millis());
+                    } finally {
+                        shard.advancing.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                shard.advancing.set(false);
+                log.warn("Could not pulse world tick shard {}: {}", shard.index, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One worker thread and the instances hashed to it. Everything but the volatile counters
+     * and flags is confined to the worker thread; counters have a single writer.
+     */
+    private final class Shard {
+        final int index;
+        final ExecutorService executor;
+        final TimingWheel<Registration> wheel;
+        final AtomicBoolean advancing = new AtomicBoolean();
+
+        volatile int scheduled;
+        volatile long ticks;
+        volatile long missedTicks;
+        volatile long idleParks;
+        volatile long totalLagMillis;
+        volatile long maxLagMillis;
+        volatile long lastLagMillis;
+        /** Written by the clock thread. */
+        volatile long busyPulses;
+
+        Shard(int index, long startTick) {
+            this.index = index;
+            this.wheel = new TimingWheel<>(startTick);
+            this.executor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "world-tick-" + index);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        void schedule(Registration registration, long dueTick) {
+            if (!registration.removed) {
+                registration.entry = wheel.schedule(registration, dueTick);
+                scheduled = wheel.size();
+            }
+        }
+
+        void remove(Registration registration) {
+            registration.removed = true;
+            if (registration.entry != null) {
+                wheel.cancel(registration.entry);
+                registration.entry = null;
+                scheduled = wheel.size();
+            }
+        }
+
+        void wake(Registration registration) {
+            if (registration.parked && !registration.removed && registration.entry == null) {
+                registration.parked = false;
+                schedule(registration, clock.millis() / resolutionMillis);
+            }
+        }
+
+        void advance(long nowMillis) {
+            long nowTick = nowMillis / resolutionMillis;
+            long[] lag = {0};
+            wheel.advance(nowTick, entry -> lag[0] = Math.max(lag[0], fire(entry.item, entry.dueTick, nowTick, nowMillis)));
+            lastLagMillis = lag[0];
+            scheduled = wheel.size();
+        }
+
+        /**
+         * @return The tick's lag, or 0 if the instance was parked instead
+         */
+        private long fire(Registration registration, long dueTick, long nowTick, long nowMillis) {
+            registration.entry = null;
+            if (nowMillis - registration.lastActiveMillis >= idleAfterMillis) {
+                registration.parked = true;
+                if (nowMillis - registration.lastActiveMillis >= idleAfterMillis) {
+                    idleParks++;
+                    return 0;
+                }
+                registration.parked = false;
+            }
+
+            long lagMillis = Math.max(0, nowMillis - dueTick * resolutionMillis);
+            ticks++;
+            totalLagMillis += lagMillis;
+            maxLagMillis = Math.max(maxLagMillis, lagMillis);
+            long tick = ++registration.ticks;
+            for (WorldTickHandler handler : handlers) {
+                try {
+                    handler.onWorldTick(registration.instanceId, tick);
+                } catch (RuntimeException e) {
+                    log.error("World tick handler {} failed for instance {}",
+                        handler.getClass().getSimpleName(), registration.instanceId, e);
+                }
+            }
+
+            // Ticks that are already overdue are skipped rather than run back to back
+            long next = dueTick + registration.intervalTicks;
+            if (next <= nowTick) {
+                long missed = (nowTick - next) / registration.intervalTicks + 1;
+                missedTicks += missed;
+                next += missed * registration.intervalTicks;
+            }
+            schedule(registration, next);
+            return lagMillis;
+        }
+    }
+
+    private static final class Registration {
+        final InstanceId instanceId;
+        final Shard shard;
+        final long intervalTicks;
+        volatile long lastActiveMillis;
+        volatile boolean parked;
+
+        // Confined to the shard thread
+        TimingWheel.Entry<Registration> entry;
+        boolean removed;
+        long ticks;
+
+        Registration(InstanceId instanceId, Shard shard, long intervalTicks, long lastActiveMillis) {
+            this.instanceId = instanceId;
+            this.shard = shard;
+            this.intervalTicks = intervalTicks;
+            this.lastActiveMillis = lastActiveMillis;
+        }
+    }
+
+    /**
+     * @param registered       Instances registered for world ticks
+     * @param active           Instances with a tick scheduled
+     * @param idle             Instances parked for lack of activity
+     * @param missedTicks      Overdue ticks skipped because an instance fell behind
+     * @param idleParks        Times an instance was parked as idle
+     * @param busyPulses       Clock pulses a shard missed because it was still working
+     * @param currentLagMillis Largest lag in each shard's most recent advance
+     * @param maxLagMillis     Largest lag seen since start
+     */
+    public record Metrics(
+        int shards,
+        int registered,
+        int active,
+        int idle,
+        long ticks,
+        long missedTicks,
+        long idleParks,
+        long busyPulses,
+        long currentLagMillis,
+        long maxLagMillis,
+        double averageLagMillis
+    ) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.andara.application.world;
+
+import com.andara.application.content.CompiledContentCache;
+import com.andara.application.content.ContentRepositoryService;
+import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.andara.content.world.ContractionHierarchy;
+import com.andara.content.world.WorldGraph;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Travel routing over the world graph compiled from active regions and zones.
+ * The graph and its contraction hierarchy are rebuilt on the first query after region or
+ * zone content changes; recent routes are kept in an LRU cache that is dropped with the graph.
+ */
+@Service
+public class WorldTopologyService {
+    private static final Logger log = LoggerFactory.getLogger(WorldTopologyService.class);
+
+    private final ContentRepositoryService repositoryService;
+    private final CompiledContentCache compiledCache;
+    private final ObjectMapper objectMapper;
+    private final int routeCacheSize;
+
+    private volatile Topology topology;
+
+    public WorldTopologyService(
+        ContentRepositoryService repositoryService,
+        CompiledContentCache compiledCache,
+        ObjectMapper objectMapper,
+        @Value("${world.routing.route-cache-size:4096}") int routeCacheSize
+    ) {
+        this.repositoryService = repositoryService;
+        this.compiledCache = compiledCache;
+        this.objectMapper = objectMapper;
+        this.routeCacheSize = routeCacheSize;
+    }
+
+    /**
+     * Find the cheapest route between two zones.
+     *
+     * @return The route, or empty if either zone is not placed in a region or they are not connected
+     */
+    public Optional<WorldGraph.Route> route(String fromZoneId, String toZoneId) {
+        Topology current = current();
+        RouteKey key = new RouteKey(fromZoneId, toZoneId);
+        Optional<WorldGraph.Route> cached = current.routes().get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<WorldGraph.Route> route = current.hierarchy().route(fromZoneId, toZoneId);
+        current.routes().put(key, route);
+        return route;
+    }
+
+    /**
+     * Get the compiled world graph.
+     */
+    public WorldGraph graph() {
+        return current().hierarchy().graph();
+    }
+
+    private Topology current() {
+        long regionGeneration = compiledCache.generation(ContentType.REGION_DEFINITION);
+        long zoneGeneration = compiledCache.generation(ContentType.ZONE_TEMPLATE);
+        Topology current = topology;
+        if (current != null && current.regionGeneration() == regionGeneration && current.zoneGeneration() == zoneGeneration) {
+            return current;
+        }
+        synchronized (this) {
+            current = topology;
+            if (current == null || current.regionGeneration() != regionGeneration || current.zoneGeneration() != zoneGeneration) {
+                current = build(regionGeneration, zoneGeneration);
+                topology = current;
+            }
+            return current;
+        }
+    }
+
+    private Topology build(long regionGeneration, long zoneGeneration) {
+        long started = System.nanoTime();
+        WorldGraph graph = WorldGraph.compile(
+            load(ContentType.REGION_DEFINITION),
+            load(ContentType.ZONE_TEMPLATE)
+        );
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+        log.info("Built world graph: {} zones, {} edges, {} shortcuts in {} ms",
+            graph.size(), graph.edgeCount(), hierarchy.shortcutCount(), (System.nanoTime() - started) / 1_000_000);
+
+        Map<RouteKey, Optional<WorldGraph.Route>> routes = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<RouteKey, Optional<WorldGraph.Route>> eldest) {
+                    return size() > routeCacheSize;
+                }
+            }
+        );
+        return new Topology(regionGeneration, zoneGeneration, hierarchy, routes);
+    }
+
+    private List<JsonNode> load(ContentType contentType) {
+        return repositoryService.findAllActive(contentType).stream()
+            .map(ContentVersion::getContentData)
+            .map(content -> objectMapper.<JsonNode>valueToTree(content))
+            .toList();
+    }
+
+    private record RouteKey(String fromZoneId, String toZoneId) {
+    }
+
+    private record Topology(
+        long regionGeneration,
+        long zoneGeneration,
+        ContractionHierarchy hierarchy,
+        Map<RouteKey, Optional<WorldGraph.Route>> routes
+    ) {
+    }
+}
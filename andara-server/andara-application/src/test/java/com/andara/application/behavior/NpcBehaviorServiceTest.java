@@ -0,0 +1,109 @@
+package com.andara.application.behavior;
+
+import com.andara.application.content.ContentQueryService;
+import com.andara.content.behavior.BehaviorAction;
+import com.andara.content.behavior.BehaviorPopulation;
+import com.andara.content.behavior.BehaviorSlot;
+import com.andara.content.behavior.BehaviorTree;
+import com.andara.domain.combat.Battlefield;
+import com.andara.domain.combat.BattlefieldPosition;
+import com.andara.domain.combat.CombatEncounter;
+import com.andara.domain.combat.CombatantPlacement;
+import com.andara.domain.combat.CombatantProfile;
+import com.andara.domain.combat.EncounterId;
+import com.andara.domain.combat.Weapon;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NpcBehaviorServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ContentQueryService queryService;
+    private NpcBehaviorService service;
+
+    @BeforeEach
+    void setUp() {
+        queryService = mock(ContentQueryService.class);
+        service = new NpcBehaviorService(queryService, 2, 100, 60_000);
+
+        when(queryService.getBehaviorTree("npc_raider")).thenReturn(Optional.of(tree("npc_raider",
+            Map.of("aggressive", true, "fleeThreshold", 30))));
+        when(queryService.getBehaviorTree("npc_rat")).thenReturn(Optional.of(tree("npc_rat",
+            Map.of("behaviorTree", "cowardly"))));
+        when(queryService.getBehaviorTree("npc_missing")).thenReturn(Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void tick_shouldEvaluateEveryNpcInBatches() {
+        List<String> npcIds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            npcIds.add(i % 3 == 0 ? "npc_rat" : "npc_raider");
+        }
+        BehaviorPopulation population = service.createPopulation(npcIds);
+        for (int instance = 0; instance < npcIds.size(); instance++) {
+            population.blackboard().set(population.row(instance), BehaviorSlot.ENEMY_VISIBLE, instance % 2 == 0);
+        }
+
+        NpcBehaviorService.TickResult result = service.tick(population);
+
+        assertEquals(1000, result.ticked());
+        assertEquals(0, result.skipped());
+        for (int instance = 0; instance < npcIds.size(); instance++) {
+            BehaviorAction expected = instance % 3 == 0
+                ? (instance % 2 == 0 ? BehaviorAction.FLEE : BehaviorAction.WANDER)
+                : (instance % 2 == 0 ? BehaviorAction.APPROACH : BehaviorAction.WANDER);
+            assertEquals(expected, population.decision(instance), "instance " + instance);
+        }
+        // Templates are resolved once per distinct ID
+        verify(queryService, times(1)).getBehaviorTree("npc_raider");
+    }
+
+    @Test
+    void createPopulation_withMissingTemplate_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.createPopulation(List.of("npc_raider", "npc_missing")));
+    }
+
+    @Test
+    void decide_shouldReadTheEncounterFromTheCombatantsView() {
+        Weapon club = new Weapon("club", 2, 4, 1, 3);
+        CombatEncounter encounter = CombatEncounter.start(
+            EncounterId.generate(),
+            new Battlefield(8, 3),
+            List.of(
+                new CombatantPlacement(profile("raider", 0, club), BattlefieldPosition.of(0, 1)),
+                new CombatantPlacement(profile("settler", 1, club), BattlefieldPosition.of(5, 1))
+            ),
+            1L
+        );
+
+        assertEquals(BehaviorAction.APPROACH, service.decide(encounter, "raider", "npc_raider"));
+        assertEquals(BehaviorAction.FLEE, service.decide(encounter, "settler", "npc_rat"));
+    }
+
+    private BehaviorTree tree(String npcId, Map<String, Object> behavior) {
+        return BehaviorTree.compile(objectMapper.valueToTree(Map.of("npcId", npcId, "behavior", behavior)));
+    }
+
+    private static CombatantProfile profile(String id, int team, Weapon weapon) {
+        return new CombatantProfile(id, team, 20, 8, 10, 10, 10, 40, 0, weapon);
+    }
+}
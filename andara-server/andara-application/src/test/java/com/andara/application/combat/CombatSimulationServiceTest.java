@@ -0,0 +1,113 @@
+package com.andara.application.combat;
+
+import com.andara.application.content.ContentRepositoryService;
+import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.andara.domain.combat.SimulationReport;
+import com.andara.domain.combat.Weapon;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CombatSimulationServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ContentRepositoryService repositoryService;
+    private CombatSimulationService service;
+
+    @BeforeEach
+    void setUp() {
+        repositoryService = mock(ContentRepositoryService.class);
+        service = new CombatSimulationService(repositoryService, objectMapper, 10_000);
+
+        when(repositoryService.findActiveByIds(eq(ContentType.NPC_TEMPLATE), anyCollection())).thenReturn(List.of(
+            npc("npc_veteran", 40, 3, "item_rifle"),
+            npc("npc_scavenger", 20, 0, "item_scrap")
+        ));
+        when(repositoryService.findActiveByIds(eq(ContentType.ITEM_TEMPLATE), anyCollection())).thenReturn(List.of(
+            new ContentVersion(null, ContentType.ITEM_TEMPLATE, "item_rifle", 1, Map.of(
+                "templateId", "item_rifle",
+                "category", "weapon",
+                "properties", Map.of("weapon", Map.of("damageMin", 6, "damageMax", 10, "range", 6, "attackSpeed", 2.0))
+            ), null, null, "test", ""),
+            new ContentVersion(null, ContentType.ITEM_TEMPLATE, "item_scrap", 1, Map.of(
+                "templateId", "item_scrap",
+                "category", "resource"
+            ), null, null, "test", "")
+        ));
+    }
+
+    @Test
+    void simulate_shouldFavourTheStrongerNpcs() {
+        SimulationReport report = service.simulate(new CombatSimulationService.SimulationRequest(
+            List.of(
+                new CombatSimulationService.Side(List.of("npc_veteran"), null),
+                new CombatSimulationService.Side(List.of("npc_scavenger", "npc_scavenger"), null)
+            ),
+            500, 17L, 16, 8
+        ));
+
+        assertEquals(500, report.encounters());
+        assertTrue(report.winRate(0) > report.winRate(1), report.toString());
+        assertEquals(report, service.simulate(new CombatSimulationService.SimulationRequest(
+            List.of(
+                new CombatSimulationService.Side(List.of("npc_veteran"), null),
+                new CombatSimulationService.Side(List.of("npc_scavenger", "npc_scavenger"), null)
+            ),
+            500, 17L, 16, 8
+        )));
+    }
+
+    @Test
+    void weapon_shouldMapItemTemplateWeaponProperties() {
+        Weapon rifle = CombatSimulationService.weapon(objectMapper.valueToTree(Map.of(
+            "properties", Map.of("weapon", Map.of("damageMin", 6, "damageMax", 10, "range", 6, "attackSpeed", 2.0))
+        )), "item_rifle");
+
+        assertEquals(new Weapon("item_rifle", 6, 10, 6, 2), rifle);
+        assertThrows(IllegalArgumentException.class,
+            () -> CombatSimulationService.weapon(objectMapper.valueToTree(Map.of("category", "resource")), "item_scrap"));
+    }
+
+    @Test
+    void simulate_withUnknownNpcOrWeapon_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> service.simulate(new CombatSimulationService.SimulationRequest(
+            List.of(
+                new CombatSimulationService.Side(List.of("npc_veteran"), null),
+                new CombatSimulationService.Side(List.of("npc_missing"), null)
+            ),
+            10, 1L, 10, 10
+        )));
+        assertThrows(IllegalArgumentException.class, () -> service.simulate(new CombatSimulationService.SimulationRequest(
+            List.of(
+                new CombatSimulationService.Side(List.of("npc_veteran"), "item_scrap"),
+                new CombatSimulationService.Side(List.of("npc_scavenger"), null)
+            ),
+            10, 1L, 10, 10
+        )));
+        assertThrows(IllegalArgumentException.class, () -> service.simulate(new CombatSimulationService.SimulationRequest(
+            List.of(
+                new CombatSimulationService.Side(List.of("npc_veteran"), null),
+                new CombatSimulationService.Side(List.of("npc_scavenger"), null)
+            ),
+            10_001, 1L, 10, 10
+        )));
+    }
+
+    private static ContentVersion npc(String npcId, int health, int armor, String itemTemplateId) {
+        return new ContentVersion(null, ContentType.NPC_TEMPLATE, npcId, 1, Map.of(
+            "npcId", npcId,
+            "stats", Map.of("health", health, "armor", armor, "skills", Map.of("skill_ranged", 40)),
+            "inventory", List.of(Map.of("itemTemplateId", itemTemplateId, "quantity", 1))
+        ), null, null, "test", "");
+    }
+}
@@ -0,0 +1,157 @@
+package com.andara.application.command;
+
+import com.andara.common.Result;
+import com.andara.domain.AgentId;
+import com.andara.domain.ConcurrencyException;
+import com.andara.domain.DomainEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandBusTest {
+
+    private CommandBus commandBus;
+
+    @BeforeEach
+    void setUp() {
+        commandBus = new CommandBus(new CommandRetryPolicy(3, 0, 0), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        commandBus.shutdown();
+    }
+
+    @Test
+    void send_shouldRunHandlerOnCallerThread() {
+        Thread caller = Thread.currentThread();
+        commandBus.register(TestCommand.class, command -> {
+            assertSame(caller, Thread.currentThread());
+            return Result.success(List.of());
+        });
+
+        assertTrue(commandBus.send(new TestCommand("a", 1)).isSuccess());
+    }
+
+    @Test
+    void dispatch_shouldRunCommandsForOneAggregateInOrderWithoutOverlap() throws Exception {
+        Map<String, List<Integer>> applied = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        commandBus.register(TestCommand.class, command -> {
+            AtomicInteger active = running.computeIfAbsent(command.aggregateId(), id -> new AtomicInteger());
+            if (active.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            // Unsynchronized on purpose: only one command per aggregate may be here at a time
+            applied.computeIfAbsent(command.aggregateId(), id -> new ArrayList<>()).add(command.sequence());
+            active.decrementAndGet();
+            return Result.success(List.of());
+        });
+
+        List<CompletableFuture<Result<List<DomainEvent>>>> futures = new ArrayList<>();
+        for (int sequence = 0; sequence < 500; sequence++) {
+            for (String aggregateId : List.of("a", "b", "c")) {
+                futures.add(commandBus.dispatch(new TestCommand(aggregateId, sequence)));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+        assertEquals(0, overlaps.get());
+        for (String aggregateId : List.of("a", "b", "c")) {
+            List<Integer> sequences = applied.get(aggregateId);
+            assertEquals(500, sequences.size());
+            for (int i = 0; i < sequences.size(); i++) {
+                assertEquals(i, sequences.get(i));
+            }
+        }
+        // Futures complete before their mailbox closes, so give the last drains a moment
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (commandBus.activeMailboxes() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, commandBus.activeMailboxes());
+    }
+
+    @Test
+    void dispatch_shouldRunDifferentAggregatesConcurrently() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        commandBus.register(TestCommand.class, command -> {
+            bothStarted.countDown();
+            try {
+                // Only completes if the other aggregate's command runs at the same time
+                assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Result.success(List.of());
+        });
+
+        CompletableFuture<Result<List<DomainEvent>>> first = commandBus.dispatch(new TestCommand("a", 1));
+        CompletableFuture<Result<List<DomainEvent>>> second = commandBus.dispatch(new TestCommand(null, 2));
+
+        assertTrue(first.get(10, TimeUnit.SECONDS).isSuccess());
+        assertTrue(second.get(10, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    void dispatch_shouldCompleteExceptionallyAndKeepServingTheAggregate() throws Exception {
+        commandBus.register(TestCommand.class, command -> {
+            if (command.sequence() == 1) {
+                throw new IllegalStateException("boom");
+            }
+            return Result.success(List.of());
+        });
+
+        CompletableFuture<Result<List<DomainEvent>>> failed = commandBus.dispatch(new TestCommand("a", 1));
+        CompletableFuture<Result<List<DomainEvent>>> next = commandBus.dispatch(new TestCommand("a", 2));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertTrue(next.get(10, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    void send_shouldRetryHandlerAfterConcurrencyConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+        commandBus.register(TestCommand.class, command -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ConcurrencyException("conflict");
+            }
+            return Result.success(List.of());
+        });
+
+        assertTrue(commandBus.send(new TestCommand("a", 1)).isSuccess());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void dispatch_shouldRejectCommandsWithoutHandler() {
+        assertThrows(CommandBus.NoHandlerException.class, () -> commandBus.dispatch(new TestCommand("a", 1)));
+    }
+
+    private record TestCommand(String aggregateId, int sequence) implements Command {
+        @Override
+        public AgentId issuedBy() {
+            return AgentId.from(UUID.randomUUID());
+        }
+
+        @Override
+        public String targetAggregateId() {
+            return aggregateId;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.andara.application.command;
+
+import com.andara.domain.ConcurrencyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandRetryPolicyTest {
+
+    @Test
+    void execute_shouldRetryConflictsUntilSuccess() {
+        CommandRetryPolicy policy = new CommandRetryPolicy(5, 1, 2);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = policy.execute("Test", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                // Repositories may wrap the conflict
+                throw new RuntimeException("Failed to persist events", new ConcurrencyException("conflict"));
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        CommandRetryPolicy.Metrics metrics = policy.metrics();
+        assertEquals(1, metrics.executions());
+        assertEquals(2, metrics.conflicts());
+        assertEquals(2, metrics.retries());
+        assertEquals(0, metrics.exhausted());
+        assertEquals(2.0, metrics.conflictRate());
+    }
+
+    @Test
+    void execute_shouldGiveUpAfterMaxAttempts() {
+        CommandRetryPolicy policy = new CommandRetryPolicy(3, 0, 0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConcurrencyException.class, () -> policy.execute("Test", () -> {
+            attempts.incrementAndGet();
+            throw new ConcurrencyException("conflict");
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(3, policy.metrics().conflicts());
+        assertEquals(2, policy.metrics().retries());
+        assertEquals(1, policy.metrics().exhausted());
+    }
+
+    @Test
+    void metrics_shouldBreakConflictsDownByCommand() {
+        CommandRetryPolicy policy = new CommandRetryPolicy(3, 0, 0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        policy.execute("MoveParty", () -> {
+            if (attempts.incrementAndGet() < 2) {
+                throw new ConcurrencyException("conflict");
+            }
+            return null;
+        });
+        policy.execute("CreateCharacter", () -> null);
+        policy.execute("CreateCharacter", () -> null);
+
+        CommandRetryPolicy.Metrics metrics = policy.metrics();
+        assertEquals(3, metrics.executions());
+        assertEquals(1, metrics.conflicts());
+        CommandRetryPolicy.CommandMetrics move = metrics.byCommand().get("MoveParty");
+        assertEquals(1, move.executions());
+        assertEquals(1, move.conflicts());
+        assertEquals(1, move.retries());
+        assertEquals(1.0, move.conflictRate());
+        CommandRetryPolicy.CommandMetrics create = metrics.byCommand().get("CreateCharacter");
+        assertEquals(2, create.executions());
+        assertEquals(0, create.conflicts());
+    }
+
+    @Test
+    void execute_shouldNotRetryOtherFailures() {
+        CommandRetryPolicy policy = new CommandRetryPolicy(3, 0, 0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> policy.execute("Test", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("broken");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, policy.metrics().conflicts());
+        assertEquals(0.0, policy.metrics().conflictRate());
+    }
+}
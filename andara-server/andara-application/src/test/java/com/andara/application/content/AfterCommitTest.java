@@ -0,0 +1,49 @@
+package com.andara.application.content;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AfterCommitTest {
+
+    @Test
+    void run_shouldRunImmediatelyOutsideTransaction() {
+        AtomicInteger runs = new AtomicInteger();
+
+        AfterCommit.run(runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void run_shouldDeferUntilCommit() {
+        AtomicInteger runs = new AtomicInteger();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            AfterCommit.run(runs::incrementAndGet);
+            assertEquals(0, runs.get());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void run_shouldSkipOnRollback() {
+        AtomicInteger runs = new AtomicInteger();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            AfterCommit.run(runs::incrementAndGet);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, runs.get());
+    }
+}
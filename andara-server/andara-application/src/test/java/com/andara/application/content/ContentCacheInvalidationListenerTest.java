@@ -0,0 +1,75 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ContentCacheInvalidationListenerTest {
+
+    private CompiledContentCache compiledCache;
+    private ContentCountCache countCache;
+    private ContentCacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        compiledCache = new CompiledContentCache();
+        countCache = mock(ContentCountCache.class);
+        listener = new ContentCacheInvalidationListener(compiledCache, countCache);
+    }
+
+    @Test
+    void handleContentEvent_contentImported_shouldInvalidateImportedAndDependentItems() {
+        AtomicInteger loads = new AtomicInteger();
+        compiledCache.get(ContentType.ITEM_TEMPLATE, "item_a", String.class, id -> "item " + loads.incrementAndGet());
+        compiledCache.get(ContentType.RECIPE, "recipe_a", String.class, id -> "recipe " + loads.incrementAndGet());
+        compiledCache.get(ContentType.RECIPE, "recipe_b", String.class, id -> "recipe " + loads.incrementAndGet());
+        long recipeGeneration = compiledCache.generation(ContentType.RECIPE);
+
+        listener.handleContentEvent(Map.of(
+            "eventType", "ContentImported",
+            "payload", Map.of(
+                "contentType", "ITEM_TEMPLATE",
+                "importedIds", List.of("item_a"),
+                "dependentIds", Map.of("RECIPE", List.of("recipe_a"))
+            )
+        ));
+
+        assertTrue(wasDropped(ContentType.ITEM_TEMPLATE, "item_a", loads));
+        assertTrue(wasDropped(ContentType.RECIPE, "recipe_a", loads));
+        assertFalse(wasDropped(ContentType.RECIPE, "recipe_b", loads));
+        assertTrue(compiledCache.generation(ContentType.RECIPE) > recipeGeneration);
+        verify(countCache).invalidate(ContentType.ITEM_TEMPLATE);
+    }
+
+    @Test
+    void handleContentEvent_contentReloaded_shouldInvalidateReloadedItems() {
+        AtomicInteger loads = new AtomicInteger();
+        compiledCache.get(ContentType.DIALOGUE_TREE, "smith_intro", String.class, id -> "tree " + loads.incrementAndGet());
+
+        listener.handleContentEvent(Map.of(
+            "eventType", "ContentReloaded",
+            "payload", Map.of("contentType", "DIALOGUE_TREE", "reloadedIds", List.of("smith_intro"))
+        ));
+
+        assertTrue(wasDropped(ContentType.DIALOGUE_TREE, "smith_intro", loads));
+        verifyNoInteractions(countCache);
+    }
+
+    /**
+     * Whether the next lookup has to compile the model again.
+     */
+    private boolean wasDropped(ContentType contentType, String contentId, AtomicInteger loads) {
+        int before = loads.get();
+        compiledCache.get(contentType, contentId, String.class, id -> "reloaded " + loads.incrementAndGet());
+        return loads.get() > before;
+    }
+}
@@ -0,0 +1,201 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.andara.content.model.ExportResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ContentExportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ContentRepositoryService repositoryService;
+    private ContentExportService service;
+
+    @BeforeEach
+    void setUp() {
+        repositoryService = mock(ContentRepositoryService.class);
+        // Page size 2 so three skills span two pages
+        service = new ContentExportService(repositoryService, new ObjectMapper(), 2, 2);
+
+        List<ContentVersion> skills = List.of(skill("alpha"), skill("beta"), skill("gamma"));
+        when(repositoryService.findActivePage(any(), any(), anyInt())).thenReturn(List.of());
+        when(repositoryService.findActivePage(eq(ContentType.SKILL_DEFINITION), isNull(), eq(2)))
+            .thenReturn(skills.subList(0, 2));
+        when(repositoryService.findActivePage(ContentType.SKILL_DEFINITION, "beta", 2))
+            .thenReturn(skills.subList(2, 3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void exportContent_shouldWriteFilesWithMatchingChecksums() throws Exception {
+        ExportResult result = service.exportContent(ContentType.SKILL_DEFINITION, tempDir, "test", "dev");
+
+        assertEquals(3, result.getExportedCount());
+        assertNull(result.getErrors());
+        List<ExportResult.ExportedFile> files = result.getFilesByType().get("SKILL_DEFINITION");
+        assertEquals(List.of("alpha", "beta", "gamma"), files.stream().map(ExportResult.ExportedFile::getId).toList());
+
+        for (ExportResult.ExportedFile file : files) {
+            byte[] bytes = Files.readAllBytes(tempDir.resolve(file.getPath()));
+            assertEquals(bytes.length, file.getFileSize());
+            assertEquals("sha256:" + sha256(bytes), file.getChecksum());
+        }
+        assertTrue(Files.exists(tempDir.resolve("manifest.json")));
+    }
+
+    @Test
+    void exportAll_zip_shouldPackFilesAndManifest() throws Exception {
+        Path archive = tempDir.resolve("export.zip");
+
+        ExportResult result = service.exportContent(
+            EnumSet.allOf(ContentType.class),
+            archive,
+            ContentExportService.ExportFormat.ZIP,
+            "test",
+            "dev"
+        );
+
+        assertEquals(3, result.getExportedCount());
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.add(entry.getName());
+            }
+        }
+        assertEquals(List.of("skills/alpha.json", "skills/beta.json", "skills/gamma.json", "manifest.json"), entries);
+    }
+
+    @Test
+    void exportContent_incremental_shouldWriteOnlyChangedAndDeleteRemoved() throws Exception {
+        service.exportContent(ContentType.SKILL_DEFINITION, tempDir, "test", "dev");
+
+        // alpha unchanged, beta bumped to v2, gamma deactivated
+        when(repositoryService.findActiveVersionRefs(any(), any(), anyInt())).thenReturn(List.of());
+        when(repositoryService.findActiveVersionRefs(eq(ContentType.SKILL_DEFINITION), isNull(), eq(2)))
+            .thenReturn(List.of(
+                new ContentRepositoryService.ActiveVersionRef("alpha", 1),
+                new ContentRepositoryService.ActiveVersionRef("beta", 2)
+            ));
+        ContentVersion betaV2 = new ContentVersion(null, ContentType.SKILL_DEFINITION, "beta", 2,
+            Map.of("skillId", "beta", "name", "Beta Prime"), null, null, "test", "");
+        when(repositoryService.findActiveByIds(ContentType.SKILL_DEFINITION, List.of("beta")))
+            .thenReturn(List.of(betaV2));
+
+        ExportResult result = service.exportContent(
+            EnumSet.of(ContentType.SKILL_DEFINITION),
+            tempDir,
+            ContentExportService.ExportFormat.DIRECTORY,
+            "test",
+            "dev",
+            true
+        );
+
+        assertEquals(2, result.getExportedCount());
+        assertEquals(1, result.getWrittenCount());
+        assertEquals(List.of("skills/gamma.json"), result.getDeletedPaths());
+        assertFalse(Files.exists(tempDir.resolve("skills/gamma.json")));
+        assertTrue(Files.readString(tempDir.resolve("skills/beta.json")).contains("Beta Prime"));
+        verify(repositoryService, never()).findActiveByIds(ContentType.SKILL_DEFINITION, List.of("alpha", "beta"));
+    }
+
+    @Test
+    void exportContent_incremental_shouldDeletePreviousFileWhenPathChanges() throws Exception {
+        service.exportContent(ContentType.SKILL_DEFINITION, tempDir, "test", "dev");
+
+        // An earlier export placed beta under a different name
+        Files.move(tempDir.resolve("skills/beta.json"), tempDir.resolve("skills/old-beta.json"));
+        Path manifestPath = tempDir.resolve("manifest.json");
+        Files.writeString(manifestPath,
+            Files.readString(manifestPath).replace("skills/beta.json", "skills/old-beta.json"));
+
+        when(repositoryService.findActiveVersionRefs(any(), any(), anyInt())).thenReturn(List.of());
+        when(repositoryService.findActiveVersionRefs(eq(ContentType.SKILL_DEFINITION), isNull(), eq(2)))
+            .thenReturn(List.of(
+                new ContentRepositoryService.ActiveVersionRef("alpha", 1),
+                new ContentRepositoryService.ActiveVersionRef("beta", 1)
+            ));
+        when(repositoryService.findActiveVersionRefs(ContentType.SKILL_DEFINITION, "beta", 2))
+            .thenReturn(List.of(new ContentRepositoryService.ActiveVersionRef("gamma", 1)));
+        when(repositoryService.findActiveByIds(ContentType.SKILL_DEFINITION, List.of("beta")))
+            .thenReturn(List.of(skill("beta")));
+
+        ExportResult result = service.exportContent(
+            EnumSet.of(ContentType.SKILL_DEFINITION),
+            tempDir,
+            ContentExportService.ExportFormat.DIRECTORY,
+            "test",
+            "dev",
+            true
+        );
+
+        assertEquals(3, result.getExportedCount());
+        assertEquals(1, result.getWrittenCount());
+        assertEquals(List.of("skills/old-beta.json"), result.getDeletedPaths());
+        assertFalse(Files.exists(tempDir.resolve("skills/old-beta.json")));
+        assertTrue(Files.exists(tempDir.resolve("skills/beta.json")));
+        try (var files = Files.list(tempDir.resolve("skills"))) {
+            assertEquals(3, files.count());
+        }
+    }
+
+    @Test
+    void exportContent_incremental_shouldKeepManifestEntriesOfTypesNotExported() throws Exception {
+        service.exportContent(ContentType.SKILL_DEFINITION, tempDir, "test", "dev");
+        when(repositoryService.findActiveVersionRefs(any(), any(), anyInt())).thenReturn(List.of());
+
+        ExportResult result = service.exportContent(
+            EnumSet.of(ContentType.RECIPE),
+            tempDir,
+            ContentExportService.ExportFormat.DIRECTORY,
+            "test",
+            "dev",
+            true
+        );
+
+        assertEquals(0, result.getExportedCount());
+        assertTrue(result.getDeletedPaths().isEmpty());
+        JsonNode manifest = new ObjectMapper().readTree(tempDir.resolve("manifest.json").toFile());
+        List<String> ids = new ArrayList<>();
+        manifest.path("contents").path("files").forEach(file -> {
+            assertEquals("SKILL_DEFINITION", file.path("contentType").asText());
+            ids.add(file.path("id").asText());
+        });
+        assertEquals(List.of("alpha", "beta", "gamma"), ids);
+        assertTrue(Files.exists(tempDir.resolve("skills/alpha.json")));
+    }
+
+    private ContentVersion skill(String id) {
+        return new ContentVersion(null, ContentType.SKILL_DEFINITION, id, 1,
+            Map.of("skillId", id, "name", id.toUpperCase()), null, null, "test", "");
+    }
+
+    private String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,119 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import com.andara.content.model.ImportResult;
+import com.andara.domain.DomainEvent;
+import com.andara.domain.content.events.ContentReloaded;
+import com.andara.infrastructure.EventPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ContentFileWatcherTest {
+
+    @TempDir
+    Path contentDir;
+
+    private ContentImportService importService;
+    private EventPublisher eventPublisher;
+    private ContentFileWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        importService = mock(ContentImportService.class);
+        eventPublisher = mock(EventPublisher.class);
+        when(eventPublisher.publish(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+        watcher = new ContentFileWatcher(importService, eventPublisher, new ObjectMapper(),
+            contentDir.toString(), 200, 2000);
+
+        // Stands in for validation: any batch containing an item without a name is rejected whole
+        when(importService.importContent(any(), anyList(), anyString(), anyString(), eq(false))).thenAnswer(invocation -> {
+            ContentType contentType = invocation.getArgument(0);
+            List<?> items = invocation.getArgument(1);
+            List<String> ids = new ArrayList<>();
+            for (Object item : items) {
+                Map<?, ?> content = (Map<?, ?>) item;
+                if (!content.containsKey("name")) {
+                    return ImportResult.failure(List.of("name is required"));
+                }
+                ids.add((String) content.get(contentType.getIdField()));
+            }
+            return ImportResult.success(ids);
+        });
+    }
+
+    @Test
+    void reloadBatch_shouldImportOneBatchPerTypeInImportOrder() throws Exception {
+        List<Path> files = List.of(
+            write("skills", "swords", "{\"skillId\":\"swords\",\"name\":\"Swords\"}"),
+            write("items", "dagger", "{\"templateId\":\"dagger\",\"name\":\"Dagger\"}"),
+            write("skills", "bows", "{\"skillId\":\"bows\",\"name\":\"Bows\"}")
+        );
+
+        watcher.reloadBatch(files);
+
+        var inOrder = inOrder(importService);
+        inOrder.verify(importService).importContent(eq(ContentType.ITEM_TEMPLATE), argThat(items -> items.size() == 1),
+            anyString(), anyString(), eq(false));
+        inOrder.verify(importService).importContent(eq(ContentType.SKILL_DEFINITION), argThat(items -> items.size() == 2),
+            anyString(), anyString(), eq(false));
+        assertEquals(List.of(List.of("dagger"), List.of("swords", "bows")), publishedIds());
+    }
+
+    @Test
+    void reloadBatch_shouldReloadValidFilesWhenOneIsRejected() throws Exception {
+        List<Path> files = List.of(
+            write("skills", "swords", "{\"skillId\":\"swords\",\"name\":\"Swords\"}"),
+            write("skills", "broken", "{\"skillId\":\"broken\"}"),
+            write("skills", "bows", "{\"skillId\":\"bows\",\"name\":\"Bows\"}")
+        );
+
+        watcher.reloadBatch(files);
+
+        // The rejected batch, then one import per file
+        verify(importService, times(4)).importContent(eq(ContentType.SKILL_DEFINITION), anyList(),
+            anyString(), anyString(), eq(false));
+        assertEquals(List.of(List.of("swords", "bows")), publishedIds());
+    }
+
+    @Test
+    void reloadBatch_shouldSkipUnreadableFilesAndPublishNothingWithoutImports() throws Exception {
+        List<Path> files = List.of(
+            write("skills", "half-saved", "{\"skillId\":"),
+            write("skills", "broken", "{\"skillId\":\"broken\"}")
+        );
+
+        watcher.reloadBatch(files);
+
+        verify(importService, times(1)).importContent(any(), anyList(), anyString(), anyString(), eq(false));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private Path write(String directory, String id, String json) throws Exception {
+        Path file = contentDir.resolve(directory).resolve(id + ".json");
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, json);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<String>> publishedIds() {
+        ArgumentCaptor<List<DomainEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisher).publish(events.capture());
+        return events.getValue().stream()
+            .map(event -> (List<String>) ((ContentReloaded) event).payload().get("reloadedIds"))
+            .toList();
+    }
+}
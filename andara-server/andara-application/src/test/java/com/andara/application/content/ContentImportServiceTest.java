@@ -0,0 +1,192 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.andara.content.validation.ValidationEngine;
+import com.andara.content.validation.ValidationResult;
+import com.andara.infrastructure.EventPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ContentImportServiceTest {
+
+    private ValidationEngine validationEngine;
+    private ContentRepositoryService repositoryService;
+    private PlatformTransactionManager transactionManager;
+    private EventPublisher eventPublisher;
+    private ContentImportService service;
+
+    @BeforeEach
+    void setUp() {
+        validationEngine = mock(ValidationEngine.class);
+        repositoryService = mock(ContentRepositoryService.class);
+        eventPublisher = mock(EventPublisher.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+
+        when(validationEngine.validateBatch(any(), anyList())).thenReturn(ValidationResult.success());
+        when(eventPublisher.publish(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+        when(repositoryService.extractContentId(any(), any()))
+            .thenAnswer(inv -> ((Map<?, ?>) inv.getArgument(1)).get("skillId"));
+        when(repositoryService.saveVersions(any(), anyList(), anyString(), anyString()))
+            .thenAnswer(inv -> {
+                List<Map.Entry<String, Object>> items = inv.getArgument(1);
+                return items.stream()
+                    .map(e -> new ContentVersion(null, ContentType.SKILL_DEFINITION, e.getKey(), 1,
+                        e.getValue(), null, null, "test", ""))
+                    .toList();
+            });
+
+        service = new ContentImportService(
+            validationEngine,
+            repositoryService,
+            eventPublisher,
+            new ContentCountCache(300),
+            objectMapper,
+            mock(ContentDependencyIndex.class),
+            transactionManager
+        );
+    }
+
+    @Test
+    void importContent_shouldPublishImportedEventOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.importContent(ContentType.SKILL_DEFINITION, List.of(Map.of("skillId", "a")), "test", "", false);
+            verify(eventPublisher, never()).publish(anyList());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(eventPublisher, times(1)).publish(anyList());
+    }
+
+    @Test
+    void importContent_shouldNotPublishImportedEventOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.importContent(ContentType.SKILL_DEFINITION, List.of(Map.of("skillId", "a")), "test", "", false);
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(eventPublisher, never()).publish(anyList());
+    }
+
+    @Test
+    void importStream_shouldWriteInFixedSizeWindows() {
+        String ndjson = """
+            {"skillId":"a"}
+            {"skillId":"b"}
+            {"skillId":"c"}
+
+            {"skillId":"d"}
+            {"skillId":"e"}
+            """;
+        List<ContentImportService.WindowProgress> progress = new ArrayList<>();
+
+        ContentImportService.StreamImportSummary summary = service.importStream(
+            ContentType.SKILL_DEFINITION,
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)),
+            2,
+            "test",
+            "",
+            false,
+            progress::add
+        );
+
+        assertTrue(summary.success());
+        assertEquals(3, summary.windows());
+        assertEquals(5, summary.processed());
+        assertEquals(5, summary.imported());
+        assertEquals(List.of(2, 2, 1), progress.stream().map(ContentImportService.WindowProgress::windowItems).toList());
+        assertEquals(List.of("e"), progress.get(2).result().getImportedIds());
+        verify(repositoryService, times(3)).saveVersions(any(), anyList(), anyString(), anyString());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void importStream_shouldStopAtFirstFailedWindow() {
+        when(validationEngine.validateBatch(any(), anyList()))
+            .thenReturn(ValidationResult.success())
+            .thenReturn(ValidationResult.failure(List.of("[Item 1] bad")));
+        String ndjson = "{\"skillId\":\"a\"}\n{\"skillId\":\"b\"}\n{\"skillId\":\"c\"}\n";
+
+        ContentImportService.StreamImportSummary summary = service.importStream(
+            ContentType.SKILL_DEFINITION,
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)),
+            1,
+            "test",
+            "",
+            false,
+            p -> { }
+        );
+
+        assertFalse(summary.success());
+        assertEquals(2, summary.windows());
+        assertEquals(1, summary.imported());
+        verify(repositoryService, times(1)).saveVersions(any(), anyList(), anyString(), anyString());
+        // Each window completes its own transaction; the failed one is marked for rollback
+        ArgumentCaptor<TransactionStatus> statuses = ArgumentCaptor.forClass(TransactionStatus.class);
+        verify(transactionManager, times(2)).commit(statuses.capture());
+        assertFalse(statuses.getAllValues().get(0).isRollbackOnly());
+        assertTrue(statuses.getAllValues().get(1).isRollbackOnly());
+    }
+
+    @Test
+    void importStream_shouldNotCountRolledBackPartialWindow() {
+        // The first window writes "a" but fails on the item without an ID, so the whole window is rolled back
+        String ndjson = "{\"skillId\":\"a\"}\n{\"name\":\"no id\"}\n{\"skillId\":\"c\"}\n";
+        doAnswer(inv -> {
+            Object id = ((Map<?, ?>) inv.getArgument(1)).get("skillId");
+            if (id == null) {
+                throw new IllegalArgumentException("Missing skillId");
+            }
+            return id;
+        }).when(repositoryService).extractContentId(any(), any());
+        List<ContentImportService.WindowProgress> progress = new ArrayList<>();
+
+        ContentImportService.StreamImportSummary summary = service.importStream(
+            ContentType.SKILL_DEFINITION,
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)),
+            2,
+            "test",
+            "",
+            false,
+            progress::add
+        );
+
+        assertFalse(summary.success());
+        assertEquals(1, summary.windows());
+        assertEquals(0, summary.imported());
+        assertEquals(0, progress.get(0).imported());
+        assertTrue(progress.get(0).result().getImportedIds().isEmpty());
+        assertFalse(progress.get(0).result().getErrors().isEmpty());
+        verify(repositoryService, times(1)).saveVersions(any(), anyList(), anyString(), anyString());
+        ArgumentCaptor<TransactionStatus> status = ArgumentCaptor.forClass(TransactionStatus.class);
+        verify(transactionManager).commit(status.capture());
+        assertTrue(status.getValue().isRollbackOnly());
+    }
+}
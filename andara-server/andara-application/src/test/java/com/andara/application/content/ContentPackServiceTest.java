@@ -0,0 +1,69 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ContentPackServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private CompiledContentCache compiledCache;
+    private ContentPackService service;
+
+    @BeforeEach
+    void setUp() {
+        ContentRepositoryService repositoryService = mock(ContentRepositoryService.class);
+        compiledCache = new CompiledContentCache();
+        service = new ContentPackService(repositoryService, new ObjectMapper(), compiledCache,
+            "", tempDir.resolve("packs").toString(), 500);
+
+        when(repositoryService.findActivePage(any(), any(), anyInt())).thenReturn(List.of());
+        when(repositoryService.findActivePage(eq(ContentType.SKILL_DEFINITION), isNull(), eq(500)))
+            .thenReturn(List.of(new ContentVersion(null, ContentType.SKILL_DEFINITION, "alpha", 1,
+                Map.of("skillId", "alpha"), null, null, "test", "")));
+    }
+
+    @Test
+    void compile_shouldWriteInsideOutputDirectory() {
+        service.compile("nested/content.pack");
+
+        assertTrue(Files.exists(tempDir.resolve("packs/nested/content.pack")));
+        assertEquals("alpha", service.find(ContentType.SKILL_DEFINITION, "alpha").orElseThrow()
+            .path("skillId").asText());
+    }
+
+    @Test
+    void compile_shouldRejectPathsOutsideOutputDirectory() {
+        assertThrows(IllegalArgumentException.class, () -> service.compile("../escaped.pack"));
+        assertThrows(IllegalArgumentException.class, () -> service.compile(tempDir.resolve("abs.pack").toString()));
+        assertThrows(IllegalArgumentException.class, () -> service.compile("."));
+        assertFalse(Files.exists(tempDir.resolve("escaped.pack")));
+        assertTrue(service.current().isEmpty());
+    }
+
+    @Test
+    void find_shouldMissOnceTypeChangesAfterCompile() {
+        service.compile("content.pack");
+        compiledCache.invalidate(ContentType.NPC_TEMPLATE, List.of("goblin"));
+        assertTrue(service.find(ContentType.SKILL_DEFINITION, "alpha").isPresent());
+
+        compiledCache.invalidate(ContentType.SKILL_DEFINITION, List.of("alpha"));
+
+        assertTrue(service.find(ContentType.SKILL_DEFINITION, "alpha").isEmpty());
+        assertTrue(service.current().isPresent());
+    }
+}
@@ -0,0 +1,134 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ContentQueryServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ContentQueryService service;
+    private final List<ContentVersion> activeSkills = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new ContentQueryService(jdbcTemplate, new ObjectMapper(), new ContentCountCache(300),
+            new CompiledContentCache(), mock(ContentPackService.class));
+
+        for (String id : List.of("alpha", "beta", "gamma", "delta", "epsilon")) {
+            activeSkills.add(skill(id));
+        }
+        activeSkills.sort((a, b) -> a.getContentId().compareTo(b.getContentId()));
+        // Serves the seek query from the list: content_id > afterId ... LIMIT n
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<ContentVersion>>any(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            Object[] params = Arrays.copyOfRange(arguments, 2, arguments.length);
+            String afterId = params.length == 3 ? (String) params[1] : null;
+            int limit = (Integer) params[params.length - 1];
+            return activeSkills.stream()
+                .filter(version -> afterId == null || version.getContentId().compareTo(afterId) > 0)
+                .limit(limit)
+                .toList();
+        });
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class)))
+            .thenAnswer(invocation -> activeSkills.size());
+    }
+
+    @Test
+    void listActiveContentAfter_shouldWalkAllPagesInOrder() {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ContentQueryService.ContentPage page =
+                service.listActiveContentAfter(ContentType.SKILL_DEFINITION, cursor, 2, null);
+            page.items().forEach(version -> seen.add(version.getContentId()));
+            assertEquals(5, page.totalCount());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("alpha", "beta", "delta", "epsilon", "gamma"), seen);
+    }
+
+    @Test
+    void listActiveContentAfter_shouldEndOnExactlyFullLastPage() {
+        ContentQueryService.ContentPage first =
+            service.listActiveContentAfter(ContentType.SKILL_DEFINITION, null, 3, null);
+        ContentQueryService.ContentPage last =
+            service.listActiveContentAfter(ContentType.SKILL_DEFINITION, first.nextCursor(), 2, null);
+
+        assertTrue(first.hasNext());
+        assertEquals(List.of("epsilon", "gamma"), last.items().stream().map(ContentVersion::getContentId).toList());
+        assertFalse(last.hasNext());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void listActiveContentAfter_shouldReturnEmptyPageAfterLastItem() {
+        ContentQueryService.ContentPage page = service.listActiveContentAfter(
+            ContentType.SKILL_DEFINITION, ContentQueryService.encodeCursor("gamma"), 2, null);
+
+        assertTrue(page.items().isEmpty());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void listActiveContentAfter_shouldSeekPastCursorAndFetchOneExtraRow() {
+        service.listActiveContentAfter(ContentType.SKILL_DEFINITION, ContentQueryService.encodeCursor("beta"), 2, null);
+
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(contains("ac.content_id > ?"), ArgumentMatchers.<RowMapper<ContentVersion>>any(), params.capture());
+        assertArrayEquals(new Object[]{"SKILL_DEFINITION", "beta", 3}, params.getValue());
+    }
+
+    @Test
+    void listActiveContentAfter_shouldOmitTotalWhenSearching() {
+        ContentQueryService.ContentPage page =
+            service.listActiveContentAfter(ContentType.SKILL_DEFINITION, null, 10, "alp");
+
+        assertNull(page.totalCount());
+    }
+
+    @Test
+    void listActiveContentAfter_shouldRejectInvalidPageSizeAndCursor() {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.listActiveContentAfter(ContentType.SKILL_DEFINITION, null, 0, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.listActiveContentAfter(ContentType.SKILL_DEFINITION, null, -1, null));
+        assertThrows(ContentQueryService.InvalidCursorException.class,
+            () -> service.listActiveContentAfter(ContentType.SKILL_DEFINITION, "not base64!", 2, null));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void countActive_shouldServeRepeatedCountsFromCache() {
+        service.countActive(ContentType.SKILL_DEFINITION);
+        service.countActive(ContentType.SKILL_DEFINITION);
+
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Integer.class), any(Object[].class));
+    }
+
+    private ContentVersion skill(String id) {
+        return new ContentVersion(null, ContentType.SKILL_DEFINITION, id, 1,
+            Map.of("skillId", id), null, null, "test", "");
+    }
+}
@@ -0,0 +1,147 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.andara.infrastructure.EventPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ContentRepositoryServiceTest {
+
+    private static final String DESCRIPTION = "A long description that keeps every stored body larger than a one-field patch";
+
+    private JdbcTemplate jdbcTemplate;
+    private ContentDependencyIndex dependencyIndex;
+    private ContentRepositoryService service;
+    private final Map<String, Head> heads = new HashMap<>();
+    private final Map<String, List<Map<Integer, Object>>> batches = new LinkedHashMap<>();
+    private final List<Object[]> demotions = new ArrayList<>();
+
+    private record Head(int versionNumber, String body) {
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        dependencyIndex = mock(ContentDependencyIndex.class);
+        service = new ContentRepositoryService(jdbcTemplate, new ObjectMapper(), mock(EventPublisher.class),
+            new ContentCountCache(300), dependencyIndex, new CompiledContentCache(), 10);
+
+        // Head lookup: feeds the stored heads to the row handler
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map.Entry<String, Head> head : heads.entrySet()) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString("content_id")).thenReturn(head.getKey());
+                when(rs.getInt("version_number")).thenReturn(head.getValue().versionNumber());
+                when(rs.getString("content_data")).thenReturn(head.getValue().body());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        // Batch writes: records the parameters of every row, keyed by the statement's table
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            List<Map<Integer, Object>> rows = new ArrayList<>();
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                Map<Integer, Object> row = new HashMap<>();
+                PreparedStatement ps = mock(PreparedStatement.class, call -> {
+                    if (call.getMethod().getName().startsWith("set") && call.getArguments().length == 2) {
+                        row.put(call.getArgument(0), call.getArgument(1));
+                    }
+                    return null;
+                });
+                setter.setValues(ps, i);
+                rows.add(row);
+            }
+            batches.put(sql.contains("INSERT INTO content_versions") ? "content_versions" : "active_content", rows);
+            return new int[rows.size()];
+        });
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> args = invocation.getArgument(1);
+            demotions.addAll(args);
+            return new int[args.size()];
+        });
+    }
+
+    @Test
+    void saveVersions_shouldNumberWholeBatchFromOneHeadQuery() {
+        heads.put("alpha", new Head(3, "{\"skillId\":\"alpha\",\"name\":\"Old\",\"description\":\"" + DESCRIPTION + "\"}"));
+
+        List<ContentVersion> saved = service.saveVersions(ContentType.SKILL_DEFINITION, List.of(
+            item("alpha", "First"), item("beta", "Beta"), item("alpha", "Second")
+        ), "test", "batch");
+
+        assertEquals(List.of(4, 1, 5), saved.stream().map(ContentVersion::getVersionNumber).toList());
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        assertEquals(3, batches.get("content_versions").size());
+
+        // The last occurrence of a repeated ID is the one activated
+        List<Map<Integer, Object>> activations = batches.get("active_content");
+        assertEquals(2, activations.size());
+        assertEquals("alpha", activations.get(0).get(2));
+        assertEquals(saved.get(2).getVersionId(), activations.get(0).get(3));
+        assertEquals(saved.get(1).getVersionId(), activations.get(1).get(3));
+        verify(dependencyIndex).replaceReferences(eq(ContentType.SKILL_DEFINITION), anyList());
+    }
+
+    @Test
+    void saveVersions_shouldStoreSupersededVersionsAsReversePatches() {
+        heads.put("alpha", new Head(3, "{\"skillId\":\"alpha\",\"name\":\"Old\",\"description\":\"" + DESCRIPTION + "\"}"));
+
+        service.saveVersions(ContentType.SKILL_DEFINITION, List.of(item("alpha", "First"), item("alpha", "Second")),
+            "test", "batch");
+
+        // Stored head v3 is demoted in place
+        assertEquals(1, demotions.size());
+        assertEquals(3, demotions.get(0)[3]);
+        // v4 is superseded within the batch and written as a patch, v5 stays whole
+        List<Map<Integer, Object>> inserted = batches.get("content_versions");
+        assertNull(inserted.get(0).get(5));
+        assertNotNull(inserted.get(0).get(6));
+        assertNotNull(inserted.get(1).get(5));
+        assertNull(inserted.get(1).get(6));
+    }
+
+    @Test
+    void saveVersions_shouldKeepCheckpointVersionsWhole() {
+        heads.put("alpha", new Head(10, "{\"skillId\":\"alpha\",\"name\":\"Old\",\"description\":\"" + DESCRIPTION + "\"}"));
+
+        List<ContentVersion> saved = service.saveVersions(ContentType.SKILL_DEFINITION, List.of(item("alpha", "New")),
+            "test", "batch");
+
+        assertEquals(11, saved.get(0).getVersionNumber());
+        assertTrue(demotions.isEmpty());
+    }
+
+    @Test
+    void saveVersions_shouldNotTouchDatabaseForEmptyBatch() {
+        assertTrue(service.saveVersions(ContentType.SKILL_DEFINITION, List.of(), "test", "batch").isEmpty());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private Map.Entry<String, Object> item(String id, String name) {
+        return new AbstractMap.SimpleImmutableEntry<>(id, Map.of("skillId", id, "name", name, "description", DESCRIPTION));
+    }
+}
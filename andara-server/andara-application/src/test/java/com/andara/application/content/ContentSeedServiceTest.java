@@ -0,0 +1,86 @@
+package com.andara.application.content;
+
+import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.andara.content.model.ImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ContentSeedServiceTest {
+
+    @TempDir
+    Path seedDir;
+
+    private ContentImportService importService;
+    private ContentRepositoryService repositoryService;
+    private ContentSeedService service;
+
+    @BeforeEach
+    void setUp() {
+        importService = mock(ContentImportService.class);
+        repositoryService = mock(ContentRepositoryService.class);
+        service = new ContentSeedService(importService, repositoryService, new ObjectMapper(), true, seedDir.toString(), 2);
+
+        when(repositoryService.findActiveByIds(any(), anyCollection())).thenReturn(List.of());
+        when(importService.importContent(any(), anyList(), anyString(), anyString(), eq(false)))
+            .thenAnswer(inv -> ImportResult.success(
+                ((List<?>) inv.getArgument(1)).stream().map(item -> "imported").toList()
+            ));
+    }
+
+    @Test
+    void importWaves_shouldImportReferencedTypesFirst() {
+        List<List<ContentType>> waves = ContentSeedService.importWaves(EnumSet.of(
+            ContentType.ITEM_TEMPLATE, ContentType.SKILL_DEFINITION, ContentType.RECIPE, ContentType.REGION_DEFINITION
+        ));
+
+        assertEquals(List.of(ContentType.ITEM_TEMPLATE, ContentType.SKILL_DEFINITION, ContentType.REGION_DEFINITION), waves.get(0));
+        assertEquals(List.of(ContentType.RECIPE), waves.get(1));
+        assertEquals(2, waves.size());
+    }
+
+    @Test
+    void seed_shouldSkipItemsMatchingTheirActiveVersion() throws Exception {
+        Files.writeString(seedDir.resolve("manifest.yml"), """
+            version: "0.1.0"
+            skills:
+              - id: skill_melee
+                rationale: "Primary combat skill"
+              - id: skill_ranged
+              - id: skill_missing
+            """);
+        Files.createDirectories(seedDir.resolve("skills"));
+        Files.writeString(seedDir.resolve("skills/skill_melee.json"), "{\"skillId\":\"skill_melee\",\"name\":\"Melee\"}");
+        Files.writeString(seedDir.resolve("skills/skill_ranged.json"), "{\"skillId\":\"skill_ranged\",\"name\":\"Ranged\"}");
+        when(repositoryService.findActiveByIds(eq(ContentType.SKILL_DEFINITION), anyCollection())).thenReturn(List.of(
+            new ContentVersion(null, ContentType.SKILL_DEFINITION, "skill_melee", 1,
+                Map.of("name", "Melee", "skillId", "skill_melee"), null, null, "seed", "")
+        ));
+
+        ContentSeedService.SeedResult result = service.seed(seedDir);
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.unchanged());
+        assertEquals(1, result.errors().size());
+        assertTrue(result.errors().get(0).contains("skill_missing"));
+        verify(importService).importContent(
+            eq(ContentType.SKILL_DEFINITION),
+            eq(List.of(Map.of("skillId", "skill_ranged", "name", "Ranged"))),
+            eq("seed"),
+            eq("Seed content 0.1.0"),
+            eq(false)
+        );
+    }
+}
@@ -0,0 +1,65 @@
+package com.andara.application.crafting;
+
+import com.andara.application.content.CompiledContentCache;
+import com.andara.application.content.ContentRepositoryService;
+import com.andara.content.ContentType;
+import com.andara.content.crafting.RecipeGraph;
+import com.andara.content.model.ContentVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CraftingServiceTest {
+
+    private ContentRepositoryService repositoryService;
+    private CompiledContentCache compiledCache;
+    private CraftingService service;
+
+    @BeforeEach
+    void setUp() {
+        repositoryService = mock(ContentRepositoryService.class);
+        compiledCache = new CompiledContentCache();
+        service = new CraftingService(repositoryService, compiledCache, new ObjectMapper(), 16);
+
+        when(repositoryService.findAllActive(ContentType.RECIPE)).thenReturn(List.of(
+            new ContentVersion(null, ContentType.RECIPE, "r_bandage", 1, Map.of(
+                "recipeId", "r_bandage",
+                "name", "Bandage",
+                "skillRequired", "skill_medicine",
+                "skillLevel", 10,
+                "craftingTime", 2,
+                "inputs", List.of(Map.of("itemTemplateId", "item_cloth", "quantity", 2)),
+                "outputs", List.of(Map.of("itemTemplateId", "item_bandage", "quantity", 1))
+            ), null, null, "test", "")
+        ));
+    }
+
+    @Test
+    void plan_shouldCachePlansPerInventoryUntilRecipesChange() {
+        Map<String, Integer> inventory = new HashMap<>(Map.of("item_cloth", 4, "item_rope", 0));
+        Map<String, Integer> skills = Map.of("skill_medicine", 15);
+
+        RecipeGraph.Plan first = service.plan("item_bandage", 2, inventory, skills);
+        assertTrue(first.craftable());
+        assertEquals(4, first.totalCraftingTime());
+        // Same inventory, with a zero entry dropped: served from the cache
+        assertSame(first, service.plan("item_bandage", 2, Map.of("item_cloth", 4), skills));
+        // A different inventory is planned again
+        assertFalse(service.plan("item_bandage", 2, Map.of("item_cloth", 3), skills).craftable());
+        verify(repositoryService, times(1)).findAllActive(ContentType.RECIPE);
+
+        compiledCache.invalidate(ContentType.RECIPE, List.of("r_bandage"));
+        assertNotSame(first, service.plan("item_bandage", 2, inventory, skills));
+        verify(repositoryService, times(2)).findAllActive(ContentType.RECIPE);
+    }
+}
@@ -1,10 +1,14 @@
 package com.andara.application.game;
 
+import com.andara.application.party.SkillIndexService;
 import com.andara.application.persistence.GamePersistenceService;
+import com.andara.application.system.WorldTickScheduler;
+import com.andara.common.Result;
 import com.andara.infrastructure.CharacterRepository;
 import com.andara.infrastructure.EventPublisher;
 import com.andara.infrastructure.party.PartyRepository;
 import com.andara.domain.DomainEvent;
+import com.andara.domain.game.InstanceId;
 import com.andara.domain.party.Appearance;
 import com.andara.domain.party.Attributes;
 import com.andara.domain.party.Origin;
@@ -44,6 +48,12 @@ class StartNewGameCommandHandlerTest {
     @Mock
     private GamePersistenceService persistenceService;
 
+    @Mock
+    private WorldTickScheduler worldTickScheduler;
+
+    @Mock
+    private SkillIndexService skillIndexService;
+
     private StartNewGameCommandHandler handler;
 
     @BeforeEach
@@ -53,7 +63,9 @@ class StartNewGameCommandHandlerTest {
             characterRepository,
             partyRepository,
             eventPublisher,
-            persistenceService
+            persistenceService,
+            worldTickScheduler,
+            skillIndexService
         );
     }
 
@@ -73,13 +85,18 @@ class StartNewGameCommandHandlerTest {
         );
 
         // When
-        StartNewGameCommandHandler.StartNewGameResponse response = handler.handle(command);
+        Result<List<DomainEvent>> result = handler.handle(command);
 
         // Then
-        assertThat(response).isNotNull();
-        assertThat(response.instanceId()).isNotNull();
-        assertThat(response.partyId()).isNotNull();
-        assertThat(response.characterId()).isNotNull();
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getData())
+            .extracting(DomainEvent::getAggregateId)
+            .containsExactly(
+                command.instanceId().toString(),
+                command.partyId().toString(),
+                command.characterId().toString()
+            );
+        assertThat(command.targetAggregateId()).isEqualTo(command.instanceId().toString());
 
         // Verify Instance was saved
         @SuppressWarnings("unchecked")
@@ -103,6 +120,10 @@ class StartNewGameCommandHandlerTest {
             eq("Test Character"),
             anyString()
         );
+
+        // Verify the new instance gets world ticks
+        verify(worldTickScheduler).registerAfterCommit(InstanceId.from(command.instanceId()));
+        verify(skillIndexService).ensureCurrent();
     }
 
     @Test
@@ -1,8 +1,10 @@
 package com.andara.application.party;
 
+import com.andara.application.system.WorldTickScheduler;
 import com.andara.common.Result;
 import com.andara.infrastructure.CharacterRepository;
 import com.andara.domain.DomainEvent;
+import com.andara.domain.game.InstanceId;
 import com.andara.domain.party.Character;
 import com.andara.domain.party.Origin;
 import com.andara.domain.party.Attributes;
@@ -26,11 +28,17 @@ class CreateCharacterCommandHandlerTest {
     @Mock
     private CharacterRepository characterRepository;
 
+    @Mock
+    private SkillIndexService skillIndexService;
+
+    @Mock
+    private WorldTickScheduler worldTickScheduler;
+
     private CreateCharacterCommandHandler handler;
 
     @BeforeEach
     void setUp() {
-        handler = new CreateCharacterCommandHandler(characterRepository);
+        handler = new CreateCharacterCommandHandler(characterRepository, skillIndexService, worldTickScheduler);
     }
 
     @Test
@@ -51,6 +59,7 @@ class CreateCharacterCommandHandlerTest {
 
         assertTrue(result.isSuccess());
         verify(characterRepository, times(1)).save(any(Character.class));
+        verify(worldTickScheduler).markActive(InstanceId.from(command.instanceId()));
         // Note: Event publishing is handled by the repository, not the handler
     }
 
@@ -111,4 +120,3 @@ class CreateCharacterCommandHandlerTest {
         verify(characterRepository, never()).save(any());
     }
 }
-
@@ -0,0 +1,75 @@
+package com.andara.application.party;
+
+import com.andara.application.content.CompiledContentCache;
+import com.andara.application.content.ContentRepositoryService;
+import com.andara.content.ContentType;
+import com.andara.content.model.ContentVersion;
+import com.andara.domain.party.SkillTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SkillIndexServiceTest {
+
+    private ContentRepositoryService repositoryService;
+    private CompiledContentCache compiledCache;
+    private SkillIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        repositoryService = mock(ContentRepositoryService.class);
+        compiledCache = new CompiledContentCache();
+        service = new SkillIndexService(repositoryService, compiledCache);
+    }
+
+    @Test
+    void ensureCurrent_shouldRegisterSkillDefinitionsOncePerGeneration() {
+        when(repositoryService.findAllActive(ContentType.SKILL_DEFINITION)).thenReturn(List.of(
+            skill("skill_index_test_b"),
+            skill("skill_index_test_a")
+        ));
+
+        service.ensureCurrent();
+        service.ensureCurrent();
+
+        int a = SkillTable.shared().find("skill_index_test_a");
+        int b = SkillTable.shared().find("skill_index_test_b");
+        assertTrue(a >= 0);
+        assertEquals(a + 1, b);
+        verify(repositoryService, times(1)).findAllActive(ContentType.SKILL_DEFINITION);
+
+        // New skill definitions are registered after the next change
+        when(repositoryService.findAllActive(ContentType.SKILL_DEFINITION)).thenReturn(List.of(
+            skill("skill_index_test_a"),
+            skill("skill_index_test_b"),
+            skill("skill_index_test_c")
+        ));
+        compiledCache.invalidate(ContentType.SKILL_DEFINITION, List.of("skill_index_test_c"));
+        service.ensureCurrent();
+
+        assertEquals(a, SkillTable.shared().find("skill_index_test_a"));
+        assertTrue(SkillTable.shared().find("skill_index_test_c") > b);
+        verify(repositoryService, times(2)).findAllActive(ContentType.SKILL_DEFINITION);
+    }
+
+    @Test
+    void registerOnStartup_shouldNotFailWhenContentIsUnavailable() {
+        when(repositoryService.findAllActive(ContentType.SKILL_DEFINITION))
+            .thenThrow(new IllegalStateException("no content tables"));
+
+        assertDoesNotThrow(service::registerOnStartup);
+    }
+
+    private static ContentVersion skill(String skillId) {
+        return new ContentVersion(null, ContentType.SKILL_DEFINITION, skillId, 1,
+            Map.of("skillId", skillId, "name", skillId), null, null, "test", "");
+    }
+}
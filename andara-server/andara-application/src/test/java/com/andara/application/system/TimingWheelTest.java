@@ -0,0 +1,90 @@
+package com.andara.application.system;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void advance_shouldFireEntriesOnTheirDueTickAcrossLevels() {
+        long start = 1_000_003L;
+        TimingWheel<String> wheel = new TimingWheel<>(start);
+        long[] delays = {1, 2, 63, 64, 65, 4_095, 4_096, 4_097, 262_143, 262_144, 300_000, (1L << 24) + 5};
+        for (long delay : delays) {
+            wheel.schedule("+" + delay, start + delay);
+        }
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(start + (1L << 24) + 10, entry -> {
+            assertEquals(entry.dueTick, wheel.currentTick(), entry.item);
+            fired.add(entry.item);
+        });
+
+        assertEquals(delays.length, fired.size());
+        for (int i = 0; i < delays.length; i++) {
+            assertEquals("+" + delays[i], fired.get(i));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_withRandomScheduleAndSteps_shouldNeverFireEarlyOrLate() {
+        Random random = new Random(42);
+        TimingWheel<Long> wheel = new TimingWheel<>(777L);
+        for (int i = 0; i < 10_000; i++) {
+            long due = 777L + 1 + random.nextInt(200_000);
+            wheel.schedule(due, due);
+        }
+
+        long[] lastFired = {0};
+        int fired = 0;
+        while (wheel.size() > 0) {
+            long target = wheel.currentTick() + 1 + random.nextInt(500);
+            fired += wheel.advance(target, entry -> {
+                assertEquals(entry.dueTick, wheel.currentTick());
+                assertTrue(entry.dueTick >= lastFired[0]);
+                lastFired[0] = entry.dueTick;
+                // Rescheduling from the callback lands in a later slot
+                if (entry.item % 7 == 0 && entry.item < 100_000) {
+                    wheel.schedule(entry.item + 100_000, entry.dueTick + 100_000);
+                }
+            });
+        }
+        assertTrue(fired >= 10_000);
+    }
+
+    @Test
+    void cancel_shouldRemoveTheEntry() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        TimingWheel.Entry<String> kept = wheel.schedule("kept", 10);
+        TimingWheel.Entry<String> cancelled = wheel.schedule("cancelled", 10);
+        TimingWheel.Entry<String> far = wheel.schedule("far", 10_000);
+        wheel.cancel(cancelled);
+        wheel.cancel(far);
+        wheel.cancel(far);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(20_000, entry -> fired.add(entry.item));
+
+        assertEquals(List.of("kept"), fired);
+        assertEquals(0, wheel.size());
+        wheel.cancel(kept);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_whenOverdue_shouldFireOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(500);
+        wheel.schedule("late", 100);
+
+        List<Long> firedAt = new ArrayList<>();
+        wheel.advance(501, entry -> firedAt.add(wheel.currentTick()));
+
+        assertEquals(List.of(501L), firedAt);
+    }
+}
@@ -0,0 +1,207 @@
+package com.andara.application.system;
+
+import com.andara.domain.game.InstanceId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldTickSchedulerTest {
+
+    private final MutableClock clock = new MutableClock(1_000_000L);
+    private final Map<InstanceId, Long> lastTicks = new ConcurrentHashMap<>();
+    private WorldTickScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        WorldTickHandler recorder = (instanceId, tick) -> lastTicks.put(instanceId, tick);
+        WorldTickHandler failing = (instanceId, tick) -> {
+            throw new IllegalStateException("boom");
+        };
+        scheduler = new WorldTickScheduler(List.of(failing, recorder), clock, 2, 100, 1000, 5000, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void advance_shouldTickRegisteredInstancesAtTheirInterval() {
+        InstanceId first = InstanceId.generate();
+        InstanceId second = InstanceId.generate();
+        assertTrue(scheduler.register(first));
+        assertTrue(scheduler.register(second, 500));
+        assertFalse(scheduler.register(first));
+
+        clock.advance(500);
+        scheduler.advanceNow();
+        assertNull(lastTicks.get(first));
+        assertEquals(1L, lastTicks.get(second));
+
+        clock.advance(500);
+        scheduler.advanceNow();
+        assertEquals(1L, lastTicks.get(first));
+        assertEquals(2L, lastTicks.get(second));
+
+        WorldTickScheduler.Metrics metrics = scheduler.metrics();
+        assertEquals(2, metrics.registered());
+        assertEquals(2, metrics.active());
+        assertEquals(3, metrics.ticks());
+        assertEquals(0, metrics.maxLagMillis());
+    }
+
+    @Test
+    void advance_whenBehind_shouldSkipMissedTicksAndReportLag() {
+        InstanceId instanceId = InstanceId.generate();
+        scheduler.register(instanceId);
+
+        clock.advance(3_250);
+        scheduler.advanceNow();
+
+        // Due at +1000, run at +3250; the ticks due at +2000 and +3000 are skipped
+        assertEquals(1L, lastTicks.get(instanceId));
+        WorldTickScheduler.Metrics metrics = scheduler.metrics();
+        assertEquals(2, metrics.missedTicks());
+        assertEquals(2_250, metrics.maxLagMillis());
+        assertEquals(2_250, metrics.currentLagMillis());
+
+        clock.advance(750);
+        scheduler.advanceNow();
+        assertEquals(2L, lastTicks.get(instanceId));
+        assertEquals(0, scheduler.metrics().currentLagMillis());
+    }
+
+    @Test
+    void idleInstances_shouldBeParkedUntilMarkedActive() {
+        InstanceId idle = InstanceId.generate();
+        InstanceId busy = InstanceId.generate();
+        scheduler.register(idle);
+        scheduler.register(busy);
+
+        for (int second = 1; second <= 8; second++) {
+            clock.advance(1_000);
+            scheduler.markActive(busy);
+            scheduler.advanceNow();
+        }
+
+        assertEquals(4L, lastTicks.get(idle));
+        assertEquals(8L, lastTicks.get(busy));
+        WorldTickScheduler.Metrics metrics = scheduler.metrics();
+        assertEquals(1, metrics.active());
+        assertEquals(1, metrics.idle());
+        assertEquals(1, metrics.idleParks());
+
+        scheduler.markActive(idle);
+        clock.advance(100);
+        scheduler.advanceNow();
+        assertEquals(5L, lastTicks.get(idle));
+        assertEquals(2, scheduler.metrics().active());
+    }
+
+    @Test
+    void restore_shouldParkInstancesThatWereIdleBeforeTheRestart() {
+        InstanceId stale = InstanceId.generate();
+        InstanceId recent = InstanceId.generate();
+        assertTrue(scheduler.restore(stale, clock.millis() - 60_000));
+        assertTrue(scheduler.restore(recent, clock.millis() - 1_000));
+        assertFalse(scheduler.restore(recent, clock.millis()));
+
+        clock.advance(1_000);
+        scheduler.advanceNow();
+
+        assertNull(lastTicks.get(stale));
+        assertEquals(1L, lastTicks.get(recent));
+        assertEquals(1, scheduler.metrics().idle());
+
+        scheduler.markActive(stale);
+        clock.advance(100);
+        scheduler.advanceNow();
+        assertEquals(1L, lastTicks.get(stale));
+    }
+
+    @Test
+    void registerAfterCommit_shouldWaitForTheTransactionToCommit() {
+        InstanceId committed = InstanceId.generate();
+        InstanceId rolledBack = InstanceId.generate();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduler.registerAfterCommit(committed);
+            assertFalse(scheduler.isRegistered(committed));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(scheduler.isRegistered(committed));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduler.registerAfterCommit(rolledBack);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(scheduler.isRegistered(rolledBack));
+    }
+
+    @Test
+    void unregister_shouldStopTicks() {
+        InstanceId instanceId = InstanceId.generate();
+        scheduler.register(instanceId);
+        clock.advance(1_000);
+        scheduler.advanceNow();
+
+        assertTrue(scheduler.unregister(instanceId));
+        assertFalse(scheduler.unregister(instanceId));
+        clock.advance(3_000);
+        scheduler.advanceNow();
+
+        assertEquals(1L, lastTicks.get(instanceId));
+        assertFalse(scheduler.isRegistered(instanceId));
+        assertEquals(0, scheduler.metrics().active());
+    }
+
+    private static final class MutableClock extends Clock {
+        private final AtomicLong millis;
+
+        MutableClock(long millis) {
+            this.millis = new AtomicLong(millis);
+        }
+
+        void advance(long deltaMillis) {
+            millis.addAndGet(deltaMillis);
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.andara.content.cli.commands.ExportCommand;
 import com.andara.content.cli.commands.ListCommand;
 import com.andara.content.cli.commands.DiffCommand;
 import com.andara.content.cli.commands.MergeCommand;
+import com.andara.content.cli.commands.CompileCommand;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.HelpCommand;
@@ -25,6 +26,7 @@ import picocli.CommandLine.HelpCommand;
         ListCommand.class,
         DiffCommand.class,
         MergeCommand.class,
+        CompileCommand.class,
         HelpCommand.class
     },
     mixinStandardHelpOptions = true
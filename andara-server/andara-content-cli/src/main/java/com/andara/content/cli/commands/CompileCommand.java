@@ -0,0 +1,97 @@
+package com.andara.content.cli.commands;
+
+import com.andara.content.ContentType;
+import com.andara.content.pack.ContentPack;
+import com.andara.content.pack.ContentPackWriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import picocli.CommandLine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiles a content tree (an export or the seed directory) into a binary content pack
+ * the server can memory-map on startup. Files are assigned to a type by their top-level
+ * directory and keyed by the type's ID field.
+ */
+@CommandLine.Command(
+    name = "compile",
+    description = "Compile a content directory into a binary content pack"
+)
+public class CompileCommand implements Callable<Integer> {
+
+    @CommandLine.Parameters(index = "0", description = "Content directory (one subdirectory per content type)")
+    private Path source;
+
+    @CommandLine.Option(names = "--output", description = "Pack file to write", defaultValue = "content.pack")
+    private Path output;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public Integer call() throws Exception {
+        if (!Files.isDirectory(source)) {
+            System.err.println("Error: Directory not found: " + source);
+            return 1;
+        }
+
+        long started = System.nanoTime();
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(source)) {
+            files = walk.filter(Files::isRegularFile)
+                .filter(file -> file.getFileName().toString().endsWith(".json"))
+                .filter(file -> source.relativize(file).getNameCount() > 1)
+                .sorted()
+                .collect(Collectors.toList());
+        }
+
+        ContentPackWriter writer = new ContentPackWriter();
+        List<String> errors = new ArrayList<>();
+        for (Path file : files) {
+            Path relative = source.relativize(file);
+            Optional<ContentType> contentType = ContentType.fromDirectoryName(relative.getName(0).toString());
+            if (contentType.isEmpty()) {
+                continue;
+            }
+            try {
+                JsonNode content = objectMapper.readTree(file.toFile());
+                JsonNode id = content.get(contentType.get().getIdField());
+                if (id == null || !id.isTextual()) {
+                    errors.add(relative + ": missing " + contentType.get().getIdField());
+                    continue;
+                }
+                writer.add(contentType.get(), id.textValue(), content);
+            } catch (Exception e) {
+                errors.add(relative + ": " + e.getMessage());
+            }
+        }
+
+        for (String error : errors) {
+            System.err.println("✗ " + error);
+        }
+        if (!errors.isEmpty()) {
+            System.err.println(errors.size() + " file(s) could not be compiled; no pack written");
+            return 1;
+        }
+
+        writer.write(output);
+        ContentPack pack = ContentPack.open(output);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        for (ContentType contentType : ContentType.values()) {
+            if (pack.count(contentType) > 0) {
+                System.out.printf("  %-10s %d%n", contentType.getDirectoryName(), pack.count(contentType));
+            }
+        }
+        System.out.printf("✓ Compiled %d items into %s (%d bytes, %d ms)%n",
+            pack.size(), output, Files.size(output), elapsedMs);
+        return 0;
+    }
+}
@@ -1,28 +1,174 @@
 package com.andara.content.cli.commands;
 
+import com.andara.content.diff.ContentTreeDiff;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import picocli.CommandLine;
 
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.Callable;
 
 /**
- * Shows differences between file and database versions.
+ * Shows structural differences between content files, content directories,
+ * or a file and its active version in the database.
+ * Exits 0 when there are no differences, 1 when there are, 2 on errors.
  */
 @CommandLine.Command(
     name = "diff",
-    description = "Show differences between file and database"
+    description = "Show differences between files, directories, or a file and the database"
 )
 public class DiffCommand implements Callable<Integer> {
 
-    @CommandLine.Parameters(index = "0", description = "Content file")
+    @CommandLine.Parameters(index = "0", description = "Content file or directory")
     private String filePath;
 
+    @CommandLine.Parameters(index = "1", arity = "0..1", description = "File or directory to compare against (omit to compare with the database)")
+    private String otherPath;
+
+    @CommandLine.Option(names = "--type", description = "Content type (required when comparing with the database)")
+    private String contentTypeStr;
+
+    @CommandLine.Option(names = "--id", description = "Content ID (defaults to the file name without .json)")
+    private String contentId;
+
+    @CommandLine.Option(names = "--output", description = "Output format: text or json", defaultValue = "text")
+    private String output;
+
     @CommandLine.Option(names = "--env", description = "Environment")
     private String environment = "dev";
 
+    @CommandLine.Option(names = "--server", description = "Server URL", defaultValue = "http://localhost:8080")
+    private String serverUrl;
+
+    @CommandLine.Option(names = "--token", description = "Admin API token (or set ANDARA_ADMIN_TOKEN env var)")
+    private String adminToken;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
     @Override
     public Integer call() throws Exception {
-        System.out.println("Diffing " + filePath + " against " + environment);
-        System.out.println("TODO: Diff functionality not yet implemented");
-        return 0;
+        Path left = Path.of(filePath);
+        if (!Files.exists(left)) {
+            System.err.println("Error: Not found: " + filePath);
+            return 2;
+        }
+
+        if (otherPath == null) {
+            return diffAgainstServer(left);
+        }
+
+        Path right = Path.of(otherPath);
+        if (!Files.exists(right)) {
+            System.err.println("Error: Not found: " + otherPath);
+            return 2;
+        }
+
+        if (Files.isDirectory(left) != Files.isDirectory(right)) {
+            System.err.println("Error: Cannot compare a file with a directory");
+            return 2;
+        }
+
+        if (Files.isDirectory(left)) {
+            long started = System.nanoTime();
+            ContentTreeDiff.Result result = ContentTreeDiff.diff(left, right, objectMapper);
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+            if (output.equalsIgnoreCase("json")) {
+                System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result));
+            } else {
+                for (ContentTreeDiff.FileDiff change : result.changes()) {
+                    System.out.println(change.change().name().charAt(0) + " " + change.path());
+                    if (change.patch() != null) {
+                        printPatch(change.patch(), "    ");
+                    }
+                }
+                System.out.println();
+                System.out.printf("%d changed, %d unchanged (%d ms)%n",
+                    result.changes().size(), result.unchangedCount(), elapsedMs);
+            }
+            return result.hasChanges() ? 1 : 0;
+        }
+
+        JsonNode patch = ContentTreeDiff.diffFiles(left, right, objectMapper);
+        printResult(patch);
+        return patch.isEmpty() ? 0 : 1;
+    }
+
+    private int diffAgainstServer(Path file) throws Exception {
+        if (contentTypeStr == null || Files.isDirectory(file)) {
+            System.err.println("Error: Comparing with the database needs a single file and --type");
+            return 2;
+        }
+
+        String id = contentId != null
+            ? contentId
+            : file.getFileName().toString().replaceFirst("\\.json$", "");
+        String token = adminToken != null ? adminToken : System.getenv("ANDARA_ADMIN_TOKEN");
+
+        System.err.println("Diffing " + file + " against " + contentTypeStr.toUpperCase() + " " + id
+            + " on " + serverUrl + " (" + environment + ")");
+
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+            .uri(URI.create(String.format("%s/api/admin/content/%s/%s/diff",
+                serverUrl,
+                URLEncoder.encode(contentTypeStr.toUpperCase(), StandardCharsets.UTF_8),
+                URLEncoder.encode(id, StandardCharsets.UTF_8)
+            )))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofFile(file));
+        if (token != null && !token.isBlank()) {
+            requestBuilder.header("X-Admin-Token", token);
+        }
+
+        try {
+            HttpResponse<String> response = httpClient.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofString());
+
+            if (response.statusCode() == 200) {
+                JsonNode patch = objectMapper.readTree(response.body()).path("patch");
+                printResult(patch);
+                return patch.isEmpty() ? 0 : 1;
+            } else if (response.statusCode() == 404) {
+                System.out.println("A " + id + " (not active in the database)");
+                return 1;
+            } else if (response.statusCode() == 401) {
+                System.err.println("✗ Authentication failed!");
+                System.err.println("Please provide a valid admin token via --token or ANDARA_ADMIN_TOKEN env var.");
+                return 2;
+            } else {
+                System.err.println("✗ Diff failed!");
+                System.err.println("Status: " + response.statusCode());
+                System.err.println("Response: " + response.body());
+                return 2;
+            }
+        } catch (Exception e) {
+            System.err.println("✗ Failed to connect to server: " + e.getMessage());
+            System.err.println("Make sure the server is running at " + serverUrl);
+            return 2;
+        }
+    }
+
+    private void printResult(JsonNode patch) throws Exception {
+        if (output.equalsIgnoreCase("json")) {
+            System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(patch));
+        } else if (patch.isEmpty()) {
+            System.out.println("No differences");
+        } else {
+            printPatch(patch, "");
+        }
+    }
+
+    private void printPatch(JsonNode patch, String indent) throws Exception {
+        for (JsonNode operation : patch) {
+            String value = operation.has("value") ? " " + objectMapper.writeValueAsString(operation.get("value")) : "";
+            System.out.println(indent + operation.path("op").asText() + " " + operation.path("path").asText() + value);
+        }
     }
 }
@@ -22,12 +22,18 @@ import java.util.concurrent.Callable;
 )
 public class ExportCommand implements Callable<Integer> {
 
-    @CommandLine.Parameters(index = "0", description = "Content type")
+    @CommandLine.Parameters(index = "0", description = "Content type, comma-separated types, or 'all'")
     private String contentTypeStr;
 
-    @CommandLine.Option(names = "--output", description = "Output directory", defaultValue = "./content-export")
+    @CommandLine.Option(names = "--output", description = "Output directory (or .zip path with --format zip)", defaultValue = "./content-export")
     private String outputDir;
 
+    @CommandLine.Option(names = "--format", description = "Output format: directory or zip", defaultValue = "directory")
+    private String format;
+
+    @CommandLine.Option(names = "--incremental", description = "Only write files changed since the existing manifest", defaultValue = "false")
+    private boolean incremental;
+
     @CommandLine.Option(names = "--env", description = "Environment", defaultValue = "dev")
     private String environment;
 
@@ -55,9 +61,11 @@ public class ExportCommand implements Callable<Integer> {
         System.out.println();
 
         // Build request URL
-        String url = String.format("%s/api/admin/content/export?type=%s&outputDir=%s&exportedBy=%s&environment=%s",
+        String url = String.format("%s/api/admin/content/export?type=%s&format=%s&incremental=%s&outputDir=%s&exportedBy=%s&environment=%s",
             serverUrl,
             URLEncoder.encode(contentTypeStr.toUpperCase(), StandardCharsets.UTF_8),
+            URLEncoder.encode(format, StandardCharsets.UTF_8),
+            incremental,
             URLEncoder.encode(outputDir, StandardCharsets.UTF_8),
             URLEncoder.encode("cli-" + System.getProperty("user.name"), StandardCharsets.UTF_8),
             URLEncoder.encode(environment, StandardCharsets.UTF_8)
@@ -89,6 +97,15 @@ public class ExportCommand implements Callable<Integer> {
                     System.out.println("Exported items: " + result.get("exportedCount"));
                 }
                 
+                if (incremental && result.containsKey("writtenCount")) {
+                    System.out.println("Written: " + result.get("writtenCount"));
+                    List<String> deleted = (List<String>) result.getOrDefault("deletedPaths", List.of());
+                    System.out.println("Deleted: " + deleted.size());
+                    for (String path : deleted) {
+                        System.out.println("  - " + path);
+                    }
+                }
+                
                 if (result.containsKey("outputDirectory")) {
                     System.out.println("Output directory: " + result.get("outputDirectory"));
                 }
@@ -3,22 +3,30 @@ package com.andara.content.cli.commands;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import picocli.CommandLine;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.concurrent.Callable;
 import java.util.stream.Stream;
 
 /**
  * Imports content files into the database via REST API.
+ * Files are streamed as newline-delimited JSON so neither side holds the whole pack.
  */
 @CommandLine.Command(
     name = "import",
@@ -41,6 +49,9 @@ public class ImportCommand implements Callable<Integer> {
     @CommandLine.Option(names = "--dry-run", description = "Validate only, don't import", defaultValue = "false")
     private boolean dryRun;
 
+    @CommandLine.Option(names = "--window-size", description = "Items validated and written per batch", defaultValue = "500")
+    private int windowSize;
+
     @CommandLine.Option(names = "--token", description = "Admin API token (or set ANDARA_ADMIN_TOKEN env var)")
     private String adminToken;
 
@@ -63,58 +74,47 @@ public class ImportCommand implements Callable<Integer> {
             return 1;
         }
 
-        // Collect content items
-        List<Object> contentItems = new ArrayList<>();
-        
+        // Collect file paths only; contents are read one at a time while streaming
+        List<Path> files;
         if (sourceFile.isDirectory()) {
             try (Stream<Path> paths = Files.walk(sourceFile.toPath())) {
-                paths.filter(Files::isRegularFile)
-                     .filter(p -> p.toString().endsWith(".json"))
-                     .forEach(path -> {
-                         try {
-                             String content = Files.readString(path);
-                             Object item = objectMapper.readValue(content, Object.class);
-                             contentItems.add(item);
-                             System.out.println("Loaded: " + path.getFileName());
-                         } catch (Exception e) {
-                             System.err.println("Warning: Failed to load " + path.getFileName() + " - " + e.getMessage());
-                         }
-                     });
+                files = paths.filter(Files::isRegularFile)
+                    .filter(p -> p.toString().endsWith(".json"))
+                    .sorted()
+                    .toList();
             }
         } else {
-            // Single file
-            String content = Files.readString(sourceFile.toPath());
-            Object item = objectMapper.readValue(content, Object.class);
-            contentItems.add(item);
-            System.out.println("Loaded: " + sourceFile.getName());
+            files = List.of(sourceFile.toPath());
         }
 
-        if (contentItems.isEmpty()) {
+        if (files.isEmpty()) {
             System.err.println("Error: No content items found to import");
             return 1;
         }
 
-        System.out.println("\nImporting " + contentItems.size() + " item(s) to " + serverUrl);
+        System.out.println("\nStreaming " + files.size() + " file(s) to " + serverUrl
+            + " in windows of " + windowSize);
         if (dryRun) {
             System.out.println("DRY RUN - Validation only, no data will be imported");
         }
         System.out.println();
 
-        // Prepare request body
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("items", contentItems);
-        requestBody.put("importedBy", "cli-" + System.getProperty("user.name"));
-        requestBody.put("changeSummary", "Imported via CLI from " + source);
-
-        String requestJson = objectMapper.writeValueAsString(requestBody);
-
         // Build request
-        String url = serverUrl + "/api/admin/content/import?type=" + contentTypeStr.toUpperCase() + "&dryRun=" + dryRun;
+        String url = String.format("%s/api/admin/content/import/stream?type=%s&dryRun=%s&windowSize=%d&importedBy=%s&changeSummary=%s",
+            serverUrl,
+            URLEncoder.encode(contentTypeStr.toUpperCase(), StandardCharsets.UTF_8),
+            dryRun,
+            windowSize,
+            URLEncoder.encode("cli-" + System.getProperty("user.name"), StandardCharsets.UTF_8),
+            URLEncoder.encode("Imported via CLI from " + source, StandardCharsets.UTF_8)
+        );
         
         HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
             .uri(URI.create(url))
-            .header("Content-Type", "application/json")
-            .POST(HttpRequest.BodyPublishers.ofString(requestJson));
+            .header("Content-Type", "application/x-ndjson")
+            .POST(HttpRequest.BodyPublishers.ofInputStream(
+                () -> new SequenceInputStream(new NdjsonLines(files.iterator()))
+            ));
 
         // Add admin token if available
         if (token != null && !token.isBlank()) {
@@ -124,37 +124,38 @@ public class ImportCommand implements Callable<Integer> {
         HttpRequest request = requestBuilder.build();
 
         try {
-            // Send request
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            // Send request and print progress lines as the server reports each window
+            HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
             
-            if (response.statusCode() == 200 || response.statusCode() == 201) {
-                Map<String, Object> result = objectMapper.readValue(response.body(), Map.class);
-                
-                System.out.println("✓ Import successful!");
-                System.out.println();
-                
-                if (result.containsKey("importedCount")) {
-                    System.out.println("Imported: " + result.get("importedCount"));
-                }
-                
-                if (result.containsKey("importedIds")) {
-                    List<String> ids = (List<String>) result.get("importedIds");
-                    System.out.println("Content IDs:");
-                    for (String id : ids) {
-                        System.out.println("  - " + id);
+            if (response.statusCode() == 200) {
+                Map<String, Object> summary = null;
+                try (Stream<String> lines = response.body()) {
+                    for (String line : (Iterable<String>) lines::iterator) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        Map<String, Object> progress = objectMapper.readValue(line, Map.class);
+                        if (Boolean.TRUE.equals(progress.get("done"))) {
+                            summary = progress;
+                        } else {
+                            printWindow(progress);
+                        }
                     }
                 }
                 
-                if (result.containsKey("warnings")) {
-                    List<String> warnings = (List<String>) result.get("warnings");
-                    if (!warnings.isEmpty()) {
-                        System.out.println("\nWarnings:");
-                        for (String warning : warnings) {
-                            System.out.println("  ⚠ " + warning);
-                        }
+                System.out.println();
+                if (summary == null || !Boolean.TRUE.equals(summary.get("success"))) {
+                    System.err.println("✗ Import failed!");
+                    if (summary != null && summary.containsKey("error")) {
+                        System.err.println("  ✗ " + summary.get("error"));
                     }
+                    return 1;
                 }
                 
+                System.out.println("✓ Import successful!");
+                System.out.println("Processed: " + summary.get("processed") + " in " + summary.get("windows") + " window(s)");
+                System.out.println("Imported: " + summary.get("imported"));
+                
                 if (dryRun) {
                     System.out.println("\nDry run completed. No data was imported.");
                 }
@@ -169,21 +170,9 @@ public class ImportCommand implements Callable<Integer> {
             } else {
                 System.err.println("✗ Import failed!");
                 System.err.println("Status: " + response.statusCode());
-                System.err.println("Response: " + response.body());
-                
-                try {
-                    Map<String, Object> errorResult = objectMapper.readValue(response.body(), Map.class);
-                    if (errorResult.containsKey("errors")) {
-                        List<String> errors = (List<String>) errorResult.get("errors");
-                        System.err.println("\nErrors:");
-                        for (String error : errors) {
-                            System.err.println("  ✗ " + error);
-                        }
-                    }
-                } catch (Exception e) {
-                    // Response body might not be JSON
+                try (Stream<String> lines = response.body()) {
+                    System.err.println("Response: " + String.join("\n", lines.toList()));
                 }
-                
                 return 1;
             }
             
@@ -193,4 +182,58 @@ public class ImportCommand implements Callable<Integer> {
             return 1;
         }
     }
+
+    private void printWindow(Map<String, Object> progress) {
+        System.out.println("Window " + progress.get("window") + ": "
+            + progress.get("processed") + " processed, "
+            + progress.get("imported") + " imported");
+        
+        List<String> errors = (List<String>) progress.getOrDefault("errors", List.of());
+        for (String error : errors) {
+            System.err.println("  ✗ " + error);
+        }
+        List<String> warnings = (List<String>) progress.getOrDefault("warnings", List.of());
+        for (String warning : warnings) {
+            System.out.println("  ⚠ " + warning);
+        }
+    }
+
+    /**
+     * Lazily turns content files into NDJSON lines, reading one file at a time.
+     */
+    private class NdjsonLines implements Enumeration<InputStream> {
+        private final Iterator<Path> files;
+        private InputStream next;
+
+        NdjsonLines(Iterator<Path> files) {
+            this.files = files;
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            while (next == null && files.hasNext()) {
+                Path path = files.next();
+                try {
+                    // Re-serialize compactly so each item occupies exactly one line
+                    byte[] json = objectMapper.writeValueAsBytes(objectMapper.readTree(path.toFile()));
+                    byte[] line = Arrays.copyOf(json, json.length + 1);
+                    line[json.length] = '\n';
+                    next = new ByteArrayInputStream(line);
+                } catch (Exception e) {
+                    System.err.println("Warning: Failed to load " + path.getFileName() + " - " + e.getMessage());
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public InputStream nextElement() {
+            if (!hasMoreElements()) {
+                throw new NoSuchElementException();
+            }
+            InputStream current = next;
+            next = null;
+            return current;
+        }
+    }
 }
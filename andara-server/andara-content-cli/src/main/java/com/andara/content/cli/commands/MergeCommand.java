@@ -1,34 +1,127 @@
 package com.andara.content.cli.commands;
 
+import com.andara.content.diff.ContentTreeMerge;
+import com.andara.content.diff.JsonMerge;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import picocli.CommandLine;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
- * Performs three-way merge of content versions.
+ * Performs three-way merge of content versions, either single files or whole content trees.
+ * Conflicting values keep "yours" in the output and are listed; exits 1 if there were any.
  */
 @CommandLine.Command(
     name = "merge",
-    description = "Merge content versions"
+    description = "Merge content versions (files or directories)"
 )
 public class MergeCommand implements Callable<Integer> {
 
-    @CommandLine.Option(names = "--base", description = "Base version file")
+    @CommandLine.Option(names = "--base", description = "Base version file or directory", required = true)
     private String base;
 
-    @CommandLine.Option(names = "--theirs", description = "Their version file")
+    @CommandLine.Option(names = "--theirs", description = "Their version file or directory", required = true)
     private String theirs;
 
-    @CommandLine.Option(names = "--yours", description = "Your version file")
+    @CommandLine.Option(names = "--yours", description = "Your version file or directory", required = true)
     private String yours;
 
-    @CommandLine.Option(names = "--output", description = "Output file")
+    @CommandLine.Option(names = "--output", description = "Output file or directory (defaults to printing a merged file)")
     private String output;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Override
     public Integer call() throws Exception {
-        System.out.println("Merging content versions");
-        System.out.println("TODO: Merge functionality not yet implemented");
+        Path basePath = Path.of(base);
+        Path yourPath = Path.of(yours);
+        Path theirPath = Path.of(theirs);
+
+        // A mistyped base would otherwise merge as if both sides added everything independently
+        for (Path path : List.of(basePath, yourPath, theirPath)) {
+            if (!Files.exists(path)) {
+                System.err.println("Error: Not found: " + path);
+                return 2;
+            }
+        }
+
+        if (Files.isDirectory(yourPath) && Files.isDirectory(theirPath)) {
+            if (!Files.isDirectory(basePath)) {
+                System.err.println("Error: --base must be a directory when merging directories");
+                return 2;
+            }
+            if (output == null) {
+                System.err.println("Error: --output is required when merging directories");
+                return 2;
+            }
+
+            System.out.println("Merging " + yourPath + " and " + theirPath + " (base " + basePath + ")");
+            long started = System.nanoTime();
+            ContentTreeMerge.Result result = ContentTreeMerge.merge(
+                basePath, yourPath, theirPath, Path.of(output), objectMapper
+            );
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+            for (ContentTreeMerge.FileMerge file : result.merged()) {
+                String status = !file.conflicts().isEmpty() ? "C" : file.deleted() ? "D" : "M";
+                System.out.println(status + " " + file.path());
+                printConflicts(file.conflicts(), "    ");
+            }
+            System.out.println();
+            System.out.printf("%d files written to %s, %d merged, %d conflicts (%d ms)%n",
+                result.fileCount(), output, result.merged().size(), result.conflictCount(), elapsedMs);
+            return result.hasConflicts() ? 1 : 0;
+        }
+
+        if (Files.isDirectory(yourPath) || Files.isDirectory(theirPath)) {
+            System.err.println("Error: --yours and --theirs must both be files or both be directories");
+            return 2;
+        }
+
+        if (Files.isDirectory(basePath)) {
+            System.err.println("Error: --base must be a file when merging files");
+            return 2;
+        }
+        JsonMerge.Result result = ContentTreeMerge.mergeFiles(basePath, yourPath, theirPath, objectMapper);
+        JsonNode merged = result.merged();
+        if (output != null) {
+            if (merged != null) {
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(Path.of(output).toFile(), merged);
+                System.out.println("Merged into " + output);
+            } else {
+                Files.deleteIfExists(Path.of(output));
+                System.out.println("Merged result is deleted; removed " + output);
+            }
+        } else if (merged != null) {
+            System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(merged));
+        }
+
+        if (result.hasConflicts()) {
+            System.err.println(result.conflicts().size() + " conflict(s), kept yours:");
+            printConflicts(result.conflicts(), "  ");
+            return 1;
+        }
         return 0;
     }
+
+    private void printConflicts(List<JsonMerge.Conflict> conflicts, String indent) throws Exception {
+        for (JsonMerge.Conflict conflict : conflicts) {
+            System.err.println(indent + "✗ " + (conflict.path().isEmpty() ? "/" : conflict.path())
+                + "  base=" + describe(conflict.base())
+                + "  yours=" + describe(conflict.ours())
+                + "  theirs=" + describe(conflict.theirs()));
+        }
+    }
+
+    private String describe(JsonNode value) throws Exception {
+        if (value == null) {
+            return "(absent)";
+        }
+        String json = objectMapper.writeValueAsString(value);
+        return json.length() > 60 ? json.substring(0, 57) + "..." : json;
+    }
 }
@@ -1,25 +1,36 @@
 package com.andara.content.cli.commands;
 
 import com.andara.content.ContentType;
-import com.andara.content.validation.SchemaValidator;
+import com.andara.content.validation.InMemoryReferenceResolver;
+import com.andara.content.validation.ReferenceValidator;
+import com.andara.content.validation.ValidationEngine;
 import com.andara.content.validation.ValidationResult;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import picocli.CommandLine;
 
 import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- * Validates content files against schemas.
+ * Validates content files through all validation layers (schema, references, business rules).
+ * References are resolved against the files being validated, so a directory can be checked
+ * offline for dangling references. Files are parsed and validated in parallel.
  */
 @CommandLine.Command(
     name = "validate",
-    description = "Validate content files against schemas"
+    description = "Validate content files against schemas, references and business rules"
 )
 public class ValidateCommand implements Callable<Integer> {
 
@@ -32,8 +43,19 @@ public class ValidateCommand implements Callable<Integer> {
     @CommandLine.Option(names = "--all", description = "Validate all files in directory recursively")
     private boolean validateAll = false;
 
+    @CommandLine.Option(names = "--format", description = "Output format: text, json or junit", defaultValue = "text")
+    private String format;
+
+    @CommandLine.Option(names = "--report", description = "Write the json/junit report to this file instead of stdout")
+    private File reportFile;
+
+    @CommandLine.Option(names = "--content-root", description = "Directory whose files references resolve against (defaults to the validated directory)")
+    private File contentRoot;
+
+    @CommandLine.Option(names = "--threads", description = "Parallel validation threads (0 = one per core)", defaultValue = "0")
+    private int threads;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final SchemaValidator schemaValidator = new SchemaValidator(objectMapper);
 
     @Override
     public Integer call() throws Exception {
@@ -43,65 +65,139 @@ public class ValidateCommand implements Callable<Integer> {
         }
 
         List<ValidationEntry> entries = collectValidationEntries();
-        
+
         if (entries.isEmpty()) {
             System.err.println("Error: No content files found to validate");
             return 1;
         }
 
-        System.out.println("Validating " + entries.size() + " file(s)...\n");
+        long started = System.nanoTime();
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<FileResult> results;
+        try {
+            // Pass 1: parse every file and register its ID, so references resolve across the set
+            InMemoryReferenceResolver resolver = new InMemoryReferenceResolver();
+            // Files under the content root are registered first, so only targets report duplicates
+            boolean reportDuplicates = contentRoot == null;
+            if (contentRoot != null) {
+                List<ValidationEntry> rootEntries = collectRecursively(contentRoot);
+                pool.submit(() -> rootEntries.parallelStream().forEach(entry -> parse(entry, resolver, false))).get();
+            }
+            List<ParsedEntry> parsed = pool.submit(() -> entries.parallelStream()
+                .map(entry -> parse(entry, resolver, reportDuplicates))
+                .collect(Collectors.toList())
+            ).get();
+
+            // Pass 2: run all validation layers. A lone file without a content root has
+            // nothing to resolve against, so its references are not checked.
+            ReferenceValidator.ReferenceResolver references = contentRoot == null && !target.isDirectory()
+                ? (type, id) -> true
+                : resolver;
+            ValidationEngine engine = new ValidationEngine(objectMapper, references);
+            results = pool.submit(() -> parsed.parallelStream()
+                .map(entry -> validate(entry, engine))
+                .collect(Collectors.toList())
+            ).get();
+        } finally {
+            pool.shutdown();
+        }
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        int errorCount = results.stream().mapToInt(result -> result.errors().size()).sum();
+
+        switch (format.toLowerCase()) {
+            case "json" -> writeReport(out -> writeJson(out, results, elapsedMs));
+            case "junit" -> writeReport(out -> writeJUnit(out, results, elapsedMs));
+            default -> printText(results, elapsedMs);
+        }
+
+        return errorCount > 0 ? 1 : 0;
+    }
+
+    /**
+     * Parse one file and register its ID with the resolver.
+     *
+     * @param reportDuplicates Whether an ID already registered for the type is an error
+     */
+    private ParsedEntry parse(ValidationEntry entry, InMemoryReferenceResolver resolver, boolean reportDuplicates) {
+        long started = System.nanoTime();
+        List<String> errors = new ArrayList<>();
+        JsonNode content = null;
+        try {
+            content = objectMapper.readTree(entry.file);
+            String id = content.path(entry.contentType.getIdField()).asText();
+            if (!id.isEmpty() && !resolver.add(entry.contentType, id) && reportDuplicates) {
+                errors.add("Duplicate " + entry.contentType + " ID: " + id);
+            }
+        } catch (Exception e) {
+            errors.add("Failed to parse: " + e.getMessage());
+        }
+        return new ParsedEntry(entry, content, errors, System.nanoTime() - started);
+    }
+
+    private FileResult validate(ParsedEntry parsed, ValidationEngine engine) {
+        long started = System.nanoTime();
+        List<String> errors = new ArrayList<>(parsed.errors());
+        List<String> warnings = new ArrayList<>();
+        List<String> suggestions = new ArrayList<>();
+
+        if (parsed.content() != null) {
+            try {
+                ValidationResult result = engine.validate(parsed.entry().contentType, parsed.content());
+                errors.addAll(result.getErrors());
+                warnings.addAll(result.getWarnings());
+                suggestions.addAll(result.getSuggestions());
+            } catch (Exception e) {
+                errors.add("Error: " + e.getMessage());
+            }
+        }
+
+        return new FileResult(
+            parsed.entry().file,
+            parsed.entry().contentType,
+            errors,
+            warnings,
+            suggestions,
+            (parsed.nanos() + System.nanoTime() - started) / 1_000_000
+        );
+    }
+
+    private void printText(List<FileResult> results, long elapsedMs) {
+        System.out.println("Validating " + results.size() + " file(s)...\n");
 
         int errorCount = 0;
         int warningCount = 0;
 
-        for (ValidationEntry entry : entries) {
-            System.out.println("Validating: " + entry.file.getName() + " (" + entry.contentType + ")");
-            
-            try {
-                String contentJson = Files.readString(entry.file.toPath());
-                Object content = objectMapper.readValue(contentJson, Object.class);
-                
-                ValidationResult result = schemaValidator.validate(entry.contentType, content);
-                
-                if (result.isValid()) {
-                    System.out.println("  ✓ Valid");
-                    
-                    if (!result.getWarnings().isEmpty()) {
-                        System.out.println("  Warnings:");
-                        for (String warning : result.getWarnings()) {
-                            System.out.println("    ⚠ " + warning);
-                            warningCount++;
-                        }
-                    }
-                    
-                    if (!result.getSuggestions().isEmpty()) {
-                        System.out.println("  Suggestions:");
-                        for (String suggestion : result.getSuggestions()) {
-                            System.out.println("    💡 " + suggestion);
-                        }
-                    }
-                } else {
-                    System.out.println("  ✗ Invalid");
-                    System.out.println("  Errors:");
-                    for (String error : result.getErrors()) {
-                        System.out.println("    ✗ " + error);
-                        errorCount++;
-                    }
-                    
-                    if (!result.getWarnings().isEmpty()) {
-                        System.out.println("  Warnings:");
-                        for (String warning : result.getWarnings()) {
-                            System.out.println("    ⚠ " + warning);
-                            warningCount++;
-                        }
-                    }
+        for (FileResult result : results) {
+            System.out.println("Validating: " + result.file().getName() + " (" + result.contentType() + ")");
+
+            if (result.errors().isEmpty()) {
+                System.out.println("  ✓ Valid");
+            } else {
+                System.out.println("  ✗ Invalid");
+                System.out.println("  Errors:");
+                for (String error : result.errors()) {
+                    System.out.println("    ✗ " + error);
+                    errorCount++;
+                }
+            }
+
+            if (!result.warnings().isEmpty()) {
+                System.out.println("  Warnings:");
+                for (String warning : result.warnings()) {
+                    System.out.println("    ⚠ " + warning);
+                    warningCount++;
+                }
+            }
+
+            if (result.errors().isEmpty() && !result.suggestions().isEmpty()) {
+                System.out.println("  Suggestions:");
+                for (String suggestion : result.suggestions()) {
+                    System.out.println("    💡 " + suggestion);
                 }
-                
-            } catch (Exception e) {
-                System.err.println("  ✗ Error: " + e.getMessage());
-                errorCount++;
             }
-            
+
             System.out.println();
         }
 
@@ -109,12 +205,74 @@ public class ValidateCommand implements Callable<Integer> {
         System.out.println("═════════════════════════════════════");
         System.out.println("Validation Summary");
         System.out.println("═════════════════════════════════════");
-        System.out.println("Files validated: " + entries.size());
+        System.out.println("Files validated: " + results.size());
         System.out.println("Errors: " + errorCount);
         System.out.println("Warnings: " + warningCount);
+        System.out.println("Time: " + elapsedMs + " ms");
         System.out.println("═════════════════════════════════════");
+    }
 
-        return errorCount > 0 ? 1 : 0;
+    private void writeJson(PrintStream out, List<FileResult> results, long elapsedMs) throws Exception {
+        List<Map<String, Object>> files = new ArrayList<>();
+        for (FileResult result : results) {
+            Map<String, Object> file = new LinkedHashMap<>();
+            file.put("file", result.file().getPath());
+            file.put("contentType", result.contentType());
+            file.put("valid", result.errors().isEmpty());
+            file.put("errors", result.errors());
+            file.put("warnings", result.warnings());
+            file.put("suggestions", result.suggestions());
+            files.add(file);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("filesValidated", results.size());
+        report.put("errorCount", results.stream().mapToInt(result -> result.errors().size()).sum());
+        report.put("warningCount", results.stream().mapToInt(result -> result.warnings().size()).sum());
+        report.put("elapsedMs", elapsedMs);
+        report.put("files", files);
+        out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    }
+
+    private void writeJUnit(PrintStream out, List<FileResult> results, long elapsedMs) {
+        long failures = results.stream().filter(result -> !result.errors().isEmpty()).count();
+
+        out.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        out.printf("<testsuite name=\"content-validation\" tests=\"%d\" failures=\"%d\" errors=\"0\" time=\"%.3f\">%n",
+            results.size(), failures, elapsedMs / 1000.0);
+        for (FileResult result : results) {
+            out.printf("  <testcase classname=\"%s\" name=\"%s\" time=\"%.3f\">%n",
+                xml(result.contentType().name()), xml(result.file().getPath()), result.elapsedMs() / 1000.0);
+            if (!result.errors().isEmpty()) {
+                out.printf("    <failure message=\"%s\">%s</failure>%n",
+                    xml(result.errors().size() + " validation error(s)"),
+                    xml(String.join("\n", result.errors())));
+            }
+            if (!result.warnings().isEmpty()) {
+                out.printf("    <system-out>%s</system-out>%n", xml(String.join("\n", result.warnings())));
+            }
+            out.println("  </testcase>");
+        }
+        out.println("</testsuite>");
+    }
+
+    private void writeReport(ReportWriter writer) throws Exception {
+        if (reportFile == null) {
+            writer.write(System.out);
+            return;
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(reportFile.toPath()), false, StandardCharsets.UTF_8)) {
+            writer.write(out);
+        }
+        System.out.println("Report written to " + reportFile);
+    }
+
+    private static String xml(String value) {
+        return value
+            .replace("&", "&amp;")
+            .replace("<", "&lt;")
+            .replace(">", "&gt;")
+            .replace("\"", "&quot;");
     }
 
     private List<ValidationEntry> collectValidationEntries() throws Exception {
@@ -122,20 +280,7 @@ public class ValidateCommand implements Callable<Integer> {
 
         if (target.isDirectory()) {
             if (validateAll) {
-                // Recursively find all JSON files
-                try (Stream<Path> paths = Files.walk(target.toPath())) {
-                    paths.filter(Files::isRegularFile)
-                         .filter(p -> p.toString().endsWith(".json"))
-                         .forEach(path -> {
-                             File file = path.toFile();
-                             try {
-                                 ContentType type = inferContentType(file);
-                                 entries.add(new ValidationEntry(file, type));
-                             } catch (Exception e) {
-                                 System.err.println("Warning: Skipping " + file.getName() + " - " + e.getMessage());
-                             }
-                         });
-                }
+                entries.addAll(collectRecursively(target));
             } else {
                 // Only files in immediate directory
                 File[] files = target.listFiles((dir, name) -> name.endsWith(".json"));
@@ -159,6 +304,29 @@ public class ValidateCommand implements Callable<Integer> {
         return entries;
     }
 
+    /**
+     * Find all content JSON files under a directory, skipping export manifests.
+     */
+    private List<ValidationEntry> collectRecursively(File directory) throws Exception {
+        List<ValidationEntry> entries = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            paths.filter(Files::isRegularFile)
+                 .filter(p -> p.toString().endsWith(".json"))
+                 .filter(p -> !p.getFileName().toString().equals("manifest.json"))
+                 .sorted()
+                 .forEach(path -> {
+                     File file = path.toFile();
+                     try {
+                         ContentType type = inferContentType(file);
+                         entries.add(new ValidationEntry(file, type));
+                     } catch (Exception e) {
+                         System.err.println("Warning: Skipping " + file.getName() + " - " + e.getMessage());
+                     }
+                 });
+        }
+        return entries;
+    }
+
     private ContentType determineContentType() {
         if (contentTypeStr != null) {
             try {
@@ -170,13 +338,22 @@ public class ValidateCommand implements Callable<Integer> {
                 );
             }
         }
-        
+
         return inferContentType(target);
     }
 
     private ContentType inferContentType(File file) {
         String fileName = file.getName();
-        
+
+        // Export and seed layouts keep each type in its own subdirectory
+        File parent = file.getParentFile();
+        if (parent != null) {
+            ContentType byDirectory = ContentType.fromDirectoryName(parent.getName()).orElse(null);
+            if (byDirectory != null) {
+                return byDirectory;
+            }
+        }
+
         // Try to infer from filename patterns
         if (fileName.contains("item") || fileName.contains("weapon") || fileName.contains("armor")) {
             return ContentType.ITEM_TEMPLATE;
@@ -201,7 +378,7 @@ public class ValidateCommand implements Callable<Integer> {
         } else if (fileName.contains("dialogue")) {
             return ContentType.DIALOGUE_TREE;
         }
-        
+
         throw new IllegalArgumentException(
             "Could not determine content type for: " + fileName + ". Please specify --type"
         );
@@ -216,4 +393,22 @@ public class ValidateCommand implements Callable<Integer> {
             this.contentType = contentType;
         }
     }
+
+    private record ParsedEntry(ValidationEntry entry, JsonNode content, List<String> errors, long nanos) {
+    }
+
+    private record FileResult(
+        File file,
+        ContentType contentType,
+        List<String> errors,
+        List<String> warnings,
+        List<String> suggestions,
+        long elapsedMs
+    ) {
+    }
+
+    @FunctionalInterface
+    private interface ReportWriter {
+        void write(PrintStream out) throws Exception;
+    }
 }
@@ -1,29 +1,53 @@
 package com.andara.content;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Enumeration of all supported content types in the content management system.
  */
 public enum ContentType {
-    ITEM_TEMPLATE("item-template", "ItemTemplate"),
-    SKILL_DEFINITION("skill-definition", "SkillDefinition"),
-    ABILITY_DEFINITION("ability-definition", "AbilityDefinition"),
-    RECIPE("recipe", "Recipe"),
-    REGION_DEFINITION("region-definition", "RegionDefinition"),
-    ZONE_TEMPLATE("zone-template", "ZoneTemplate"),
-    POI_TEMPLATE("poi-template", "POITemplate"),
-    NPC_TEMPLATE("npc-template", "NPCTemplate"),
-    FACTION_DEFINITION("faction-definition", "FactionDefinition"),
-    ENCOUNTER_TEMPLATE("encounter-template", "EncounterTemplate"),
-    DIALOGUE_TREE("dialogue-tree", "DialogueTree");
+    ITEM_TEMPLATE("item-template", "ItemTemplate", "templateId", "items"),
+    SKILL_DEFINITION("skill-definition", "SkillDefinition", "skillId", "skills"),
+    ABILITY_DEFINITION("ability-definition", "AbilityDefinition", "abilityId", "abilities"),
+    RECIPE("recipe", "Recipe", "recipeId", "recipes"),
+    REGION_DEFINITION("region-definition", "RegionDefinition", "regionId", "regions"),
+    ZONE_TEMPLATE("zone-template", "ZoneTemplate", "zoneId", "zones"),
+    POI_TEMPLATE("poi-template", "POITemplate", "poiId", "pois"),
+    NPC_TEMPLATE("npc-template", "NPCTemplate", "npcId", "npcs"),
+    FACTION_DEFINITION("faction-definition", "FactionDefinition", "factionId", "factions"),
+    ENCOUNTER_TEMPLATE("encounter-template", "EncounterTemplate", "encounterId", "encounters"),
+    DIALOGUE_TREE("dialogue-tree", "DialogueTree", "dialogueTreeId", "dialogue");
+
+    /**
+     * Types in an order where every type comes after the types it references,
+     * so importing in this order never fails on a reference within the same load.
+     */
+    private static final List<ContentType> IMPORT_ORDER = List.of(
+        ITEM_TEMPLATE,
+        ABILITY_DEFINITION,
+        SKILL_DEFINITION,
+        RECIPE,
+        FACTION_DEFINITION,
+        DIALOGUE_TREE,
+        NPC_TEMPLATE,
+        ENCOUNTER_TEMPLATE,
+        POI_TEMPLATE,
+        ZONE_TEMPLATE,
+        REGION_DEFINITION
+    );
 
     private final String schemaFileName;
     private final String schemaTitle;
+    private final String idField;
+    private final String directoryName;
 
-    ContentType(String schemaFileName, String schemaTitle) {
+    ContentType(String schemaFileName, String schemaTitle, String idField, String directoryName) {
         this.schemaFileName = schemaFileName;
         this.schemaTitle = schemaTitle;
+        this.idField = idField;
+        this.directoryName = directoryName;
     }
 
     public String getSchemaFileName() {
@@ -34,6 +58,20 @@ public enum ContentType {
         return schemaTitle;
     }
 
+    /**
+     * Get the top-level field that holds the content ID.
+     */
+    public String getIdField() {
+        return idField;
+    }
+
+    /**
+     * Get the subdirectory content files of this type live in (exports, seed data, hot reload).
+     */
+    public String getDirectoryName() {
+        return directoryName;
+    }
+
     /**
      * Get the schema file path relative to the content-schemas directory.
      */
@@ -51,4 +89,20 @@ public enum ContentType {
             .findFirst()
             .orElseThrow(() -> new IllegalArgumentException("Unknown schema file: " + fileName));
     }
+
+    /**
+     * Find ContentType by content subdirectory name.
+     */
+    public static Optional<ContentType> fromDirectoryName(String directoryName) {
+        return Arrays.stream(values())
+            .filter(type -> type.directoryName.equals(directoryName))
+            .findFirst();
+    }
+
+    /**
+     * Get all content types with referenced types before the types that reference them.
+     */
+    public static List<ContentType> importOrder() {
+        return IMPORT_ORDER;
+    }
 }
@@ -0,0 +1,37 @@
+package com.andara.content.behavior;
+
+/**
+ * Decisions a behavior tree can reach. Trees refer to actions by their lower-case name.
+ */
+public enum BehaviorAction {
+    IDLE,
+    WANDER,
+    PATROL,
+    APPROACH,
+    ATTACK,
+    FLEE;
+
+    private static final BehaviorAction[] VALUES = values();
+
+    private final String actionName = name().toLowerCase();
+
+    public String actionName() {
+        return actionName;
+    }
+
+    static BehaviorAction fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * @return The action, or null if no action has the name
+     */
+    static BehaviorAction fromName(String name) {
+        for (BehaviorAction action : VALUES) {
+            if (action.actionName.equals(name)) {
+                return action;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+package com.andara.content.behavior;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of NPC instances sharing one {@link Blackboard}, with the rows of NPCs running the
+ * same {@link BehaviorTree} instance laid out contiguously so each group can be ticked as
+ * a batch over a row range.
+ * Instance i is the i-th tree passed to {@link #of}; {@link #row} maps it to its blackboard row.
+ */
+public final class BehaviorPopulation {
+    private final Blackboard blackboard;
+    private final int[] rows;
+    private final List<Group> groups;
+
+    private BehaviorPopulation(Blackboard blackboard, int[] rows, List<Group> groups) {
+        this.blackboard = blackboard;
+        this.rows = rows;
+        this.groups = groups;
+    }
+
+    /**
+     * Lay out one NPC per tree, grouping NPCs by tree instance in order of first appearance,
+     * and initialize each row from its tree.
+     */
+    public static BehaviorPopulation of(List<BehaviorTree> trees) {
+        Map<BehaviorTree, int[]> counts = new IdentityHashMap<>();
+        List<BehaviorTree> order = new ArrayList<>();
+        for (BehaviorTree tree : trees) {
+            if (tree == null) {
+                throw new IllegalArgumentException("Behavior tree must not be null");
+            }
+            counts.computeIfAbsent(tree, t -> {
+                order.add(t);
+                return new int[1];
+            })[0]++;
+        }
+
+        Map<BehaviorTree, int[]> next = new IdentityHashMap<>();
+        List<Group> groups = new ArrayList<>(order.size());
+        int from = 0;
+        for (BehaviorTree tree : order) {
+            int to = from + counts.get(tree)[0];
+            groups.add(new Group(tree, from, to));
+            next.put(tree, new int[]{from});
+            from = to;
+        }
+
+        Blackboard blackboard = new Blackboard(trees.size());
+        int[] rows = new int[trees.size()];
+        for (int instance = 0; instance < rows.length; instance++) {
+            BehaviorTree tree = trees.get(instance);
+            int row = next.get(tree)[0]++;
+            rows[instance] = row;
+            tree.initialize(blackboard, row);
+        }
+        return new BehaviorPopulation(blackboard, rows, List.copyOf(groups));
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public Blackboard blackboard() {
+        return blackboard;
+    }
+
+    public int row(int instance) {
+        return rows[instance];
+    }
+
+    public BehaviorAction decision(int instance) {
+        return blackboard.decision(rows[instance]);
+    }
+
+    public List<Group> groups() {
+        return groups;
+    }
+
+    /**
+     * Rows {@code from} (inclusive) to {@code to} (exclusive) all run {@code tree}.
+     */
+    public record Group(BehaviorTree tree, int from, int to) {
+        public int size() {
+            return to - from;
+        }
+    }
+}
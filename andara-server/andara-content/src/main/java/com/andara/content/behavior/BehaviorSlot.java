@@ -0,0 +1,50 @@
+package com.andara.content.behavior;
+
+/**
+ * Integer inputs on an NPC's {@link Blackboard} row that behavior tree conditions read.
+ * Flags are 0 or 1. Trees refer to slots by their camel-case name, e.g. {@code enemyDistance}.
+ */
+public enum BehaviorSlot {
+    /** Remaining health in percent. */
+    HEALTH,
+    /** Health percentage below which the NPC wants to flee, from the template. */
+    FLEE_THRESHOLD,
+    /** Whether the NPC attacks on sight, from the template. */
+    AGGRESSIVE,
+    /** Whether the NPC has been attacked or engaged. */
+    THREATENED,
+    ENEMY_VISIBLE,
+    /** Grid distance to the nearest enemy. */
+    ENEMY_DISTANCE,
+    IN_ATTACK_RANGE,
+    /** Ticks since the NPC last did something other than idle. */
+    IDLE_TICKS;
+
+    public static final int COUNT = values().length;
+
+    private final String slotName = camelCase(name());
+
+    public String slotName() {
+        return slotName;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no slot has the name
+     */
+    public static BehaviorSlot fromName(String name) {
+        for (BehaviorSlot slot : values()) {
+            if (slot.slotName.equals(name)) {
+                return slot;
+            }
+        }
+        throw new IllegalArgumentException("Unknown behavior slot: " + name);
+    }
+
+    static String camelCase(String constant) {
+        StringBuilder name = new StringBuilder();
+        for (String part : constant.toLowerCase().split("_")) {
+            name.append(name.length() == 0 ? part : Character.toUpperCase(part.charAt(0)) + part.substring(1));
+        }
+        return name.toString();
+    }
+}
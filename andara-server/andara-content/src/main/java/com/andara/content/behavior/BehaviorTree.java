@@ -0,0 +1,345 @@
+package com.andara.content.behavior;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime form of an NPC_TEMPLATE's behavior, compiled once from its content JSON.
+ * The template's {@code behavior.behaviorTree} is either a preset name ({@link #PRESETS}) or an
+ * expression over composites, conditions and actions:
+ * <pre>
+ * selector(sequence(below(health, fleeThreshold), flee), sequence(is(inAttackRange), attack), wander)
+ * </pre>
+ * <ul>
+ *   <li>{@code selector(...)} succeeds with the first child that succeeds, {@code sequence(...)}
+ *       succeeds if all children do, {@code not(x)} inverts its child;</li>
+ *   <li>{@code below(slot, n)}, {@code above(slot, n)} and {@code is(slot)} compare a
+ *       {@link BehaviorSlot} against a constant or another slot;</li>
+ *   <li>action names ({@link BehaviorAction}) always succeed and record the decision.</li>
+ * </ul>
+ * Without a behaviorTree the aggressive preset is used for aggressive NPCs and the passive
+ * one otherwise. Nodes are stored in preorder in flat arrays, where node i's subtree ends
+ * before {@code end[i]}, and the tree is evaluated from the root on every tick without
+ * per-node running state, so one instance can tick any number of NPCs.
+ * Instances are immutable and safe to share.
+ */
+public final class BehaviorTree {
+
+    public static final Map<String, String> PRESETS = Map.of(
+        "aggressive",
+        "selector(sequence(below(health, fleeThreshold), flee), sequence(is(inAttackRange), attack),"
+            + " sequence(is(enemyVisible), approach), wander)",
+        "defensive",
+        "selector(sequence(below(health, fleeThreshold), flee), sequence(is(threatened), is(inAttackRange), attack),"
+            + " sequence(is(threatened), approach), patrol)",
+        "passive",
+        "selector(sequence(is(threatened), flee), sequence(above(idleTicks, 10), wander), idle)",
+        "cowardly",
+        "selector(sequence(is(enemyVisible), flee), wander)"
+    );
+
+    private static final byte SELECTOR = 0;
+    private static final byte SEQUENCE = 1;
+    private static final byte NOT = 2;
+    private static final byte BELOW = 3;
+    private static final byte ABOVE = 4;
+    private static final byte IS = 5;
+    private static final byte ACTION = 6;
+
+    private final String npcId;
+    private final String source;
+    private final byte[] kind;
+    private final int[] end;
+    private final int[] operand;
+    private final int[] argument;
+    private final boolean[] argumentIsSlot;
+    private final int fleeThreshold;
+    private final boolean aggressive;
+
+    private BehaviorTree(String npcId, String source, Parser parser, int fleeThreshold, boolean aggressive) {
+        int count = parser.kind.size();
+        this.npcId = npcId;
+        this.source = source;
+        this.kind = new byte[count];
+        this.end = new int[count];
+        this.operand = new int[count];
+        this.argument = new int[count];
+        this.argumentIsSlot = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            kind[i] = parser.kind.get(i);
+            end[i] = parser.end.get(i);
+            operand[i] = parser.operand.get(i);
+            argument[i] = parser.argument.get(i);
+            argumentIsSlot[i] = parser.argumentIsSlot.get(i);
+        }
+        this.fleeThreshold = fleeThreshold;
+        this.aggressive = aggressive;
+    }
+
+    /**
+     * Compile the behavior of an NPC_TEMPLATE.
+     *
+     * @throws IllegalArgumentException if the behaviorTree is not a preset or a valid expression
+     */
+    public static BehaviorTree compile(JsonNode npcTemplate) {
+        String npcId = npcTemplate.path("npcId").asText("");
+        JsonNode behavior = npcTemplate.path("behavior");
+        boolean aggressive = behavior.path("aggressive").asBoolean(false);
+        int fleeThreshold = Math.max(0, Math.min(100, behavior.path("fleeThreshold").asInt(0)));
+        String tree = behavior.path("behaviorTree").asText("").trim();
+        if (tree.isEmpty()) {
+            tree = aggressive ? "aggressive" : "passive";
+        }
+        String source = PRESETS.getOrDefault(tree, tree);
+
+        Parser parser = new Parser(npcId, source);
+        parser.parseNode();
+        parser.expectEnd();
+        return new BehaviorTree(npcId, source, parser, fleeThreshold, aggressive);
+    }
+
+    public String getNpcId() {
+        return npcId;
+    }
+
+    /**
+     * The expression the tree was compiled from, with presets expanded.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public int nodeCount() {
+        return kind.length;
+    }
+
+    /**
+     * Reset a blackboard row to this tree's template values: full health, the template's
+     * flee threshold and aggression, and no decision yet.
+     */
+    public void initialize(Blackboard blackboard, int row) {
+        blackboard.clear(row);
+        blackboard.set(row, BehaviorSlot.HEALTH, 100);
+        blackboard.set(row, BehaviorSlot.FLEE_THRESHOLD, fleeThreshold);
+        blackboard.set(row, BehaviorSlot.AGGRESSIVE, aggressive);
+    }
+
+    /**
+     * Evaluate the tree for one NPC and record its decision.
+     */
+    public BehaviorAction tick(Blackboard blackboard, int row) {
+        tick(blackboard, row, row + 1);
+        return blackboard.decision(row);
+    }
+
+    /**
+     * Evaluate the tree for rows {@code from} (inclusive) to {@code to} (exclusive).
+     * Each row's decision is IDLE unless an action is reached, and its idle tick count
+     * is advanced or reset accordingly.
+     */
+    public void tick(Blackboard blackboard, int from, int to) {
+        if (from < 0 || to > blackboard.capacity() || from > to) {
+            throw new IndexOutOfBoundsException(
+                String.format("Rows %d to %d are out of bounds for capacity %d", from, to, blackboard.capacity())
+            );
+        }
+        int[] slots = blackboard.slots();
+        byte[] decisions = blackboard.decisions();
+        int idleTicks = BehaviorSlot.IDLE_TICKS.ordinal();
+        for (int row = from; row < to; row++) {
+            int base = row * BehaviorSlot.COUNT;
+            decisions[row] = (byte) BehaviorAction.IDLE.ordinal();
+            evaluate(0, slots, base, decisions, row);
+            slots[base + idleTicks] = decisions[row] == BehaviorAction.IDLE.ordinal() ? slots[base + idleTicks] + 1 : 0;
+        }
+    }
+
+    private boolean evaluate(int node, int[] slots, int base, byte[] decisions, int row) {
+        switch (kind[node]) {
+            case SELECTOR:
+                for (int child = node + 1; child < end[node]; child = end[child]) {
+                    if (evaluate(child, slots, base, decisions, row)) {
+                        return true;
+                    }
+                }
+                return false;
+            case SEQUENCE:
+                for (int child = node + 1; child < end[node]; child = end[child]) {
+                    if (!evaluate(child, slots, base, decisions, row)) {
+                        return false;
+                    }
+                }
+                return true;
+            case NOT:
+                return !evaluate(node + 1, slots, base, decisions, row);
+            case BELOW:
+                return slots[base + operand[node]] < argument(node, slots, base);
+            case ABOVE:
+                return slots[base + operand[node]] > argument(node, slots, base);
+            case IS:
+                return slots[base + operand[node]] != 0;
+            default:
+                decisions[row] = (byte) operand[node];
+                return true;
+        }
+    }
+
+    private int argument(int node, int[] slots, int base) {
+        return argumentIsSlot[node] ? slots[base + argument[node]] : argument[node];
+    }
+
+    @Override
+    public String toString() {
+        return "BehaviorTree{npcId='" + npcId + "', nodes=" + kind.length + "}";
+    }
+
+    /**
+     * Recursive descent over the expression, appending nodes in preorder.
+     */
+    private static final class Parser {
+        final List<Byte> kind = new ArrayList<>();
+        final List<Integer> end = new ArrayList<>();
+        final List<Integer> operand = new ArrayList<>();
+        final List<Integer> argument = new ArrayList<>();
+        final List<Boolean> argumentIsSlot = new ArrayList<>();
+
+        private final String npcId;
+        private final String source;
+        private int position;
+
+        Parser(String npcId, String source) {
+            this.npcId = npcId;
+            this.source = source;
+        }
+
+        void parseNode() {
+            String name = identifier();
+            int node = kind.size();
+            kind.add(ACTION);
+            end.add(0);
+            operand.add(0);
+            argument.add(0);
+            argumentIsSlot.add(false);
+
+            switch (name) {
+                case "selector", "sequence" -> {
+                    kind.set(node, name.equals("selector") ? SELECTOR : SEQUENCE);
+                    expect('(');
+                    parseNode();
+                    while (accept(',')) {
+                        parseNode();
+                    }
+                    expect(')');
+                }
+                case "not" -> {
+                    kind.set(node, NOT);
+                    expect('(');
+                    parseNode();
+                    expect(')');
+                }
+                case "below", "above" -> {
+                    kind.set(node, name.equals("below") ? BELOW : ABOVE);
+                    expect('(');
+                    operand.set(node, slot(identifier()));
+                    expect(',');
+                    skipWhitespace();
+                    if (position < source.length() && Character.isLetter(source.charAt(position))) {
+                        argument.set(node, slot(identifier()));
+                        argumentIsSlot.set(node, true);
+                    } else {
+                        argument.set(node, integer());
+                    }
+                    expect(')');
+                }
+                case "is" -> {
+                    kind.set(node, IS);
+                    expect('(');
+                    operand.set(node, slot(identifier()));
+                    expect(')');
+                }
+                default -> {
+                    BehaviorAction action = BehaviorAction.fromName(name);
+                    if (action == null) {
+                        throw error("Unknown behavior node '" + name + "'");
+                    }
+                    operand.set(node, action.ordinal());
+                }
+            }
+            end.set(node, kind.size());
+        }
+
+        void expectEnd() {
+            skipWhitespace();
+            if (position < source.length()) {
+                throw error("Unexpected '" + source.charAt(position) + "'");
+            }
+        }
+
+        private int slot(String name) {
+            try {
+                return BehaviorSlot.fromName(name).ordinal();
+            } catch (IllegalArgumentException e) {
+                throw error("Unknown behavior slot '" + name + "'");
+            }
+        }
+
+        private String identifier() {
+            skipWhitespace();
+            int start = position;
+            while (position < source.length() && Character.isLetter(source.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw error("Expected a node or slot name");
+            }
+            return source.substring(start, position);
+        }
+
+        private int integer() {
+            skipWhitespace();
+            int start = position;
+            if (position < source.length() && source.charAt(position) == '-') {
+                position++;
+            }
+            while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                position++;
+            }
+            try {
+                return Integer.parseInt(source.substring(start, position));
+            } catch (NumberFormatException e) {
+                position = start;
+                throw error("Expected a number or slot name");
+            }
+        }
+
+        private void expect(char token) {
+            if (!accept(token)) {
+                throw error("Expected '" + token + "'");
+            }
+        }
+
+        private boolean accept(char token) {
+            skipWhitespace();
+            if (position < source.length() && source.charAt(position) == token) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(String.format(
+                "Invalid behavior tree for NPC %s at position %d: %s in \"%s\"", npcId, position, message, source
+            ));
+        }
+    }
+}
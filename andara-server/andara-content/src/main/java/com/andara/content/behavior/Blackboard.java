@@ -0,0 +1,57 @@
+package com.andara.content.behavior;
+
+import java.util.Arrays;
+
+/**
+ * Per-NPC behavior state for a batch of NPCs in primitive arrays.
+ * Row r holds the {@link BehaviorSlot} values of one NPC at {@code r * BehaviorSlot.COUNT}
+ * and its last decision. Rows are independent, so disjoint row ranges may be ticked
+ * concurrently; anything else needs external synchronization.
+ */
+public final class Blackboard {
+    private final int capacity;
+    private final int[] slots;
+    private final byte[] decisions;
+
+    public Blackboard(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Blackboard capacity must not be negative, but got " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new int[capacity * BehaviorSlot.COUNT];
+        this.decisions = new byte[capacity];
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int get(int row, BehaviorSlot slot) {
+        return slots[row * BehaviorSlot.COUNT + slot.ordinal()];
+    }
+
+    public void set(int row, BehaviorSlot slot, int value) {
+        slots[row * BehaviorSlot.COUNT + slot.ordinal()] = value;
+    }
+
+    public void set(int row, BehaviorSlot slot, boolean value) {
+        set(row, slot, value ? 1 : 0);
+    }
+
+    public BehaviorAction decision(int row) {
+        return BehaviorAction.fromOrdinal(decisions[row]);
+    }
+
+    public void clear(int row) {
+        Arrays.fill(slots, row * BehaviorSlot.COUNT, (row + 1) * BehaviorSlot.COUNT, 0);
+        decisions[row] = 0;
+    }
+
+    int[] slots() {
+        return slots;
+    }
+
+    byte[] decisions() {
+        return decisions;
+    }
+}
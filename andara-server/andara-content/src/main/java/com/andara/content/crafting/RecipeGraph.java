@@ -0,0 +1,652 @@
+package com.andara.content.crafting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Crafting graph compiled from active RECIPE content.
+ * Items referenced by any recipe get dense indices; each recipe's inputs and outputs are stored
+ * in compressed sparse row form (recipe {@code r} owns {@code inputStart[r]} until
+ * {@code inputStart[r + 1]} in {@code inputItems}/{@code inputQuantities}, likewise for outputs),
+ * and so are the recipes producing each item. Items that can be crafted from themselves, directly
+ * or through other recipes, are found at compile time with Tarjan's algorithm.
+ * <p>
+ * {@link #plan} answers whether an item can be crafted from an inventory with given skills.
+ * Each crafting need is met from stock first, then by the usable producing recipes in order of
+ * estimated cost (craftingTime along the cheapest chain for whatever the stock does not cover,
+ * memoized per query), backtracking to the next recipe when one cannot be completed. Recipes are never expanded through an item already
+ * being crafted further up the chain, so cycles terminate.
+ * Immutable and safe to share.
+ */
+public final class RecipeGraph {
+
+    /** Recipe attempts after which a plan search gives up, reported as {@link Plan#searchBudgetExhausted()}. */
+    public static final int MAX_EXPANSIONS = 100_000;
+
+    private final String[] itemIds;
+    private final Map<String, Integer> indexById;
+    private final String[] recipeIds;
+    private final String[] names;
+    private final String[] skills;
+    private final int[] skillLevels;
+    private final String[] workstations;
+    private final int[] craftingTimes;
+    private final int[] inputStart;
+    private final int[] inputItems;
+    private final int[] inputQuantities;
+    private final int[] outputStart;
+    private final int[] outputItems;
+    private final int[] outputQuantities;
+    private final int[] producerStart;
+    private final int[] producers;
+    private final boolean[] onCycle;
+    private final List<List<String>> cycles;
+
+    private RecipeGraph(
+        String[] itemIds,
+        Map<String, Integer> indexById,
+        String[] recipeIds,
+        String[] names,
+        String[] skills,
+        int[] skillLevels,
+        String[] workstations,
+        int[] craftingTimes,
+        int[] inputStart,
+        int[] inputItems,
+        int[] inputQuantities,
+        int[] outputStart,
+        int[] outputItems,
+        int[] outputQuantities,
+        int[] producerStart,
+        int[] producers
+    ) {
+        this.itemIds = itemIds;
+        this.indexById = indexById;
+        this.recipeIds = recipeIds;
+        this.names = names;
+        this.skills = skills;
+        this.skillLevels = skillLevels;
+        this.workstations = workstations;
+        this.craftingTimes = craftingTimes;
+        this.inputStart = inputStart;
+        this.inputItems = inputItems;
+        this.inputQuantities = inputQuantities;
+        this.outputStart = outputStart;
+        this.outputItems = outputItems;
+        this.outputQuantities = outputQuantities;
+        this.producerStart = producerStart;
+        this.producers = producers;
+        this.onCycle = new boolean[itemIds.length];
+        this.cycles = findCycles();
+    }
+
+    /**
+     * One recipe of a plan, run {@code runs} times.
+     *
+     * @param craftingTime Minutes for all runs
+     */
+    public record Step(String recipeId, String name, int runs, String workstation, int craftingTime) {
+    }
+
+    /**
+     * Result of a crafting query.
+     *
+     * @param steps            Recipes to run in order, inputs before the recipes that use them; empty if not craftable
+     * @param consumed         Inventory items used up by the plan
+     * @param missing          If not craftable, the raw materials lacking along the cheapest chain
+     * @param totalCraftingTime Minutes for all steps
+     * @param searchBudgetExhausted The search gave up after {@link #MAX_EXPANSIONS} recipe attempts
+     *                              without an answer, so not craftable only means no plan was found
+     */
+    public record Plan(
+        String itemTemplateId,
+        int quantity,
+        boolean craftable,
+        List<Step> steps,
+        Map<String, Integer> consumed,
+        Map<String, Integer> missing,
+        int totalCraftingTime,
+        boolean searchBudgetExhausted
+    ) {
+    }
+
+    /**
+     * Compile the graph from recipe content. Recipes without outputs are skipped, and inputs or
+     * outputs without an itemTemplateId are ignored.
+     */
+    public static RecipeGraph compile(Collection<JsonNode> recipes) {
+        List<JsonNode> usable = new ArrayList<>();
+        Map<String, Integer> indexById = new HashMap<>();
+        List<String> itemIds = new ArrayList<>();
+        for (JsonNode recipe : recipes) {
+            if (!hasItems(recipe.path("outputs"))) {
+                continue;
+            }
+            usable.add(recipe);
+            for (String side : List.of("inputs", "outputs")) {
+                for (JsonNode entry : recipe.path(side)) {
+                    String itemId = entry.path("itemTemplateId").asText("");
+                    if (!itemId.isEmpty() && indexById.putIfAbsent(itemId, itemIds.size()) == null) {
+                        itemIds.add(itemId);
+                    }
+                }
+            }
+        }
+
+        int count = usable.size();
+        String[] recipeIds = new String[count];
+        String[] names = new String[count];
+        String[] skills = new String[count];
+        int[] skillLevels = new int[count];
+        String[] workstations = new String[count];
+        int[] craftingTimes = new int[count];
+        int[] inputStart = new int[count + 1];
+        int[] outputStart = new int[count + 1];
+        List<int[]> inputs = new ArrayList<>();
+        List<int[]> outputs = new ArrayList<>();
+        for (int r = 0; r < count; r++) {
+            JsonNode recipe = usable.get(r);
+            recipeIds[r] = recipe.path("recipeId").asText("");
+            names[r] = recipe.path("name").asText(recipeIds[r]);
+            skills[r] = recipe.path("skillRequired").asText(null);
+            skillLevels[r] = recipe.path("skillLevel").asInt(0);
+            workstations[r] = recipe.path("workstation").asText(null);
+            craftingTimes[r] = Math.max(0, recipe.path("craftingTime").asInt(0));
+            inputStart[r] = inputs.size();
+            addEntries(recipe.path("inputs"), indexById, inputs);
+            outputStart[r] = outputs.size();
+            addEntries(recipe.path("outputs"), indexById, outputs);
+        }
+        inputStart[count] = inputs.size();
+        outputStart[count] = outputs.size();
+
+        int items = itemIds.size();
+        int[] producerStart = new int[items + 1];
+        for (int[] output : outputs) {
+            producerStart[output[0] + 1]++;
+        }
+        for (int i = 0; i < items; i++) {
+            producerStart[i + 1] += producerStart[i];
+        }
+        int[] producers = new int[outputs.size()];
+        int[] fill = Arrays.copyOf(producerStart, items);
+        for (int r = 0; r < count; r++) {
+            for (int o = outputStart[r]; o < outputStart[r + 1]; o++) {
+                producers[fill[outputs.get(o)[0]]++] = r;
+            }
+        }
+
+        return new RecipeGraph(
+            itemIds.toArray(String[]::new),
+            Map.copyOf(indexById),
+            recipeIds,
+            names,
+            skills,
+            skillLevels,
+            workstations,
+            craftingTimes,
+            inputStart,
+            inputs.stream().mapToInt(entry -> entry[0]).toArray(),
+            inputs.stream().mapToInt(entry -> entry[1]).toArray(),
+            outputStart,
+            outputs.stream().mapToInt(entry -> entry[0]).toArray(),
+            outputs.stream().mapToInt(entry -> entry[1]).toArray(),
+            producerStart,
+            producers
+        );
+    }
+
+    private static boolean hasItems(JsonNode entries) {
+        for (JsonNode entry : entries) {
+            if (!entry.path("itemTemplateId").asText("").isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addEntries(JsonNode entries, Map<String, Integer> indexById, List<int[]> target) {
+        for (JsonNode entry : entries) {
+            Integer item = indexById.get(entry.path("itemTemplateId").asText(""));
+            if (item != null) {
+                target.add(new int[]{item, Math.max(1, entry.path("quantity").asInt(1))});
+            }
+        }
+    }
+
+    public int itemCount() {
+        return itemIds.length;
+    }
+
+    public int recipeCount() {
+        return recipeIds.length;
+    }
+
+    /**
+     * IDs of the recipes producing an item, in content order.
+     */
+    public List<String> recipesProducing(String itemTemplateId) {
+        Integer item = indexById.get(itemTemplateId);
+        if (item == null) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(producerStart[item + 1] - producerStart[item]);
+        for (int p = producerStart[item]; p < producerStart[item + 1]; p++) {
+            result.add(recipeIds[producers[p]]);
+        }
+        return result;
+    }
+
+    /**
+     * Whether the item can be crafted from itself through some chain of recipes.
+     */
+    public boolean isOnCycle(String itemTemplateId) {
+        Integer item = indexById.get(itemTemplateId);
+        return item != null && onCycle[item];
+    }
+
+    /**
+     * Groups of items that can each be crafted from the others in their group (strongly
+     * connected components of the item graph, including items that are an input of their own recipe).
+     */
+    public List<List<String>> cycles() {
+        return cycles;
+    }
+
+    /**
+     * Plan how to craft {@code quantity} of an item.
+     *
+     * @param inventory     Item quantities on hand, by itemTemplateId
+     * @param proficiencies Skill levels by skill ID; recipes needing a higher level are not used
+     * @throws IllegalArgumentException if the quantity is not positive, or the quantities the
+     *                                  plan needs do not fit in an int
+     */
+    public Plan plan(String itemTemplateId, int quantity, Map<String, Integer> inventory, Map<String, Integer> proficiencies) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be positive, but got " + quantity);
+        }
+        try {
+            return search(itemTemplateId, quantity, inventory, proficiencies);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(String.format(
+                "Crafting %d of %s needs quantities too large to plan", quantity, itemTemplateId), e);
+        }
+    }
+
+    private Plan search(String itemTemplateId, int quantity, Map<String, Integer> inventory, Map<String, Integer> proficiencies) {
+        Integer target = indexById.get(itemTemplateId);
+        if (target == null) {
+            int onHand = inventory.getOrDefault(itemTemplateId, 0);
+            boolean craftable = onHand >= quantity;
+            return new Plan(itemTemplateId, quantity, craftable, List.of(),
+                craftable ? Map.of(itemTemplateId, quantity) : Map.of(),
+                craftable ? Map.of() : Map.of(itemTemplateId, quantity - Math.max(0, onHand)), 0, false);
+        }
+
+        Search search = new Search(inventory, proficiencies);
+        if (search.craft(target, quantity)) {
+            List<Step> steps = new ArrayList<>(search.stepRecipes.size());
+            int total = 0;
+            for (int s = 0; s < search.stepRecipes.size(); s++) {
+                int recipe = search.stepRecipes.get(s);
+                int runs = search.stepRuns.get(s);
+                int time = Math.multiplyExact(craftingTimes[recipe], runs);
+                steps.add(new Step(recipeIds[recipe], names[recipe], runs, workstations[recipe], time));
+                total = Math.addExact(total, time);
+            }
+            return new Plan(itemTemplateId, quantity, true, List.copyOf(steps), search.consumed(), Map.of(), total, false);
+        }
+        if (search.exhausted) {
+            // Not an answer: a plan may exist beyond the budget, so no shortfall is reported either
+            return new Plan(itemTemplateId, quantity, false, List.of(), Map.of(), Map.of(), 0, true);
+        }
+
+        Search shortfall = new Search(inventory, proficiencies);
+        Map<Integer, Integer> missing = new LinkedHashMap<>();
+        shortfall.shortfall(target, quantity, missing);
+        Map<String, Integer> missingById = new LinkedHashMap<>();
+        missing.forEach((item, amount) -> missingById.put(itemIds[item], amount));
+        return new Plan(itemTemplateId, quantity, false, List.of(), Map.of(), Map.copyOf(missingById), 0, false);
+    }
+
+    private List<List<String>> findCycles() {
+        // Iterative Tarjan over edges from each item to the inputs of the recipes producing it
+        int items = itemIds.length;
+        int[] index = new int[items];
+        int[] lowLink = new int[items];
+        boolean[] onStack = new boolean[items];
+        Arrays.fill(index, -1);
+        Deque<Integer> stack = new ArrayDeque<>();
+        int[] callItem = new int[items];
+        int[] callEdge = new int[items];
+        List<List<String>> found = new ArrayList<>();
+        int counter = 0;
+
+        for (int root = 0; root < items; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callItem[0] = root;
+            callEdge[0] = 0;
+            index[root] = lowLink[root] = counter++;
+            stack.push(root);
+            onStack[root] = true;
+            while (depth >= 0) {
+                int item = callItem[depth];
+                int edge = callEdge[depth];
+                int next = dependency(item, edge);
+                if (next >= 0) {
+                    callEdge[depth]++;
+                    if (index[next] < 0) {
+                        index[next] = lowLink[next] = counter++;
+                        stack.push(next);
+                        onStack[next] = true;
+                        depth++;
+                        callItem[depth] = next;
+                        callEdge[depth] = 0;
+                    } else if (onStack[next]) {
+                        lowLink[item] = Math.min(lowLink[item], index[next]);
+                    }
+                    continue;
+                }
+                if (lowLink[item] == index[item]) {
+                    List<String> component = new ArrayList<>();
+                    int member;
+                    do {
+                        member = stack.pop();
+                        onStack[member] = false;
+                        component.add(itemIds[member]);
+                    } while (member != item);
+                    if (component.size() > 1 || dependsOnItself(item)) {
+                        for (String itemId : component) {
+                            onCycle[indexById.get(itemId)] = true;
+                        }
+                        found.add(List.copyOf(component));
+                    }
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callItem[depth];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[item]);
+                }
+            }
+        }
+        return List.copyOf(found);
+    }
+
+    /**
+     * The {@code edge}-th input over all recipes producing the item, or -1 past the last.
+     */
+    private int dependency(int item, int edge) {
+        for (int p = producerStart[item]; p < producerStart[item + 1]; p++) {
+            int recipe = producers[p];
+            int inputs = inputStart[recipe + 1] - inputStart[recipe];
+            if (edge < inputs) {
+                return inputItems[inputStart[recipe] + edge];
+            }
+            edge -= inputs;
+        }
+        return -1;
+    }
+
+    private boolean dependsOnItself(int item) {
+        for (int edge = 0, next; (next = dependency(item, edge)) >= 0; edge++) {
+            if (next == item) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int outputQuantity(int recipe, int item) {
+        int quantity = 0;
+        for (int o = outputStart[recipe]; o < outputStart[recipe + 1]; o++) {
+            if (outputItems[o] == item) {
+                quantity += outputQuantities[o];
+            }
+        }
+        return quantity;
+    }
+
+    /**
+     * State of one plan query: stock on hand, leftovers crafted so far, the steps chosen and an
+     * undo journal to backtrack out of recipes that cannot be completed.
+     */
+    private final class Search {
+        private static final byte UNSEEN = 0;
+        private static final byte IN_PROGRESS = 1;
+        private static final byte DONE = 2;
+
+        final int[] stock;
+        final int[] initialStock;
+        final int[] crafted;
+        final boolean[] usable;
+        final double[] unitCost;
+        final byte[] costState;
+        final boolean[] expanding;
+        final List<Integer> stepRecipes = new ArrayList<>();
+        final List<Integer> stepRuns = new ArrayList<>();
+        // Undo entries: array (0 = stock, 1 = crafted), item, previous value
+        private int[] journal = new int[48];
+        private int journalSize;
+        private int expansions;
+        boolean exhausted;
+
+        Search(Map<String, Integer> inventory, Map<String, Integer> proficiencies) {
+            stock = new int[itemIds.length];
+            inventory.forEach((itemId, quantity) -> {
+                Integer item = indexById.get(itemId);
+                if (item != null && quantity != null) {
+                    stock[item] = Math.max(0, quantity);
+                }
+            });
+            initialStock = stock.clone();
+            crafted = new int[itemIds.length];
+            usable = new boolean[recipeIds.length];
+            for (int r = 0; r < recipeIds.length; r++) {
+                usable[r] = skills[r] == null || proficiencies.getOrDefault(skills[r], 0) >= skillLevels[r];
+            }
+            unitCost = new double[itemIds.length];
+            costState = new byte[itemIds.length];
+            expanding = new boolean[itemIds.length];
+        }
+
+        /**
+         * Estimated minutes to craft one unit along the cheapest usable chain, where inputs
+         * covered by the initial stock are free. Items without a usable recipe, or only
+         * craftable through a cycle, count as raw materials (0).
+         */
+        double unitCost(int item) {
+            if (costState[item] == DONE) {
+                return unitCost[item];
+            }
+            if (costState[item] == IN_PROGRESS) {
+                return Double.POSITIVE_INFINITY;
+            }
+            costState[item] = IN_PROGRESS;
+            double best = Double.POSITIVE_INFINITY;
+            for (int p = producerStart[item]; p < producerStart[item + 1]; p++) {
+                int recipe = producers[p];
+                if (usable[recipe]) {
+                    best = Math.min(best, recipeCost(recipe) / outputQuantity(recipe, item));
+                }
+            }
+            unitCost[item] = Double.isInfinite(best) ? 0 : best;
+            costState[item] = DONE;
+            return unitCost[item];
+        }
+
+        double recipeCost(int recipe) {
+            double cost = craftingTimes[recipe];
+            for (int i = inputStart[recipe]; i < inputStart[recipe + 1]; i++) {
+                int uncovered = inputQuantities[i] - initialStock[inputItems[i]];
+                if (uncovered > 0) {
+                    cost += uncovered * unitCost(inputItems[i]);
+                }
+            }
+            return cost;
+        }
+
+        /**
+         * Usable recipes producing the item, cheapest first.
+         */
+        int[] candidates(int item) {
+            int[] recipes = new int[producerStart[item + 1] - producerStart[item]];
+            double[] costs = new double[recipes.length];
+            int count = 0;
+            for (int p = producerStart[item]; p < producerStart[item + 1]; p++) {
+                int recipe = producers[p];
+                if (usable[recipe]) {
+                    double cost = recipeCost(recipe) / outputQuantity(recipe, item);
+                    int at = count++;
+                    while (at > 0 && costs[at - 1] > cost) {
+                        recipes[at] = recipes[at - 1];
+                        costs[at] = costs[at - 1];
+                        at--;
+                    }
+                    recipes[at] = recipe;
+                    costs[at] = cost;
+                }
+            }
+            return Arrays.copyOf(recipes, count);
+        }
+
+        boolean craft(int item, int quantity) {
+            int remaining = take(item, quantity);
+            if (remaining == 0) {
+                return true;
+            }
+            if (expanding[item]) {
+                return false;
+            }
+            expanding[item] = true;
+            try {
+                for (int recipe : candidates(item)) {
+                    if (++expansions > MAX_EXPANSIONS) {
+                        exhausted = true;
+                        return false;
+                    }
+                    int mark = journalSize;
+                    int steps = stepRecipes.size();
+                    int runs = ceilDiv(remaining, outputQuantity(recipe, item));
+                    if (run(recipe, runs)) {
+                        set(crafted, item, crafted[item] - remaining, 1);
+                        return true;
+                    }
+                    rollback(mark, steps);
+                }
+                return false;
+            } finally {
+                expanding[item] = false;
+            }
+        }
+
+        /**
+         * Gather the inputs for {@code runs} runs of the recipe and add its outputs to the leftovers.
+         */
+        private boolean run(int recipe, int runs) {
+            for (int i = inputStart[recipe]; i < inputStart[recipe + 1]; i++) {
+                if (!craft(inputItems[i], Math.multiplyExact(inputQuantities[i], runs))) {
+                    return false;
+                }
+            }
+            for (int o = outputStart[recipe]; o < outputStart[recipe + 1]; o++) {
+                set(crafted, outputItems[o], Math.addExact(crafted[outputItems[o]], Math.multiplyExact(outputQuantities[o], runs)), 1);
+            }
+            stepRecipes.add(recipe);
+            stepRuns.add(runs);
+            return true;
+        }
+
+        /**
+         * Like {@link #craft} but never fails: follows the cheapest recipe regardless of
+         * stock and records what is lacking at the raw materials.
+         */
+        void shortfall(int item, int quantity, Map<Integer, Integer> missing) {
+            int remaining = take(item, quantity);
+            if (remaining == 0) {
+                return;
+            }
+            int[] candidates = expanding[item] ? new int[0] : candidates(item);
+            if (candidates.length == 0) {
+                missing.merge(item, remaining, Math::addExact);
+                return;
+            }
+            int recipe = candidates[0];
+            int runs = ceilDiv(remaining, outputQuantity(recipe, item));
+            expanding[item] = true;
+            for (int i = inputStart[recipe]; i < inputStart[recipe + 1]; i++) {
+                shortfall(inputItems[i], Math.multiplyExact(inputQuantities[i], runs), missing);
+            }
+            expanding[item] = false;
+            for (int o = outputStart[recipe]; o < outputStart[recipe + 1]; o++) {
+                crafted[outputItems[o]] = Math.addExact(crafted[outputItems[o]], Math.multiplyExact(outputQuantities[o], runs));
+            }
+            crafted[item] -= remaining;
+        }
+
+        /**
+         * Use leftovers, then stock, towards a need.
+         *
+         * @return The quantity still needed
+         */
+        private int take(int item, int quantity) {
+            int fromCrafted = Math.min(crafted[item], quantity);
+            if (fromCrafted > 0) {
+                set(crafted, item, crafted[item] - fromCrafted, 1);
+            }
+            int fromStock = Math.min(stock[item], quantity - fromCrafted);
+            if (fromStock > 0) {
+                set(stock, item, stock[item] - fromStock, 0);
+            }
+            return quantity - fromCrafted - fromStock;
+        }
+
+        private void set(int[] array, int item, int value, int arrayCode) {
+            if (journalSize + 3 > journal.length) {
+                journal = Arrays.copyOf(journal, journal.length * 2);
+            }
+            journal[journalSize++] = arrayCode;
+            journal[journalSize++] = item;
+            journal[journalSize++] = array[item];
+            array[item] = value;
+        }
+
+        private void rollback(int mark, int steps) {
+            while (journalSize > mark) {
+                int previous = journal[--journalSize];
+                int item = journal[--journalSize];
+                int arrayCode = journal[--journalSize];
+                (arrayCode == 0 ? stock : crafted)[item] = previous;
+            }
+            while (stepRecipes.size() > steps) {
+                stepRecipes.remove(stepRecipes.size() - 1);
+                stepRuns.remove(stepRuns.size() - 1);
+            }
+        }
+
+        Map<String, Integer> consumed() {
+            Map<String, Integer> consumed = new LinkedHashMap<>();
+            for (int item = 0; item < stock.length; item++) {
+                if (stock[item] < initialStock[item]) {
+                    consumed.put(itemIds[item], initialStock[item] - stock[item]);
+                }
+            }
+            return Map.copyOf(consumed);
+        }
+    }
+
+    private static int ceilDiv(int dividend, int divisor) {
+        return Math.addExact(dividend, divisor - 1) / divisor;
+    }
+}
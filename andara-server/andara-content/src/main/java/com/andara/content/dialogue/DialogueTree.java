@@ -0,0 +1,422 @@
+package com.andara.content.dialogue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runtime form of a DIALOGUE_TREE, compiled once from its content JSON.
+ * Nodes get dense indices in document order and every nextNodeId is resolved to an index,
+ * so walking a conversation is an array lookup per step. Choices are stored in one flat
+ * table (node i owns choices {@code choiceStart[i]} until {@code choiceStart[i + 1]}).
+ * Reachability from the root and membership in cycles are computed at compile time.
+ * Instances are immutable and safe to share.
+ */
+public final class DialogueTree {
+
+    /** Index returned for "no node": the end of the conversation or an unknown ID. */
+    public static final int END = -1;
+
+    public enum NodeType {
+        NPC, PLAYER, CHOICE, CONDITION, ACTION;
+
+        static NodeType fromJson(String value) {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final String dialogueTreeId;
+    private final String name;
+    private final int root;
+    private final String[] nodeIds;
+    private final NodeType[] types;
+    private final String[] texts;
+    private final int[] next;
+    private final JsonNode[] conditions;
+    private final JsonNode[] actions;
+    private final int[] choiceStart;
+    private final int[] choiceTargets;
+    private final String[] choiceTexts;
+    private final JsonNode[] choiceRequirements;
+    private final Map<String, Integer> indexById;
+    private final BitSet reachable;
+    private final BitSet onCycle;
+
+    private DialogueTree(
+        String dialogueTreeId,
+        String name,
+        int root,
+        String[] nodeIds,
+        NodeType[] types,
+        String[] texts,
+        int[] next,
+        JsonNode[] conditions,
+        JsonNode[] actions,
+        int[] choiceStart,
+        int[] choiceTargets,
+        String[] choiceTexts,
+        JsonNode[] choiceRequirements,
+        Map<String, Integer> indexById
+    ) {
+        this.dialogueTreeId = dialogueTreeId;
+        this.name = name;
+        this.root = root;
+        this.nodeIds = nodeIds;
+        this.types = types;
+        this.texts = texts;
+        this.next = next;
+        this.conditions = conditions;
+        this.actions = actions;
+        this.choiceStart = choiceStart;
+        this.choiceTargets = choiceTargets;
+        this.choiceTexts = choiceTexts;
+        this.choiceRequirements = choiceRequirements;
+        this.indexById = indexById;
+        this.reachable = computeReachable();
+        this.onCycle = computeCycles();
+    }
+
+    /**
+     * Compile a dialogue tree from its content JSON.
+     * The root is rootNodeId when present, otherwise the first node.
+     *
+     * @throws IllegalArgumentException if the tree has no nodes, a missing or duplicate nodeId,
+     *                                  an unknown node type, or a rootNodeId/nextNodeId that does
+     *                                  not name a node
+     */
+    public static DialogueTree compile(JsonNode content) {
+        String dialogueTreeId = content.path("dialogueTreeId").asText(null);
+        JsonNode nodes = content.path("nodes");
+        if (!nodes.isArray() || nodes.isEmpty()) {
+            throw new IllegalArgumentException("Dialogue tree " + dialogueTreeId + " has no nodes");
+        }
+
+        int size = nodes.size();
+        String[] nodeIds = new String[size];
+        Map<String, Integer> indexById = new HashMap<>(size * 2);
+        int choiceCount = 0;
+        for (int i = 0; i < size; i++) {
+            JsonNode node = nodes.get(i);
+            nodeIds[i] = node.path("nodeId").asText("");
+            if (nodeIds[i].isEmpty() || indexById.putIfAbsent(nodeIds[i], i) != null) {
+                throw new IllegalArgumentException(
+                    "Dialogue tree " + dialogueTreeId + " has a missing or duplicate nodeId at node " + i);
+            }
+            choiceCount += node.path("choices").size();
+        }
+
+        NodeType[] types = new NodeType[size];
+        String[] texts = new String[size];
+        int[] next = new int[size];
+        JsonNode[] conditions = new JsonNode[size];
+        JsonNode[] actions = new JsonNode[size];
+        int[] choiceStart = new int[size + 1];
+        int[] choiceTargets = new int[choiceCount];
+        String[] choiceTexts = new String[choiceCount];
+        JsonNode[] choiceRequirements = new JsonNode[choiceCount];
+
+        int choice = 0;
+        for (int i = 0; i < size; i++) {
+            JsonNode node = nodes.get(i);
+            try {
+                types[i] = NodeType.fromJson(node.path("type").asText(""));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Dialogue tree " + dialogueTreeId + " node '" + nodeIds[i] + "' has unknown type: " + node.path("type").asText());
+            }
+            texts[i] = node.path("text").asText(null);
+            next[i] = resolve(node.path("nextNodeId"), indexById, dialogueTreeId, nodeIds[i]);
+            conditions[i] = node.path("conditions");
+            actions[i] = node.path("actions");
+
+            choiceStart[i] = choice;
+            for (JsonNode option : node.path("choices")) {
+                choiceTargets[choice] = resolve(option.path("nextNodeId"), indexById, dialogueTreeId, nodeIds[i]);
+                choiceTexts[choice] = option.path("text").asText("");
+                choiceRequirements[choice] = option.path("requirements");
+                choice++;
+            }
+        }
+        choiceStart[size] = choice;
+
+        int root = 0;
+        JsonNode rootNodeId = content.path("rootNodeId");
+        if (rootNodeId.isTextual()) {
+            root = resolve(rootNodeId, indexById, dialogueTreeId, "(root)");
+        }
+
+        return new DialogueTree(
+            dialogueTreeId,
+            content.path("name").asText(null),
+            root,
+            nodeIds,
+            types,
+            texts,
+            next,
+            conditions,
+            actions,
+            choiceStart,
+            choiceTargets,
+            choiceTexts,
+            choiceRequirements,
+            Map.copyOf(indexById)
+        );
+    }
+
+    private static int resolve(JsonNode nextNodeId, Map<String, Integer> indexById, String treeId, String fromNode) {
+        if (!nextNodeId.isTextual() || nextNodeId.asText().isEmpty()) {
+            return END;
+        }
+        Integer index = indexById.get(nextNodeId.asText());
+        if (index == null) {
+            throw new IllegalArgumentException(String.format(
+                "Dialogue tree %s node '%s' references non-existent node: %s", treeId, fromNode, nextNodeId.asText()));
+        }
+        return index;
+    }
+
+    public String getDialogueTreeId() {
+        return dialogueTreeId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return nodeIds.length;
+    }
+
+    public int root() {
+        return root;
+    }
+
+    /**
+     * Get the index of a node, or {@link #END} if the tree has no such node.
+     */
+    public int indexOf(String nodeId) {
+        return indexById.getOrDefault(nodeId, END);
+    }
+
+    public String nodeId(int node) {
+        return nodeIds[node];
+    }
+
+    public NodeType type(int node) {
+        return types[node];
+    }
+
+    /**
+     * Get a node's text, or null if it has none.
+     */
+    public String text(int node) {
+        return texts[node];
+    }
+
+    /**
+     * Get the node a linear node continues to, or {@link #END}.
+     */
+    public int next(int node) {
+        return next[node];
+    }
+
+    /**
+     * Get a condition node's conditions; a missing node if it has none.
+     */
+    public JsonNode conditions(int node) {
+        return conditions[node];
+    }
+
+    /**
+     * Get an action node's actions; a missing node if it has none.
+     */
+    public JsonNode actions(int node) {
+        return actions[node];
+    }
+
+    public int choiceCount(int node) {
+        return choiceStart[node + 1] - choiceStart[node];
+    }
+
+    public String choiceText(int node, int choice) {
+        return choiceTexts[choiceIndex(node, choice)];
+    }
+
+    /**
+     * Get the node a choice leads to, or {@link #END}.
+     */
+    public int choiceTarget(int node, int choice) {
+        return choiceTargets[choiceIndex(node, choice)];
+    }
+
+    /**
+     * Get a choice's requirements; a missing node if it has none.
+     */
+    public JsonNode choiceRequirements(int node, int choice) {
+        return choiceRequirements[choiceIndex(node, choice)];
+    }
+
+    /**
+     * Whether the conversation ends at this node: it has no next node and no choices.
+     */
+    public boolean isTerminal(int node) {
+        return next[node] == END && choiceCount(node) == 0;
+    }
+
+    public boolean isReachable(int node) {
+        return reachable.get(node);
+    }
+
+    /**
+     * Get the IDs of nodes that cannot be reached from the root.
+     */
+    public List<String> unreachableNodeIds() {
+        List<String> unreachable = new ArrayList<>();
+        for (int node = reachable.nextClearBit(0); node < size(); node = reachable.nextClearBit(node + 1)) {
+            unreachable.add(nodeIds[node]);
+        }
+        return Collections.unmodifiableList(unreachable);
+    }
+
+    /**
+     * Whether the node can lead back to itself, i.e. a conversation may revisit it.
+     */
+    public boolean isOnCycle(int node) {
+        return onCycle.get(node);
+    }
+
+    public boolean hasCycles() {
+        return !onCycle.isEmpty();
+    }
+
+    private int choiceIndex(int node, int choice) {
+        if (choice < 0 || choice >= choiceCount(node)) {
+            throw new IndexOutOfBoundsException(
+                "Node '" + nodeIds[node] + "' has no choice " + choice + " (has " + choiceCount(node) + ")");
+        }
+        return choiceStart[node] + choice;
+    }
+
+    private int[] successors(int node) {
+        int count = choiceCount(node);
+        int[] successors = new int[count + 1];
+        int size = 0;
+        if (next[node] != END) {
+            successors[size++] = next[node];
+        }
+        for (int i = choiceStart[node]; i < choiceStart[node + 1]; i++) {
+            if (choiceTargets[i] != END) {
+                successors[size++] = choiceTargets[i];
+            }
+        }
+        return Arrays.copyOf(successors, size);
+    }
+
+    private BitSet computeReachable() {
+        BitSet seen = new BitSet(size());
+        Deque<Integer> pending = new ArrayDeque<>();
+        seen.set(root);
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            for (int successor : successors(pending.pop())) {
+                if (!seen.get(successor)) {
+                    seen.set(successor);
+                    pending.push(successor);
+                }
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * Mark nodes in strongly connected components with more than one node or a self-loop
+     * (iterative Tarjan, so deep trees cannot overflow the stack).
+     */
+    private BitSet computeCycles() {
+        int size = size();
+        int[][] successors = new int[size][];
+        for (int node = 0; node < size; node++) {
+            successors[node] = successors(node);
+        }
+
+        BitSet cycles = new BitSet(size);
+        int[] index = new int[size];
+        int[] lowLink = new int[size];
+        Arrays.fill(index, -1);
+        BitSet onStack = new BitSet(size);
+        int[] stack = new int[size];
+        int stackSize = 0;
+        int[] callNode = new int[size];
+        int[] callEdge = new int[size];
+        int counter = 0;
+
+        for (int start = 0; start < size; start++) {
+            if (index[start] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callNode[0] = start;
+            callEdge[0] = 0;
+            index[start] = lowLink[start] = counter++;
+            stack[stackSize++] = start;
+            onStack.set(start);
+
+            while (depth >= 0) {
+                int node = callNode[depth];
+                if (callEdge[depth] < successors[node].length) {
+                    int successor = successors[node][callEdge[depth]++];
+                    if (index[successor] == -1) {
+                        index[successor] = lowLink[successor] = counter++;
+                        stack[stackSize++] = successor;
+                        onStack.set(successor);
+                        depth++;
+                        callNode[depth] = successor;
+                        callEdge[depth] = 0;
+                    } else if (onStack.get(successor)) {
+                        lowLink[node] = Math.min(lowLink[node], index[successor]);
+                    }
+                    continue;
+                }
+
+                if (lowLink[node] == index[node]) {
+                    int componentStart = stackSize;
+                    do {
+                        componentStart--;
+                    } while (stack[componentStart] != node);
+                    boolean cyclic = stackSize - componentStart > 1 || contains(successors[node], node);
+                    for (int i = componentStart; i < stackSize; i++) {
+                        onStack.clear(stack[i]);
+                        if (cyclic) {
+                            cycles.set(stack[i]);
+                        }
+                    }
+                    stackSize = componentStart;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+            }
+        }
+        return cycles;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int candidate : values) {
+            if (candidate == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
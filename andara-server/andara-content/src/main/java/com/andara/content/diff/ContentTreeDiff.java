@@ -0,0 +1,107 @@
+package com.andara.content.diff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Structural diff of two content directory trees, e.g. two exports.
+ * Files are matched by relative path and compared in parallel. Byte-identical files are
+ * skipped without parsing, and files that only differ in formatting or field order are
+ * recognised by their root hash before any patch is built.
+ */
+public final class ContentTreeDiff {
+    /** Export manifests always differ (timestamps, checksums) and are not content. */
+    static final String MANIFEST_FILE = "manifest.json";
+
+    private ContentTreeDiff() {
+    }
+
+    public enum ChangeType {
+        ADDED, REMOVED, MODIFIED
+    }
+
+    /**
+     * One changed file.
+     *
+     * @param path Path relative to the tree root, with '/' separators
+     * @param patch Patch from the left file to the right one; null unless MODIFIED
+     */
+    public record FileDiff(String path, ChangeType change, JsonNode patch) {
+    }
+
+    /**
+     * Result of a tree diff; changes are ordered by path.
+     */
+    public record Result(List<FileDiff> changes, int unchangedCount) {
+        public boolean hasChanges() {
+            return !changes.isEmpty();
+        }
+    }
+
+    /**
+     * Diff two files.
+     *
+     * @return Patch from the left file to the right one (empty if structurally equal)
+     */
+    public static JsonNode diffFiles(Path left, Path right, ObjectMapper objectMapper) throws IOException {
+        return JsonDiff.diff(objectMapper.readTree(left.toFile()), objectMapper.readTree(right.toFile()));
+    }
+
+    /**
+     * Diff all JSON files under two directories.
+     */
+    public static Result diff(Path left, Path right, ObjectMapper objectMapper) throws IOException {
+        Set<String> leftFiles = listJsonFiles(left);
+        Set<String> rightFiles = listJsonFiles(right);
+        SortedSet<String> allFiles = new TreeSet<>(leftFiles);
+        allFiles.addAll(rightFiles);
+
+        try {
+            List<FileDiff> changes = allFiles.parallelStream()
+                .map(path -> {
+                    if (!rightFiles.contains(path)) {
+                        return new FileDiff(path, ChangeType.REMOVED, null);
+                    }
+                    if (!leftFiles.contains(path)) {
+                        return new FileDiff(path, ChangeType.ADDED, null);
+                    }
+                    return compare(path, left.resolve(path), right.resolve(path), objectMapper);
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            return new Result(changes, allFiles.size() - changes.size());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static FileDiff compare(String path, Path leftFile, Path rightFile, ObjectMapper objectMapper) {
+        try {
+            if (Files.size(leftFile) == Files.size(rightFile) && Files.mismatch(leftFile, rightFile) == -1) {
+                return null;
+            }
+            JsonNode patch = JsonDiff.diff(objectMapper.readTree(leftFile.toFile()), objectMapper.readTree(rightFile.toFile()));
+            return patch.isEmpty() ? null : new FileDiff(path, ChangeType.MODIFIED, patch);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to diff " + path, e);
+        }
+    }
+
+    private static Set<String> listJsonFiles(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths
+                .filter(Files::isRegularFile)
+                .map(file -> root.relativize(file).toString().replace('\\', '/'))
+                .filter(path -> path.endsWith(".json") && !path.equals(MANIFEST_FILE))
+                .collect(Collectors.toSet());
+        }
+    }
+}
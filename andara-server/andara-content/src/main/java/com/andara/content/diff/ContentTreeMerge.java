@@ -0,0 +1,181 @@
+package com.andara.content.diff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Three-way merge of content directory trees, e.g. two authoring branches of the
+ * same content pack. Files are matched by relative path and merged in parallel with
+ * {@link JsonMerge}. Files only one side touched are copied as-is without parsing.
+ */
+public final class ContentTreeMerge {
+
+    private ContentTreeMerge() {
+    }
+
+    /**
+     * Merge outcome of one file that needed attention.
+     *
+     * @param path Path relative to the tree root, with '/' separators
+     * @param deleted Whether the file is absent from the merged tree
+     * @param conflicts Conflicts within the file; empty if it merged cleanly
+     */
+    public record FileMerge(String path, boolean deleted, List<JsonMerge.Conflict> conflicts) {
+    }
+
+    /**
+     * Result of a tree merge.
+     *
+     * @param merged Files changed on both sides (merged, deleted or conflicting), ordered by path
+     * @param fileCount Number of files in the merged tree
+     */
+    public record Result(List<FileMerge> merged, int fileCount) {
+        public boolean hasConflicts() {
+            return merged.stream().anyMatch(file -> !file.conflicts().isEmpty());
+        }
+
+        public int conflictCount() {
+            return merged.stream().mapToInt(file -> file.conflicts().size()).sum();
+        }
+    }
+
+    /**
+     * Merge two files derived from a common base.
+     *
+     * @param base Common ancestor, or null if both sides added the file independently
+     */
+    public static JsonMerge.Result mergeFiles(Path base, Path ours, Path theirs, ObjectMapper objectMapper) throws IOException {
+        return JsonMerge.merge(
+            base != null ? objectMapper.readTree(base.toFile()) : null,
+            objectMapper.readTree(ours.toFile()),
+            objectMapper.readTree(theirs.toFile())
+        );
+    }
+
+    /**
+     * Merge the JSON files of two trees derived from a common base into an output directory.
+     * Conflicting values keep "ours" in the written file and are reported in the result.
+     */
+    public static Result merge(Path base, Path ours, Path theirs, Path output, ObjectMapper objectMapper) throws IOException {
+        Set<String> baseFiles = listJsonFiles(base);
+        Set<String> ourFiles = listJsonFiles(ours);
+        Set<String> theirFiles = listJsonFiles(theirs);
+        SortedSet<String> allFiles = new TreeSet<>(baseFiles);
+        allFiles.addAll(ourFiles);
+        allFiles.addAll(theirFiles);
+
+        Files.createDirectories(output);
+        try {
+            List<Outcome> outcomes = allFiles.parallelStream()
+                .map(path -> mergeFile(
+                    path,
+                    baseFiles.contains(path) ? base.resolve(path) : null,
+                    ourFiles.contains(path) ? ours.resolve(path) : null,
+                    theirFiles.contains(path) ? theirs.resolve(path) : null,
+                    output.resolve(path),
+                    objectMapper
+                ))
+                .collect(Collectors.toList());
+
+            List<FileMerge> merged = outcomes.stream()
+                .map(Outcome::report)
+                .filter(Objects::nonNull)
+                .toList();
+            int fileCount = (int) outcomes.stream().filter(Outcome::written).count();
+            return new Result(merged, fileCount);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Merge one file into the output tree.
+     */
+    private static Outcome mergeFile(
+        String path, Path base, Path ours, Path theirs, Path target, ObjectMapper objectMapper
+    ) {
+        try {
+            // One-sided changes are resolved on bytes alone
+            if (sameBytes(ours, theirs) || sameBytes(base, theirs)) {
+                return new Outcome(copyOrDelete(ours, target), null);
+            }
+            if (sameBytes(base, ours)) {
+                return new Outcome(copyOrDelete(theirs, target), null);
+            }
+
+            if (ours == null || theirs == null) {
+                // Deleted on one side and modified on the other: keep the modified copy
+                Path survivor = ours != null ? ours : theirs;
+                copyOrDelete(survivor, target);
+                JsonNode survivorNode = objectMapper.readTree(survivor.toFile());
+                return new Outcome(true, new FileMerge(path, false, List.of(new JsonMerge.Conflict(
+                    "",
+                    objectMapper.readTree(base.toFile()),
+                    ours != null ? survivorNode : null,
+                    theirs != null ? survivorNode : null
+                ))));
+            }
+
+            JsonMerge.Result result = mergeFiles(base, ours, theirs, objectMapper);
+            if (result.merged() == null) {
+                copyOrDelete(null, target);
+                return new Outcome(false, new FileMerge(path, true, result.conflicts()));
+            }
+            Files.createDirectories(target.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(target.toFile(), result.merged());
+            return new Outcome(true, new FileMerge(path, false, result.conflicts()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to merge " + path, e);
+        }
+    }
+
+    /**
+     * Per-file merge outcome; report is null for files resolved from one side.
+     */
+    private record Outcome(boolean written, FileMerge report) {
+    }
+
+    private static boolean sameBytes(Path left, Path right) throws IOException {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        return Files.size(left) == Files.size(right) && Files.mismatch(left, right) == -1;
+    }
+
+    /**
+     * Copy the chosen side into the output, or remove the output file if the chosen side deleted it.
+     *
+     * @return Whether a file was written
+     */
+    private static boolean copyOrDelete(Path source, Path target) throws IOException {
+        if (source == null) {
+            Files.deleteIfExists(target);
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+
+    private static Set<String> listJsonFiles(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Set.of();
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths
+                .filter(Files::isRegularFile)
+                .map(file -> root.relativize(file).toString().replace('\\', '/'))
+                .filter(path -> path.endsWith(".json") && !path.equals(ContentTreeDiff.MANIFEST_FILE))
+                .collect(Collectors.toSet());
+        }
+    }
+}
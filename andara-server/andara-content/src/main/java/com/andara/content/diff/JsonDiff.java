@@ -0,0 +1,183 @@
+package com.andara.content.diff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Computes RFC 6902 JSON patches between two JSON documents.
+ * Applying the result to the source with {@link JsonPatch#apply} yields the target.
+ * <p>
+ * Both documents are hashed bottom-up first ({@link SubtreeHashes}), so changed subtrees
+ * are told apart with one comparison. Equal hashes only make a subtree a candidate for
+ * being unchanged; it is confirmed with {@link JsonNode#equals} before it is skipped, so a
+ * hash collision can never drop a change from the patch. Arrays are
+ * aligned on element hashes, so inserting or removing an element in the middle of a
+ * list produces one operation instead of rewriting every element after it.
+ */
+public final class JsonDiff {
+    /**
+     * Largest array alignment table (source x target elements) worth building;
+     * bigger changed ranges are compared index by index.
+     */
+    private static final long MAX_ALIGNMENT_CELLS = 1L << 20;
+
+    private final SubtreeHashes sourceHashes;
+    private final SubtreeHashes targetHashes;
+    private final ArrayNode operations = JsonNodeFactory.instance.arrayNode();
+
+    private JsonDiff(JsonNode source, JsonNode target) {
+        this.sourceHashes = SubtreeHashes.of(source);
+        this.targetHashes = SubtreeHashes.of(target);
+    }
+
+    /**
+     * Compute the patch that turns {@code source} into {@code target}.
+     */
+    public static ArrayNode diff(JsonNode source, JsonNode target) {
+        JsonDiff diff = new JsonDiff(source, target);
+        diff.diff("", source, target);
+        return diff.operations;
+    }
+
+    /**
+     * Check whether two documents are structurally equal. Documents whose hashes differ are
+     * rejected after one hashing pass over each; equal hashes are confirmed node by node.
+     */
+    public static boolean sameStructure(JsonNode source, JsonNode target) {
+        return SubtreeHashes.of(source).hash(source) == SubtreeHashes.of(target).hash(target)
+            && source.equals(target);
+    }
+
+    private void diff(String path, JsonNode source, JsonNode target) {
+        if (sourceHashes.hash(source) == targetHashes.hash(target) && source.equals(target)) {
+            return;
+        }
+        if (source.isObject() && target.isObject()) {
+            diffObjects(path, source, target);
+        } else if (source.isArray() && target.isArray()) {
+            diffArrays(path, source, target);
+        } else {
+            operations.add(operation("replace", path).set("value", target.deepCopy()));
+        }
+    }
+
+    private void diffObjects(String path, JsonNode source, JsonNode target) {
+        Iterator<String> sourceFields = source.fieldNames();
+        while (sourceFields.hasNext()) {
+            String field = sourceFields.next();
+            if (!target.has(field)) {
+                operations.add(operation("remove", JsonPatch.appendToken(path, field)));
+            }
+        }
+
+        Iterator<Map.Entry<String, JsonNode>> targetFields = target.fields();
+        while (targetFields.hasNext()) {
+            Map.Entry<String, JsonNode> field = targetFields.next();
+            String fieldPath = JsonPatch.appendToken(path, field.getKey());
+            JsonNode sourceValue = source.get(field.getKey());
+            if (sourceValue == null) {
+                operations.add(operation("add", fieldPath).set("value", field.getValue().deepCopy()));
+            } else {
+                diff(fieldPath, sourceValue, field.getValue());
+            }
+        }
+    }
+
+    private void diffArrays(String path, JsonNode source, JsonNode target) {
+        // Skip the unchanged head and tail, then align what is left
+        int prefix = 0;
+        int maxPrefix = Math.min(source.size(), target.size());
+        while (prefix < maxPrefix && sameElement(source, prefix, target, prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < maxPrefix - prefix
+            && sameElement(source, source.size() - 1 - suffix, target, target.size() - 1 - suffix)) {
+            suffix++;
+        }
+
+        int sourceEnd = source.size() - suffix;
+        int targetEnd = target.size() - suffix;
+        long cells = (long) (sourceEnd - prefix + 1) * (targetEnd - prefix + 1);
+        if (cells <= MAX_ALIGNMENT_CELLS) {
+            alignArrays(path, source, target, prefix, sourceEnd, targetEnd);
+        } else {
+            diffArraysByIndex(path, source, target, prefix, sourceEnd, targetEnd);
+        }
+    }
+
+    /**
+     * Emit the shortest edit script between source[start, sourceEnd) and target[start, targetEnd)
+     * using a longest-common-subsequence table over element hashes. A removal followed by an
+     * addition at the same position is emitted as a nested diff of the two elements.
+     */
+    private void alignArrays(String path, JsonNode source, JsonNode target, int start, int sourceEnd, int targetEnd) {
+        int rows = sourceEnd - start;
+        int columns = targetEnd - start;
+        // lcs[i][j] = common subsequence length of source[start + i ..] and target[start + j ..]
+        int[][] lcs = new int[rows + 1][columns + 1];
+        for (int i = rows - 1; i >= 0; i--) {
+            for (int j = columns - 1; j >= 0; j--) {
+                lcs[i][j] = sameElement(source, start + i, target, start + j)
+                    ? lcs[i + 1][j + 1] + 1
+                    : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+            }
+        }
+
+        int i = 0;
+        int j = 0;
+        int index = start;
+        while (i < rows || j < columns) {
+            if (i < rows && j < columns && sameElement(source, start + i, target, start + j)) {
+                i++;
+                j++;
+                index++;
+            } else if (i < rows && j < columns && lcs[i + 1][j + 1] == lcs[i][j]) {
+                diff(path + "/" + index, source.get(start + i), target.get(start + j));
+                i++;
+                j++;
+                index++;
+            } else if (j == columns || (i < rows && lcs[i + 1][j] >= lcs[i][j + 1])) {
+                operations.add(operation("remove", path + "/" + index));
+                i++;
+            } else {
+                operations.add(operation("add", path + "/" + index).set("value", target.get(start + j).deepCopy()));
+                j++;
+                index++;
+            }
+        }
+    }
+
+    private void diffArraysByIndex(String path, JsonNode source, JsonNode target, int start, int sourceEnd, int targetEnd) {
+        int common = start + Math.min(sourceEnd - start, targetEnd - start);
+        for (int i = start; i < common; i++) {
+            diff(path + "/" + i, source.get(i), target.get(i));
+        }
+        // Remove from the end so earlier indexes stay valid while the patch is applied
+        for (int i = sourceEnd - 1; i >= common; i--) {
+            operations.add(operation("remove", path + "/" + i));
+        }
+        for (int i = common; i < targetEnd; i++) {
+            operations.add(operation("add", path + "/" + i).set("value", target.get(i).deepCopy()));
+        }
+    }
+
+    private boolean sameElement(JsonNode source, int sourceIndex, JsonNode target, int targetIndex) {
+        JsonNode sourceElement = source.get(sourceIndex);
+        JsonNode targetElement = target.get(targetIndex);
+        return sourceHashes.hash(sourceElement) == targetHashes.hash(targetElement)
+            && sourceElement.equals(targetElement);
+    }
+
+    static ObjectNode operation(String op, String path) {
+        ObjectNode operation = JsonNodeFactory.instance.objectNode();
+        operation.put("op", op);
+        operation.put("path", path);
+        return operation;
+    }
+}
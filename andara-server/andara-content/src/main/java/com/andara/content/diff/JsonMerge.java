@@ -0,0 +1,214 @@
+package com.andara.content.diff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.*;
+
+/**
+ * Three-way merge of JSON content documents.
+ * Changes made on only one side are taken; changes made on both sides are merged
+ * field by field. Arrays of objects that carry an identity key (dialogue nodes by
+ * {@code nodeId}, loot entries by {@code itemTemplateId}, ...) are merged element by
+ * element on that key, so two authors can edit different nodes of the same tree.
+ * Where both sides changed the same value differently a {@link Conflict} is reported
+ * and "ours" is kept in the merged document.
+ */
+public final class JsonMerge {
+    /**
+     * Fields that identify an element within a content array, in order of preference.
+     */
+    static final List<String> IDENTITY_KEYS = List.of(
+        "nodeId", "itemTemplateId", "zoneId", "poiId", "regionId", "npcId", "skillId",
+        "abilityId", "recipeId", "encounterId", "factionId", "templateId", "dialogueTreeId"
+    );
+
+    private final SubtreeHashes baseHashes;
+    private final SubtreeHashes ourHashes;
+    private final SubtreeHashes theirHashes;
+    private final List<Conflict> conflicts = new ArrayList<>();
+
+    private JsonMerge(JsonNode base, JsonNode ours, JsonNode theirs) {
+        this.baseHashes = SubtreeHashes.of(base);
+        this.ourHashes = SubtreeHashes.of(ours);
+        this.theirHashes = SubtreeHashes.of(theirs);
+    }
+
+    /**
+     * A value both sides changed differently.
+     *
+     * @param path JSON pointer of the value, with elements of keyed arrays written as {@code key=id}
+     *             (e.g. {@code /nodes/nodeId=greeting/text}); base, ours or theirs is null where absent
+     */
+    public record Conflict(String path, JsonNode base, JsonNode ours, JsonNode theirs) {
+    }
+
+    /**
+     * Result of a merge. {@code merged} is null when the merged document was deleted.
+     */
+    public record Result(JsonNode merged, List<Conflict> conflicts) {
+        public boolean hasConflicts() {
+            return !conflicts.isEmpty();
+        }
+    }
+
+    /**
+     * Merge two documents derived from a common base.
+     *
+     * @param base Common ancestor, or null if both sides added the document independently
+     */
+    public static Result merge(JsonNode base, JsonNode ours, JsonNode theirs) {
+        JsonNode baseNode = base != null ? base : MissingNode.getInstance();
+        JsonMerge merge = new JsonMerge(baseNode, ours, theirs);
+        JsonNode merged = merge.merge("", baseNode, ours, theirs);
+        return new Result(merged.isMissingNode() ? null : merged, List.copyOf(merge.conflicts));
+    }
+
+    /**
+     * Merge one value. Absent values are represented by {@link MissingNode} and a
+     * missing result means the value is removed.
+     */
+    private JsonNode merge(String path, JsonNode base, JsonNode ours, JsonNode theirs) {
+        if (same(ours, ourHashes, theirs, theirHashes)) {
+            return ours;
+        }
+        if (same(base, baseHashes, ours, ourHashes)) {
+            return theirs;
+        }
+        if (same(base, baseHashes, theirs, theirHashes)) {
+            return ours;
+        }
+
+        JsonNode baseContainer = base.isMissingNode() ? null : base;
+        if (ours.isObject() && theirs.isObject() && (baseContainer == null || baseContainer.isObject())) {
+            return mergeObjects(path, base, ours, theirs);
+        }
+        if (ours.isArray() && theirs.isArray() && (baseContainer == null || baseContainer.isArray())) {
+            String identityKey = identityKey(base, ours, theirs);
+            if (identityKey != null) {
+                return mergeKeyedArrays(path, identityKey, base, ours, theirs);
+            }
+        }
+
+        conflicts.add(new Conflict(path, present(base), present(ours), present(theirs)));
+        return ours;
+    }
+
+    private JsonNode mergeObjects(String path, JsonNode base, JsonNode ours, JsonNode theirs) {
+        ObjectNode merged = JsonNodeFactory.instance.objectNode();
+        // Our field order first, then fields only theirs has
+        Set<String> fields = new LinkedHashSet<>();
+        ours.fieldNames().forEachRemaining(fields::add);
+        theirs.fieldNames().forEachRemaining(fields::add);
+        base.fieldNames().forEachRemaining(fields::add);
+
+        for (String field : fields) {
+            JsonNode value = merge(
+                JsonPatch.appendToken(path, field),
+                base.path(field),
+                ours.path(field),
+                theirs.path(field)
+            );
+            if (!value.isMissingNode()) {
+                merged.set(field, value);
+            }
+        }
+        return merged;
+    }
+
+    private JsonNode mergeKeyedArrays(String path, String identityKey, JsonNode base, JsonNode ours, JsonNode theirs) {
+        Map<String, JsonNode> baseElements = index(base, identityKey);
+        Map<String, JsonNode> ourElements = index(ours, identityKey);
+        Map<String, JsonNode> theirElements = index(theirs, identityKey);
+
+        // Keep our order unless only they reordered, then place what only the other side added
+        // right after the element it follows there, so mid-array inserts stay in place
+        boolean weReordered = !commonOrder(ourElements, baseElements).equals(commonOrder(baseElements, ourElements));
+        Map<String, JsonNode> primary = weReordered ? ourElements : theirElements;
+        Map<String, JsonNode> secondary = weReordered ? theirElements : ourElements;
+        List<String> keys = new ArrayList<>(primary.keySet());
+        String predecessor = null;
+        for (String key : secondary.keySet()) {
+            if (!primary.containsKey(key)) {
+                keys.add(predecessor != null ? keys.indexOf(predecessor) + 1 : 0, key);
+            }
+            predecessor = key;
+        }
+
+        ArrayNode merged = JsonNodeFactory.instance.arrayNode();
+        for (String key : keys) {
+            JsonNode value = merge(
+                path + "/" + identityKey + "=" + key,
+                baseElements.getOrDefault(key, MissingNode.getInstance()),
+                ourElements.getOrDefault(key, MissingNode.getInstance()),
+                theirElements.getOrDefault(key, MissingNode.getInstance())
+            );
+            if (!value.isMissingNode()) {
+                merged.add(value);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Keys of {@code elements} that also appear in {@code other}, in their order in {@code elements}.
+     */
+    private static List<String> commonOrder(Map<String, JsonNode> elements, Map<String, JsonNode> other) {
+        List<String> order = new ArrayList<>();
+        for (String key : elements.keySet()) {
+            if (other.containsKey(key)) {
+                order.add(key);
+            }
+        }
+        return order;
+    }
+
+    private static Map<String, JsonNode> index(JsonNode array, String identityKey) {
+        Map<String, JsonNode> elements = new LinkedHashMap<>();
+        for (JsonNode element : array) {
+            elements.put(element.get(identityKey).asText(), element);
+        }
+        return elements;
+    }
+
+    /**
+     * Find the identity key shared by every element of all three arrays, unique within each.
+     */
+    static String identityKey(JsonNode... arrays) {
+        for (String key : IDENTITY_KEYS) {
+            if (Arrays.stream(arrays).allMatch(array -> isKeyedBy(array, key))) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isKeyedBy(JsonNode array, String key) {
+        if (array.isMissingNode()) {
+            return true;
+        }
+        Set<String> seen = new HashSet<>();
+        for (JsonNode element : array) {
+            JsonNode id = element.get(key);
+            if (id == null || !id.isValueNode() || !seen.add(id.asText())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean same(JsonNode left, SubtreeHashes leftHashes, JsonNode right, SubtreeHashes rightHashes) {
+        if (left.isMissingNode() || right.isMissingNode()) {
+            return left.isMissingNode() && right.isMissingNode();
+        }
+        // Equal hashes only make the values candidates; equals rules out a collision
+        return leftHashes.hash(left) == rightHashes.hash(right) && left.equals(right);
+    }
+
+    private static JsonNode present(JsonNode node) {
+        return node.isMissingNode() ? null : node;
+    }
+}
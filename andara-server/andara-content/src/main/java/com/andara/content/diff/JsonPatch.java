@@ -0,0 +1,184 @@
+package com.andara.content.diff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies RFC 6902 JSON patches (add, remove, replace, move, copy, test).
+ */
+public final class JsonPatch {
+
+    private JsonPatch() {
+    }
+
+    /**
+     * Apply a patch to a copy of the document.
+     *
+     * @return The patched document; the input is not modified
+     * @throws IllegalArgumentException if an operation is malformed or does not apply
+     */
+    public static JsonNode apply(JsonNode document, JsonNode patch) {
+        if (!patch.isArray()) {
+            throw new IllegalArgumentException("JSON patch must be an array of operations");
+        }
+
+        JsonNode result = document.deepCopy();
+        for (JsonNode operation : patch) {
+            result = applyOperation(result, operation);
+        }
+        return result;
+    }
+
+    private static JsonNode applyOperation(JsonNode document, JsonNode operation) {
+        String op = operation.path("op").asText();
+        String path = requiredText(operation, "path");
+
+        return switch (op) {
+            case "add" -> add(document, path, requiredValue(operation).deepCopy());
+            case "remove" -> {
+                remove(document, path);
+                yield document;
+            }
+            case "replace" -> {
+                JsonNode value = requiredValue(operation).deepCopy();
+                if (path.isEmpty()) {
+                    yield value;
+                }
+                remove(document, path);
+                yield add(document, path, value);
+            }
+            case "move" -> {
+                String from = requiredText(operation, "from");
+                JsonNode value = get(document, from);
+                remove(document, from);
+                yield add(document, path, value);
+            }
+            case "copy" -> add(document, path, get(document, requiredText(operation, "from")).deepCopy());
+            case "test" -> {
+                if (!get(document, path).equals(requiredValue(operation))) {
+                    throw new IllegalArgumentException("JSON patch test failed at " + path);
+                }
+                yield document;
+            }
+            default -> throw new IllegalArgumentException("Unsupported JSON patch operation: " + op);
+        };
+    }
+
+    private static JsonNode add(JsonNode document, String path, JsonNode value) {
+        if (path.isEmpty()) {
+            return value;
+        }
+        List<String> tokens = parsePointer(path);
+        JsonNode parent = resolve(document, tokens.subList(0, tokens.size() - 1), path);
+        String last = tokens.get(tokens.size() - 1);
+
+        if (parent instanceof ObjectNode object) {
+            object.set(last, value);
+        } else if (parent instanceof ArrayNode array) {
+            if (last.equals("-")) {
+                array.add(value);
+            } else {
+                array.insert(arrayIndex(array, last, array.size(), path), value);
+            }
+        } else {
+            throw new IllegalArgumentException("JSON patch path has no container: " + path);
+        }
+        return document;
+    }
+
+    private static void remove(JsonNode document, String path) {
+        if (path.isEmpty()) {
+            throw new IllegalArgumentException("JSON patch cannot remove the document root");
+        }
+        List<String> tokens = parsePointer(path);
+        JsonNode parent = resolve(document, tokens.subList(0, tokens.size() - 1), path);
+        String last = tokens.get(tokens.size() - 1);
+
+        if (parent instanceof ObjectNode object) {
+            if (object.remove(last) == null) {
+                throw new IllegalArgumentException("JSON patch path does not exist: " + path);
+            }
+        } else if (parent instanceof ArrayNode array) {
+            array.remove(arrayIndex(array, last, array.size() - 1, path));
+        } else {
+            throw new IllegalArgumentException("JSON patch path has no container: " + path);
+        }
+    }
+
+    private static JsonNode get(JsonNode document, String path) {
+        return resolve(document, parsePointer(path), path);
+    }
+
+    private static JsonNode resolve(JsonNode document, List<String> tokens, String path) {
+        JsonNode current = document;
+        for (String token : tokens) {
+            if (current.isObject()) {
+                current = current.get(token);
+            } else if (current.isArray()) {
+                current = current.get(arrayIndex(current, token, current.size() - 1, path));
+            } else {
+                current = null;
+            }
+            if (current == null) {
+                throw new IllegalArgumentException("JSON patch path does not exist: " + path);
+            }
+        }
+        return current;
+    }
+
+    private static int arrayIndex(JsonNode array, String token, int maxIndex, String path) {
+        try {
+            int index = Integer.parseInt(token);
+            if (index >= 0 && index <= maxIndex) {
+                return index;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the error below
+        }
+        throw new IllegalArgumentException("JSON patch array index out of bounds: " + path);
+    }
+
+    /**
+     * Split an RFC 6901 JSON pointer into unescaped reference tokens.
+     */
+    static List<String> parsePointer(String pointer) {
+        List<String> tokens = new ArrayList<>();
+        if (pointer.isEmpty()) {
+            return tokens;
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("Invalid JSON pointer: " + pointer);
+        }
+        for (String token : pointer.substring(1).split("/", -1)) {
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+        }
+        return tokens;
+    }
+
+    /**
+     * Append an escaped reference token to a JSON pointer.
+     */
+    static String appendToken(String pointer, String token) {
+        return pointer + "/" + token.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String requiredText(JsonNode operation, String field) {
+        JsonNode value = operation.get(field);
+        if (value == null || !value.isTextual()) {
+            throw new IllegalArgumentException("JSON patch operation is missing '" + field + "': " + operation);
+        }
+        return value.asText();
+    }
+
+    private static JsonNode requiredValue(JsonNode operation) {
+        JsonNode value = operation.get("value");
+        if (value == null) {
+            throw new IllegalArgumentException("JSON patch operation is missing 'value': " + operation);
+        }
+        return value;
+    }
+}
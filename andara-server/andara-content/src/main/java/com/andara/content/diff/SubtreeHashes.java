@@ -0,0 +1,85 @@
+package com.andara.content.diff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Merkle-style structural hashes of every subtree of a JSON document.
+ * Each node's hash is derived from its children's, so two subtrees can be compared
+ * in O(1) once both documents have been hashed in a single O(n) pass.
+ * Object hashes ignore field order, matching {@link JsonNode#equals}.
+ */
+final class SubtreeHashes {
+    private static final long OBJECT_SEED = 0x6a09e667f3bcc909L;
+    private static final long ARRAY_SEED = 0xbb67ae8584caa73bL;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<JsonNode, Long> hashes = new IdentityHashMap<>();
+
+    private SubtreeHashes() {
+    }
+
+    /**
+     * Hash every container node of the document.
+     */
+    static SubtreeHashes of(JsonNode root) {
+        SubtreeHashes subtreeHashes = new SubtreeHashes();
+        subtreeHashes.compute(root);
+        return subtreeHashes;
+    }
+
+    /**
+     * Get the hash of a node of the hashed document.
+     */
+    long hash(JsonNode node) {
+        Long hash = hashes.get(node);
+        return hash != null ? hash : compute(node);
+    }
+
+    private long compute(JsonNode node) {
+        long hash;
+        if (node.isObject()) {
+            // Sum of per-field hashes, so field order does not matter
+            hash = OBJECT_SEED;
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                hash += mix(hashString(field.getKey()) * 31 + compute(field.getValue()));
+            }
+            hash = mix(hash);
+            hashes.put(node, hash);
+        } else if (node.isArray()) {
+            hash = ARRAY_SEED;
+            for (JsonNode element : node) {
+                hash = mix(hash * 31 + compute(element));
+            }
+            hashes.put(node, hash);
+        } else {
+            // Scalars are cheap to rehash and are not cached
+            hash = mix(hashString(node.asText()) * 31 + node.getNodeType().ordinal());
+        }
+        return hash;
+    }
+
+    private static long hashString(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,91 @@
+package com.andara.content.loot;
+
+import java.util.SplittableRandom;
+
+/**
+ * Walker alias table built with Vose's method: samples an index with probability proportional
+ * to its weight in O(1), using one bounded int and one double from the generator.
+ * Immutable and safe to share; callers supply their own generator.
+ */
+public final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    private AliasTable(double[] probability, int[] alias) {
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    /**
+     * Build a table over the given weights.
+     *
+     * @throws IllegalArgumentException if there are no weights, any weight is negative or not
+     *                                  finite, or all weights are zero
+     */
+    public static AliasTable of(double[] weights) {
+        int size = weights.length;
+        if (size == 0) {
+            throw new IllegalArgumentException("Alias table needs at least one weight");
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight: " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("All weights are zero");
+        }
+
+        double[] probability = new double[size];
+        int[] alias = new int[size];
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is 1 up to rounding error
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+        return new AliasTable(probability, alias);
+    }
+
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * Draw an index.
+     */
+    public int sample(SplittableRandom random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
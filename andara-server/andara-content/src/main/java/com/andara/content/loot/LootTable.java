@@ -0,0 +1,157 @@
+package com.andara.content.loot;
+
+import com.andara.content.ContentType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compiled loot of one content item.
+ * A POI's {@code lootTable} is a weighted table: each roll picks one entry through an
+ * {@link AliasTable} and a quantity in the entry's min..max range. An encounter's
+ * {@code rewards/items} are independent drops, each granted with its probability (default 1).
+ * <p>
+ * Rolls only consume the given generator, so seeding it from a stored value replays them
+ * exactly: {@code table.roll(new SplittableRandom(seed), 1)} returns the same drops for the
+ * same seed and table.
+ */
+public final class LootTable {
+
+    public static final LootTable EMPTY = new LootTable(new String[0], new int[0], new int[0], null, new String[0], new int[0], new double[0]);
+
+    /**
+     * One granted stack of items.
+     */
+    public record LootDrop(String itemTemplateId, int quantity) {
+    }
+
+    private final String[] weightedItems;
+    private final int[] minQuantity;
+    private final int[] maxQuantity;
+    private final AliasTable weights;
+    private final String[] independentItems;
+    private final int[] independentQuantity;
+    private final double[] independentProbability;
+
+    private LootTable(
+        String[] weightedItems,
+        int[] minQuantity,
+        int[] maxQuantity,
+        AliasTable weights,
+        String[] independentItems,
+        int[] independentQuantity,
+        double[] independentProbability
+    ) {
+        this.weightedItems = weightedItems;
+        this.minQuantity = minQuantity;
+        this.maxQuantity = maxQuantity;
+        this.weights = weights;
+        this.independentItems = independentItems;
+        this.independentQuantity = independentQuantity;
+        this.independentProbability = independentProbability;
+    }
+
+    /**
+     * Compile the loot of a POI or encounter. Other types carry no loot and compile to {@link #EMPTY}.
+     */
+    public static LootTable compile(ContentType contentType, JsonNode content) {
+        return switch (contentType) {
+            case POI_TEMPLATE -> compileWeighted(content.path("lootTable"));
+            case ENCOUNTER_TEMPLATE -> compileIndependent(content.path("rewards").path("items"));
+            default -> EMPTY;
+        };
+    }
+
+    private static LootTable compileWeighted(JsonNode entries) {
+        List<JsonNode> kept = new ArrayList<>();
+        for (JsonNode entry : entries) {
+            // Zero-weight entries can never drop; keeping them out keeps the alias table exact
+            if (entry.path("itemTemplateId").isTextual() && entry.path("weight").asDouble(1.0) > 0) {
+                kept.add(entry);
+            }
+        }
+        if (kept.isEmpty()) {
+            return EMPTY;
+        }
+
+        int size = kept.size();
+        String[] items = new String[size];
+        int[] min = new int[size];
+        int[] max = new int[size];
+        double[] weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            JsonNode entry = kept.get(i);
+            items[i] = entry.path("itemTemplateId").asText();
+            weights[i] = entry.path("weight").asDouble(1.0);
+            min[i] = entry.path("quantity").path("min").asInt(1);
+            max[i] = Math.max(min[i], entry.path("quantity").path("max").asInt(min[i]));
+        }
+        return new LootTable(items, min, max, AliasTable.of(weights), new String[0], new int[0], new double[0]);
+    }
+
+    private static LootTable compileIndependent(JsonNode entries) {
+        List<JsonNode> kept = new ArrayList<>();
+        for (JsonNode entry : entries) {
+            if (entry.path("itemTemplateId").isTextual() && entry.path("probability").asDouble(1.0) > 0) {
+                kept.add(entry);
+            }
+        }
+        if (kept.isEmpty()) {
+            return EMPTY;
+        }
+
+        int size = kept.size();
+        String[] items = new String[size];
+        int[] quantity = new int[size];
+        double[] probability = new double[size];
+        for (int i = 0; i < size; i++) {
+            JsonNode entry = kept.get(i);
+            items[i] = entry.path("itemTemplateId").asText();
+            quantity[i] = entry.path("quantity").asInt(1);
+            probability[i] = Math.min(1.0, entry.path("probability").asDouble(1.0));
+        }
+        return new LootTable(new String[0], new int[0], new int[0], null, items, quantity, probability);
+    }
+
+    public boolean isEmpty() {
+        return weights == null && independentItems.length == 0;
+    }
+
+    /**
+     * Roll the table.
+     *
+     * @param rolls Number of draws from the weighted table; independent drops are rolled once
+     */
+    public List<LootDrop> roll(SplittableRandom random, int rolls) {
+        List<LootDrop> drops = new ArrayList<>();
+        if (weights != null) {
+            for (int i = 0; i < rolls; i++) {
+                int entry = weights.sample(random);
+                int quantity = minQuantity[entry] == maxQuantity[entry]
+                    ? minQuantity[entry]
+                    : random.nextInt(minQuantity[entry], maxQuantity[entry] + 1);
+                if (quantity > 0) {
+                    drops.add(new LootDrop(weightedItems[entry], quantity));
+                }
+            }
+        }
+        for (int i = 0; i < independentItems.length; i++) {
+            if (independentProbability[i] >= 1.0 || random.nextDouble() < independentProbability[i]) {
+                drops.add(new LootDrop(independentItems[i], independentQuantity[i]));
+            }
+        }
+        return drops;
+    }
+
+    /**
+     * Draw one item from the weighted table without building drops, for hot loops that
+     * only need the item.
+     *
+     * @return The drawn item, or null if the table has no weighted entries
+     */
+    public String sampleItem(SplittableRandom random) {
+        return weights != null ? weightedItems[weights.sample(random)] : null;
+    }
+}
@@ -12,6 +12,8 @@ public class ExportResult {
     private final String manifestPath;
     private final Map<String, List<ExportedFile>> filesByType;
     private final List<String> errors;
+    private final int writtenCount;
+    private final List<String> deletedPaths;
 
     public ExportResult(
         int exportedCount,
@@ -19,12 +21,26 @@ public class ExportResult {
         String manifestPath,
         Map<String, List<ExportedFile>> filesByType,
         List<String> errors
+    ) {
+        this(exportedCount, outputDirectory, manifestPath, filesByType, errors, exportedCount, List.of());
+    }
+
+    public ExportResult(
+        int exportedCount,
+        String outputDirectory,
+        String manifestPath,
+        Map<String, List<ExportedFile>> filesByType,
+        List<String> errors,
+        int writtenCount,
+        List<String> deletedPaths
     ) {
         this.exportedCount = exportedCount;
         this.outputDirectory = outputDirectory;
         this.manifestPath = manifestPath;
         this.filesByType = filesByType;
         this.errors = errors;
+        this.writtenCount = writtenCount;
+        this.deletedPaths = deletedPaths;
     }
 
     public int getExportedCount() {
@@ -47,6 +63,20 @@ public class ExportResult {
         return errors;
     }
 
+    /**
+     * Number of files actually written; lower than the exported count for incremental exports.
+     */
+    public int getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * Files removed because their content is no longer active (incremental exports only).
+     */
+    public List<String> getDeletedPaths() {
+        return deletedPaths;
+    }
+
     /**
      * Represents a single exported file with its metadata.
      */
@@ -55,12 +85,18 @@ public class ExportResult {
         private final String path;
         private final String checksum;
         private final long fileSize;
+        private final Integer versionNumber;
 
         public ExportedFile(String id, String path, String checksum, long fileSize) {
+            this(id, path, checksum, fileSize, null);
+        }
+
+        public ExportedFile(String id, String path, String checksum, long fileSize, Integer versionNumber) {
             this.id = id;
             this.path = path;
             this.checksum = checksum;
             this.fileSize = fileSize;
+            this.versionNumber = versionNumber;
         }
 
         public String getId() {
@@ -78,5 +114,9 @@ public class ExportResult {
         public long getFileSize() {
             return fileSize;
         }
+
+        public Integer getVersionNumber() {
+            return versionNumber;
+        }
     }
 }
@@ -0,0 +1,322 @@
+package com.andara.content.pack;
+
+import com.andara.content.ContentType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Read-only view of a compiled, memory-mapped content pack.
+ * Opening a pack only maps the file and reads the type table; items are located by
+ * binary search over the sorted item table and decoded on demand, so load time does not
+ * grow with the content size. Safe for concurrent readers.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header      magic "ANDPACK1", version, type count, item count, string count,
+ *             offsets of the type table, item table, string table, bodies and references
+ * type table  per type: name string, first item, item count
+ * item table  per item, sorted by type then ID bytes: ID string, body offset, body length,
+ *             first reference, reference count, reserved
+ * strings     string count + 1 offsets, then UTF-8 data
+ * bodies      tagged binary encoding of each item's JSON; strings are string table indexes
+ * references  dense item indexes of each item's resolved cross-references
+ * </pre>
+ */
+public final class ContentPack {
+    static final byte[] MAGIC = "ANDPACK1".getBytes(StandardCharsets.US_ASCII);
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int TYPE_ENTRY_SIZE = 12;
+    static final int ITEM_ENTRY_SIZE = 24;
+
+    static final byte TAG_NULL = 0;
+    static final byte TAG_FALSE = 1;
+    static final byte TAG_TRUE = 2;
+    static final byte TAG_LONG = 3;
+    static final byte TAG_DOUBLE = 4;
+    static final byte TAG_STRING = 5;
+    static final byte TAG_ARRAY = 6;
+    static final byte TAG_OBJECT = 7;
+
+    private final ByteBuffer buffer;
+    private final int itemCount;
+    private final int stringCount;
+    private final int itemTableOffset;
+    private final int stringTableOffset;
+    private final int stringDataOffset;
+    private final int bodiesOffset;
+    private final int referencesOffset;
+    private final Map<ContentType, int[]> typeRanges = new EnumMap<>(ContentType.class);
+    private final String[] decodedStrings;
+
+    private ContentPack(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a content pack");
+        }
+        int version = buffer.getInt(8);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported content pack version " + version + " (expected " + FORMAT_VERSION + ")");
+        }
+
+        int typeCount = buffer.getInt(12);
+        this.itemCount = buffer.getInt(16);
+        this.stringCount = buffer.getInt(20);
+        int typeTableOffset = (int) buffer.getLong(24);
+        this.itemTableOffset = (int) buffer.getLong(32);
+        this.stringTableOffset = (int) buffer.getLong(40);
+        this.stringDataOffset = stringTableOffset + 4 * (stringCount + 1);
+        this.bodiesOffset = (int) buffer.getLong(48);
+        this.referencesOffset = (int) buffer.getLong(56);
+        this.decodedStrings = new String[stringCount];
+
+        // Types are matched by name, so packs survive enum reordering; unknown types are ignored
+        for (int t = 0; t < typeCount; t++) {
+            int entry = typeTableOffset + t * TYPE_ENTRY_SIZE;
+            String name = string(buffer.getInt(entry));
+            try {
+                typeRanges.put(ContentType.valueOf(name), new int[]{buffer.getInt(entry + 4), buffer.getInt(entry + 8)});
+            } catch (IllegalArgumentException e) {
+                // Written by a newer build with more types
+            }
+        }
+    }
+
+    /**
+     * Memory-map a pack file.
+     *
+     * @throws IOException if the file cannot be read or is not a supported pack
+     */
+    public static ContentPack open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Content pack too large to map: " + file);
+            }
+            return new ContentPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Wrap an in-memory pack, e.g. one just written to a byte array.
+     */
+    public static ContentPack wrap(byte[] bytes) throws IOException {
+        return new ContentPack(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
+    }
+
+    /**
+     * A reference to one item in the pack.
+     *
+     * @param index Dense index of the item, stable for the lifetime of the pack
+     */
+    public record ItemRef(int index, ContentType type, String id) {
+    }
+
+    public int size() {
+        return itemCount;
+    }
+
+    public int count(ContentType type) {
+        int[] range = typeRanges.get(type);
+        return range != null ? range[1] : 0;
+    }
+
+    /**
+     * Get the IDs of a type in pack order (sorted by UTF-8 bytes).
+     */
+    public List<String> ids(ContentType type) {
+        int[] range = typeRanges.get(type);
+        if (range == null) {
+            return List.of();
+        }
+        List<String> ids = new ArrayList<>(range[1]);
+        for (int i = range[0]; i < range[0] + range[1]; i++) {
+            ids.add(string(buffer.getInt(itemEntry(i))));
+        }
+        return ids;
+    }
+
+    /**
+     * Find the dense index of an item.
+     *
+     * @return The index, or -1 if the pack has no such item
+     */
+    public int indexOf(ContentType type, String id) {
+        int[] range = typeRanges.get(type);
+        if (range == null) {
+            return -1;
+        }
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        int low = range[0];
+        int high = range[0] + range[1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compareString(buffer.getInt(itemEntry(mid)), key);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(ContentType type, String id) {
+        return indexOf(type, id) >= 0;
+    }
+
+    /**
+     * Decode an item's content.
+     */
+    public Optional<JsonNode> get(ContentType type, String id) {
+        int index = indexOf(type, id);
+        return index >= 0 ? Optional.of(get(index)) : Optional.empty();
+    }
+
+    /**
+     * Decode the content of the item with the given dense index.
+     */
+    public JsonNode get(int index) {
+        int[] position = {bodiesOffset + buffer.getInt(itemEntry(index) + 4)};
+        return decode(position);
+    }
+
+    /**
+     * Get the item with the given dense index.
+     */
+    public ItemRef item(int index) {
+        return new ItemRef(index, typeOf(index), string(buffer.getInt(itemEntry(index))));
+    }
+
+    /**
+     * Get the items an item references that are present in the pack.
+     */
+    public List<ItemRef> references(ContentType type, String id) {
+        int index = indexOf(type, id);
+        if (index < 0) {
+            return List.of();
+        }
+        int entry = itemEntry(index);
+        int first = buffer.getInt(entry + 12);
+        int count = buffer.getInt(entry + 16);
+        List<ItemRef> references = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            references.add(item(buffer.getInt(referencesOffset + 4 * (first + i))));
+        }
+        return references;
+    }
+
+    private ContentType typeOf(int index) {
+        for (Map.Entry<ContentType, int[]> range : typeRanges.entrySet()) {
+            if (index >= range.getValue()[0] && index < range.getValue()[0] + range.getValue()[1]) {
+                return range.getKey();
+            }
+        }
+        throw new IndexOutOfBoundsException("No item " + index + " in content pack");
+    }
+
+    private int itemEntry(int index) {
+        if (index < 0 || index >= itemCount) {
+            throw new IndexOutOfBoundsException("No item " + index + " in content pack");
+        }
+        return itemTableOffset + index * ITEM_ENTRY_SIZE;
+    }
+
+    private JsonNode decode(int[] position) {
+        byte tag = buffer.get(position[0]++);
+        switch (tag) {
+            case TAG_OBJECT -> {
+                int size = readInt(position);
+                ObjectNode object = JsonNodeFactory.instance.objectNode();
+                for (int i = 0; i < size; i++) {
+                    String field = string(readInt(position));
+                    object.set(field, decode(position));
+                }
+                return object;
+            }
+            case TAG_ARRAY -> {
+                int size = readInt(position);
+                ArrayNode array = JsonNodeFactory.instance.arrayNode(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(decode(position));
+                }
+                return array;
+            }
+            case TAG_STRING -> {
+                return JsonNodeFactory.instance.textNode(string(readInt(position)));
+            }
+            case TAG_LONG -> {
+                long value = buffer.getLong(position[0]);
+                position[0] += 8;
+                return value == (int) value
+                    ? JsonNodeFactory.instance.numberNode((int) value)
+                    : JsonNodeFactory.instance.numberNode(value);
+            }
+            case TAG_DOUBLE -> {
+                double value = buffer.getDouble(position[0]);
+                position[0] += 8;
+                return JsonNodeFactory.instance.numberNode(value);
+            }
+            case TAG_TRUE -> {
+                return JsonNodeFactory.instance.booleanNode(true);
+            }
+            case TAG_FALSE -> {
+                return JsonNodeFactory.instance.booleanNode(false);
+            }
+            case TAG_NULL -> {
+                return JsonNodeFactory.instance.nullNode();
+            }
+            default -> throw new IllegalStateException("Corrupt content pack: unknown tag " + tag);
+        }
+    }
+
+    private int readInt(int[] position) {
+        int value = buffer.getInt(position[0]);
+        position[0] += 4;
+        return value;
+    }
+
+    /**
+     * Decode an interned string; each string is decoded at most once per pack (races only
+     * decode it twice, which is harmless for immutable strings).
+     */
+    private String string(int index) {
+        String value = decodedStrings[index];
+        if (value == null) {
+            int start = buffer.getInt(stringTableOffset + 4 * index);
+            int end = buffer.getInt(stringTableOffset + 4 * (index + 1));
+            byte[] bytes = new byte[end - start];
+            buffer.get(stringDataOffset + start, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            decodedStrings[index] = value;
+        }
+        return value;
+    }
+
+    private int compareString(int index, byte[] key) {
+        int start = buffer.getInt(stringTableOffset + 4 * index);
+        int end = buffer.getInt(stringTableOffset + 4 * (index + 1));
+        int length = Math.min(end - start, key.length);
+        for (int i = 0; i < length; i++) {
+            int comparison = Byte.compareUnsigned(buffer.get(stringDataOffset + start + i), key[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(end - start, key.length);
+    }
+}
@@ -0,0 +1,232 @@
+package com.andara.content.pack;
+
+import com.andara.content.ContentType;
+import com.andara.content.validation.ReferenceExtractor;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Compiles content into a binary content pack (see {@link ContentPack} for the layout).
+ * Items are added in any order; on {@link #write} they are sorted by type and ID, given
+ * dense indexes, and their cross-references are resolved to those indexes. All strings
+ * (IDs, field names, string values) are interned into one table.
+ */
+public class ContentPackWriter {
+
+    private final Map<ContentType, SortedMap<byte[], JsonNode>> itemsByType = new EnumMap<>(ContentType.class);
+
+    public ContentPackWriter() {
+        for (ContentType type : ContentType.values()) {
+            itemsByType.put(type, new TreeMap<>(Arrays::compareUnsigned));
+        }
+    }
+
+    /**
+     * Add an item; a later item with the same type and ID replaces an earlier one.
+     */
+    public void add(ContentType type, String id, JsonNode content) {
+        itemsByType.get(type).put(id.getBytes(StandardCharsets.UTF_8), content);
+    }
+
+    public int size() {
+        return itemsByType.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Write the pack atomically: it is written next to the target and moved into place,
+     * so a server mapping the old pack never sees a partial file.
+     */
+    public void write(Path target) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                write(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Write the pack to a stream.
+     */
+    public void write(OutputStream output) throws IOException {
+        StringTable strings = new StringTable();
+
+        // Dense indexes: items ordered by type, then by ID bytes
+        Map<ContentType, Map<String, Integer>> denseIndex = new EnumMap<>(ContentType.class);
+        List<ContentType> itemTypes = new ArrayList<>();
+        List<String> itemIds = new ArrayList<>();
+        List<JsonNode> itemBodies = new ArrayList<>();
+        for (ContentType type : ContentType.values()) {
+            Map<String, Integer> indexes = new HashMap<>();
+            for (Map.Entry<byte[], JsonNode> item : itemsByType.get(type).entrySet()) {
+                String id = new String(item.getKey(), StandardCharsets.UTF_8);
+                indexes.put(id, itemIds.size());
+                itemTypes.add(type);
+                itemIds.add(id);
+                itemBodies.add(item.getValue());
+            }
+            denseIndex.put(type, indexes);
+        }
+
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        DataOutputStream bodies = new DataOutputStream(bodyBytes);
+        ByteArrayOutputStream referenceBytes = new ByteArrayOutputStream();
+        DataOutputStream references = new DataOutputStream(referenceBytes);
+        int[][] itemTable = new int[itemIds.size()][];
+        int referenceCount = 0;
+
+        for (int i = 0; i < itemIds.size(); i++) {
+            int bodyOffset = bodies.size();
+            encode(itemBodies.get(i), bodies, strings);
+
+            // Only references that resolve inside the pack get a dense index
+            int referencesStart = referenceCount;
+            for (ReferenceExtractor.Reference reference : ReferenceExtractor.extract(itemTypes.get(i), itemBodies.get(i))) {
+                Integer target = denseIndex.get(reference.targetType()).get(reference.targetId());
+                if (target != null) {
+                    references.writeInt(target);
+                    referenceCount++;
+                }
+            }
+
+            itemTable[i] = new int[]{
+                strings.intern(itemIds.get(i)),
+                bodyOffset,
+                bodies.size() - bodyOffset,
+                referencesStart,
+                referenceCount - referencesStart
+            };
+        }
+
+        ContentType[] types = ContentType.values();
+        int[][] typeTable = new int[types.length][];
+        int firstItem = 0;
+        for (int t = 0; t < types.length; t++) {
+            int count = itemsByType.get(types[t]).size();
+            typeTable[t] = new int[]{strings.intern(types[t].name()), firstItem, count};
+            firstItem += count;
+        }
+
+        byte[] stringData = strings.data();
+        long typeTableOffset = ContentPack.HEADER_SIZE;
+        long itemTableOffset = typeTableOffset + (long) types.length * ContentPack.TYPE_ENTRY_SIZE;
+        long stringTableOffset = itemTableOffset + (long) itemIds.size() * ContentPack.ITEM_ENTRY_SIZE;
+        long bodiesOffset = stringTableOffset + 4L * (strings.size() + 1) + stringData.length;
+        long referencesOffset = bodiesOffset + bodies.size();
+
+        DataOutputStream out = new DataOutputStream(output);
+        out.write(ContentPack.MAGIC);
+        out.writeInt(ContentPack.FORMAT_VERSION);
+        out.writeInt(types.length);
+        out.writeInt(itemIds.size());
+        out.writeInt(strings.size());
+        out.writeLong(typeTableOffset);
+        out.writeLong(itemTableOffset);
+        out.writeLong(stringTableOffset);
+        out.writeLong(bodiesOffset);
+        out.writeLong(referencesOffset);
+
+        for (int[] entry : typeTable) {
+            for (int value : entry) {
+                out.writeInt(value);
+            }
+        }
+        for (int[] entry : itemTable) {
+            for (int value : entry) {
+                out.writeInt(value);
+            }
+            out.writeInt(0); // Reserved
+        }
+        for (int offset : strings.offsets()) {
+            out.writeInt(offset);
+        }
+        out.writeInt(stringData.length);
+        out.write(stringData);
+        bodyBytes.writeTo(out);
+        referenceBytes.writeTo(out);
+        out.flush();
+    }
+
+    private static void encode(JsonNode node, DataOutputStream out, StringTable strings) throws IOException {
+        switch (node.getNodeType()) {
+            case OBJECT -> {
+                out.writeByte(ContentPack.TAG_OBJECT);
+                out.writeInt(node.size());
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    out.writeInt(strings.intern(field.getKey()));
+                    encode(field.getValue(), out, strings);
+                }
+            }
+            case ARRAY -> {
+                out.writeByte(ContentPack.TAG_ARRAY);
+                out.writeInt(node.size());
+                for (JsonNode element : node) {
+                    encode(element, out, strings);
+                }
+            }
+            case STRING -> {
+                out.writeByte(ContentPack.TAG_STRING);
+                out.writeInt(strings.intern(node.textValue()));
+            }
+            case NUMBER -> {
+                if (node.isIntegralNumber() && node.canConvertToLong()) {
+                    out.writeByte(ContentPack.TAG_LONG);
+                    out.writeLong(node.longValue());
+                } else {
+                    out.writeByte(ContentPack.TAG_DOUBLE);
+                    out.writeDouble(node.doubleValue());
+                }
+            }
+            case BOOLEAN -> out.writeByte(node.booleanValue() ? ContentPack.TAG_TRUE : ContentPack.TAG_FALSE);
+            default -> out.writeByte(ContentPack.TAG_NULL);
+        }
+    }
+
+    /**
+     * Interned UTF-8 strings addressed by index.
+     */
+    private static class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<Integer> offsets = new ArrayList<>();
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        int intern(String value) {
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = offsets.size();
+                indexes.put(value, index);
+                offsets.add(data.size());
+                data.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+            return index;
+        }
+
+        int size() {
+            return offsets.size();
+        }
+
+        List<Integer> offsets() {
+            return offsets;
+        }
+
+        byte[] data() {
+            return data.toByteArray();
+        }
+    }
+}
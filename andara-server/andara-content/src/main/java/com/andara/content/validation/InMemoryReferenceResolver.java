@@ -0,0 +1,41 @@
+package com.andara.content.validation;
+
+import com.andara.content.ContentType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves references against a set of content IDs held in memory, e.g. every file
+ * of a content directory being validated offline. Safe to fill and query from
+ * multiple threads.
+ */
+public class InMemoryReferenceResolver implements ReferenceValidator.ReferenceResolver {
+    private final Map<ContentType, Set<String>> idsByType = new EnumMap<>(ContentType.class);
+
+    public InMemoryReferenceResolver() {
+        for (ContentType type : ContentType.values()) {
+            idsByType.put(type, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Register an existing content item.
+     *
+     * @return false if the ID was already registered for this type
+     */
+    public boolean add(ContentType type, String id) {
+        return idsByType.get(type).add(id);
+    }
+
+    @Override
+    public boolean exists(ContentType type, String id) {
+        return idsByType.get(type).contains(id);
+    }
+
+    public int size(ContentType type) {
+        return idsByType.get(type).size();
+    }
+}
@@ -0,0 +1,161 @@
+package com.andara.content.validation;
+
+import com.andara.content.ContentType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.*;
+
+/**
+ * Knows where each content type references other content and extracts those references.
+ * Shared by {@link ReferenceValidator} (forward checks) and the reverse-dependency index.
+ */
+public final class ReferenceExtractor {
+
+    private static final Map<ContentType, List<ReferenceField>> REFERENCE_FIELDS = buildReferenceFields();
+
+    private ReferenceExtractor() {
+    }
+
+    /**
+     * A reference from one content item to another.
+     *
+     * @param path JSON pointer of the field holding the reference in the source item
+     */
+    public record Reference(ContentType targetType, String targetId, String path) {
+    }
+
+    /**
+     * Extract all cross-content references of an item.
+     * Dialogue node links stay inside a tree and are not returned.
+     */
+    public static List<Reference> extract(ContentType contentType, JsonNode content) {
+        List<Reference> references = new ArrayList<>();
+
+        for (ReferenceField field : referenceFields(contentType)) {
+            JsonNode targetNode = content.at(field.getPath());
+
+            if (targetNode.isArray()) {
+                for (JsonNode item : targetNode) {
+                    if (item.isObject() && item.has(field.getReferenceFieldName())) {
+                        addReference(references, field, item.get(field.getReferenceFieldName()).asText());
+                    } else if (item.isTextual()) {
+                        addReference(references, field, item.asText());
+                    }
+                }
+            } else if (targetNode.isTextual()) {
+                addReference(references, field, targetNode.asText());
+            }
+        }
+
+        return references;
+    }
+
+    /**
+     * Get the content types that items of the given type can reference.
+     */
+    public static Set<ContentType> referencedTypes(ContentType contentType) {
+        Set<ContentType> types = EnumSet.noneOf(ContentType.class);
+        for (ReferenceField field : referenceFields(contentType)) {
+            types.add(field.getTargetType());
+        }
+        return types;
+    }
+
+    static List<ReferenceField> referenceFields(ContentType contentType) {
+        return REFERENCE_FIELDS.getOrDefault(contentType, Collections.emptyList());
+    }
+
+    private static void addReference(List<Reference> references, ReferenceField field, String refId) {
+        if (!refId.isEmpty()) {
+            references.add(new Reference(field.getTargetType(), refId, field.getPath()));
+        }
+    }
+
+    private static Map<ContentType, List<ReferenceField>> buildReferenceFields() {
+        Map<ContentType, List<ReferenceField>> fields = new EnumMap<>(ContentType.class);
+
+        // Recipe references
+        fields.put(ContentType.RECIPE, List.of(
+            new ReferenceField("/skillRequired", "skillId", ContentType.SKILL_DEFINITION),
+            new ReferenceField("/inputs", "itemTemplateId", ContentType.ITEM_TEMPLATE, "itemTemplateId"),
+            new ReferenceField("/outputs", "itemTemplateId", ContentType.ITEM_TEMPLATE, "itemTemplateId")
+        ));
+
+        // Skill references
+        fields.put(ContentType.SKILL_DEFINITION, List.of(
+            new ReferenceField("/abilityUnlocks", "abilityId", ContentType.ABILITY_DEFINITION, "abilityId")
+        ));
+
+        // Region references
+        fields.put(ContentType.REGION_DEFINITION, List.of(
+            new ReferenceField("/zones", "zoneId", ContentType.ZONE_TEMPLATE, "zoneId")
+        ));
+
+        // Zone references
+        fields.put(ContentType.ZONE_TEMPLATE, List.of(
+            new ReferenceField("/pointsOfInterest", "poiId", ContentType.POI_TEMPLATE, "poiId")
+        ));
+
+        // POI references
+        fields.put(ContentType.POI_TEMPLATE, List.of(
+            new ReferenceField("/lootTable", "itemTemplateId", ContentType.ITEM_TEMPLATE, "itemTemplateId"),
+            new ReferenceField("/encounters", "encounterId", ContentType.ENCOUNTER_TEMPLATE),
+            new ReferenceField("/requiredSkill/skillId", "skillId", ContentType.SKILL_DEFINITION)
+        ));
+
+        // NPC references
+        fields.put(ContentType.NPC_TEMPLATE, List.of(
+            new ReferenceField("/factionId", "factionId", ContentType.FACTION_DEFINITION),
+            new ReferenceField("/dialogueTreeId", "dialogueTreeId", ContentType.DIALOGUE_TREE),
+            new ReferenceField("/inventory", "itemTemplateId", ContentType.ITEM_TEMPLATE, "itemTemplateId")
+        ));
+
+        // Encounter references
+        fields.put(ContentType.ENCOUNTER_TEMPLATE, List.of(
+            new ReferenceField("/participants", "npcTemplateId", ContentType.NPC_TEMPLATE, "npcTemplateId"),
+            new ReferenceField("/rewards/items", "itemTemplateId", ContentType.ITEM_TEMPLATE, "itemTemplateId")
+        ));
+
+        // Dialogue tree references - handled specially due to nested structure
+        fields.put(ContentType.DIALOGUE_TREE, List.of());
+
+        return fields;
+    }
+
+    /**
+     * Represents a reference field to validate.
+     */
+    static class ReferenceField {
+        private final String path;
+        private final String referenceFieldName;
+        private final ContentType targetType;
+        private final String idFieldName;
+
+        ReferenceField(String path, String referenceFieldName, ContentType targetType) {
+            this(path, referenceFieldName, targetType, referenceFieldName);
+        }
+
+        ReferenceField(String path, String referenceFieldName, ContentType targetType, String idFieldName) {
+            this.path = path;
+            this.referenceFieldName = referenceFieldName;
+            this.targetType = targetType;
+            this.idFieldName = idFieldName;
+        }
+
+        String getPath() {
+            return path;
+        }
+
+        String getReferenceFieldName() {
+            return referenceFieldName;
+        }
+
+        ContentType getTargetType() {
+            return targetType;
+        }
+
+        String getIdFieldName() {
+            return idFieldName;
+        }
+    }
+}
@@ -7,7 +7,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.function.Function;
 
 /**
  * Validates foreign key references in content (itemIds, skillIds, etc.)
@@ -31,11 +30,8 @@ public class ReferenceValidator {
         if (contentType == ContentType.DIALOGUE_TREE) {
             validateDialogueTree(contentNode, errors);
         } else {
-            // Define reference fields for each content type
-            Map<ContentType, List<ReferenceField>> referenceFields = getReferenceFields();
-            List<ReferenceField> fields = referenceFields.getOrDefault(contentType, Collections.emptyList());
-            
-            for (ReferenceField field : fields) {
+            // Reference fields for each content type are defined by ReferenceExtractor
+            for (ReferenceExtractor.ReferenceField field : ReferenceExtractor.referenceFields(contentType)) {
                 validateReference(contentNode, field, errors);
             }
         }
@@ -96,7 +92,7 @@ public class ReferenceValidator {
         }
     }
 
-    private void validateReference(JsonNode node, ReferenceField field, List<String> errors) {
+    private void validateReference(JsonNode node, ReferenceExtractor.ReferenceField field, List<String> errors) {
         JsonNode targetNode = node.at(field.getPath());
         
         if (targetNode.isMissingNode()) {
@@ -141,98 +137,10 @@ public class ReferenceValidator {
         }
     }
 
-    private Map<ContentType, List<ReferenceField>> getReferenceFields() {
-        Map<ContentType, List<ReferenceField>> fields = new HashMap<>();
-        
-        // Recipe references
-        fields.put(ContentType.RECIPE, Arrays.asList(
-            new ReferenceField("/skillRequired", "skillId", ContentType.SKILL_DEFINITION),
-            new ReferenceField("/inputs", "itemTemplateId", ContentType.ITEM_TEMPLATE, "itemTemplateId"),
-            new ReferenceField("/outputs", "itemTemplateId", ContentType.ITEM_TEMPLATE, "itemTemplateId")
-        ));
-        
-        // Skill references
-        fields.put(ContentType.SKILL_DEFINITION, Arrays.asList(
-            new ReferenceField("/abilityUnlocks", "abilityId", ContentType.ABILITY_DEFINITION, "abilityId")
-        ));
-        
-        // Region references
-        fields.put(ContentType.REGION_DEFINITION, Arrays.asList(
-            new ReferenceField("/zones", "zoneId", ContentType.ZONE_TEMPLATE, "zoneId")
-        ));
-        
-        // Zone references
-        fields.put(ContentType.ZONE_TEMPLATE, Arrays.asList(
-            new ReferenceField("/pointsOfInterest", "poiId", ContentType.POI_TEMPLATE, "poiId")
-        ));
-        
-        // POI references
-        fields.put(ContentType.POI_TEMPLATE, Arrays.asList(
-            new ReferenceField("/lootTable", "itemTemplateId", ContentType.ITEM_TEMPLATE, "itemTemplateId"),
-            new ReferenceField("/encounters", "encounterId", ContentType.ENCOUNTER_TEMPLATE),
-            new ReferenceField("/requiredSkill/skillId", "skillId", ContentType.SKILL_DEFINITION)
-        ));
-        
-        // NPC references
-        fields.put(ContentType.NPC_TEMPLATE, Arrays.asList(
-            new ReferenceField("/factionId", "factionId", ContentType.FACTION_DEFINITION),
-            new ReferenceField("/dialogueTreeId", "dialogueTreeId", ContentType.DIALOGUE_TREE),
-            new ReferenceField("/inventory", "itemTemplateId", ContentType.ITEM_TEMPLATE, "itemTemplateId")
-        ));
-        
-        // Encounter references
-        fields.put(ContentType.ENCOUNTER_TEMPLATE, Arrays.asList(
-            new ReferenceField("/participants", "npcTemplateId", ContentType.NPC_TEMPLATE, "npcTemplateId"),
-            new ReferenceField("/rewards/items", "itemTemplateId", ContentType.ITEM_TEMPLATE, "itemTemplateId")
-        ));
-        
-        // Dialogue tree references - handled specially due to nested structure
-        fields.put(ContentType.DIALOGUE_TREE, Collections.emptyList());
-        
-        return fields;
-    }
-
     /**
      * Interface for resolving whether a reference exists.
      */
     public interface ReferenceResolver {
         boolean exists(ContentType type, String id);
     }
-
-    /**
-     * Represents a reference field to validate.
-     */
-    private static class ReferenceField {
-        private final String path;
-        private final String referenceFieldName;
-        private final ContentType targetType;
-        private final String idFieldName;
-
-        ReferenceField(String path, String referenceFieldName, ContentType targetType) {
-            this(path, referenceFieldName, targetType, referenceFieldName);
-        }
-
-        ReferenceField(String path, String referenceFieldName, ContentType targetType, String idFieldName) {
-            this.path = path;
-            this.referenceFieldName = referenceFieldName;
-            this.targetType = targetType;
-            this.idFieldName = idFieldName;
-        }
-
-        String getPath() {
-            return path;
-        }
-
-        String getReferenceFieldName() {
-            return referenceFieldName;
-        }
-
-        ContentType getTargetType() {
-            return targetType;
-        }
-
-        String getIdFieldName() {
-            return idFieldName;
-        }
-    }
 }
@@ -15,6 +15,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Validates content against JSON Schema definitions.
@@ -25,6 +27,8 @@ public class SchemaValidator {
     
     private final ObjectMapper objectMapper;
     private final JsonSchemaFactory schemaFactory;
+    // Loaded schemas are immutable and thread-safe, so they are shared across validations
+    private final Map<ContentType, JsonSchema> schemas = new ConcurrentHashMap<>();
     
     public SchemaValidator(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -74,6 +78,16 @@ public class SchemaValidator {
     }
 
     private JsonSchema loadSchema(ContentType contentType) throws IOException, ProcessingException {
+        JsonSchema cached = schemas.get(contentType);
+        if (cached != null) {
+            return cached;
+        }
+        JsonSchema schema = readSchema(contentType);
+        schemas.putIfAbsent(contentType, schema);
+        return schema;
+    }
+
+    private JsonSchema readSchema(ContentType contentType) throws IOException, ProcessingException {
         // Try to load from classpath first (for packaged apps)
         String schemaPath = SCHEMA_BASE_PATH + contentType.getSchemaPath();
         InputStream schemaStream = getClass().getResourceAsStream(schemaPath);
@@ -0,0 +1,377 @@
+package com.andara.content.world;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Contraction hierarchy over a {@link WorldGraph}, for route queries that only search a
+ * small "upward" part of the graph from both ends.
+ * <p>
+ * Nodes are contracted in order of edge difference (shortcuts added minus edges removed,
+ * plus contracted neighbours), with lazy priority updates. Contracting a node adds a
+ * shortcut between two of its neighbours unless a bounded witness search finds a path
+ * at most as cheap around it. Queries run a bidirectional Dijkstra on edges towards higher
+ * ranked nodes and unpack shortcuts into the original zones. Immutable once built.
+ */
+public final class ContractionHierarchy {
+
+    /** Nodes a witness search may settle before it gives up and a shortcut is added. */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final WorldGraph graph;
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final double[] upWeights;
+    private final int[] downOffsets;
+    private final int[] downTargets;
+    private final double[] downWeights;
+    /** Contracted node a shortcut u→w was added for, keyed by {@code u * size + w}. */
+    private final Map<Long, Integer> shortcutMiddle;
+    private final int shortcutCount;
+
+    private ContractionHierarchy(
+        WorldGraph graph,
+        int[] upOffsets,
+        int[] upTargets,
+        double[] upWeights,
+        int[] downOffsets,
+        int[] downTargets,
+        double[] downWeights,
+        Map<Long, Integer> shortcutMiddle
+    ) {
+        this.graph = graph;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.downOffsets = downOffsets;
+        this.downTargets = downTargets;
+        this.downWeights = downWeights;
+        this.shortcutMiddle = shortcutMiddle;
+        this.shortcutCount = shortcutMiddle.size();
+    }
+
+    public static ContractionHierarchy build(WorldGraph graph) {
+        return new Builder(graph).build();
+    }
+
+    public WorldGraph graph() {
+        return graph;
+    }
+
+    public int shortcutCount() {
+        return shortcutCount;
+    }
+
+    /**
+     * Find the cheapest route.
+     *
+     * @return The route, or empty if either zone is unknown or the destination is unreachable
+     */
+    public Optional<WorldGraph.Route> route(String fromZoneId, String toZoneId) {
+        int source = graph.indexOf(fromZoneId);
+        int target = graph.indexOf(toZoneId);
+        if (source < 0 || target < 0) {
+            return Optional.empty();
+        }
+        if (source == target) {
+            return Optional.of(new WorldGraph.Route(List.of(fromZoneId), 0));
+        }
+
+        int size = graph.size();
+        double[] forwardCost = new double[size];
+        double[] backwardCost = new double[size];
+        int[] forwardParent = new int[size];
+        int[] backwardParent = new int[size];
+        Arrays.fill(forwardCost, Double.POSITIVE_INFINITY);
+        Arrays.fill(backwardCost, Double.POSITIVE_INFINITY);
+        Arrays.fill(forwardParent, -1);
+        Arrays.fill(backwardParent, -1);
+        IndexedMinHeap forward = new IndexedMinHeap(size);
+        IndexedMinHeap backward = new IndexedMinHeap(size);
+        forwardCost[source] = 0;
+        backwardCost[target] = 0;
+        forward.push(source, 0);
+        backward.push(target, 0);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        while (!forward.isEmpty() || !backward.isEmpty()) {
+            double forwardMin = forward.isEmpty() ? Double.POSITIVE_INFINITY : forward.peekKey();
+            double backwardMin = backward.isEmpty() ? Double.POSITIVE_INFINITY : backward.peekKey();
+            if (Math.min(forwardMin, backwardMin) >= best) {
+                break;
+            }
+
+            boolean forwardStep = forwardMin <= backwardMin;
+            IndexedMinHeap queue = forwardStep ? forward : backward;
+            double[] cost = forwardStep ? forwardCost : backwardCost;
+            double[] otherCost = forwardStep ? backwardCost : forwardCost;
+            int[] parent = forwardStep ? forwardParent : backwardParent;
+            int[] offsets = forwardStep ? upOffsets : downOffsets;
+            int[] targets = forwardStep ? upTargets : downTargets;
+            double[] weights = forwardStep ? upWeights : downWeights;
+
+            int node = queue.pop();
+            if (cost[node] + otherCost[node] < best) {
+                best = cost[node] + otherCost[node];
+                meeting = node;
+            }
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                int next = targets[e];
+                double candidate = cost[node] + weights[e];
+                if (candidate < cost[next]) {
+                    cost[next] = candidate;
+                    parent[next] = node;
+                    queue.pushOrDecrease(next, candidate);
+                }
+            }
+        }
+        if (meeting < 0) {
+            return Optional.empty();
+        }
+
+        // Hierarchy path: source up to the meeting node, then down to the target
+        List<Integer> hierarchyPath = new ArrayList<>();
+        for (int node = meeting; node != -1; node = forwardParent[node]) {
+            hierarchyPath.add(0, node);
+        }
+        for (int node = backwardParent[meeting]; node != -1; node = backwardParent[node]) {
+            hierarchyPath.add(node);
+        }
+
+        List<String> zoneIds = new ArrayList<>();
+        zoneIds.add(graph.zoneId(source));
+        for (int i = 1; i < hierarchyPath.size(); i++) {
+            unpack(hierarchyPath.get(i - 1), hierarchyPath.get(i), zoneIds);
+        }
+        return Optional.of(new WorldGraph.Route(zoneIds, best));
+    }
+
+    /**
+     * Append the original zones of edge from→to, excluding from.
+     */
+    private void unpack(int from, int to, List<String> zoneIds) {
+        Integer middle = shortcutMiddle.get((long) from * graph.size() + to);
+        if (middle == null) {
+            zoneIds.add(graph.zoneId(to));
+        } else {
+            unpack(from, middle, zoneIds);
+            unpack(middle, to, zoneIds);
+        }
+    }
+
+    /**
+     * Contraction state; discarded once the hierarchy is built.
+     */
+    private static final class Builder {
+        private final WorldGraph graph;
+        private final int size;
+        private final List<Map<Integer, Double>> outgoing;
+        private final List<Map<Integer, Double>> incoming;
+        private final Map<Long, Integer> shortcutMiddle = new HashMap<>();
+        private final boolean[] contracted;
+        private final int[] contractedNeighbours;
+
+        // Witness search scratch, reset through the touched list
+        private final double[] witnessCost;
+        private final int[] touched;
+        private final IndexedMinHeap witnessQueue;
+
+        Builder(WorldGraph graph) {
+            this.graph = graph;
+            this.size = graph.size();
+            this.outgoing = new ArrayList<>(size);
+            this.incoming = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                outgoing.add(new HashMap<>());
+                incoming.add(new HashMap<>());
+            }
+            for (int node = 0; node < size; node++) {
+                for (int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++) {
+                    setEdge(node, graph.target(e), graph.weight(e), -1);
+                }
+            }
+            this.contracted = new boolean[size];
+            this.contractedNeighbours = new int[size];
+            this.witnessCost = new double[size];
+            this.touched = new int[size];
+            this.witnessQueue = new IndexedMinHeap(size);
+            Arrays.fill(witnessCost, Double.POSITIVE_INFINITY);
+        }
+
+        ContractionHierarchy build() {
+            int[] rank = new int[size];
+            IndexedMinHeap queue = new IndexedMinHeap(size);
+            for (int node = 0; node < size; node++) {
+                queue.push(node, priority(node));
+            }
+
+            int order = 0;
+            while (!queue.isEmpty()) {
+                int node = queue.pop();
+                // Lazy update: contract only if still the cheapest after recomputing
+                double priority = priority(node);
+                if (!queue.isEmpty() && priority > queue.peekKey()) {
+                    queue.push(node, priority);
+                    continue;
+                }
+
+                for (long[] shortcut : shortcuts(node)) {
+                    setEdge((int) shortcut[0], (int) shortcut[1], Double.longBitsToDouble(shortcut[2]), node);
+                }
+                contracted[node] = true;
+                rank[node] = order++;
+                for (int neighbour : outgoing.get(node).keySet()) {
+                    contractedNeighbours[neighbour]++;
+                }
+                for (int neighbour : incoming.get(node).keySet()) {
+                    contractedNeighbours[neighbour]++;
+                }
+            }
+
+            // Split every edge, original or shortcut, by the direction of rank
+            int[] upOffsets = new int[size + 1];
+            int[] downOffsets = new int[size + 1];
+            for (int from = 0; from < size; from++) {
+                for (int to : outgoing.get(from).keySet()) {
+                    if (rank[to] > rank[from]) {
+                        upOffsets[from + 1]++;
+                    } else {
+                        downOffsets[to + 1]++;
+                    }
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                upOffsets[i + 1] += upOffsets[i];
+                downOffsets[i + 1] += downOffsets[i];
+            }
+            int[] upTargets = new int[upOffsets[size]];
+            double[] upWeights = new double[upOffsets[size]];
+            int[] downTargets = new int[downOffsets[size]];
+            double[] downWeights = new double[downOffsets[size]];
+            int[] upFill = Arrays.copyOf(upOffsets, size);
+            int[] downFill = Arrays.copyOf(downOffsets, size);
+            for (int from = 0; from < size; from++) {
+                for (Map.Entry<Integer, Double> edge : outgoing.get(from).entrySet()) {
+                    int to = edge.getKey();
+                    if (rank[to] > rank[from]) {
+                        upTargets[upFill[from]] = to;
+                        upWeights[upFill[from]++] = edge.getValue();
+                    } else {
+                        // Backward search walks edges against their direction, still upwards in rank
+                        downTargets[downFill[to]] = from;
+                        downWeights[downFill[to]++] = edge.getValue();
+                    }
+                }
+            }
+
+            return new ContractionHierarchy(
+                graph, upOffsets, upTargets, upWeights, downOffsets, downTargets, downWeights, Map.copyOf(shortcutMiddle)
+            );
+        }
+
+        private double priority(int node) {
+            int removed = 0;
+            for (int neighbour : outgoing.get(node).keySet()) {
+                removed += contracted[neighbour] ? 0 : 1;
+            }
+            for (int neighbour : incoming.get(node).keySet()) {
+                removed += contracted[neighbour] ? 0 : 1;
+            }
+            return shortcuts(node).size() - removed + contractedNeighbours[node];
+        }
+
+        /**
+         * Shortcuts needed to contract a node, as {from, to, weight bits}.
+         */
+        private List<long[]> shortcuts(int node) {
+            List<long[]> shortcuts = new ArrayList<>();
+            double maxOut = 0;
+            for (Map.Entry<Integer, Double> out : outgoing.get(node).entrySet()) {
+                if (!contracted[out.getKey()]) {
+                    maxOut = Math.max(maxOut, out.getValue());
+                }
+            }
+
+            for (Map.Entry<Integer, Double> in : incoming.get(node).entrySet()) {
+                int from = in.getKey();
+                if (contracted[from]) {
+                    continue;
+                }
+                int touchedCount = witnessSearch(from, node, in.getValue() + maxOut);
+                for (Map.Entry<Integer, Double> out : outgoing.get(node).entrySet()) {
+                    int to = out.getKey();
+                    if (contracted[to] || to == from) {
+                        continue;
+                    }
+                    double via = in.getValue() + out.getValue();
+                    if (witnessCost[to] > via) {
+                        shortcuts.add(new long[]{from, to, Double.doubleToLongBits(via)});
+                    }
+                }
+                for (int i = 0; i < touchedCount; i++) {
+                    witnessCost[touched[i]] = Double.POSITIVE_INFINITY;
+                }
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Dijkstra from a node over uncontracted nodes, avoiding one node, up to a cost bound.
+         *
+         * @return Number of entries in {@link #touched} to reset afterwards
+         */
+        private int witnessSearch(int source, int avoid, double maxCost) {
+            int touchedCount = 0;
+            witnessQueue.clear();
+            witnessCost[source] = 0;
+            touched[touchedCount++] = source;
+            witnessQueue.push(source, 0);
+            int settled = 0;
+            while (!witnessQueue.isEmpty() && settled < WITNESS_SETTLE_LIMIT) {
+                if (witnessQueue.peekKey() > maxCost) {
+                    break;
+                }
+                int node = witnessQueue.pop();
+                settled++;
+                for (Map.Entry<Integer, Double> edge : outgoing.get(node).entrySet()) {
+                    int next = edge.getKey();
+                    if (next == avoid || contracted[next]) {
+                        continue;
+                    }
+                    double candidate = witnessCost[node] + edge.getValue();
+                    if (candidate < witnessCost[next]) {
+                        if (witnessCost[next] == Double.POSITIVE_INFINITY) {
+                            touched[touchedCount++] = next;
+                        }
+                        witnessCost[next] = candidate;
+                        witnessQueue.pushOrDecrease(next, candidate);
+                    }
+                }
+            }
+            return touchedCount;
+        }
+
+        /**
+         * Add or lower an edge; middle is the contracted node of a shortcut, or -1.
+         */
+        private void setEdge(int from, int to, double weight, int middle) {
+            Double existing = outgoing.get(from).get(to);
+            if (existing != null && existing <= weight) {
+                return;
+            }
+            outgoing.get(from).put(to, weight);
+            incoming.get(to).put(from, weight);
+            long key = (long) from * size + to;
+            if (middle >= 0) {
+                shortcutMiddle.put(key, middle);
+            } else {
+                shortcutMiddle.remove(key);
+            }
+        }
+    }
+}
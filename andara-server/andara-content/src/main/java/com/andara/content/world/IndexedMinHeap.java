@@ -0,0 +1,106 @@
+package com.andara.content.world;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over node indices 0..capacity-1 with decrease-key, backed by primitive arrays.
+ */
+final class IndexedMinHeap {
+
+    private final int[] heap;
+    private final int[] position;
+    private final double[] keys;
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    double peekKey() {
+        return keys[heap[0]];
+    }
+
+    void push(int node, double key) {
+        keys[node] = key;
+        heap[size] = node;
+        position[node] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Insert a node, or lower its key if it is queued with a higher one.
+     */
+    void pushOrDecrease(int node, double key) {
+        if (position[node] < 0) {
+            push(node, key);
+        } else if (key < keys[node]) {
+            keys[node] = key;
+            siftUp(position[node]);
+        }
+    }
+
+    int pop() {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Remove everything, in O(size) rather than O(capacity).
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int index) {
+        int node = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[heap[parent]] <= keys[node]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            position[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = node;
+        position[node] = index;
+    }
+
+    private void siftDown(int index) {
+        int node = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            if (keys[heap[child]] >= keys[node]) {
+                break;
+            }
+            heap[index] = heap[child];
+            position[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = node;
+        position[node] = index;
+    }
+}
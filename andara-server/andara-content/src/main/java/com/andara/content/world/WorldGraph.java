@@ -0,0 +1,247 @@
+package com.andara.content.world;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * World topology compiled from active REGION_DEFINITION and ZONE_TEMPLATE content.
+ * Zones placed in a region are nodes; each placement's {@code connections} become edges in
+ * both directions. Edges are stored in compressed sparse row form: the edges leaving node
+ * {@code i} are {@code offsets[i]} until {@code offsets[i + 1]} in {@code targets}/{@code weights}.
+ * <p>
+ * The cost of an edge is the distance between the two placements (1 if either has no
+ * position) times the cost of entering the target zone: {@code 1 + hazard severity / 100}
+ * summed over its hazards {@code + region difficulty / 100}. Since that multiplier is at
+ * least 1, straight-line distance is an admissible A* heuristic when every zone is placed.
+ * Immutable and safe to share.
+ */
+public final class WorldGraph {
+
+    private final String[] zoneIds;
+    private final Map<String, Integer> indexById;
+    private final double[] x;
+    private final double[] y;
+    private final boolean allPositioned;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    private WorldGraph(
+        String[] zoneIds,
+        Map<String, Integer> indexById,
+        double[] x,
+        double[] y,
+        boolean allPositioned,
+        int[] offsets,
+        int[] targets,
+        double[] weights
+    ) {
+        this.zoneIds = zoneIds;
+        this.indexById = indexById;
+        this.x = x;
+        this.y = y;
+        this.allPositioned = allPositioned;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * A route between two zones.
+     *
+     * @param zoneIds Zones from start to destination, both included
+     * @param cost Sum of the edge costs along the route
+     */
+    public record Route(List<String> zoneIds, double cost) {
+    }
+
+    /**
+     * Compile the graph from region and zone content. A zone placed in several regions keeps
+     * its first placement; connections to zones that are not placed anywhere are ignored.
+     */
+    public static WorldGraph compile(Collection<JsonNode> regions, Collection<JsonNode> zones) {
+        Map<String, Double> hazardCost = new HashMap<>();
+        for (JsonNode zone : zones) {
+            double cost = 0;
+            for (JsonNode hazard : zone.path("hazards")) {
+                cost += hazard.path("severity").asDouble(0) / 100.0;
+            }
+            hazardCost.put(zone.path("zoneId").asText(), cost);
+        }
+
+        Map<String, JsonNode> placements = new LinkedHashMap<>();
+        Map<String, Double> difficulty = new HashMap<>();
+        for (JsonNode region : regions) {
+            double regionCost = region.path("difficulty").asDouble(0) / 100.0;
+            for (JsonNode placement : region.path("zones")) {
+                String zoneId = placement.path("zoneId").asText("");
+                if (!zoneId.isEmpty() && placements.putIfAbsent(zoneId, placement) == null) {
+                    difficulty.put(zoneId, regionCost);
+                }
+            }
+        }
+
+        int size = placements.size();
+        String[] zoneIds = placements.keySet().toArray(String[]::new);
+        Map<String, Integer> indexById = new HashMap<>(size * 2);
+        double[] x = new double[size];
+        double[] y = new double[size];
+        boolean[] positioned = new boolean[size];
+        double[] entryCost = new double[size];
+        boolean allPositioned = true;
+        for (int i = 0; i < size; i++) {
+            indexById.put(zoneIds[i], i);
+            JsonNode position = placements.get(zoneIds[i]).path("position");
+            positioned[i] = position.path("x").isNumber() && position.path("y").isNumber();
+            allPositioned &= positioned[i];
+            x[i] = position.path("x").asDouble();
+            y[i] = position.path("y").asDouble();
+            entryCost[i] = 1.0 + hazardCost.getOrDefault(zoneIds[i], 0.0) + difficulty.get(zoneIds[i]);
+        }
+
+        // Undirected connections, deduplicated, then laid out per source node
+        List<long[]> pairs = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            for (JsonNode connection : placements.get(zoneIds[i]).path("connections")) {
+                Integer j = indexById.get(connection.asText());
+                if (j != null && j != i) {
+                    pairs.add(new long[]{i, j});
+                    pairs.add(new long[]{j, i});
+                }
+            }
+        }
+        long[] keys = pairs.stream().mapToLong(pair -> pair[0] * size + pair[1]).sorted().distinct().toArray();
+
+        int[] offsets = new int[size + 1];
+        int[] targets = new int[keys.length];
+        double[] weights = new double[keys.length];
+        for (int e = 0; e < keys.length; e++) {
+            int from = (int) (keys[e] / size);
+            int to = (int) (keys[e] % size);
+            offsets[from + 1]++;
+            targets[e] = to;
+            double distance = positioned[from] && positioned[to]
+                ? Math.max(1.0, Math.hypot(x[to] - x[from], y[to] - y[from]))
+                : 1.0;
+            weights[e] = distance * entryCost[to];
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        return new WorldGraph(zoneIds, Map.copyOf(indexById), x, y, allPositioned && size > 0, offsets, targets, weights);
+    }
+
+    public int size() {
+        return zoneIds.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Get the index of a zone, or -1 if it is not in the graph.
+     */
+    public int indexOf(String zoneId) {
+        return indexById.getOrDefault(zoneId, -1);
+    }
+
+    public String zoneId(int node) {
+        return zoneIds[node];
+    }
+
+    int edgeStart(int node) {
+        return offsets[node];
+    }
+
+    int edgeEnd(int node) {
+        return offsets[node + 1];
+    }
+
+    int target(int edge) {
+        return targets[edge];
+    }
+
+    double weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Get the neighbours of a zone.
+     */
+    public List<String> neighbours(String zoneId) {
+        int node = indexOf(zoneId);
+        if (node < 0) {
+            return List.of();
+        }
+        List<String> neighbours = new ArrayList<>(offsets[node + 1] - offsets[node]);
+        for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+            neighbours.add(zoneIds[targets[e]]);
+        }
+        return neighbours;
+    }
+
+    /**
+     * Find the cheapest route with A*.
+     *
+     * @return The route, or empty if either zone is unknown or the destination is unreachable
+     */
+    public Optional<Route> route(String fromZoneId, String toZoneId) {
+        int source = indexOf(fromZoneId);
+        int target = indexOf(toZoneId);
+        if (source < 0 || target < 0) {
+            return Optional.empty();
+        }
+
+        int size = size();
+        double[] cost = new double[size];
+        int[] previous = new int[size];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(previous, -1);
+        boolean[] settled = new boolean[size];
+        IndexedMinHeap open = new IndexedMinHeap(size);
+        cost[source] = 0;
+        open.push(source, heuristic(source, target));
+
+        while (!open.isEmpty()) {
+            int node = open.pop();
+            if (node == target) {
+                return Optional.of(new Route(path(previous, target), cost[target]));
+            }
+            settled[node] = true;
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                int next = targets[e];
+                double candidate = cost[node] + weights[e];
+                if (!settled[next] && candidate < cost[next]) {
+                    cost[next] = candidate;
+                    previous[next] = node;
+                    open.pushOrDecrease(next, candidate + heuristic(next, target));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private double heuristic(int node, int target) {
+        return allPositioned ? Math.hypot(x[target] - x[node], y[target] - y[node]) : 0;
+    }
+
+    private List<String> path(int[] previous, int target) {
+        List<String> path = new ArrayList<>();
+        for (int node = target; node != -1; node = previous[node]) {
+            path.add(zoneIds[node]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,120 @@
+package com.andara.content.behavior;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BehaviorTreeTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compile_withoutBehaviorTree_shouldUsePresetForAggression() {
+        BehaviorTree aggressive = compile("npc_raider", Map.of("aggressive", true, "fleeThreshold", 25));
+        BehaviorTree passive = compile("npc_trader", Map.of("aggressive", false));
+
+        assertEquals(BehaviorTree.PRESETS.get("aggressive"), aggressive.getSource());
+        assertEquals(BehaviorTree.PRESETS.get("passive"), passive.getSource());
+        assertEquals(BehaviorTree.PRESETS.get("passive"), compile("npc_plain", Map.of()).getSource());
+    }
+
+    @Test
+    void tick_withAggressivePreset_shouldFleeAttackApproachOrWander() {
+        BehaviorTree tree = compile("npc_raider", Map.of("aggressive", true, "fleeThreshold", 25));
+        Blackboard blackboard = new Blackboard(1);
+        tree.initialize(blackboard, 0);
+
+        assertEquals(BehaviorAction.WANDER, tree.tick(blackboard, 0));
+        blackboard.set(0, BehaviorSlot.ENEMY_VISIBLE, true);
+        assertEquals(BehaviorAction.APPROACH, tree.tick(blackboard, 0));
+        blackboard.set(0, BehaviorSlot.IN_ATTACK_RANGE, true);
+        assertEquals(BehaviorAction.ATTACK, tree.tick(blackboard, 0));
+        // Health is compared against the template's flee threshold slot
+        blackboard.set(0, BehaviorSlot.HEALTH, 20);
+        assertEquals(BehaviorAction.FLEE, tree.tick(blackboard, 0));
+    }
+
+    @Test
+    void tick_shouldCountIdleTicks() {
+        BehaviorTree tree = compile("npc_trader", Map.of("behaviorTree", "passive"));
+        Blackboard blackboard = new Blackboard(1);
+        tree.initialize(blackboard, 0);
+
+        for (int i = 0; i < 11; i++) {
+            assertEquals(BehaviorAction.IDLE, tree.tick(blackboard, 0));
+        }
+        assertEquals(11, blackboard.get(0, BehaviorSlot.IDLE_TICKS));
+        assertEquals(BehaviorAction.WANDER, tree.tick(blackboard, 0));
+        assertEquals(0, blackboard.get(0, BehaviorSlot.IDLE_TICKS));
+    }
+
+    @Test
+    void compile_withExpression_shouldBuildFlatTree() {
+        BehaviorTree tree = compile("npc_guard", Map.of(
+            "behaviorTree", "selector(sequence(not(is(threatened)), patrol), sequence(above(enemyDistance, 3), approach))"
+        ));
+        Blackboard blackboard = new Blackboard(1);
+        tree.initialize(blackboard, 0);
+
+        assertEquals(8, tree.nodeCount());
+        assertEquals(BehaviorAction.PATROL, tree.tick(blackboard, 0));
+        blackboard.set(0, BehaviorSlot.THREATENED, true);
+        blackboard.set(0, BehaviorSlot.ENEMY_DISTANCE, 5);
+        assertEquals(BehaviorAction.APPROACH, tree.tick(blackboard, 0));
+        // No branch succeeds: the decision falls back to idle
+        blackboard.set(0, BehaviorSlot.ENEMY_DISTANCE, 2);
+        assertEquals(BehaviorAction.IDLE, tree.tick(blackboard, 0));
+    }
+
+    @Test
+    void compile_withInvalidExpression_shouldThrowException() {
+        for (String invalid : List.of(
+            "selector(flee",
+            "sequence(is(mood), flee)",
+            "below(health, )",
+            "dance",
+            "flee) wander"
+        )) {
+            assertThrows(IllegalArgumentException.class,
+                () -> compile("npc_broken", Map.of("behaviorTree", invalid)), invalid);
+        }
+    }
+
+    @Test
+    void population_shouldGroupRowsByTreeAndTickInBatches() {
+        BehaviorTree cowardly = compile("npc_rat", Map.of("behaviorTree", "cowardly"));
+        BehaviorTree aggressive = compile("npc_raider", Map.of("aggressive", true));
+        List<BehaviorTree> trees = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            trees.add(i % 2 == 0 ? cowardly : aggressive);
+        }
+
+        BehaviorPopulation population = BehaviorPopulation.of(trees);
+        assertEquals(2, population.groups().size());
+        assertEquals(new BehaviorPopulation.Group(cowardly, 0, 5), population.groups().get(0));
+        assertEquals(new BehaviorPopulation.Group(aggressive, 5, 10), population.groups().get(1));
+        assertEquals(2, population.row(4));
+        assertEquals(6, population.row(3));
+
+        for (int instance = 0; instance < 10; instance++) {
+            population.blackboard().set(population.row(instance), BehaviorSlot.ENEMY_VISIBLE, true);
+        }
+        for (BehaviorPopulation.Group group : population.groups()) {
+            group.tree().tick(population.blackboard(), group.from(), group.to());
+        }
+        for (int instance = 0; instance < 10; instance++) {
+            assertEquals(instance % 2 == 0 ? BehaviorAction.FLEE : BehaviorAction.APPROACH, population.decision(instance));
+        }
+    }
+
+    private BehaviorTree compile(String npcId, Map<String, Object> behavior) {
+        JsonNode template = objectMapper.valueToTree(Map.of("npcId", npcId, "behavior", behavior));
+        return BehaviorTree.compile(template);
+    }
+}
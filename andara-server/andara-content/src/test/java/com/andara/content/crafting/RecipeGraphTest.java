@@ -0,0 +1,153 @@
+package com.andara.content.crafting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipeGraphTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final RecipeGraph graph = RecipeGraph.compile(List.of(
+        recipe("r_ingot", "smithing", 10, 10, Map.of("ore", 2), Map.of("ingot", 1)),
+        recipe("r_blade", "smithing", 20, 30, Map.of("ingot", 2, "leather", 1), Map.of("blade", 1)),
+        recipe("r_blade_scrap", "salvage", 50, 5, Map.of("scrap", 5), Map.of("blade", 1)),
+        recipe("r_leather", "survival", 0, 4, Map.of("hide", 1), Map.of("leather", 2)),
+        recipe("r_recycle", "salvage", 10, 1, Map.of("blade", 1), Map.of("scrap", 3))
+    ));
+
+    @Test
+    void compile_shouldIndexRecipesAndFindCycles() {
+        assertEquals(5, graph.recipeCount());
+        assertEquals(6, graph.itemCount());
+        assertEquals(List.of("r_blade", "r_blade_scrap"), graph.recipesProducing("blade"));
+        assertEquals(List.of(), graph.recipesProducing("ore"));
+
+        assertEquals(1, graph.cycles().size());
+        assertEquals(2, graph.cycles().get(0).size());
+        assertTrue(graph.cycles().get(0).containsAll(List.of("blade", "scrap")));
+        assertTrue(graph.isOnCycle("scrap"));
+        assertFalse(graph.isOnCycle("ingot"));
+    }
+
+    @Test
+    void plan_shouldCraftIntermediatesBeforeTheRecipesUsingThem() {
+        RecipeGraph.Plan plan = graph.plan("blade", 2, Map.of("ore", 8, "hide", 1), Map.of("smithing", 20));
+
+        assertTrue(plan.craftable());
+        assertEquals(List.of(
+            new RecipeGraph.Step("r_ingot", "r_ingot", 4, "workbench", 40),
+            new RecipeGraph.Step("r_leather", "r_leather", 1, "workbench", 4),
+            new RecipeGraph.Step("r_blade", "r_blade", 2, "workbench", 60)
+        ), plan.steps());
+        assertEquals(104, plan.totalCraftingTime());
+        assertEquals(Map.of("ore", 8, "hide", 1), plan.consumed());
+        assertTrue(plan.missing().isEmpty());
+    }
+
+    @Test
+    void plan_shouldPreferTheCheapestUsableRecipe() {
+        Map<String, Integer> inventory = Map.of("ore", 4, "hide", 1, "scrap", 5);
+
+        RecipeGraph.Plan smith = graph.plan("blade", 1, inventory, Map.of("smithing", 20));
+        RecipeGraph.Plan salvage = graph.plan("blade", 1, inventory, Map.of("smithing", 20, "salvage", 50));
+
+        assertEquals(3, smith.steps().size());
+        assertEquals(List.of("r_blade_scrap"), salvage.steps().stream().map(RecipeGraph.Step::recipeId).toList());
+        assertEquals(Map.of("scrap", 5), salvage.consumed());
+    }
+
+    @Test
+    void plan_shouldBacktrackWithoutCraftingThroughACycle() {
+        // Salvaging looks cheapest, but the missing scrap could only come from recycling a blade
+        RecipeGraph.Plan plan = graph.plan("blade", 1, Map.of("ore", 4, "hide", 1, "scrap", 4),
+            Map.of("smithing", 20, "salvage", 50));
+
+        assertTrue(plan.craftable());
+        assertEquals("r_blade", plan.steps().get(plan.steps().size() - 1).recipeId());
+        assertEquals(Map.of("ore", 4, "hide", 1), plan.consumed());
+    }
+
+    @Test
+    void plan_whenNotCraftable_shouldReportMissingRawMaterials() {
+        RecipeGraph.Plan plan = graph.plan("blade", 1, Map.of("ore", 1), Map.of("smithing", 20));
+
+        assertFalse(plan.craftable());
+        assertTrue(plan.steps().isEmpty());
+        assertEquals(Map.of("ore", 3, "hide", 1), plan.missing());
+
+        // Without the skill there is no recipe at all
+        assertEquals(Map.of("blade", 1), graph.plan("blade", 1, Map.of("ore", 4), Map.of()).missing());
+    }
+
+    @Test
+    void plan_shouldUseStockFirstAndRejectInvalidQuantities() {
+        RecipeGraph.Plan fromStock = graph.plan("ingot", 2, Map.of("ingot", 1, "ore", 2), Map.of("smithing", 10));
+        assertEquals(1, fromStock.steps().size());
+        assertEquals(Map.of("ingot", 1, "ore", 2), fromStock.consumed());
+
+        assertTrue(graph.plan("rope", 1, Map.of("rope", 1), Map.of()).craftable());
+        assertEquals(Map.of("rope", 2), graph.plan("rope", 2, Map.of(), Map.of()).missing());
+        assertThrows(IllegalArgumentException.class, () -> graph.plan("blade", 0, Map.of(), Map.of()));
+    }
+
+    @Test
+    void plan_shouldRejectQuantitiesThatOverflow() {
+        // Two ingots per blade: the ingot need no longer fits in an int
+        assertThrows(IllegalArgumentException.class,
+            () -> graph.plan("blade", Integer.MAX_VALUE, Map.of(), Map.of("smithing", 20)));
+    }
+
+    @Test
+    void plan_whenSearchBudgetRunsOut_shouldNotClaimNotCraftable() {
+        // Two recipes per level, all failing at the bottom: backtracking tries 2^depth chains
+        List<JsonNode> recipes = new ArrayList<>();
+        for (int level = 0; level < 20; level++) {
+            for (String variant : List.of("a", "b")) {
+                recipes.add(recipe("r_" + level + variant, "smithing", 0, 1,
+                    Map.of("part" + (level + 1), 1), Map.of("part" + level, 1)));
+            }
+        }
+        RecipeGraph deep = RecipeGraph.compile(recipes);
+
+        RecipeGraph.Plan plan = deep.plan("part0", 1, Map.of(), Map.of("smithing", 1));
+
+        assertFalse(plan.craftable());
+        assertTrue(plan.searchBudgetExhausted());
+        assertTrue(plan.missing().isEmpty());
+        assertFalse(graph.plan("blade", 1, Map.of("ore", 1), Map.of("smithing", 20)).searchBudgetExhausted());
+    }
+
+    private JsonNode recipe(
+        String recipeId,
+        String skill,
+        int level,
+        int time,
+        Map<String, Integer> inputs,
+        Map<String, Integer> outputs
+    ) {
+        return objectMapper.valueToTree(Map.of(
+            "recipeId", recipeId,
+            "name", recipeId,
+            "skillRequired", skill,
+            "skillLevel", level,
+            "workstation", "workbench",
+            "craftingTime", time,
+            "inputs", entries(inputs),
+            "outputs", entries(outputs)
+        ));
+    }
+
+    private static List<Map<String, Object>> entries(Map<String, Integer> quantities) {
+        return quantities.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .map(entry -> Map.<String, Object>of("itemTemplateId", entry.getKey(), "quantity", entry.getValue()))
+            .toList();
+    }
+}
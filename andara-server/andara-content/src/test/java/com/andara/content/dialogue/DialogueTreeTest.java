@@ -0,0 +1,69 @@
+package com.andara.content.dialogue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DialogueTreeTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compile_shouldResolveNodesChoicesReachabilityAndCycles() throws Exception {
+        DialogueTree tree = DialogueTree.compile(objectMapper.readTree("""
+            {
+              "dialogueTreeId": "smith",
+              "rootNodeId": "greet",
+              "nodes": [
+                {"nodeId": "orphan", "type": "npc", "text": "Never said"},
+                {"nodeId": "greet", "type": "npc", "text": "Hello", "nextNodeId": "menu"},
+                {"nodeId": "menu", "type": "choice", "choices": [
+                  {"text": "Trade", "nextNodeId": "trade", "requirements": {"skill": {"skillId": "barter", "level": 2}}},
+                  {"text": "Bye", "nextNodeId": "bye"}
+                ]},
+                {"nodeId": "trade", "type": "action", "actions": [{"type": "giveItem"}], "nextNodeId": "menu"},
+                {"nodeId": "bye", "type": "npc", "text": "Farewell"}
+              ]
+            }
+            """));
+
+        int greet = tree.root();
+        assertEquals("greet", tree.nodeId(greet));
+        int menu = tree.next(greet);
+        assertEquals(DialogueTree.NodeType.CHOICE, tree.type(menu));
+        assertEquals(2, tree.choiceCount(menu));
+        assertEquals("Trade", tree.choiceText(menu, 0));
+        assertEquals(2, tree.choiceRequirements(menu, 0).path("skill").path("level").asInt());
+        assertTrue(tree.choiceRequirements(menu, 1).isMissingNode());
+
+        int trade = tree.choiceTarget(menu, 0);
+        assertEquals("giveItem", tree.actions(trade).get(0).path("type").asText());
+        assertEquals(menu, tree.next(trade));
+        int bye = tree.choiceTarget(menu, 1);
+        assertTrue(tree.isTerminal(bye));
+        assertEquals(DialogueTree.END, tree.next(bye));
+
+        assertEquals(List.of("orphan"), tree.unreachableNodeIds());
+        assertTrue(tree.hasCycles());
+        assertTrue(tree.isOnCycle(menu));
+        assertTrue(tree.isOnCycle(trade));
+        assertFalse(tree.isOnCycle(greet));
+        assertFalse(tree.isOnCycle(bye));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.choiceText(menu, 2));
+    }
+
+    @Test
+    void compile_shouldRejectDanglingNextNodeId() throws Exception {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> DialogueTree.compile(
+            objectMapper.readTree("""
+                {"dialogueTreeId": "smith", "nodes": [
+                  {"nodeId": "start", "type": "npc", "nextNodeId": "missing"}
+                ]}
+                """)
+        ));
+        assertTrue(error.getMessage().contains("missing"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.andara.content.diff;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentTreeDiffTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void diff_shouldReportAddedRemovedAndModifiedFiles(@TempDir Path left, @TempDir Path right) throws Exception {
+        write(left, "items/sword.json", "{\"templateId\":\"sword\",\"damage\":5}");
+        write(right, "items/sword.json", "{\"templateId\":\"sword\",\"damage\":7}");
+        write(left, "items/shield.json", "{\"templateId\":\"shield\",\"armor\":3}");
+        write(right, "items/shield.json", "{ \"armor\": 3, \"templateId\": \"shield\" }");
+        write(left, "items/old.json", "{\"templateId\":\"old\"}");
+        write(right, "skills/smithing.json", "{\"skillId\":\"smithing\"}");
+        write(left, "manifest.json", "{\"exportedAt\":\"then\"}");
+        write(right, "manifest.json", "{\"exportedAt\":\"now\"}");
+
+        ContentTreeDiff.Result result = ContentTreeDiff.diff(left, right, objectMapper);
+
+        assertEquals(List.of(
+            new ContentTreeDiff.FileDiff("items/old.json", ContentTreeDiff.ChangeType.REMOVED, null),
+            new ContentTreeDiff.FileDiff("items/sword.json", ContentTreeDiff.ChangeType.MODIFIED,
+                objectMapper.readTree("[{\"op\":\"replace\",\"path\":\"/damage\",\"value\":7}]")),
+            new ContentTreeDiff.FileDiff("skills/smithing.json", ContentTreeDiff.ChangeType.ADDED, null)
+        ), result.changes());
+        // Reformatted shield.json counts as unchanged; manifests are ignored
+        assertEquals(1, result.unchangedCount());
+    }
+
+    private static void write(Path root, String relativePath, String json) throws Exception {
+        Path file = root.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, json);
+    }
+}
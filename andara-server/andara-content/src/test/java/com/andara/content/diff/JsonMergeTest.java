@@ -0,0 +1,138 @@
+package com.andara.content.diff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonMergeTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void merge_shouldCombineEditsToDifferentKeyedElements() throws Exception {
+        JsonNode base = objectMapper.readTree("""
+            {"dialogueTreeId": "smith", "nodes": [
+              {"nodeId": "start", "text": "Hello"},
+              {"nodeId": "trade", "text": "Buying?"},
+              {"nodeId": "bye", "text": "Farewell"}
+            ]}
+            """);
+        JsonNode ours = objectMapper.readTree("""
+            {"dialogueTreeId": "smith", "nodes": [
+              {"nodeId": "start", "text": "Well met"},
+              {"nodeId": "trade", "text": "Buying?"},
+              {"nodeId": "bye", "text": "Farewell"},
+              {"nodeId": "quest", "text": "Got work?"}
+            ]}
+            """);
+        JsonNode theirs = objectMapper.readTree("""
+            {"dialogueTreeId": "smith", "nodes": [
+              {"nodeId": "start", "text": "Hello"},
+              {"nodeId": "trade", "text": "Selling?"}
+            ], "mood": "grumpy"}
+            """);
+
+        JsonMerge.Result result = JsonMerge.merge(base, ours, theirs);
+
+        assertFalse(result.hasConflicts());
+        assertEquals(objectMapper.readTree("""
+            {"dialogueTreeId": "smith", "nodes": [
+              {"nodeId": "start", "text": "Well met"},
+              {"nodeId": "trade", "text": "Selling?"},
+              {"nodeId": "quest", "text": "Got work?"}
+            ], "mood": "grumpy"}
+            """), result.merged());
+    }
+
+    @Test
+    void merge_shouldReportConflictsAndKeepOurs() throws Exception {
+        JsonNode base = objectMapper.readTree("{\"lootTable\":[{\"itemTemplateId\":\"gem\",\"weight\":1}],\"level\":1}");
+        JsonNode ours = objectMapper.readTree("{\"lootTable\":[{\"itemTemplateId\":\"gem\",\"weight\":2}],\"level\":1}");
+        JsonNode theirs = objectMapper.readTree("{\"lootTable\":[{\"itemTemplateId\":\"gem\",\"weight\":5}],\"level\":3}");
+
+        JsonMerge.Result result = JsonMerge.merge(base, ours, theirs);
+
+        assertEquals(1, result.conflicts().size());
+        JsonMerge.Conflict conflict = result.conflicts().get(0);
+        assertEquals("/lootTable/itemTemplateId=gem/weight", conflict.path());
+        assertEquals(2, conflict.ours().asInt());
+        assertEquals(5, conflict.theirs().asInt());
+        assertEquals(
+            objectMapper.readTree("{\"lootTable\":[{\"itemTemplateId\":\"gem\",\"weight\":2}],\"level\":3}"),
+            result.merged()
+        );
+    }
+
+    @Test
+    void merge_shouldKeepMidArrayInsertsInPlace() throws Exception {
+        JsonNode base = objectMapper.readTree("""
+            {"nodes": [{"nodeId": "start"}, {"nodeId": "trade"}, {"nodeId": "bye"}]}
+            """);
+        JsonNode ours = objectMapper.readTree("""
+            {"nodes": [{"nodeId": "start"}, {"nodeId": "rumor"}, {"nodeId": "trade"}, {"nodeId": "bye"}]}
+            """);
+        JsonNode theirs = objectMapper.readTree("""
+            {"nodes": [{"nodeId": "intro"}, {"nodeId": "start"}, {"nodeId": "trade"}, {"nodeId": "haggle"}, {"nodeId": "bye"}]}
+            """);
+
+        JsonMerge.Result result = JsonMerge.merge(base, ours, theirs);
+
+        assertFalse(result.hasConflicts());
+        assertEquals(objectMapper.readTree("""
+            {"nodes": [{"nodeId": "intro"}, {"nodeId": "start"}, {"nodeId": "rumor"}, {"nodeId": "trade"},
+                       {"nodeId": "haggle"}, {"nodeId": "bye"}]}
+            """), result.merged());
+    }
+
+    @Test
+    void merge_whenHashesCollide_shouldStillSeeBothSidesChanged() {
+        // An int and a long with the same text hash alike but are different values
+        ObjectNode base = JsonNodeFactory.instance.objectNode().put("weight", 1);
+        ObjectNode ours = JsonNodeFactory.instance.objectNode().put("weight", 1L);
+        ObjectNode theirs = JsonNodeFactory.instance.objectNode().put("weight", 2);
+
+        JsonMerge.Result result = JsonMerge.merge(base, ours, theirs);
+
+        assertEquals(1, result.conflicts().size());
+        assertEquals("/weight", result.conflicts().get(0).path());
+        assertEquals(ours, result.merged());
+    }
+
+    @Test
+    void mergeTrees_shouldResolveOneSidedChangesAndMergeBothSided(
+        @TempDir Path base, @TempDir Path ours, @TempDir Path theirs, @TempDir Path output
+    ) throws Exception {
+        write(base, "zones/forest.json", "{\"zoneId\":\"forest\",\"danger\":1,\"name\":\"Forest\"}");
+        write(ours, "zones/forest.json", "{\"zoneId\":\"forest\",\"danger\":2,\"name\":\"Forest\"}");
+        write(theirs, "zones/forest.json", "{\"zoneId\":\"forest\",\"danger\":1,\"name\":\"Old Forest\"}");
+        write(base, "zones/cave.json", "{\"zoneId\":\"cave\"}");
+        write(ours, "zones/cave.json", "{\"zoneId\":\"cave\"}");
+        write(theirs, "zones/swamp.json", "{\"zoneId\":\"swamp\"}");
+
+        ContentTreeMerge.Result result = ContentTreeMerge.merge(base, ours, theirs, output, objectMapper);
+
+        assertFalse(result.hasConflicts());
+        assertEquals(2, result.fileCount());
+        assertEquals(1, result.merged().size());
+        assertEquals(
+            objectMapper.readTree("{\"zoneId\":\"forest\",\"danger\":2,\"name\":\"Old Forest\"}"),
+            objectMapper.readTree(output.resolve("zones/forest.json").toFile())
+        );
+        assertTrue(Files.exists(output.resolve("zones/swamp.json")));
+        assertFalse(Files.exists(output.resolve("zones/cave.json")));
+    }
+
+    private static void write(Path root, String relativePath, String json) throws Exception {
+        Path file = root.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, json);
+    }
+}
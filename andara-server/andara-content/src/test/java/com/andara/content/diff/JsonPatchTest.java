@@ -0,0 +1,129 @@
+package com.andara.content.diff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonPatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void diff_shouldProducePatchThatRebuildsTarget() throws Exception {
+        JsonNode source = objectMapper.readTree("""
+            {
+              "dialogueTreeId": "smith_intro",
+              "nodes": [
+                {"nodeId": "start", "text": "Hello", "choices": [{"nextNodeId": "trade"}]},
+                {"nodeId": "trade", "text": "Buying?"},
+                {"nodeId": "bye", "text": "Farewell"}
+              ],
+              "a/b": 1,
+              "obsolete": true
+            }
+            """);
+        JsonNode target = objectMapper.readTree("""
+            {
+              "dialogueTreeId": "smith_intro",
+              "nodes": [
+                {"nodeId": "start", "text": "Well met", "choices": [{"nextNodeId": "trade"}]},
+                {"nodeId": "trade", "text": "Buying?"}
+              ],
+              "a/b": 2,
+              "mood": "grumpy"
+            }
+            """);
+
+        ArrayNode patch = JsonDiff.diff(source, target);
+
+        assertEquals(target, JsonPatch.apply(source, patch));
+        assertEquals(5, patch.size());
+        assertTrue(JsonDiff.diff(target, target).isEmpty());
+        // The input document is left untouched
+        assertEquals(3, source.path("nodes").size());
+    }
+
+    @Test
+    void diff_shouldAlignArraysOnUnchangedElements() throws Exception {
+        JsonNode source = objectMapper.readTree("""
+            {"nodes": [{"nodeId": "a"}, {"nodeId": "b"}, {"nodeId": "c"}, {"nodeId": "d"}]}
+            """);
+        JsonNode target = objectMapper.readTree("""
+            {"nodes": [{"nodeId": "a"}, {"nodeId": "new"}, {"nodeId": "b"}, {"nodeId": "c"}, {"nodeId": "d", "end": true}]}
+            """);
+
+        ArrayNode patch = JsonDiff.diff(source, target);
+
+        assertEquals(target, JsonPatch.apply(source, patch));
+        assertEquals(2, patch.size());
+        assertEquals("/nodes/1", patch.get(0).path("path").asText());
+        assertEquals("/nodes/4/end", patch.get(1).path("path").asText());
+    }
+
+    @Test
+    void diff_whenHashesCollide_shouldStillPatchTheDifference() {
+        // Same text and node type, so the subtree hashes match, but the nodes are not equal
+        ObjectNode source = JsonNodeFactory.instance.objectNode();
+        source.put("weight", 1);
+        source.set("tags", JsonNodeFactory.instance.arrayNode().add(1).add("x"));
+        ObjectNode target = JsonNodeFactory.instance.objectNode();
+        target.put("weight", 1L);
+        target.set("tags", JsonNodeFactory.instance.arrayNode().add(1L).add("x"));
+
+        ArrayNode patch = JsonDiff.diff(source, target);
+
+        assertFalse(patch.isEmpty());
+        assertEquals(target, JsonPatch.apply(source, patch));
+        assertFalse(JsonDiff.sameStructure(source, target));
+    }
+
+    @Test
+    void sameStructure_shouldIgnoreFieldOrder() throws Exception {
+        assertTrue(JsonDiff.sameStructure(
+            objectMapper.readTree("{\"a\":1,\"b\":[1,2]}"),
+            objectMapper.readTree("{\"b\":[1,2],\"a\":1}")
+        ));
+        assertFalse(JsonDiff.sameStructure(
+            objectMapper.readTree("{\"b\":[2,1]}"),
+            objectMapper.readTree("{\"b\":[1,2]}")
+        ));
+    }
+
+    @Test
+    void apply_shouldSupportAllOperations() throws Exception {
+        JsonNode document = objectMapper.readTree("{\"list\":[1,2],\"x\":{\"y\":1}}");
+        JsonNode patch = objectMapper.readTree("""
+            [
+              {"op": "test", "path": "/x/y", "value": 1},
+              {"op": "add", "path": "/list/-", "value": 3},
+              {"op": "add", "path": "/list/0", "value": 0},
+              {"op": "copy", "from": "/x", "path": "/z"},
+              {"op": "move", "from": "/x/y", "path": "/moved"},
+              {"op": "replace", "path": "/list/1", "value": 9},
+              {"op": "remove", "path": "/x"}
+            ]
+            """);
+
+        assertEquals(
+            objectMapper.readTree("{\"list\":[0,9,2,3],\"z\":{\"y\":1},\"moved\":1}"),
+            JsonPatch.apply(document, patch)
+        );
+    }
+
+    @Test
+    void apply_shouldRejectMissingPaths() throws Exception {
+        JsonNode document = objectMapper.readTree("{\"a\":[1]}");
+
+        assertThrows(IllegalArgumentException.class, () -> JsonPatch.apply(
+            document, objectMapper.readTree("[{\"op\":\"remove\",\"path\":\"/b\"}]")));
+        assertThrows(IllegalArgumentException.class, () -> JsonPatch.apply(
+            document, objectMapper.readTree("[{\"op\":\"replace\",\"path\":\"/a/3\",\"value\":0}]")));
+        assertThrows(IllegalArgumentException.class, () -> JsonPatch.apply(
+            document, objectMapper.readTree("[{\"op\":\"test\",\"path\":\"/a/0\",\"value\":2}]")));
+    }
+}
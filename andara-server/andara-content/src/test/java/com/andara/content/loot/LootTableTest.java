@@ -0,0 +1,70 @@
+package com.andara.content.loot;
+
+import com.andara.content.ContentType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LootTableTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void aliasTable_shouldSampleInProportionToWeights() {
+        AliasTable table = AliasTable.of(new double[]{1, 0, 3, 6});
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[4];
+        int samples = 200_000;
+        for (int i = 0; i < samples; i++) {
+            counts[table.sample(random)]++;
+        }
+
+        assertEquals(0, counts[1]);
+        assertEquals(0.1, counts[0] / (double) samples, 0.01);
+        assertEquals(0.3, counts[2] / (double) samples, 0.01);
+        assertEquals(0.6, counts[3] / (double) samples, 0.01);
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new double[]{0, 0}));
+    }
+
+    @Test
+    void roll_shouldReplayExactlyFromTheSameSeed() throws Exception {
+        LootTable table = LootTable.compile(ContentType.POI_TEMPLATE, objectMapper.readTree("""
+            {"poiId": "scrapyard", "lootTable": [
+              {"itemTemplateId": "scrap_metal", "weight": 5, "quantity": {"min": 1, "max": 4}},
+              {"itemTemplateId": "med_kit", "weight": 1},
+              {"itemTemplateId": "never", "weight": 0}
+            ]}
+            """));
+
+        List<LootTable.LootDrop> first = table.roll(new SplittableRandom(7), 20);
+        List<LootTable.LootDrop> replay = table.roll(new SplittableRandom(7), 20);
+
+        assertEquals(20, first.size());
+        assertEquals(first, replay);
+        for (LootTable.LootDrop drop : first) {
+            assertNotEquals("never", drop.itemTemplateId());
+            if (drop.itemTemplateId().equals("scrap_metal")) {
+                assertTrue(drop.quantity() >= 1 && drop.quantity() <= 4);
+            } else {
+                assertEquals(1, drop.quantity());
+            }
+        }
+    }
+
+    @Test
+    void compile_shouldRollEncounterRewardsIndependently() throws Exception {
+        LootTable table = LootTable.compile(ContentType.ENCOUNTER_TEMPLATE, objectMapper.readTree("""
+            {"encounterId": "raiders", "rewards": {"experience": 50, "items": [
+              {"itemTemplateId": "pipe_pistol", "quantity": 1},
+              {"itemTemplateId": "stimpak", "quantity": 2, "probability": 0.0}
+            ]}}
+            """));
+
+        assertEquals(List.of(new LootTable.LootDrop("pipe_pistol", 1)), table.roll(new SplittableRandom(1), 1));
+        assertTrue(LootTable.compile(ContentType.RECIPE, objectMapper.readTree("{}")).isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+package com.andara.content.pack;
+
+import com.andara.content.ContentType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentPackTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void open_shouldRoundTripContentAndResolveReferences(@TempDir Path directory) throws Exception {
+        JsonNode recipe = objectMapper.readTree("""
+            {
+              "recipeId": "iron_sword",
+              "inputs": [{"itemTemplateId": "iron_ingot", "quantity": 3}, {"itemTemplateId": "leather_strip"}],
+              "outputs": [{"itemTemplateId": "iron_sword"}],
+              "skillRequired": "smithing",
+              "craftTime": 2.5,
+              "discoverable": false,
+              "notes": null
+            }
+            """);
+        ContentPackWriter writer = new ContentPackWriter();
+        writer.add(ContentType.ITEM_TEMPLATE, "iron_sword", objectMapper.readTree("{\"itemTemplateId\":\"iron_sword\",\"weight\":40000000000}"));
+        writer.add(ContentType.ITEM_TEMPLATE, "iron_ingot", objectMapper.readTree("{\"itemTemplateId\":\"iron_ingot\",\"name\":\"Ingot ä\"}"));
+        writer.add(ContentType.SKILL_DEFINITION, "smithing", objectMapper.readTree("{\"skillId\":\"smithing\"}"));
+        writer.add(ContentType.RECIPE, "iron_sword", recipe);
+
+        Path file = directory.resolve("content.pack");
+        writer.write(file);
+        ContentPack pack = ContentPack.open(file);
+
+        assertEquals(4, pack.size());
+        assertEquals(2, pack.count(ContentType.ITEM_TEMPLATE));
+        assertEquals(List.of("iron_ingot", "iron_sword"), pack.ids(ContentType.ITEM_TEMPLATE));
+        assertEquals(recipe, pack.get(ContentType.RECIPE, "iron_sword").orElseThrow());
+        assertEquals("Ingot ä", pack.get(ContentType.ITEM_TEMPLATE, "iron_ingot").orElseThrow().get("name").asText());
+        assertEquals(40000000000L, pack.get(ContentType.ITEM_TEMPLATE, "iron_sword").orElseThrow().get("weight").asLong());
+        assertTrue(pack.get(ContentType.RECIPE, "steel_sword").isEmpty());
+        assertTrue(pack.get(ContentType.ZONE_TEMPLATE, "iron_sword").isEmpty());
+
+        // leather_strip is not in the pack, so only three references resolve
+        List<ContentPack.ItemRef> references = pack.references(ContentType.RECIPE, "iron_sword");
+        assertEquals(List.of(
+            new ContentPack.ItemRef(0, ContentType.ITEM_TEMPLATE, "iron_ingot"),
+            new ContentPack.ItemRef(1, ContentType.ITEM_TEMPLATE, "iron_sword"),
+            new ContentPack.ItemRef(pack.indexOf(ContentType.SKILL_DEFINITION, "smithing"), ContentType.SKILL_DEFINITION, "smithing")
+        ), references.stream().sorted((a, b) -> Integer.compare(a.index(), b.index())).toList());
+    }
+
+    @Test
+    void open_shouldRejectFilesThatAreNotPacks(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("content.pack");
+        Files.write(file, new byte[ContentPack.HEADER_SIZE]);
+
+        assertThrows(IOException.class, () -> ContentPack.open(file));
+    }
+}
@@ -0,0 +1,36 @@
+package com.andara.content.validation;
+
+import com.andara.content.ContentType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryReferenceResolverTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void referenceValidator_shouldReportReferencesMissingFromTheLoadedSet() throws Exception {
+        InMemoryReferenceResolver resolver = new InMemoryReferenceResolver();
+        assertTrue(resolver.add(ContentType.ITEM_TEMPLATE, "iron_ingot"));
+        assertFalse(resolver.add(ContentType.ITEM_TEMPLATE, "iron_ingot"));
+        resolver.add(ContentType.SKILL_DEFINITION, "smithing");
+
+        ReferenceValidator validator = new ReferenceValidator(objectMapper, resolver);
+        ValidationResult result = validator.validate(ContentType.RECIPE, objectMapper.readTree("""
+            {
+              "recipeId": "iron_sword",
+              "inputs": [{"itemTemplateId": "iron_ingot"}, {"itemTemplateId": "leather_strip"}],
+              "outputs": [{"itemTemplateId": "iron_sword"}],
+              "skillRequired": "smithing"
+            }
+            """));
+
+        assertFalse(result.isValid());
+        assertEquals(2, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).contains("leather_strip"));
+        assertTrue(result.getErrors().get(1).contains("iron_sword"));
+        assertEquals(1, resolver.size(ContentType.ITEM_TEMPLATE));
+    }
+}
@@ -0,0 +1,57 @@
+package com.andara.content.validation;
+
+import com.andara.content.ContentType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceExtractorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void extract_shouldFindReferencesInObjectsArraysAndScalars() throws Exception {
+        JsonNode poi = objectMapper.readTree("""
+            {
+              "poiId": "old_depot",
+              "lootTable": [
+                {"itemTemplateId": "scrap_metal", "weight": 10},
+                {"itemTemplateId": "med_kit", "weight": 1}
+              ],
+              "encounters": ["raider_ambush", ""],
+              "requiredSkill": {"skillId": "lockpicking", "level": 20}
+            }
+            """);
+
+        List<ReferenceExtractor.Reference> references = ReferenceExtractor.extract(ContentType.POI_TEMPLATE, poi);
+
+        assertEquals(List.of(
+            new ReferenceExtractor.Reference(ContentType.ITEM_TEMPLATE, "scrap_metal", "/lootTable"),
+            new ReferenceExtractor.Reference(ContentType.ITEM_TEMPLATE, "med_kit", "/lootTable"),
+            new ReferenceExtractor.Reference(ContentType.ENCOUNTER_TEMPLATE, "raider_ambush", "/encounters"),
+            new ReferenceExtractor.Reference(ContentType.SKILL_DEFINITION, "lockpicking", "/requiredSkill/skillId")
+        ), references);
+    }
+
+    @Test
+    void extract_shouldIgnoreDialogueNodeLinks() throws Exception {
+        JsonNode dialogue = objectMapper.readTree("""
+            {"dialogueTreeId": "t", "nodes": [{"nodeId": "a", "nextNodeId": "b"}]}
+            """);
+
+        assertTrue(ReferenceExtractor.extract(ContentType.DIALOGUE_TREE, dialogue).isEmpty());
+    }
+
+    @Test
+    void referencedTypes_shouldListTargetTypes() {
+        assertEquals(
+            Set.of(ContentType.SKILL_DEFINITION, ContentType.ITEM_TEMPLATE),
+            ReferenceExtractor.referencedTypes(ContentType.RECIPE)
+        );
+    }
+}
@@ -0,0 +1,100 @@
+package com.andara.content.world;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldGraphTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void route_shouldAvoidHazardousZonesWhenADetourIsCheaper() throws Exception {
+        JsonNode region = objectMapper.readTree("""
+            {"regionId": "wastes", "difficulty": 0, "zones": [
+              {"zoneId": "camp",   "position": {"x": 0,  "y": 0},  "connections": ["crater", "ridge"]},
+              {"zoneId": "crater", "position": {"x": 10, "y": 0},  "connections": ["city"]},
+              {"zoneId": "ridge",  "position": {"x": 10, "y": 5},  "connections": ["city"]},
+              {"zoneId": "city",   "position": {"x": 20, "y": 0}},
+              {"zoneId": "island", "position": {"x": 99, "y": 99}}
+            ]}
+            """);
+        JsonNode crater = objectMapper.readTree("""
+            {"zoneId": "crater", "hazards": [{"type": "radiation", "severity": 80}]}
+            """);
+
+        WorldGraph graph = WorldGraph.compile(List.of(region), List.of(crater));
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+
+        WorldGraph.Route route = graph.route("camp", "city").orElseThrow();
+        assertEquals(List.of("camp", "ridge", "city"), route.zoneIds());
+        assertEquals(2 * Math.hypot(10, 5), route.cost(), 1e-9);
+        assertEquals(route, hierarchy.route("camp", "city").orElseThrow());
+        assertEquals(List.of("city", "ridge", "camp"), hierarchy.route("city", "camp").orElseThrow().zoneIds());
+        assertTrue(graph.route("camp", "island").isEmpty());
+        assertTrue(hierarchy.route("camp", "island").isEmpty());
+        assertTrue(hierarchy.route("camp", "nowhere").isEmpty());
+    }
+
+    @Test
+    void contractionHierarchy_shouldMatchAStarOnARandomWorld() {
+        SplittableRandom random = new SplittableRandom(11);
+        int size = 300;
+        ObjectNode region = objectMapper.createObjectNode().put("regionId", "random").put("difficulty", 20);
+        ArrayNode zones = region.putArray("zones");
+        List<JsonNode> zoneContent = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            ObjectNode placement = zones.addObject().put("zoneId", "z" + i);
+            placement.putObject("position").put("x", random.nextInt(1000)).put("y", random.nextInt(1000));
+            ArrayNode connections = placement.putArray("connections");
+            for (int c = 0; c < 2; c++) {
+                connections.add("z" + random.nextInt(size));
+            }
+            ObjectNode zone = objectMapper.createObjectNode().put("zoneId", "z" + i);
+            zone.putArray("hazards").addObject().put("type", "toxic").put("severity", random.nextInt(100));
+            zoneContent.add(zone);
+        }
+
+        WorldGraph graph = WorldGraph.compile(List.of(region), zoneContent);
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+
+        for (int query = 0; query < 200; query++) {
+            String from = "z" + random.nextInt(size);
+            String to = "z" + random.nextInt(size);
+            Optional<WorldGraph.Route> expected = graph.route(from, to);
+            Optional<WorldGraph.Route> actual = hierarchy.route(from, to);
+            assertEquals(expected.isPresent(), actual.isPresent(), from + " -> " + to);
+            if (expected.isPresent()) {
+                assertEquals(expected.get().cost(), actual.get().cost(), 1e-6, from + " -> " + to);
+                assertEquals(from, actual.get().zoneIds().get(0));
+                assertEquals(to, actual.get().zoneIds().get(actual.get().zoneIds().size() - 1));
+                assertEquals(expected.get().cost(), pathCost(graph, actual.get().zoneIds()), 1e-6);
+            }
+        }
+    }
+
+    private static double pathCost(WorldGraph graph, List<String> zoneIds) {
+        double cost = 0;
+        for (int i = 1; i < zoneIds.size(); i++) {
+            int from = graph.indexOf(zoneIds.get(i - 1));
+            int to = graph.indexOf(zoneIds.get(i));
+            double step = Double.POSITIVE_INFINITY;
+            for (int e = graph.edgeStart(from); e < graph.edgeEnd(from); e++) {
+                if (graph.target(e) == to) {
+                    step = Math.min(step, graph.weight(e));
+                }
+            }
+            cost += step;
+        }
+        return cost;
+    }
+}
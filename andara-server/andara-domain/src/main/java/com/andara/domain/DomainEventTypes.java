@@ -0,0 +1,72 @@
+package com.andara.domain;
+
+import com.andara.domain.combat.events.AttackExecuted;
+import com.andara.domain.combat.events.CombatEnded;
+import com.andara.domain.combat.events.CombatantMoved;
+import com.andara.domain.combat.events.TurnEnded;
+import com.andara.domain.game.events.InstanceCreated;
+import com.andara.domain.party.events.CharacterCreated;
+import com.andara.domain.party.events.PartyCreated;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Event types with a typed payload, so an event store can decode a stored payload straight
+ * into its record and rebuild the typed event instead of going through a generic map.
+ * Event types not listed here are read back as plain payload maps.
+ */
+public final class DomainEventTypes {
+
+    private static final Map<String, Binding<?>> BINDINGS = Map.of(
+        InstanceCreated.EVENT_TYPE, new Binding<>(InstanceCreated.Data.class, InstanceCreated::restore),
+        PartyCreated.EVENT_TYPE, new Binding<>(PartyCreated.Data.class, PartyCreated::restore),
+        CharacterCreated.EVENT_TYPE, new Binding<>(CharacterCreated.Data.class, CharacterCreated::restore),
+        CombatantMoved.EVENT_TYPE, new Binding<>(CombatantMoved.Data.class, CombatantMoved::restore),
+        AttackExecuted.EVENT_TYPE, new Binding<>(AttackExecuted.Data.class, AttackExecuted::restore),
+        TurnEnded.EVENT_TYPE, new Binding<>(TurnEnded.Data.class, TurnEnded::restore),
+        CombatEnded.EVENT_TYPE, new Binding<>(CombatEnded.Data.class, CombatEnded::restore)
+    );
+
+    private DomainEventTypes() {
+    }
+
+    public static Optional<Binding<?>> forEventType(String eventType) {
+        return Optional.ofNullable(BINDINGS.get(eventType));
+    }
+
+    /**
+     * Rebuilds a typed event from its stored envelope fields and decoded payload.
+     */
+    @FunctionalInterface
+    public interface Factory<P extends EventPayload> {
+        DomainEvent create(
+            UUID eventId,
+            Instant timestamp,
+            String aggregateId,
+            long version,
+            P data,
+            Map<String, String> metadata
+        );
+    }
+
+    /**
+     * @param payloadType Record to decode the stored payload into
+     * @param factory     Builds the typed event around the decoded payload
+     */
+    public record Binding<P extends EventPayload>(Class<P> payloadType, Factory<P> factory) {
+
+        public DomainEvent restore(
+            UUID eventId,
+            Instant timestamp,
+            String aggregateId,
+            long version,
+            Object data,
+            Map<String, String> metadata
+        ) {
+            return factory.create(eventId, timestamp, aggregateId, version, payloadType.cast(data), metadata);
+        }
+    }
+}
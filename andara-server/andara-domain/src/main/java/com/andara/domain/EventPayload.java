@@ -0,0 +1,26 @@
+package com.andara.domain;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed payload of a {@link TypedDomainEvent}, usually a record of the event's fields.
+ * Fields are exposed by position so {@link #asMap()} can present them as a read-only map
+ * without copying; a field is only boxed when it is read through the map.
+ */
+public interface EventPayload {
+
+    /**
+     * Payload keys in field order; the same keys the map representation has always used.
+     */
+    List<String> fieldNames();
+
+    /**
+     * Value of the field at {@code index} in {@link #fieldNames()}.
+     */
+    Object field(int index);
+
+    default Map<String, Object> asMap() {
+        return new PayloadView(this);
+    }
+}
@@ -0,0 +1,70 @@
+package com.andara.domain;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only map over the fields of an {@link EventPayload}.
+ * Nothing is copied: lookups resolve the key to a field index and read the field.
+ */
+final class PayloadView extends AbstractMap<String, Object> {
+    private final EventPayload payload;
+    private final List<String> keys;
+
+    PayloadView(EventPayload payload) {
+        this.payload = payload;
+        this.keys = payload.fieldNames();
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return keys.contains(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = keys.indexOf(key);
+        return index < 0 ? null : payload.field(index);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return keys.size();
+            }
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < keys.size();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (index >= keys.size()) {
+                            throw new NoSuchElementException();
+                        }
+                        int current = index++;
+                        return new SimpleImmutableEntry<>(keys.get(current), payload.field(current));
+                    }
+                };
+            }
+        };
+    }
+}
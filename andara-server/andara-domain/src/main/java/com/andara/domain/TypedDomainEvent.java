@@ -0,0 +1,20 @@
+package com.andara.domain;
+
+import java.util.Map;
+
+/**
+ * A domain event carrying its payload as a typed {@link EventPayload}.
+ * Aggregates apply {@link #data()} directly; {@link #getPayload()} stays available as a
+ * read-only view for serialization and for consumers that only know the map form.
+ *
+ * @param <P> Payload type
+ */
+public interface TypedDomainEvent<P extends EventPayload> extends DomainEvent {
+
+    P data();
+
+    @Override
+    default Map<String, Object> getPayload() {
+        return data().asMap();
+    }
+}
@@ -0,0 +1,572 @@
+package com.andara.domain.combat;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tactical combat grid.
+ * Terrain, cover, sight blocking and occupancy are kept in flat primitive arrays indexed by
+ * {@code y * width + x}. Queries take coordinates or cell indices and write results into
+ * caller-supplied arrays, reusing internal search buffers, so evaluating candidate positions
+ * during an NPC turn does not allocate.
+ *
+ * <p>Movement is 8-directional with every step costing the terrain cost of the cell entered;
+ * diagonal steps may not cut the corner of an impassable cell. Occupied cells cannot be entered.
+ *
+ * <p>A battlefield belongs to a single encounter and is not thread-safe.
+ */
+public final class Battlefield {
+    public static final int IMPASSABLE = 0;
+    public static final int MAX_TERRAIN_COST = Byte.MAX_VALUE;
+    public static final int MAX_COVER = 100;
+    public static final int EMPTY = 0;
+
+    private static final int[] DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] DY = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final int width;
+    private final int height;
+    private final byte[] terrain;
+    private final byte[] cover;
+    private final boolean[] blocksSight;
+    private final int[] occupant;
+
+    // Search state shared by findPath and movementRange; a cell's entries are only
+    // meaningful while its stamp equals the current search generation.
+    private final int[] stamp;
+    private final int[] cost;
+    private final int[] parent;
+    private final boolean[] closed;
+    private final int[] heap;
+    private final int[] heapKey;
+    private final int[] heapPosition;
+    private int heapSize;
+    private int generation;
+
+    public Battlefield(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException(
+                String.format("Battlefield dimensions must be positive, but got %dx%d", width, height)
+            );
+        }
+        if ((long) width * height > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException(
+                String.format("Battlefield of %dx%d cells is too large", width, height)
+            );
+        }
+        int cells = width * height;
+        this.width = width;
+        this.height = height;
+        this.terrain = new byte[cells];
+        this.cover = new byte[cells];
+        this.blocksSight = new boolean[cells];
+        this.occupant = new int[cells];
+        this.stamp = new int[cells];
+        this.cost = new int[cells];
+        this.parent = new int[cells];
+        this.closed = new boolean[cells];
+        this.heap = new int[cells];
+        this.heapKey = new int[cells];
+        this.heapPosition = new int[cells];
+        Arrays.fill(terrain, (byte) 1);
+    }
+
+    /**
+     * Copy the layout and occupancy into a new battlefield with its own search buffers.
+     */
+    public Battlefield copy() {
+        Battlefield copy = new Battlefield(width, height);
+        System.arraycopy(terrain, 0, copy.terrain, 0, terrain.length);
+        System.arraycopy(cover, 0, copy.cover, 0, cover.length);
+        System.arraycopy(blocksSight, 0, copy.blocksSight, 0, blocksSight.length);
+        System.arraycopy(occupant, 0, copy.occupant, 0, occupant.length);
+        return copy;
+    }
+
+    /**
+     * Convert the layout (terrain, cover and sight blocking, not occupancy) to an event payload.
+     */
+    public Map<String, Object> toPayload() {
+        byte[] sight = new byte[blocksSight.length];
+        for (int i = 0; i < sight.length; i++) {
+            sight[i] = (byte) (blocksSight[i] ? 1 : 0);
+        }
+        Base64.Encoder encoder = Base64.getEncoder();
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("width", width);
+        payload.put("height", height);
+        payload.put("terrain", encoder.encodeToString(terrain));
+        payload.put("cover", encoder.encodeToString(cover));
+        payload.put("blocksSight", encoder.encodeToString(sight));
+        return payload;
+    }
+
+    /**
+     * Restore a layout written by {@link #toPayload()}.
+     */
+    public static Battlefield fromPayload(Map<String, ?> payload) {
+        Battlefield battlefield = new Battlefield(
+            ((Number) payload.get("width")).intValue(),
+            ((Number) payload.get("height")).intValue()
+        );
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] terrain = decoder.decode((String) payload.get("terrain"));
+        byte[] cover = decoder.decode((String) payload.get("cover"));
+        byte[] sight = decoder.decode((String) payload.get("blocksSight"));
+        int cells = battlefield.cellCount();
+        if (terrain.length != cells || cover.length != cells || sight.length != cells) {
+            throw new IllegalArgumentException(
+                String.format("Battlefield layout does not match its %dx%d size", battlefield.width, battlefield.height)
+            );
+        }
+        System.arraycopy(terrain, 0, battlefield.terrain, 0, cells);
+        System.arraycopy(cover, 0, battlefield.cover, 0, cells);
+        for (int i = 0; i < cells; i++) {
+            battlefield.blocksSight[i] = sight[i] != 0;
+        }
+        return battlefield;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int cellCount() {
+        return terrain.length;
+    }
+
+    public int cellIndex(int x, int y) {
+        return y * width + x;
+    }
+
+    public int cellX(int cell) {
+        return cell % width;
+    }
+
+    public int cellY(int cell) {
+        return cell / width;
+    }
+
+    public BattlefieldPosition positionOf(int cell) {
+        return BattlefieldPosition.of(cellX(cell), cellY(cell));
+    }
+
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    // ---- Layout ----
+
+    /**
+     * Set the cost of entering a cell, or {@link #IMPASSABLE}.
+     */
+    public void setTerrain(int x, int y, int moveCost) {
+        if (moveCost < IMPASSABLE || moveCost > MAX_TERRAIN_COST) {
+            throw new IllegalArgumentException(
+                String.format("Terrain cost must be between %d and %d, but got %d", IMPASSABLE, MAX_TERRAIN_COST, moveCost)
+            );
+        }
+        terrain[checkedCell(x, y)] = (byte) moveCost;
+    }
+
+    /**
+     * Set the cover bonus a cell gives to a target in or directly behind it.
+     */
+    public void setCover(int x, int y, int bonus) {
+        if (bonus < 0 || bonus > MAX_COVER) {
+            throw new IllegalArgumentException(
+                String.format("Cover must be between 0 and %d, but got %d", MAX_COVER, bonus)
+            );
+        }
+        cover[checkedCell(x, y)] = (byte) bonus;
+    }
+
+    public void setBlocksSight(int x, int y, boolean blocks) {
+        blocksSight[checkedCell(x, y)] = blocks;
+    }
+
+    /**
+     * Place a combatant on a cell.
+     *
+     * @param combatantId Non-zero id of the combatant within the encounter
+     */
+    public void occupy(int x, int y, int combatantId) {
+        if (combatantId == EMPTY) {
+            throw new IllegalArgumentException("Combatant id must not be 0");
+        }
+        int cell = checkedCell(x, y);
+        if (terrain[cell] == IMPASSABLE) {
+            throw new IllegalArgumentException(String.format("Cell (%d, %d) is impassable", x, y));
+        }
+        if (occupant[cell] != EMPTY && occupant[cell] != combatantId) {
+            throw new IllegalArgumentException(
+                String.format("Cell (%d, %d) is already occupied by %d", x, y, occupant[cell])
+            );
+        }
+        occupant[cell] = combatantId;
+    }
+
+    public void vacate(int x, int y) {
+        occupant[checkedCell(x, y)] = EMPTY;
+    }
+
+    public int terrainCost(int x, int y) {
+        return terrain[checkedCell(x, y)];
+    }
+
+    public int occupant(int x, int y) {
+        return occupant[checkedCell(x, y)];
+    }
+
+    // ---- Queries ----
+
+    /**
+     * Check whether a combatant could stand on a cell: inside the grid, passable and unoccupied.
+     */
+    public boolean isValidPosition(int x, int y) {
+        if (!inBounds(x, y)) {
+            return false;
+        }
+        int cell = cellIndex(x, y);
+        return terrain[cell] != IMPASSABLE && occupant[cell] == EMPTY;
+    }
+
+    public boolean isValidPosition(BattlefieldPosition position) {
+        return isValidPosition(position.getX(), position.getY());
+    }
+
+    /**
+     * Grid distance in steps (Chebyshev), ignoring terrain.
+     */
+    public int distance(int fromX, int fromY, int toX, int toY) {
+        return Math.max(Math.abs(toX - fromX), Math.abs(toY - fromY));
+    }
+
+    public int distance(BattlefieldPosition from, BattlefieldPosition to) {
+        return distance(from.getX(), from.getY(), to.getX(), to.getY());
+    }
+
+    /**
+     * Check whether the straight line between two cells passes no sight-blocking cell.
+     * The end cells themselves never block.
+     */
+    public boolean hasLineOfSight(int fromX, int fromY, int toX, int toY) {
+        checkedCell(fromX, fromY);
+        checkedCell(toX, toY);
+        return walkLine(fromX, fromY, toX, toY) >= 0;
+    }
+
+    public boolean hasLineOfSight(BattlefieldPosition from, BattlefieldPosition to) {
+        return hasLineOfSight(from.getX(), from.getY(), to.getX(), to.getY());
+    }
+
+    /**
+     * Cover bonus of a target against an attacker: the better of the cover of the target's own
+     * cell and of the cell it is hiding behind on the line from the attacker.
+     *
+     * @return The bonus, or {@link #MAX_COVER} if the attacker has no line of sight
+     */
+    public int getCoverBonus(int attackerX, int attackerY, int targetX, int targetY) {
+        int targetCell = checkedCell(targetX, targetY);
+        checkedCell(attackerX, attackerY);
+        int behind = walkLine(attackerX, attackerY, targetX, targetY);
+        if (behind < 0) {
+            return MAX_COVER;
+        }
+        int bonus = cover[targetCell];
+        if (behind != targetCell) {
+            bonus = Math.max(bonus, cover[behind]);
+        }
+        return bonus;
+    }
+
+    public int getCoverBonus(BattlefieldPosition attacker, BattlefieldPosition target) {
+        return getCoverBonus(attacker.getX(), attacker.getY(), target.getX(), target.getY());
+    }
+
+    /**
+     * Find the cheapest path between two cells with A*.
+     *
+     * @param pathBuffer Receives the cell indices of the path, excluding the start and including the goal
+     * @return The number of steps written, or -1 if the goal cannot be reached
+     * @throws IllegalArgumentException if the path does not fit in the buffer
+     */
+    public int findPath(int fromX, int fromY, int toX, int toY, int[] pathBuffer) {
+        int start = checkedCell(fromX, fromY);
+        int goal = checkedCell(toX, toY);
+        if (start == goal) {
+            return 0;
+        }
+        if (terrain[goal] == IMPASSABLE || occupant[goal] != EMPTY) {
+            return -1;
+        }
+
+        beginSearch();
+        visit(start, 0, -1);
+        heapPush(start, distance(fromX, fromY, toX, toY));
+        while (heapSize > 0) {
+            int cell = heapPop();
+            if (cell == goal) {
+                return writePath(start, goal, pathBuffer);
+            }
+            closed[cell] = true;
+            int x = cellX(cell);
+            int y = cellY(cell);
+            for (int d = 0; d < DX.length; d++) {
+                int next = stepTarget(x, y, d);
+                if (next < 0 || closed[next] && stamp[next] == generation) {
+                    continue;
+                }
+                int nextCost = cost[cell] + terrain[next];
+                if (stamp[next] != generation || nextCost < cost[next]) {
+                    boolean queued = stamp[next] == generation;
+                    visit(next, nextCost, cell);
+                    int key = nextCost + distance(cellX(next), cellY(next), toX, toY);
+                    if (queued) {
+                        heapDecrease(next, key);
+                    } else {
+                        heapPush(next, key);
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    public int findPath(BattlefieldPosition from, BattlefieldPosition to, int[] pathBuffer) {
+        return findPath(from.getX(), from.getY(), to.getX(), to.getY(), pathBuffer);
+    }
+
+    /**
+     * Find every cell reachable from a start cell within a movement budget.
+     *
+     * @param cellBuffer Receives the reachable cell indices, starting with the start cell itself;
+     *                   {@link #cellCount()} entries always suffice
+     * @return The number of cells written
+     * @throws IllegalArgumentException if the reachable cells do not fit in the buffer
+     */
+    public int movementRange(int fromX, int fromY, int budget, int[] cellBuffer) {
+        int start = checkedCell(fromX, fromY);
+        beginSearch();
+        visit(start, 0, -1);
+        heapPush(start, 0);
+        int count = 0;
+        while (heapSize > 0) {
+            int cell = heapPop();
+            closed[cell] = true;
+            if (count == cellBuffer.length) {
+                throw new IllegalArgumentException(
+                    String.format("Cell buffer of %d entries is too small for movement range", cellBuffer.length)
+                );
+            }
+            cellBuffer[count++] = cell;
+            int x = cellX(cell);
+            int y = cellY(cell);
+            for (int d = 0; d < DX.length; d++) {
+                int next = stepTarget(x, y, d);
+                if (next < 0 || closed[next] && stamp[next] == generation) {
+                    continue;
+                }
+                int nextCost = cost[cell] + terrain[next];
+                if (nextCost > budget) {
+                    continue;
+                }
+                if (stamp[next] != generation) {
+                    visit(next, nextCost, cell);
+                    heapPush(next, nextCost);
+                } else if (nextCost < cost[next]) {
+                    visit(next, nextCost, cell);
+                    heapDecrease(next, nextCost);
+                }
+            }
+        }
+        return count;
+    }
+
+    public int movementRange(BattlefieldPosition from, int budget, int[] cellBuffer) {
+        return movementRange(from.getX(), from.getY(), budget, cellBuffer);
+    }
+
+    /**
+     * Movement cost of a cell settled by the most recent {@link #findPath} or {@link #movementRange}.
+     *
+     * @return The cost from that search's start, or -1 if the search did not reach the cell
+     */
+    public int lastSearchCost(int cell) {
+        return stamp[cell] == generation && closed[cell] ? cost[cell] : -1;
+    }
+
+    // ---- Internals ----
+
+    private int checkedCell(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw new IllegalArgumentException(
+                String.format("Position (%d, %d) is outside the %dx%d battlefield", x, y, width, height)
+            );
+        }
+        return cellIndex(x, y);
+    }
+
+    /**
+     * Cell entered by stepping in a direction, or -1 if the step is not allowed.
+     */
+    private int stepTarget(int x, int y, int direction) {
+        int nx = x + DX[direction];
+        int ny = y + DY[direction];
+        if (!inBounds(nx, ny)) {
+            return -1;
+        }
+        int next = cellIndex(nx, ny);
+        if (terrain[next] == IMPASSABLE || occupant[next] != EMPTY) {
+            return -1;
+        }
+        if (DX[direction] != 0 && DY[direction] != 0
+            && (terrain[cellIndex(nx, y)] == IMPASSABLE || terrain[cellIndex(x, ny)] == IMPASSABLE)) {
+            return -1;
+        }
+        return next;
+    }
+
+    /**
+     * Walk the Bresenham line from one cell to another.
+     *
+     * @return The cell just before the end cell (the end cell itself when adjacent or equal),
+     *         or -1 if an intermediate cell blocks sight
+     */
+    private int walkLine(int fromX, int fromY, int toX, int toY) {
+        int dx = Math.abs(toX - fromX);
+        int dy = -Math.abs(toY - fromY);
+        int sx = fromX < toX ? 1 : -1;
+        int sy = fromY < toY ? 1 : -1;
+        int error = dx + dy;
+        int x = fromX;
+        int y = fromY;
+        int previous = cellIndex(toX, toY);
+        while (x != toX || y != toY) {
+            int doubled = 2 * error;
+            if (doubled >= dy) {
+                error += dy;
+                x += sx;
+            }
+            if (doubled <= dx) {
+                error += dx;
+                y += sy;
+            }
+            if (x == toX && y == toY) {
+                break;
+            }
+            int cell = cellIndex(x, y);
+            if (blocksSight[cell]) {
+                return -1;
+            }
+            previous = cell;
+        }
+        return previous;
+    }
+
+    private void beginSearch() {
+        heapSize = 0;
+        generation++;
+        if (generation == 0) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+    }
+
+    private void visit(int cell, int cellCost, int from) {
+        if (stamp[cell] != generation) {
+            stamp[cell] = generation;
+            closed[cell] = false;
+        }
+        cost[cell] = cellCost;
+        parent[cell] = from;
+    }
+
+    private int writePath(int start, int goal, int[] pathBuffer) {
+        int length = 0;
+        for (int cell = goal; cell != start; cell = parent[cell]) {
+            length++;
+        }
+        if (length > pathBuffer.length) {
+            throw new IllegalArgumentException(
+                String.format("Path buffer of %d entries is too small for a path of %d steps", pathBuffer.length, length)
+            );
+        }
+        int index = length;
+        for (int cell = goal; cell != start; cell = parent[cell]) {
+            pathBuffer[--index] = cell;
+        }
+        closed[goal] = true;
+        return length;
+    }
+
+    // Indexed binary min-heap over cells, ordered by heapKey
+
+    private void heapPush(int cell, int key) {
+        heap[heapSize] = cell;
+        heapKey[cell] = key;
+        heapPosition[cell] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private void heapDecrease(int cell, int key) {
+        heapKey[cell] = key;
+        siftUp(heapPosition[cell]);
+    }
+
+    private int heapPop() {
+        int top = heap[0];
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapPosition[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int position) {
+        int cell = heap[position];
+        int key = heapKey[cell];
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parentCell = heap[parentPosition];
+            if (heapKey[parentCell] <= key) {
+                break;
+            }
+            heap[position] = parentCell;
+            heapPosition[parentCell] = position;
+            position = parentPosition;
+        }
+        heap[position] = cell;
+        heapPosition[cell] = position;
+    }
+
+    private void siftDown(int position) {
+        int cell = heap[position];
+        int key = heapKey[cell];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heapKey[heap[child + 1]] < heapKey[heap[child]]) {
+                child++;
+            }
+            if (heapKey[heap[child]] >= key) {
+                break;
+            }
+            heap[position] = heap[child];
+            heapPosition[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = cell;
+        heapPosition[cell] = position;
+    }
+}
@@ -0,0 +1,54 @@
+package com.andara.domain.combat;
+
+import com.andara.common.ValueObject;
+
+import java.util.Objects;
+
+/**
+ * Value object representing a cell on the battlefield grid.
+ * Coordinates are non-negative; whether they are inside a given battlefield is checked there.
+ */
+public final class BattlefieldPosition implements ValueObject {
+    private final int x;
+    private final int y;
+
+    private BattlefieldPosition(int x, int y) {
+        if (x < 0 || y < 0) {
+            throw new IllegalArgumentException(
+                String.format("Battlefield position must not be negative, but got (%d, %d)", x, y)
+            );
+        }
+        this.x = x;
+        this.y = y;
+    }
+
+    public static BattlefieldPosition of(int x, int y) {
+        return new BattlefieldPosition(x, y);
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BattlefieldPosition that = (BattlefieldPosition) o;
+        return x == that.x && y == that.y;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(x, y);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ")";
+    }
+}
@@ -0,0 +1,363 @@
+package com.andara.domain.combat;
+
+import com.andara.domain.AggregateRoot;
+import com.andara.domain.DomainEvent;
+import com.andara.domain.combat.events.AttackExecuted;
+import com.andara.domain.combat.events.CombatEnded;
+import com.andara.domain.combat.events.CombatStarted;
+import com.andara.domain.combat.events.CombatantMoved;
+import com.andara.domain.combat.events.TurnEnded;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Combat encounter aggregate root.
+ * A turn-based fight on a {@link Battlefield}. Commands validate against the current state,
+ * resolve outcomes with {@link CombatRules} and seeded {@link Dice}, and record them as events;
+ * all state changes happen in event handlers, so replaying the events (including ones loaded
+ * back from the event store as plain payload maps) rebuilds the exact same encounter.
+ */
+public class CombatEncounter extends AggregateRoot {
+    public static final String AGGREGATE_TYPE = "CombatEncounter";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private EncounterId encounterId;
+    private Map<String, Object> setup;
+    private CombatState state;
+    private int[] pathBuffer;
+
+    private CombatEncounter() {
+    }
+
+    /**
+     * Start an encounter and roll initiative.
+     *
+     * @param battlefield Layout to fight on; only terrain, cover and sight blocking are used
+     * @param seed        Seed for every roll made in the encounter
+     */
+    public static CombatEncounter start(
+        EncounterId encounterId,
+        Battlefield battlefield,
+        List<CombatantPlacement> placements,
+        long seed
+    ) {
+        CombatantProfile[] profiles = placements.stream()
+            .map(CombatantPlacement::profile)
+            .toArray(CombatantProfile[]::new);
+        Dice dice = new Dice(seed);
+        List<String> initiative = new ArrayList<>();
+        for (int index : CombatRules.initiativeOrder(profiles, dice)) {
+            initiative.add(profiles[index].combatantId());
+        }
+
+        CombatEncounter encounter = new CombatEncounter();
+        encounter.encounterId = encounterId;
+        encounter.id = encounterId.toString();
+        encounter.applyEvent(CombatStarted.create(
+            encounterId, 1L, seed, battlefield, placements, initiative, dice.counter()
+        ));
+        return encounter;
+    }
+
+    /**
+     * Create an empty encounter for event replay.
+     */
+    public static CombatEncounter empty(EncounterId encounterId) {
+        CombatEncounter encounter = new CombatEncounter();
+        encounter.encounterId = encounterId;
+        encounter.id = encounterId.toString();
+        return encounter;
+    }
+
+    /**
+     * Reconstitute an encounter from events.
+     */
+    public static CombatEncounter fromEvents(List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            throw new IllegalArgumentException("Cannot create encounter from empty event list");
+        }
+        CombatEncounter encounter = empty(EncounterId.from(events.get(0).getAggregateId()));
+        for (DomainEvent event : events) {
+            encounter.applyHistoricalEvent(event);
+        }
+        return encounter;
+    }
+
+    // ---- Commands ----
+
+    /**
+     * Move the current combatant along the cheapest path to a cell, spending its terrain cost in action points.
+     */
+    public void move(String combatantId, BattlefieldPosition destination) {
+        int actor = requireTurn(combatantId);
+        Battlefield battlefield = state.battlefield;
+        if (!battlefield.isValidPosition(destination)) {
+            throw new IllegalArgumentException(String.format("Cannot move to %s", destination));
+        }
+        if (pathBuffer == null) {
+            pathBuffer = new int[battlefield.cellCount()];
+        }
+        int steps = battlefield.findPath(state.x[actor], state.y[actor], destination.getX(), destination.getY(), pathBuffer);
+        if (steps < 0) {
+            throw new IllegalArgumentException(String.format("No path from %s to %s", getPosition(combatantId), destination));
+        }
+        int cost = battlefield.lastSearchCost(battlefield.cellIndex(destination.getX(), destination.getY()));
+        if (cost > state.actionPoints[actor]) {
+            throw new IllegalArgumentException(
+                String.format("Moving to %s costs %d action points, but %s has %d",
+                    destination, cost, combatantId, state.actionPoints[actor])
+            );
+        }
+        applyEvent(CombatantMoved.create(encounterId, version + 1, combatantId, destination.getX(), destination.getY(), cost));
+    }
+
+    /**
+     * Attack an enemy with the current combatant's weapon. Ends the encounter if it decides the fight.
+     */
+    public CombatRules.AttackResult attack(String attackerId, String targetId) {
+        int attacker = requireTurn(attackerId);
+        int target = state.indexOf(targetId);
+        int apCost = state.profiles[attacker].weapon().apCost();
+        if (state.actionPoints[attacker] < apCost) {
+            throw new IllegalArgumentException(
+                String.format("Attacking costs %d action points, but %s has %d", apCost, attackerId, state.actionPoints[attacker])
+            );
+        }
+        if (!state.canAttack(attacker, target)) {
+            throw new IllegalArgumentException(String.format("%s cannot attack %s", attackerId, targetId));
+        }
+
+        CombatRules.AttackResult result = state.resolveAttack(attacker, target);
+        applyEvent(AttackExecuted.create(encounterId, version + 1, attackerId, targetId, result, state.dice.counter()));
+        if (state.decided()) {
+            int winner = state.survivingTeam();
+            applyEvent(CombatEnded.create(encounterId, version + 1, winner == CombatState.NO_WINNER ? null : winner));
+        }
+        return result;
+    }
+
+    /**
+     * End the current combatant's turn and pass it to the next living combatant.
+     */
+    public void endTurn(String combatantId) {
+        requireTurn(combatantId);
+        int next = state.nextTurnPosition();
+        int turnNumber = next <= state.turnPosition ? state.turnNumber + 1 : state.turnNumber;
+        String nextCombatantId = state.profiles[state.initiative[next]].combatantId();
+        applyEvent(TurnEnded.create(encounterId, version + 1, combatantId, nextCombatantId, turnNumber));
+    }
+
+    private int requireTurn(String combatantId) {
+        if (state == null) {
+            throw new IllegalStateException("Encounter has not started");
+        }
+        if (state.status == EncounterStatus.COMPLETED) {
+            throw new IllegalStateException("Encounter " + encounterId + " is completed");
+        }
+        int combatant = state.indexOf(combatantId);
+        if (combatant != state.current()) {
+            throw new IllegalStateException(String.format("It is not %s's turn", combatantId));
+        }
+        return combatant;
+    }
+
+    // ---- Event handlers ----
+
+    @Override
+    protected void when(DomainEvent event) {
+        // Dispatch on the event type: events that were not decoded into their typed form
+        // (unregistered or read from elsewhere) carry only plain payload maps
+        switch (event.getEventType()) {
+            case CombatStarted.EVENT_TYPE -> handleCombatStarted(event.getAggregateId(), event.getPayload());
+            case CombatantMoved.EVENT_TYPE -> {
+                CombatantMoved.Data move = event instanceof CombatantMoved e
+                    ? e.data()
+                    : CombatantMoved.Data.fromPayload(event.getPayload());
+                state.move(state.indexOf(move.combatantId()), move.x(), move.y(), move.cost());
+            }
+            case AttackExecuted.EVENT_TYPE -> {
+                AttackExecuted.Data attack = event instanceof AttackExecuted e
+                    ? e.data()
+                    : AttackExecuted.Data.fromPayload(event.getPayload());
+                state.attack(state.indexOf(attack.attackerId()), state.indexOf(attack.targetId()), attack.damage());
+                state.dice.restore(attack.diceCounter());
+            }
+            case TurnEnded.EVENT_TYPE -> state.advanceTurn();
+            case CombatEnded.EVENT_TYPE -> {
+                Integer winner = event instanceof CombatEnded e
+                    ? e.data().winningTeam()
+                    : CombatEnded.Data.fromPayload(event.getPayload()).winningTeam();
+                state.end(winner == null ? CombatState.NO_WINNER : winner);
+            }
+            default -> {
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handleCombatStarted(String aggregateId, Map<String, Object> payload) {
+        this.encounterId = EncounterId.from(aggregateId);
+        this.id = encounterId.toString();
+        this.setup = payload;
+
+        List<CombatantPlacement> placements = new ArrayList<>();
+        for (Map<String, Object> combatant : (List<Map<String, Object>>) payload.get("combatants")) {
+            placements.add(new CombatantPlacement(
+                CombatantProfile.fromPayload(combatant),
+                BattlefieldPosition.of(intValue(combatant, "x"), intValue(combatant, "y"))
+            ));
+        }
+        Dice dice = new Dice(
+            ((Number) payload.get("seed")).longValue(),
+            ((Number) payload.get("diceCounter")).longValue()
+        );
+        this.state = new CombatState(
+            Battlefield.fromPayload((Map<String, ?>) payload.get("battlefield")),
+            placements,
+            dice
+        );
+        int[] order = ((List<String>) payload.get("initiative")).stream()
+            .mapToInt(state::indexOf)
+            .toArray();
+        state.begin(order);
+    }
+
+    private static int intValue(Map<String, ?> payload, String key) {
+        return ((Number) payload.get(key)).intValue();
+    }
+
+    // ---- Queries ----
+
+    public EncounterId getEncounterId() {
+        return encounterId;
+    }
+
+    public EncounterStatus getStatus() {
+        return state.status;
+    }
+
+    public int getTurnNumber() {
+        return state.turnNumber;
+    }
+
+    public String getCurrentCombatantId() {
+        return state.profiles[state.current()].combatantId();
+    }
+
+    /**
+     * Combatant ids in turn order.
+     */
+    public List<String> getInitiativeOrder() {
+        return Arrays.stream(state.initiative).mapToObj(i -> state.profiles[i].combatantId()).toList();
+    }
+
+    public CombatantProfile getProfile(String combatantId) {
+        return state.profiles[state.indexOf(combatantId)];
+    }
+
+    public int getHealth(String combatantId) {
+        return state.health[state.indexOf(combatantId)];
+    }
+
+    public boolean isAlive(String combatantId) {
+        return state.alive(state.indexOf(combatantId));
+    }
+
+    public int getActionPoints(String combatantId) {
+        return state.actionPoints[state.indexOf(combatantId)];
+    }
+
+    public BattlefieldPosition getPosition(String combatantId) {
+        int combatant = state.indexOf(combatantId);
+        return BattlefieldPosition.of(state.x[combatant], state.y[combatant]);
+    }
+
+    /**
+     * The winning team once completed; empty while active or after a draw.
+     */
+    public OptionalInt getWinningTeam() {
+        return state.winningTeam == CombatState.NO_WINNER ? OptionalInt.empty() : OptionalInt.of(state.winningTeam);
+    }
+
+    /**
+     * The battlefield with current occupancy, for queries such as candidate positions.
+     * Must not be modified.
+     */
+    public Battlefield getBattlefield() {
+        return state.battlefield;
+    }
+
+    // ---- Snapshots ----
+
+    @Override
+    public JsonNode toSnapshot() {
+        ObjectNode snapshot = MAPPER.createObjectNode();
+        snapshot.put("encounterId", encounterId != null ? encounterId.toString() : null);
+        snapshot.put("version", version);
+        if (state == null) {
+            return snapshot;
+        }
+        snapshot.set("setup", MAPPER.valueToTree(setup));
+        snapshot.set("health", intArray(state.health));
+        snapshot.set("actionPoints", intArray(state.actionPoints));
+        snapshot.set("x", intArray(state.x));
+        snapshot.set("y", intArray(state.y));
+        snapshot.put("turnPosition", state.turnPosition);
+        snapshot.put("turnNumber", state.turnNumber);
+        snapshot.put("status", state.status.name());
+        snapshot.put("winningTeam", state.winningTeam);
+        snapshot.put("diceCounter", state.dice.counter());
+        return snapshot;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void fromSnapshot(JsonNode snapshot) {
+        if (snapshot.has("encounterId") && !snapshot.get("encounterId").isNull()) {
+            this.encounterId = EncounterId.from(snapshot.get("encounterId").asText());
+            this.id = encounterId.toString();
+        }
+        if (snapshot.has("setup")) {
+            handleCombatStarted(id, MAPPER.convertValue(snapshot.get("setup"), Map.class));
+            state.restore(
+                toIntArray(snapshot.get("health")),
+                toIntArray(snapshot.get("actionPoints")),
+                toIntArray(snapshot.get("x")),
+                toIntArray(snapshot.get("y"))
+            );
+            state.turnPosition = snapshot.get("turnPosition").asInt();
+            state.turnNumber = snapshot.get("turnNumber").asInt();
+            state.status = EncounterStatus.valueOf(snapshot.get("status").asText());
+            state.winningTeam = snapshot.get("winningTeam").asInt();
+            state.dice.restore(snapshot.get("diceCounter").asLong());
+        }
+        if (snapshot.has("version")) {
+            this.version = snapshot.get("version").asLong();
+        }
+    }
+
+    private static ArrayNode intArray(int[] values) {
+        ArrayNode array = MAPPER.createArrayNode();
+        for (int value : values) {
+            array.add(value);
+        }
+        return array;
+    }
+
+    private static int[] toIntArray(JsonNode array) {
+        int[] values = new int[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i).asInt();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,98 @@
+package com.andara.domain.combat;
+
+import java.util.Arrays;
+
+/**
+ * Pure combat resolution rules.
+ * Every random outcome comes from the supplied {@link Dice}, so the same inputs and dice
+ * state always give the same result. Shared by {@link CombatEncounter} and {@link CombatSimulator}.
+ */
+public final class CombatRules {
+    public static final int BASE_HIT_CHANCE = 50;
+    public static final int MIN_HIT_CHANCE = 5;
+    public static final int MAX_HIT_CHANCE = 95;
+    public static final int RANGE_PENALTY_PER_CELL = 5;
+    public static final int INITIATIVE_DIE = 10;
+
+    private CombatRules() {
+    }
+
+    /**
+     * Chance to hit in percent, before rolling.
+     */
+    public static int hitChance(CombatantProfile attacker, CombatantProfile target, int coverBonus, int distance) {
+        Weapon weapon = attacker.weapon();
+        int hitChance = BASE_HIT_CHANCE;
+        hitChance += attacker.skill() / 2;
+        int attribute = weapon.isMelee() ? attacker.strength() : attacker.perception();
+        hitChance += (attribute - 10) * 2;
+        hitChance -= target.agility() / 2;
+        hitChance -= coverBonus;
+        if (distance > weapon.optimalRange()) {
+            hitChance -= (distance - weapon.optimalRange()) * RANGE_PENALTY_PER_CELL;
+        }
+        return Math.max(MIN_HIT_CHANCE, Math.min(MAX_HIT_CHANCE, hitChance));
+    }
+
+    /**
+     * Roll an attack and, on a hit, its damage.
+     */
+    public static AttackResult resolveAttack(
+        CombatantProfile attacker,
+        CombatantProfile target,
+        int coverBonus,
+        int distance,
+        Dice dice
+    ) {
+        int hitChance = hitChance(attacker, target, coverBonus, distance);
+        int roll = dice.roll(1, 100);
+        if (roll > hitChance) {
+            return new AttackResult(false, false, roll, hitChance, 0);
+        }
+        int critChance = 5 + attacker.perception() / 4;
+        boolean critical = roll <= critChance;
+
+        Weapon weapon = attacker.weapon();
+        int damage = dice.roll(weapon.damageMin(), weapon.damageMax());
+        if (weapon.isMelee()) {
+            damage += Math.max(0, (attacker.strength() - 10) / 2);
+        }
+        int armor = target.armor();
+        if (critical) {
+            damage = damage * 3 / 2;
+            armor /= 2;
+        }
+        damage = Math.max(1, damage - armor);
+        return new AttackResult(true, critical, roll, hitChance, damage);
+    }
+
+    /**
+     * Roll initiative: agility plus a die, highest first, ties broken by placement order.
+     *
+     * @return Combatant indices in turn order
+     */
+    public static int[] initiativeOrder(CombatantProfile[] profiles, Dice dice) {
+        int count = profiles.length;
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            int initiative = profiles[i].agility() + dice.roll(1, INITIATIVE_DIE);
+            // Sort ascending on (-initiative, index) packed into one long
+            keys[i] = ((long) -initiative << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * Outcome of a single attack.
+     *
+     * @param roll      The d100 roll; a hit when at most hitChance
+     * @param damage    Damage dealt after armor, 0 on a miss
+     */
+    public record AttackResult(boolean hit, boolean critical, int roll, int hitChance, int damage) {
+    }
+}
@@ -0,0 +1,201 @@
+package com.andara.domain.combat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Headless combat simulation for balancing.
+ * Runs encounters on the same {@link CombatState} transitions and {@link CombatRules} as
+ * {@link CombatEncounter}, but without recording events, using a simple policy: close in on
+ * the nearest enemy along the cheapest path until it can be attacked, then attack while
+ * action points last.
+ * Encounter i of a batch uses a seed derived from the batch seed and i, so batches are
+ * reproducible regardless of how they are split across threads.
+ */
+public final class CombatSimulator {
+    public static final int DEFAULT_MAX_TURNS = 100;
+
+    private final int maxTurns;
+
+    public CombatSimulator() {
+        this(DEFAULT_MAX_TURNS);
+    }
+
+    /**
+     * @param maxTurns Rounds after which an undecided encounter counts as a draw
+     */
+    public CombatSimulator(int maxTurns) {
+        if (maxTurns < 1) {
+            throw new IllegalArgumentException("Max turns must be positive, but got " + maxTurns);
+        }
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Simulate one encounter.
+     *
+     * @param battlefield Layout to fight on; not modified
+     */
+    public Outcome simulate(Battlefield battlefield, List<CombatantPlacement> placements, long seed) {
+        Dice dice = new Dice(seed);
+        CombatState state = new CombatState(battlefield.copy(), placements, dice);
+        state.begin(CombatRules.initiativeOrder(state.profiles, dice));
+        Workspace workspace = new Workspace(battlefield.cellCount());
+
+        while (!state.decided() && state.turnNumber <= maxTurns) {
+            act(state, state.current(), workspace);
+            if (!state.decided()) {
+                state.advanceTurn();
+            }
+        }
+        int winner = state.decided() ? state.survivingTeam() : CombatState.NO_WINNER;
+        state.end(winner);
+
+        int survivors = 0;
+        for (int i = 0; i < state.count(); i++) {
+            if (state.alive(i)) {
+                survivors++;
+            }
+        }
+        return new Outcome(winner, Math.min(state.turnNumber, maxTurns), survivors, state.dice.counter());
+    }
+
+    /**
+     * Simulate a batch of encounters in parallel and aggregate the outcomes.
+     */
+    public SimulationReport simulateMany(Battlefield battlefield, List<CombatantPlacement> placements, long seed, int encounters) {
+        if (encounters < 1) {
+            throw new IllegalArgumentException("Encounter count must be positive, but got " + encounters);
+        }
+        int teams = placements.stream().mapToInt(p -> p.profile().team()).max().orElse(0) + 1;
+        return IntStream.range(0, encounters)
+            .parallel()
+            .mapToObj(i -> simulate(battlefield, placements, Dice.mix(seed + i * 0x9E3779B97F4A7C15L)))
+            .collect(
+                () -> new SimulationReport.Accumulator(teams),
+                SimulationReport.Accumulator::add,
+                SimulationReport.Accumulator::merge
+            )
+            .toReport();
+    }
+
+    private static void act(CombatState state, int actor, Workspace workspace) {
+        int apCost = state.profiles[actor].weapon().apCost();
+        boolean moved = false;
+        while (true) {
+            int target = nearestEnemy(state, actor);
+            if (target < 0) {
+                return;
+            }
+            if (state.canAttack(actor, target)) {
+                if (state.actionPoints[actor] < apCost) {
+                    return;
+                }
+                CombatRules.AttackResult result = state.resolveAttack(actor, target);
+                state.attack(actor, target, result.damage());
+                if (state.decided()) {
+                    return;
+                }
+                continue;
+            }
+            if (moved || !moveTowards(state, actor, target, workspace)) {
+                return;
+            }
+            moved = true;
+        }
+    }
+
+    /**
+     * Move to the cheapest reachable cell to attack the target from or, failing that,
+     * as far along the cheapest path to the target as the action points allow.
+     *
+     * @return Whether the actor moved
+     */
+    private static boolean moveTowards(CombatState state, int actor, int target, Workspace workspace) {
+        Battlefield battlefield = state.battlefield;
+        Weapon weapon = state.profiles[actor].weapon();
+        int ax = state.x[actor];
+        int ay = state.y[actor];
+        int tx = state.x[target];
+        int ty = state.y[target];
+
+        // Keep enough action points to attack after moving if possible
+        int actionPoints = state.actionPoints[actor];
+        int budget = actionPoints > weapon.apCost() ? actionPoints - weapon.apCost() : actionPoints;
+        int[] cells = workspace.cells;
+        int count = battlefield.movementRange(ax, ay, budget, cells);
+        int best = -1;
+        int bestCost = Integer.MAX_VALUE;
+        for (int i = 1; i < count; i++) {
+            int cell = cells[i];
+            int cost = battlefield.lastSearchCost(cell);
+            int cx = battlefield.cellX(cell);
+            int cy = battlefield.cellY(cell);
+            if (cost < bestCost
+                && battlefield.distance(cx, cy, tx, ty) <= weapon.maxRange()
+                && battlefield.hasLineOfSight(cx, cy, tx, ty)) {
+                best = cell;
+                bestCost = cost;
+            }
+        }
+
+        if (best < 0) {
+            // No cell to attack from: follow the cheapest path to the target, freeing its cell for the search
+            int[] path = workspace.path;
+            battlefield.vacate(tx, ty);
+            int steps = battlefield.findPath(ax, ay, tx, ty, path);
+            battlefield.occupy(tx, ty, target + 1);
+            int spent = 0;
+            for (int i = 0; i < steps - 1; i++) {
+                spent += battlefield.terrainCost(battlefield.cellX(path[i]), battlefield.cellY(path[i]));
+                if (spent > budget) {
+                    break;
+                }
+                best = path[i];
+                bestCost = spent;
+            }
+            if (best < 0) {
+                return false;
+            }
+        }
+        state.move(actor, battlefield.cellX(best), battlefield.cellY(best), bestCost);
+        return true;
+    }
+
+    private static int nearestEnemy(CombatState state, int actor) {
+        int nearest = -1;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < state.count(); i++) {
+            if (state.alive(i) && state.profiles[i].team() != state.profiles[actor].team()) {
+                int distance = state.distance(actor, i);
+                if (distance < nearestDistance) {
+                    nearest = i;
+                    nearestDistance = distance;
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Search buffers reused for every move of one simulated encounter.
+     */
+    private static final class Workspace {
+        final int[] cells;
+        final int[] path;
+
+        Workspace(int cellCount) {
+            this.cells = new int[cellCount];
+            this.path = new int[cellCount];
+        }
+    }
+
+    /**
+     * Result of one simulated encounter.
+     *
+     * @param winningTeam The surviving team, or -1 for a draw
+     * @param rolls       Dice rolls made, a cheap fingerprint for determinism checks
+     */
+    public record Outcome(int winningTeam, int turns, int survivors, long rolls) {
+    }
+}
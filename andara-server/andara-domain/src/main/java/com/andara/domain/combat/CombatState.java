@@ -0,0 +1,210 @@
+package com.andara.domain.combat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mutable state of one encounter in primitive arrays indexed by placement order.
+ * {@link CombatEncounter} changes it only from event handlers; {@link CombatSimulator}
+ * changes it directly. Both go through the same transitions so headless simulations
+ * follow exactly the rules of recorded encounters.
+ */
+final class CombatState {
+    static final int NO_WINNER = -1;
+
+    final CombatantProfile[] profiles;
+    final Map<String, Integer> indexById;
+    final int[] health;
+    final int[] actionPoints;
+    final int[] x;
+    final int[] y;
+    final Battlefield battlefield;
+    final Dice dice;
+
+    int[] initiative;
+    int turnPosition;
+    int turnNumber;
+    EncounterStatus status = EncounterStatus.ACTIVE;
+    int winningTeam = NO_WINNER;
+
+    /**
+     * @param battlefield Taken over by the state; combatants are placed on it
+     */
+    CombatState(Battlefield battlefield, List<CombatantPlacement> placements, Dice dice) {
+        if (placements.size() < 2) {
+            throw new IllegalArgumentException("An encounter needs at least two combatants");
+        }
+        int count = placements.size();
+        this.battlefield = battlefield;
+        this.dice = dice;
+        this.profiles = new CombatantProfile[count];
+        this.indexById = new HashMap<>();
+        this.health = new int[count];
+        this.actionPoints = new int[count];
+        this.x = new int[count];
+        this.y = new int[count];
+        for (int i = 0; i < count; i++) {
+            CombatantPlacement placement = placements.get(i);
+            CombatantProfile profile = placement.profile();
+            if (indexById.put(profile.combatantId(), i) != null) {
+                throw new IllegalArgumentException("Duplicate combatant: " + profile.combatantId());
+            }
+            BattlefieldPosition position = placement.position();
+            if (!battlefield.isValidPosition(position)) {
+                throw new IllegalArgumentException(
+                    String.format("Combatant %s cannot be placed at %s", profile.combatantId(), position)
+                );
+            }
+            profiles[i] = profile;
+            health[i] = profile.maxHealth();
+            x[i] = position.getX();
+            y[i] = position.getY();
+            battlefield.occupy(x[i], y[i], i + 1);
+        }
+    }
+
+    int count() {
+        return profiles.length;
+    }
+
+    int indexOf(String combatantId) {
+        Integer index = indexById.get(combatantId);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown combatant: " + combatantId);
+        }
+        return index;
+    }
+
+    boolean alive(int combatant) {
+        return health[combatant] > 0;
+    }
+
+    int current() {
+        return initiative[turnPosition];
+    }
+
+    void begin(int[] order) {
+        this.initiative = order;
+        this.turnPosition = 0;
+        this.turnNumber = 1;
+        actionPoints[current()] = profiles[current()].actionPoints();
+    }
+
+    void move(int combatant, int toX, int toY, int cost) {
+        battlefield.vacate(x[combatant], y[combatant]);
+        battlefield.occupy(toX, toY, combatant + 1);
+        x[combatant] = toX;
+        y[combatant] = toY;
+        actionPoints[combatant] -= cost;
+    }
+
+    void attack(int attacker, int target, int damage) {
+        actionPoints[attacker] -= profiles[attacker].weapon().apCost();
+        if (damage > 0 && alive(target)) {
+            health[target] = Math.max(0, health[target] - damage);
+            if (health[target] == 0) {
+                battlefield.vacate(x[target], y[target]);
+            }
+        }
+    }
+
+    /**
+     * Initiative position of the next living combatant; at or before the current
+     * position when the turn wraps into a new round.
+     */
+    int nextTurnPosition() {
+        int position = turnPosition;
+        for (int step = 0; step < initiative.length; step++) {
+            position = (position + 1) % initiative.length;
+            if (alive(initiative[position])) {
+                break;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Pass the turn to the next living combatant, starting a new round after the last one.
+     */
+    void advanceTurn() {
+        int next = nextTurnPosition();
+        actionPoints[current()] = 0;
+        if (next <= turnPosition) {
+            turnNumber++;
+        }
+        turnPosition = next;
+        actionPoints[current()] = profiles[current()].actionPoints();
+    }
+
+    /**
+     * Overwrite health, action points and positions, e.g. from a snapshot.
+     */
+    void restore(int[] health, int[] actionPoints, int[] x, int[] y) {
+        for (int i = 0; i < profiles.length; i++) {
+            battlefield.vacate(this.x[i], this.y[i]);
+        }
+        for (int i = 0; i < profiles.length; i++) {
+            this.health[i] = health[i];
+            this.actionPoints[i] = actionPoints[i];
+            this.x[i] = x[i];
+            this.y[i] = y[i];
+            if (alive(i)) {
+                battlefield.occupy(x[i], y[i], i + 1);
+            }
+        }
+    }
+
+    /**
+     * Whether at most one team is still standing.
+     */
+    boolean decided() {
+        int team = NO_WINNER;
+        for (int i = 0; i < profiles.length; i++) {
+            if (alive(i)) {
+                if (team != NO_WINNER && profiles[i].team() != team) {
+                    return false;
+                }
+                team = profiles[i].team();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The only team still standing, or {@link #NO_WINNER} if none or several are.
+     */
+    int survivingTeam() {
+        int team = NO_WINNER;
+        for (int i = 0; i < profiles.length; i++) {
+            if (alive(i)) {
+                if (team != NO_WINNER && profiles[i].team() != team) {
+                    return NO_WINNER;
+                }
+                team = profiles[i].team();
+            }
+        }
+        return team;
+    }
+
+    void end(int winner) {
+        status = EncounterStatus.COMPLETED;
+        winningTeam = winner;
+    }
+
+    int distance(int from, int to) {
+        return battlefield.distance(x[from], y[from], x[to], y[to]);
+    }
+
+    boolean canAttack(int attacker, int target) {
+        return profiles[attacker].team() != profiles[target].team()
+            && alive(target)
+            && distance(attacker, target) <= profiles[attacker].weapon().maxRange()
+            && battlefield.hasLineOfSight(x[attacker], y[attacker], x[target], y[target]);
+    }
+
+    CombatRules.AttackResult resolveAttack(int attacker, int target) {
+        int cover = battlefield.getCoverBonus(x[attacker], y[attacker], x[target], y[target]);
+        return CombatRules.resolveAttack(profiles[attacker], profiles[target], cover, distance(attacker, target), dice);
+    }
+}
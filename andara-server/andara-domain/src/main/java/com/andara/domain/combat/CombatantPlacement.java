@@ -0,0 +1,12 @@
+package com.andara.domain.combat;
+
+/**
+ * A combatant and the cell it starts the encounter on.
+ */
+public record CombatantPlacement(CombatantProfile profile, BattlefieldPosition position) {
+    public CombatantPlacement {
+        if (profile == null || position == null) {
+            throw new IllegalArgumentException("Combatant placement requires a profile and a position");
+        }
+    }
+}
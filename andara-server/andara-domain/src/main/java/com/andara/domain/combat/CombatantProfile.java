@@ -0,0 +1,83 @@
+package com.andara.domain.combat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Combat statistics of a participant, fixed for the duration of an encounter.
+ *
+ * @param combatantId Unique id within the encounter (character id, NPC instance id, ...)
+ * @param team        Non-negative; combatants on the same team never attack each other
+ * @param actionPoints Action points restored at the start of each of the combatant's turns
+ * @param skill       Proficiency with the wielded weapon, 0-100
+ * @param armor       Flat damage reduction
+ */
+public record CombatantProfile(
+    String combatantId,
+    int team,
+    int maxHealth,
+    int actionPoints,
+    int strength,
+    int agility,
+    int perception,
+    int skill,
+    int armor,
+    Weapon weapon
+) {
+    public CombatantProfile {
+        if (combatantId == null || combatantId.isBlank()) {
+            throw new IllegalArgumentException("Combatant id cannot be null or blank");
+        }
+        if (team < 0) {
+            throw new IllegalArgumentException(
+                String.format("Combatant %s team must not be negative, but got %d", combatantId, team)
+            );
+        }
+        if (maxHealth < 1 || actionPoints < 1) {
+            throw new IllegalArgumentException(
+                String.format("Combatant %s health and action points must be positive, but got %d and %d",
+                    combatantId, maxHealth, actionPoints)
+            );
+        }
+        if (skill < 0 || skill > 100 || armor < 0) {
+            throw new IllegalArgumentException(
+                String.format("Combatant %s skill must be 0-100 and armor non-negative, but got %d and %d",
+                    combatantId, skill, armor)
+            );
+        }
+        if (weapon == null) {
+            throw new IllegalArgumentException(String.format("Combatant %s has no weapon", combatantId));
+        }
+    }
+
+    public Map<String, Object> toPayload() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("combatantId", combatantId);
+        payload.put("team", team);
+        payload.put("maxHealth", maxHealth);
+        payload.put("actionPoints", actionPoints);
+        payload.put("strength", strength);
+        payload.put("agility", agility);
+        payload.put("perception", perception);
+        payload.put("skill", skill);
+        payload.put("armor", armor);
+        payload.put("weapon", weapon.toPayload());
+        return payload;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static CombatantProfile fromPayload(Map<String, ?> payload) {
+        return new CombatantProfile(
+            (String) payload.get("combatantId"),
+            ((Number) payload.get("team")).intValue(),
+            ((Number) payload.get("maxHealth")).intValue(),
+            ((Number) payload.get("actionPoints")).intValue(),
+            ((Number) payload.get("strength")).intValue(),
+            ((Number) payload.get("agility")).intValue(),
+            ((Number) payload.get("perception")).intValue(),
+            ((Number) payload.get("skill")).intValue(),
+            ((Number) payload.get("armor")).intValue(),
+            Weapon.fromPayload((Map<String, ?>) payload.get("weapon"))
+        );
+    }
+}
@@ -0,0 +1,58 @@
+package com.andara.domain.combat;
+
+/**
+ * Counter-based dice for deterministic combat.
+ * The n-th roll depends only on the seed and n (a SplitMix64 hash of both), so restoring
+ * the counter from an event resumes the exact sequence without replaying earlier rolls.
+ */
+public final class Dice {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private long counter;
+
+    public Dice(long seed) {
+        this(seed, 0);
+    }
+
+    public Dice(long seed, long counter) {
+        this.seed = seed;
+        this.counter = counter;
+    }
+
+    /**
+     * Roll a number between min and max, both inclusive.
+     */
+    public int roll(int min, int max) {
+        if (max < min) {
+            throw new IllegalArgumentException(String.format("Cannot roll between %d and %d", min, max));
+        }
+        long bound = (long) max - min + 1;
+        long bits = mix(seed + ++counter * GOLDEN_GAMMA) >>> 33;
+        return (int) (min + ((bits * bound) >>> 31));
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Number of rolls made so far.
+     */
+    public long counter() {
+        return counter;
+    }
+
+    /**
+     * Continue from a counter recorded in an event.
+     */
+    void restore(long counter) {
+        this.counter = counter;
+    }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
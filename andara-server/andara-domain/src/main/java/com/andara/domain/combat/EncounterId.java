@@ -0,0 +1,25 @@
+package com.andara.domain.combat;
+
+import java.util.UUID;
+
+/**
+ * Value object representing a combat encounter identifier.
+ */
+public record EncounterId(UUID value) {
+    public static EncounterId generate() {
+        return new EncounterId(UUID.randomUUID());
+    }
+
+    public static EncounterId from(UUID uuid) {
+        return new EncounterId(uuid);
+    }
+
+    public static EncounterId from(String uuidString) {
+        return new EncounterId(UUID.fromString(uuidString));
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+}
@@ -0,0 +1,11 @@
+package com.andara.domain.combat;
+
+/**
+ * Lifecycle of a combat encounter.
+ * Turn start, action resolution and turn end happen within a single command,
+ * so between commands an encounter is either waiting for its current combatant or completed.
+ */
+public enum EncounterStatus {
+    ACTIVE,
+    COMPLETED
+}
@@ -0,0 +1,78 @@
+package com.andara.domain.combat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregated outcomes of a batch of simulated encounters.
+ *
+ * @param winsByTeam Wins per team id
+ */
+public record SimulationReport(
+    int encounters,
+    List<Integer> winsByTeam,
+    int draws,
+    double averageTurns,
+    double averageSurvivors
+) {
+    public SimulationReport {
+        winsByTeam = List.copyOf(winsByTeam);
+    }
+
+    /**
+     * Fraction of encounters won by a team.
+     */
+    public double winRate(int team) {
+        return team < winsByTeam.size() ? (double) winsByTeam.get(team) / encounters : 0.0;
+    }
+
+    /**
+     * Mutable per-thread accumulator for parallel batches.
+     */
+    static final class Accumulator {
+        private final int[] wins;
+        private int encounters;
+        private int draws;
+        private long turns;
+        private long survivors;
+
+        Accumulator(int teams) {
+            this.wins = new int[teams];
+        }
+
+        void add(CombatSimulator.Outcome outcome) {
+            encounters++;
+            if (outcome.winningTeam() == CombatState.NO_WINNER) {
+                draws++;
+            } else {
+                wins[outcome.winningTeam()]++;
+            }
+            turns += outcome.turns();
+            survivors += outcome.survivors();
+        }
+
+        void merge(Accumulator other) {
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += other.wins[i];
+            }
+            encounters += other.encounters;
+            draws += other.draws;
+            turns += other.turns;
+            survivors += other.survivors;
+        }
+
+        SimulationReport toReport() {
+            List<Integer> winsByTeam = new ArrayList<>(wins.length);
+            for (int win : wins) {
+                winsByTeam.add(win);
+            }
+            return new SimulationReport(
+                encounters,
+                winsByTeam,
+                draws,
+                encounters == 0 ? 0 : (double) turns / encounters,
+                encounters == 0 ? 0 : (double) survivors / encounters
+            );
+        }
+    }
+}
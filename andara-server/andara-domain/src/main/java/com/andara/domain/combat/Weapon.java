@@ -0,0 +1,59 @@
+package com.andara.domain.combat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Combat statistics of a wielded weapon.
+ * Weapons with an optimal range of 1 are melee weapons and cannot attack beyond it;
+ * ranged weapons can fire up to twice their optimal range with a penalty.
+ *
+ * @param apCost Action points spent per attack
+ */
+public record Weapon(String weaponId, int damageMin, int damageMax, int optimalRange, int apCost) {
+    public static final Weapon UNARMED = new Weapon("unarmed", 1, 2, 1, 2);
+
+    public Weapon {
+        if (weaponId == null || weaponId.isBlank()) {
+            throw new IllegalArgumentException("Weapon id cannot be null or blank");
+        }
+        if (damageMin < 0 || damageMax < damageMin) {
+            throw new IllegalArgumentException(
+                String.format("Weapon %s damage must be 0 <= min <= max, but got %d-%d", weaponId, damageMin, damageMax)
+            );
+        }
+        if (optimalRange < 1 || apCost < 1) {
+            throw new IllegalArgumentException(
+                String.format("Weapon %s range and AP cost must be positive, but got %d and %d", weaponId, optimalRange, apCost)
+            );
+        }
+    }
+
+    public boolean isMelee() {
+        return optimalRange <= 1;
+    }
+
+    public int maxRange() {
+        return isMelee() ? optimalRange : optimalRange * 2;
+    }
+
+    public Map<String, Object> toPayload() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("weaponId", weaponId);
+        payload.put("damageMin", damageMin);
+        payload.put("damageMax", damageMax);
+        payload.put("optimalRange", optimalRange);
+        payload.put("apCost", apCost);
+        return payload;
+    }
+
+    public static Weapon fromPayload(Map<String, ?> payload) {
+        return new Weapon(
+            (String) payload.get("weaponId"),
+            ((Number) payload.get("damageMin")).intValue(),
+            ((Number) payload.get("damageMax")).intValue(),
+            ((Number) payload.get("optimalRange")).intValue(),
+            ((Number) payload.get("apCost")).intValue()
+        );
+    }
+}
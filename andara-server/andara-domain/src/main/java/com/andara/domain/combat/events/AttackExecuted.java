@@ -0,0 +1,161 @@
+package com.andara.domain.combat.events;
+
+import com.andara.domain.EventPayload;
+import com.andara.domain.TypedDomainEvent;
+import com.andara.domain.combat.CombatRules;
+import com.andara.domain.combat.EncounterId;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Domain event emitted when a combatant attacks.
+ * Records the rolled outcome, so replay does not re-roll.
+ */
+public record AttackExecuted(
+    UUID eventId,
+    String eventType,
+    Instant timestamp,
+    String aggregateId,
+    String aggregateType,
+    long version,
+    Data data,
+    Map<String, String> metadata
+) implements TypedDomainEvent<AttackExecuted.Data> {
+    public static final String EVENT_TYPE = "AttackExecuted";
+
+    public static AttackExecuted create(
+        EncounterId encounterId,
+        long version,
+        String attackerId,
+        String targetId,
+        CombatRules.AttackResult result,
+        long diceCounter
+    ) {
+        Data data = new Data(
+            attackerId,
+            targetId,
+            result.hit(),
+            result.critical(),
+            result.roll(),
+            result.hitChance(),
+            result.damage(),
+            diceCounter
+        );
+
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("encounterId", encounterId.toString());
+
+        return new AttackExecuted(
+            UUID.randomUUID(),
+            EVENT_TYPE,
+            Instant.now(),
+            encounterId.toString(),
+            "CombatEncounter",
+            version,
+            data,
+            metadata
+        );
+    }
+
+    /**
+     * Rebuild a stored event from its decoded payload.
+     */
+    public static AttackExecuted restore(
+        UUID eventId,
+        Instant timestamp,
+        String aggregateId,
+        long version,
+        Data data,
+        Map<String, String> metadata
+    ) {
+        return new AttackExecuted(eventId, EVENT_TYPE, timestamp, aggregateId, "CombatEncounter", version, data, metadata);
+    }
+
+    @Override
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public String getEventType() {
+        return eventType;
+    }
+
+    @Override
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    @Override
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    public record Data(
+        String attackerId,
+        String targetId,
+        boolean hit,
+        boolean critical,
+        int roll,
+        int hitChance,
+        int damage,
+        long diceCounter
+    ) implements EventPayload {
+        private static final List<String> FIELDS = List.of("attackerId", "targetId", "hit", "critical", "roll", "hitChance", "damage", "diceCounter");
+
+        /**
+         * Read the payload of an event that was not decoded into its typed form.
+         */
+        public static Data fromPayload(Map<String, ?> payload) {
+            return new Data(
+                (String) payload.get("attackerId"),
+                (String) payload.get("targetId"),
+                (Boolean) payload.get("hit"),
+                (Boolean) payload.get("critical"),
+                ((Number) payload.get("roll")).intValue(),
+                ((Number) payload.get("hitChance")).intValue(),
+                ((Number) payload.get("damage")).intValue(),
+                ((Number) payload.get("diceCounter")).longValue()
+            );
+        }
+
+        @Override
+        public List<String> fieldNames() {
+            return FIELDS;
+        }
+
+        @Override
+        public Object field(int index) {
+            return switch (index) {
+                case 0 -> attackerId;
+                case 1 -> targetId;
+                case 2 -> hit;
+                case 3 -> critical;
+                case 4 -> roll;
+                case 5 -> hitChance;
+                case 6 -> damage;
+                case 7 -> diceCounter;
+                default -> throw new IndexOutOfBoundsException(index);
+            };
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.andara.domain.combat.events;
+
+import com.andara.domain.EventPayload;
+import com.andara.domain.TypedDomainEvent;
+import com.andara.domain.combat.EncounterId;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Domain event emitted when a combat encounter is decided.
+ */
+public record CombatEnded(
+    UUID eventId,
+    String eventType,
+    Instant timestamp,
+    String aggregateId,
+    String aggregateType,
+    long version,
+    Data data,
+    Map<String, String> metadata
+) implements TypedDomainEvent<CombatEnded.Data> {
+    public static final String EVENT_TYPE = "CombatEnded";
+
+    public static CombatEnded create(
+        EncounterId encounterId,
+        long version,
+        Integer winningTeam
+    ) {
+        Data data = new Data(
+            winningTeam
+        );
+
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("encounterId", encounterId.toString());
+
+        return new CombatEnded(
+            UUID.randomUUID(),
+            EVENT_TYPE,
+            Instant.now(),
+            encounterId.toString(),
+            "CombatEncounter",
+            version,
+            data,
+            metadata
+        );
+    }
+
+    /**
+     * Rebuild a stored event from its decoded payload.
+     */
+    public static CombatEnded restore(
+        UUID eventId,
+        Instant timestamp,
+        String aggregateId,
+        long version,
+        Data data,
+        Map<String, String> metadata
+    ) {
+        return new CombatEnded(eventId, EVENT_TYPE, timestamp, aggregateId, "CombatEncounter", version, data, metadata);
+    }
+
+    @Override
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public String getEventType() {
+        return eventType;
+    }
+
+    @Override
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    @Override
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    public record Data(
+        Integer winningTeam
+    ) implements EventPayload {
+        private static final List<String> FIELDS = List.of("winningTeam");
+
+        /**
+         * Read the payload of an event that was not decoded into its typed form.
+         */
+        public static Data fromPayload(Map<String, ?> payload) {
+            return new Data(
+                payload.get("winningTeam") == null ? null : ((Number) payload.get("winningTeam")).intValue()
+            );
+        }
+
+        @Override
+        public List<String> fieldNames() {
+            return FIELDS;
+        }
+
+        @Override
+        public Object field(int index) {
+            return switch (index) {
+                case 0 -> winningTeam;
+                default -> throw new IndexOutOfBoundsException(index);
+            };
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.andara.domain.combat.events;
+
+import com.andara.domain.DomainEvent;
+import com.andara.domain.combat.Battlefield;
+import com.andara.domain.combat.CombatantPlacement;
+import com.andara.domain.combat.EncounterId;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Domain event emitted when a combat encounter starts.
+ * Carries the battlefield layout, the combatants and the rolled initiative so the encounter can be replayed.
+ */
+public record CombatStarted(
+    UUID eventId,
+    String eventType,
+    Instant timestamp,
+    String aggregateId,
+    String aggregateType,
+    long version,
+    Map<String, Object> payload,
+    Map<String, String> metadata
+) implements DomainEvent {
+    public static final String EVENT_TYPE = "CombatStarted";
+
+    public static CombatStarted create(
+        EncounterId encounterId,
+        long version,
+        long seed,
+        Battlefield battlefield,
+        List<CombatantPlacement> placements,
+        List<String> initiative,
+        long diceCounter
+    ) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("seed", seed);
+        payload.put("battlefield", battlefield.toPayload());
+        List<Map<String, Object>> combatants = new ArrayList<>();
+        for (CombatantPlacement placement : placements) {
+            Map<String, Object> combatant = placement.profile().toPayload();
+            combatant.put("x", placement.position().getX());
+            combatant.put("y", placement.position().getY());
+            combatants.add(combatant);
+        }
+        payload.put("combatants", combatants);
+        payload.put("initiative", List.copyOf(initiative));
+        payload.put("diceCounter", diceCounter);
+
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("encounterId", encounterId.toString());
+
+        return new CombatStarted(
+            UUID.randomUUID(),
+            EVENT_TYPE,
+            Instant.now(),
+            encounterId.toString(),
+            "CombatEncounter",
+            version,
+            payload,
+            metadata
+        );
+    }
+
+    @Override
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public String getEventType() {
+        return eventType;
+    }
+
+    @Override
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    @Override
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    @Override
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+}
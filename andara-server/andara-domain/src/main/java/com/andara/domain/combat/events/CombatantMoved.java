@@ -0,0 +1,143 @@
+package com.andara.domain.combat.events;
+
+import com.andara.domain.EventPayload;
+import com.andara.domain.TypedDomainEvent;
+import com.andara.domain.combat.EncounterId;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Domain event emitted when a combatant moves on the battlefield.
+ */
+public record CombatantMoved(
+    UUID eventId,
+    String eventType,
+    Instant timestamp,
+    String aggregateId,
+    String aggregateType,
+    long version,
+    Data data,
+    Map<String, String> metadata
+) implements TypedDomainEvent<CombatantMoved.Data> {
+    public static final String EVENT_TYPE = "CombatantMoved";
+
+    public static CombatantMoved create(
+        EncounterId encounterId,
+        long version,
+        String combatantId,
+        int x,
+        int y,
+        int cost
+    ) {
+        Data data = new Data(
+            combatantId,
+            x,
+            y,
+            cost
+        );
+
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("encounterId", encounterId.toString());
+
+        return new CombatantMoved(
+            UUID.randomUUID(),
+            EVENT_TYPE,
+            Instant.now(),
+            encounterId.toString(),
+            "CombatEncounter",
+            version,
+            data,
+            metadata
+        );
+    }
+
+    /**
+     * Rebuild a stored event from its decoded payload.
+     */
+    public static CombatantMoved restore(
+        UUID eventId,
+        Instant timestamp,
+        String aggregateId,
+        long version,
+        Data data,
+        Map<String, String> metadata
+    ) {
+        return new CombatantMoved(eventId, EVENT_TYPE, timestamp, aggregateId, "CombatEncounter", version, data, metadata);
+    }
+
+    @Override
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public String getEventType() {
+        return eventType;
+    }
+
+    @Override
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    @Override
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    public record Data(
+        String combatantId,
+        int x,
+        int y,
+        int cost
+    ) implements EventPayload {
+        private static final List<String> FIELDS = List.of("combatantId", "x", "y", "cost");
+
+        /**
+         * Read the payload of an event that was not decoded into its typed form.
+         */
+        public static Data fromPayload(Map<String, ?> payload) {
+            return new Data(
+                (String) payload.get("combatantId"),
+                ((Number) payload.get("x")).intValue(),
+                ((Number) payload.get("y")).intValue(),
+                ((Number) payload.get("cost")).intValue()
+            );
+        }
+
+        @Override
+        public List<String> fieldNames() {
+            return FIELDS;
+        }
+
+        @Override
+        public Object field(int index) {
+            return switch (index) {
+                case 0 -> combatantId;
+                case 1 -> x;
+                case 2 -> y;
+                case 3 -> cost;
+                default -> throw new IndexOutOfBoundsException(index);
+            };
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.andara.domain.combat.events;
+
+import com.andara.domain.EventPayload;
+import com.andara.domain.TypedDomainEvent;
+import com.andara.domain.combat.EncounterId;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Domain event emitted when a combatant ends its turn.
+ */
+public record TurnEnded(
+    UUID eventId,
+    String eventType,
+    Instant timestamp,
+    String aggregateId,
+    String aggregateType,
+    long version,
+    Data data,
+    Map<String, String> metadata
+) implements TypedDomainEvent<TurnEnded.Data> {
+    public static final String EVENT_TYPE = "TurnEnded";
+
+    public static TurnEnded create(
+        EncounterId encounterId,
+        long version,
+        String combatantId,
+        String nextCombatantId,
+        int turnNumber
+    ) {
+        Data data = new Data(
+            combatantId,
+            nextCombatantId,
+            turnNumber
+        );
+
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("encounterId", encounterId.toString());
+
+        return new TurnEnded(
+            UUID.randomUUID(),
+            EVENT_TYPE,
+            Instant.now(),
+            encounterId.toString(),
+            "CombatEncounter",
+            version,
+            data,
+            metadata
+        );
+    }
+
+    /**
+     * Rebuild a stored event from its decoded payload.
+     */
+    public static TurnEnded restore(
+        UUID eventId,
+        Instant timestamp,
+        String aggregateId,
+        long version,
+        Data data,
+        Map<String, String> metadata
+    ) {
+        return new TurnEnded(eventId, EVENT_TYPE, timestamp, aggregateId, "CombatEncounter", version, data, metadata);
+    }
+
+    @Override
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public String getEventType() {
+        return eventType;
+    }
+
+    @Override
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    @Override
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    public record Data(
+        String combatantId,
+        String nextCombatantId,
+        int turnNumber
+    ) implements EventPayload {
+        private static final List<String> FIELDS = List.of("combatantId", "nextCombatantId", "turnNumber");
+
+        @Override
+        public List<String> fieldNames() {
+            return FIELDS;
+        }
+
+        @Override
+        public Object field(int index) {
+            return switch (index) {
+                case 0 -> combatantId;
+                case 1 -> nextCombatantId;
+                case 2 -> turnNumber;
+                default -> throw new IndexOutOfBoundsException(index);
+            };
+        }
+    }
+}
@@ -28,10 +28,26 @@ public record ContentImported(
         String importedBy,
         UUID instanceId,
         UUID agentId
+    ) {
+        return create(contentType, importedIds, Map.of(), importedBy, instanceId, agentId);
+    }
+
+    /**
+     * Create the event including the items that reference the imported ones, keyed by
+     * content type, so caches can invalidate dependents without scanning content.
+     */
+    public static ContentImported create(
+        String contentType,
+        List<String> importedIds,
+        Map<String, List<String>> dependentIds,
+        String importedBy,
+        UUID instanceId,
+        UUID agentId
     ) {
         Map<String, Object> payload = new HashMap<>();
         payload.put("contentType", contentType);
         payload.put("importedIds", importedIds);
+        payload.put("dependentIds", dependentIds);
         payload.put("importedBy", importedBy);
         payload.put("count", importedIds.size());
 
@@ -83,9 +83,9 @@ public class Instance extends AggregateRoot {
     }
 
     private void handleInstanceCreated(InstanceCreated event) {
-        this.instanceId = InstanceId.from((String) event.getPayload().get("instanceId"));
+        this.instanceId = InstanceId.from(event.data().instanceId());
         this.id = instanceId.toString();
-        this.ownerAgentId = UUID.fromString((String) event.getPayload().get("ownerAgentId"));
+        this.ownerAgentId = UUID.fromString(event.data().ownerAgentId());
     }
 
     public InstanceId getInstanceId() {
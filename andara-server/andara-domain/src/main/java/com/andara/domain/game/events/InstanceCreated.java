@@ -1,10 +1,12 @@
 package com.andara.domain.game.events;
 
-import com.andara.domain.DomainEvent;
+import com.andara.domain.EventPayload;
+import com.andara.domain.TypedDomainEvent;
 import com.andara.domain.game.InstanceId;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -18,18 +20,20 @@ public record InstanceCreated(
     String aggregateId,
     String aggregateType,
     long version,
-    Map<String, Object> payload,
+    Data data,
     Map<String, String> metadata
-) implements DomainEvent {
+) implements TypedDomainEvent<InstanceCreated.Data> {
+    public static final String EVENT_TYPE = "InstanceCreated";
 
     public static InstanceCreated create(
         InstanceId instanceId,
         UUID ownerAgentId,
         UUID systemAgentId
     ) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("instanceId", instanceId.toString());
-        payload.put("ownerAgentId", ownerAgentId.toString());
+        Data data = new Data(
+            instanceId.toString(),
+            ownerAgentId.toString()
+        );
 
         Map<String, String> metadata = new HashMap<>();
         metadata.put("instanceId", instanceId.toString());
@@ -38,16 +42,30 @@ public record InstanceCreated(
 
         return new InstanceCreated(
             UUID.randomUUID(),
-            "InstanceCreated",
+            EVENT_TYPE,
             Instant.now(),
             instanceId.toString(),
             "Instance",
             1L,
-            payload,
+            data,
             metadata
         );
     }
 
+    /**
+     * Rebuild a stored event from its decoded payload.
+     */
+    public static InstanceCreated restore(
+        UUID eventId,
+        Instant timestamp,
+        String aggregateId,
+        long version,
+        Data data,
+        Map<String, String> metadata
+    ) {
+        return new InstanceCreated(eventId, EVENT_TYPE, timestamp, aggregateId, "Instance", version, data, metadata);
+    }
+
     @Override
     public UUID getEventId() {
         return eventId;
@@ -78,13 +96,29 @@ public record InstanceCreated(
         return version;
     }
 
-    @Override
-    public Map<String, Object> getPayload() {
-        return payload;
-    }
-
     @Override
     public Map<String, String> getMetadata() {
         return metadata;
     }
+
+    public record Data(
+        String instanceId,
+        String ownerAgentId
+    ) implements EventPayload {
+        private static final List<String> FIELDS = List.of("instanceId", "ownerAgentId");
+
+        @Override
+        public List<String> fieldNames() {
+            return FIELDS;
+        }
+
+        @Override
+        public Object field(int index) {
+            return switch (index) {
+                case 0 -> instanceId;
+                case 1 -> ownerAgentId;
+                default -> throw new IndexOutOfBoundsException(index);
+            };
+        }
+    }
 }
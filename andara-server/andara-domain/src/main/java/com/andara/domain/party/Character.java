@@ -7,26 +7,37 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Character aggregate root.
  * Represents a character in the game world.
+ * Skill proficiencies are kept in a byte per skill, indexed by {@link SkillTable}; skills the
+ * character has no entry for hold {@link #UNTRAINED}.
  */
 public class Character extends AggregateRoot {
+    private static final byte UNTRAINED = -1;
+    private static final byte[] NO_SKILLS = new byte[0];
+
     private CharacterId characterId;
     private CharacterName name;
     private Origin origin;
     private Attributes attributes;
-    private Map<SkillId, Proficiency> skills;
+    private byte[] skillLevels = NO_SKILLS;
+    private int skillCount;
     private Appearance appearance;
     private boolean isProtagonist;
 
     private Character() {
-        this.skills = new HashMap<>();
     }
 
     /**
@@ -55,7 +66,7 @@ public class Character extends AggregateRoot {
 
         // Initialize skills: focus skills at 20, others at 0
         for (SkillId skillId : skillFocuses) {
-            character.skills.put(skillId, Proficiency.of(20));
+            character.setSkillLevel(skillId, 20);
         }
 
         // Apply origin bonuses
@@ -63,7 +74,7 @@ public class Character extends AggregateRoot {
 
         // Create and apply event
         Map<String, Integer> startingSkills = new HashMap<>();
-        character.skills.forEach((skillId, proficiency) -> {
+        character.getSkills().forEach((skillId, proficiency) -> {
             startingSkills.put(skillId.getValue(), proficiency.getLevel());
         });
 
@@ -140,9 +151,33 @@ public class Character extends AggregateRoot {
 
     private void addSkillProficiencyIfNotPresent(SkillId skillId, int level) {
         // Only add if skill doesn't already exist (focus skills are set first)
-        if (!skills.containsKey(skillId)) {
-            skills.put(skillId, Proficiency.of(level));
+        if (!hasSkill(SkillTable.shared().indexOf(skillId))) {
+            setSkillLevel(skillId, level);
+        }
+    }
+
+    private void setSkillLevel(SkillId skillId, int level) {
+        int index = SkillTable.shared().indexOf(skillId);
+        int checked = Proficiency.of(level).getLevel();
+        if (index >= skillLevels.length) {
+            int length = Math.max(index + 1, SkillTable.shared().size());
+            byte[] grown = Arrays.copyOf(skillLevels, length);
+            Arrays.fill(grown, skillLevels.length, length, UNTRAINED);
+            skillLevels = grown;
+        }
+        if (skillLevels[index] == UNTRAINED) {
+            skillCount++;
         }
+        skillLevels[index] = (byte) checked;
+    }
+
+    private void clearSkills() {
+        skillLevels = NO_SKILLS;
+        skillCount = 0;
+    }
+
+    private boolean hasSkill(int skillIndex) {
+        return skillIndex >= 0 && skillIndex < skillLevels.length && skillLevels[skillIndex] != UNTRAINED;
     }
 
     @Override
@@ -153,31 +188,28 @@ public class Character extends AggregateRoot {
     }
 
     private void handleCharacterCreated(CharacterCreated event) {
+        CharacterCreated.Data data = event.data();
         this.characterId = CharacterId.from(event.getAggregateId());
         this.id = characterId.toString();
-        this.name = CharacterName.of((String) event.getPayload().get("name"));
-        this.origin = Origin.valueOf((String) event.getPayload().get("origin"));
+        this.name = CharacterName.of(data.name());
+        this.origin = Origin.valueOf(data.origin());
         this.attributes = Attributes.create(
-            (Integer) event.getPayload().get("strength"),
-            (Integer) event.getPayload().get("agility"),
-            (Integer) event.getPayload().get("endurance"),
-            (Integer) event.getPayload().get("intellect"),
-            (Integer) event.getPayload().get("perception"),
-            (Integer) event.getPayload().get("charisma")
+            data.strength(),
+            data.agility(),
+            data.endurance(),
+            data.intellect(),
+            data.perception(),
+            data.charisma()
         );
         this.appearance = Appearance.create(
-            Appearance.Gender.valueOf((String) event.getPayload().get("gender")),
-            Appearance.BodyType.valueOf((String) event.getPayload().get("bodyType"))
+            Appearance.Gender.valueOf(data.gender()),
+            Appearance.BodyType.valueOf(data.bodyType())
         );
-        this.isProtagonist = (Boolean) event.getPayload().get("isProtagonist");
+        this.isProtagonist = data.isProtagonist();
 
         // Restore skills
-        @SuppressWarnings("unchecked")
-        Map<String, Integer> startingSkills = (Map<String, Integer>) event.getPayload().get("startingSkills");
-        if (startingSkills != null) {
-            startingSkills.forEach((skillIdStr, level) -> {
-                skills.put(SkillId.of(skillIdStr), Proficiency.of(level));
-            });
+        if (data.startingSkills() != null) {
+            data.startingSkills().forEach((skillIdStr, level) -> setSkillLevel(SkillId.of(skillIdStr), level));
         }
     }
 
@@ -199,8 +231,27 @@ public class Character extends AggregateRoot {
         return attributes;
     }
 
+    /**
+     * Read-only view of the skills the character has a proficiency in; it reflects later
+     * changes to the character rather than copying them.
+     */
     public Map<SkillId, Proficiency> getSkills() {
-        return Map.copyOf(skills);
+        return new SkillsView();
+    }
+
+    /**
+     * Proficiency level in a skill, 0 if the character is untrained in it.
+     */
+    public int getSkillLevel(SkillId skillId) {
+        return getSkillLevel(SkillTable.shared().find(skillId.getValue()));
+    }
+
+    /**
+     * Proficiency level by {@link SkillTable} index, 0 if the character is untrained in it.
+     * Callers checking the same skill repeatedly resolve its index once.
+     */
+    public int getSkillLevel(int skillIndex) {
+        return hasSkill(skillIndex) ? skillLevels[skillIndex] : 0;
     }
 
     public Appearance getAppearance() {
@@ -243,13 +294,11 @@ public class Character extends AggregateRoot {
         
         // Serialize skills
         ObjectNode skillsNode = mapper.createObjectNode();
-        if (skills != null) {
-            skills.forEach((skillId, proficiency) -> {
-                ObjectNode profNode = mapper.createObjectNode();
-                profNode.put("level", proficiency.getLevel());
-                skillsNode.set(skillId.getValue(), profNode);
-            });
-        }
+        getSkills().forEach((skillId, proficiency) -> {
+            ObjectNode profNode = mapper.createObjectNode();
+            profNode.put("level", proficiency.getLevel());
+            skillsNode.set(skillId.getValue(), profNode);
+        });
         snapshot.set("skills", skillsNode);
         
         return snapshot;
@@ -299,13 +348,75 @@ public class Character extends AggregateRoot {
         // Restore skills
         if (snapshot.has("skills") && !snapshot.get("skills").isNull()) {
             JsonNode skillsNode = snapshot.get("skills");
-            this.skills = new HashMap<>();
+            clearSkills();
             skillsNode.fields().forEachRemaining(entry -> {
                 JsonNode profNode = entry.getValue();
-                Proficiency proficiency = Proficiency.of(profNode.get("level").asInt());
-                this.skills.put(SkillId.of(entry.getKey()), proficiency);
+                setSkillLevel(SkillId.of(entry.getKey()), profNode.get("level").asInt());
             });
         }
     }
-}
 
+    private final class SkillsView extends AbstractMap<SkillId, Proficiency> {
+
+        @Override
+        public int size() {
+            return skillCount;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof SkillId skillId && hasSkill(SkillTable.shared().find(skillId.getValue()));
+        }
+
+        @Override
+        public Proficiency get(Object key) {
+            if (!(key instanceof SkillId skillId)) {
+                return null;
+            }
+            int index = SkillTable.shared().find(skillId.getValue());
+            return hasSkill(index) ? Proficiency.of(skillLevels[index]) : null;
+        }
+
+        @Override
+        public Set<Entry<SkillId, Proficiency>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return skillCount;
+                }
+
+                @Override
+                public Iterator<Entry<SkillId, Proficiency>> iterator() {
+                    byte[] levels = skillLevels;
+                    return new Iterator<>() {
+                        private int index = advance(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < levels.length;
+                        }
+
+                        @Override
+                        public Entry<SkillId, Proficiency> next() {
+                            if (index >= levels.length) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<SkillId, Proficiency> entry = new SimpleImmutableEntry<>(
+                                SkillTable.shared().skill(index), Proficiency.of(levels[index])
+                            );
+                            index = advance(index + 1);
+                            return entry;
+                        }
+
+                        private int advance(int from) {
+                            while (from < levels.length && levels[from] == UNTRAINED) {
+                                from++;
+                            }
+                            return from;
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
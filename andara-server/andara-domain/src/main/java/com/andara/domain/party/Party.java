@@ -88,10 +88,10 @@ public class Party extends AggregateRoot {
     }
 
     private void handlePartyCreated(PartyCreated event) {
-        this.partyId = PartyId.from((String) event.getPayload().get("partyId"));
+        this.partyId = PartyId.from(event.data().partyId());
         this.id = partyId.toString();
-        this.instanceId = InstanceId.from((String) event.getPayload().get("instanceId"));
-        this.protagonistId = CharacterId.from((String) event.getPayload().get("protagonistId"));
+        this.instanceId = InstanceId.from(event.data().instanceId());
+        this.protagonistId = CharacterId.from(event.data().protagonistId());
     }
 
     public PartyId getPartyId() {
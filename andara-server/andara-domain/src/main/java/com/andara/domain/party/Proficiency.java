@@ -11,6 +11,13 @@ import java.util.Objects;
 public final class Proficiency implements ValueObject {
     private static final int MIN_PROFICIENCY = 0;
     private static final int MAX_PROFICIENCY = 100;
+    private static final Proficiency[] LEVELS = new Proficiency[MAX_PROFICIENCY + 1];
+
+    static {
+        for (int level = MIN_PROFICIENCY; level <= MAX_PROFICIENCY; level++) {
+            LEVELS[level] = new Proficiency(level);
+        }
+    }
 
     private final int level;
 
@@ -24,11 +31,12 @@ public final class Proficiency implements ValueObject {
     }
 
     public static Proficiency of(int level) {
-        return new Proficiency(level);
+        // Every valid level is shared; out-of-range levels still fail in the constructor
+        return level >= MIN_PROFICIENCY && level <= MAX_PROFICIENCY ? LEVELS[level] : new Proficiency(level);
     }
 
     public static Proficiency zero() {
-        return new Proficiency(0);
+        return LEVELS[MIN_PROFICIENCY];
     }
 
     public int getLevel() {
@@ -36,7 +44,7 @@ public final class Proficiency implements ValueObject {
     }
 
     public Proficiency increase(int amount) {
-        return new Proficiency(Math.min(MAX_PROFICIENCY, level + amount));
+        return of(Math.min(MAX_PROFICIENCY, level + amount));
     }
 
     @Override
@@ -0,0 +1,70 @@
+package com.andara.domain.party;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dense indices for skill IDs, shared by every character.
+ * Skill definitions from content are registered up front so they take the low indices; any
+ * other skill ID gets the next free index on first use. Indices are never reassigned, so a
+ * proficiency array sized for an older table stays valid as the table grows.
+ */
+public final class SkillTable {
+    private static final SkillTable SHARED = new SkillTable();
+
+    private final Map<String, Integer> indices = new ConcurrentHashMap<>();
+    private volatile SkillId[] skills = new SkillId[0];
+
+    SkillTable() {
+    }
+
+    public static SkillTable shared() {
+        return SHARED;
+    }
+
+    /**
+     * Index of a skill, registering it if it is new.
+     */
+    public int indexOf(SkillId skillId) {
+        Integer index = indices.get(skillId.getValue());
+        return index != null ? index : register(skillId);
+    }
+
+    /**
+     * Index of a registered skill, or -1 if the skill has never been seen.
+     */
+    public int find(String skillId) {
+        Integer index = indices.get(skillId);
+        return index != null ? index : -1;
+    }
+
+    public void registerAll(Collection<String> skillIds) {
+        for (String skillId : skillIds) {
+            indexOf(SkillId.of(skillId));
+        }
+    }
+
+    public SkillId skill(int index) {
+        return skills[index];
+    }
+
+    public int size() {
+        return skills.length;
+    }
+
+    private synchronized int register(SkillId skillId) {
+        Integer existing = indices.get(skillId.getValue());
+        if (existing != null) {
+            return existing;
+        }
+        int index = skills.length;
+        SkillId[] grown = Arrays.copyOf(skills, index + 1);
+        grown[index] = skillId;
+        // Publish the skill before its index, so any reader that finds the index can resolve it
+        skills = grown;
+        indices.put(skillId.getValue(), index);
+        return index;
+    }
+}
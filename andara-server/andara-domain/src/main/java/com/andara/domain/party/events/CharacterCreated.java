@@ -1,6 +1,7 @@
 package com.andara.domain.party.events;
 
-import com.andara.domain.DomainEvent;
+import com.andara.domain.EventPayload;
+import com.andara.domain.TypedDomainEvent;
 import com.andara.domain.party.CharacterId;
 import com.andara.domain.party.CharacterName;
 import com.andara.domain.party.Origin;
@@ -9,6 +10,7 @@ import com.andara.domain.party.Appearance;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -22,9 +24,10 @@ public record CharacterCreated(
     String aggregateId,
     String aggregateType,
     long version,
-    Map<String, Object> payload,
+    Data data,
     Map<String, String> metadata
-) implements DomainEvent {
+) implements TypedDomainEvent<CharacterCreated.Data> {
+    public static final String EVENT_TYPE = "CharacterCreated";
 
     public static CharacterCreated create(
         CharacterId characterId,
@@ -38,21 +41,22 @@ public record CharacterCreated(
         UUID partyId,
         UUID agentId
     ) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("characterId", characterId.toString());
-        payload.put("partyId", partyId.toString());
-        payload.put("name", name.getValue());
-        payload.put("origin", origin.name());
-        payload.put("strength", attributes.strength());
-        payload.put("agility", attributes.agility());
-        payload.put("endurance", attributes.endurance());
-        payload.put("intellect", attributes.intellect());
-        payload.put("perception", attributes.perception());
-        payload.put("charisma", attributes.charisma());
-        payload.put("startingSkills", startingSkills);
-        payload.put("gender", appearance.getGender().name());
-        payload.put("bodyType", appearance.getBodyType().name());
-        payload.put("isProtagonist", isProtagonist);
+        Data data = new Data(
+            characterId.toString(),
+            partyId.toString(),
+            name.getValue(),
+            origin.name(),
+            attributes.strength(),
+            attributes.agility(),
+            attributes.endurance(),
+            attributes.intellect(),
+            attributes.perception(),
+            attributes.charisma(),
+            startingSkills,
+            appearance.getGender().name(),
+            appearance.getBodyType().name(),
+            isProtagonist
+        );
 
         Map<String, String> metadata = new HashMap<>();
         metadata.put("instanceId", instanceId.toString());
@@ -60,16 +64,30 @@ public record CharacterCreated(
 
         return new CharacterCreated(
             UUID.randomUUID(),
-            "CharacterCreated",
+            EVENT_TYPE,
             Instant.now(),
             characterId.toString(),
             "Character",
             1L,
-            payload,
+            data,
             metadata
         );
     }
 
+    /**
+     * Rebuild a stored event from its decoded payload.
+     */
+    public static CharacterCreated restore(
+        UUID eventId,
+        Instant timestamp,
+        String aggregateId,
+        long version,
+        Data data,
+        Map<String, String> metadata
+    ) {
+        return new CharacterCreated(eventId, EVENT_TYPE, timestamp, aggregateId, "Character", version, data, metadata);
+    }
+
     @Override
     public UUID getEventId() {
         return eventId;
@@ -100,14 +118,57 @@ public record CharacterCreated(
         return version;
     }
 
-    @Override
-    public Map<String, Object> getPayload() {
-        return payload;
-    }
-
     @Override
     public Map<String, String> getMetadata() {
         return metadata;
     }
-}
 
+    public record Data(
+        String characterId,
+        String partyId,
+        String name,
+        String origin,
+        int strength,
+        int agility,
+        int endurance,
+        int intellect,
+        int perception,
+        int charisma,
+        Map<String, Integer> startingSkills,
+        String gender,
+        String bodyType,
+        boolean isProtagonist
+    ) implements EventPayload {
+        private static final List<String> FIELDS = List.of(
+            "characterId", "partyId", "name", "origin",
+            "strength", "agility", "endurance", "intellect", "perception", "charisma",
+            "startingSkills", "gender", "bodyType", "isProtagonist"
+        );
+
+        @Override
+        public List<String> fieldNames() {
+            return FIELDS;
+        }
+
+        @Override
+        public Object field(int index) {
+            return switch (index) {
+                case 0 -> characterId;
+                case 1 -> partyId;
+                case 2 -> name;
+                case 3 -> origin;
+                case 4 -> strength;
+                case 5 -> agility;
+                case 6 -> endurance;
+                case 7 -> intellect;
+                case 8 -> perception;
+                case 9 -> charisma;
+                case 10 -> startingSkills;
+                case 11 -> gender;
+                case 12 -> bodyType;
+                case 13 -> isProtagonist;
+                default -> throw new IndexOutOfBoundsException(index);
+            };
+        }
+    }
+}
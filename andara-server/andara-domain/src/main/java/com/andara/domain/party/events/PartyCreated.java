@@ -1,12 +1,14 @@
 package com.andara.domain.party.events;
 
-import com.andara.domain.DomainEvent;
+import com.andara.domain.EventPayload;
+import com.andara.domain.TypedDomainEvent;
 import com.andara.domain.game.InstanceId;
 import com.andara.domain.party.CharacterId;
 import com.andara.domain.party.PartyId;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -20,9 +22,10 @@ public record PartyCreated(
     String aggregateId,
     String aggregateType,
     long version,
-    Map<String, Object> payload,
+    Data data,
     Map<String, String> metadata
-) implements DomainEvent {
+) implements TypedDomainEvent<PartyCreated.Data> {
+    public static final String EVENT_TYPE = "PartyCreated";
 
     public static PartyCreated create(
         PartyId partyId,
@@ -30,10 +33,11 @@ public record PartyCreated(
         CharacterId protagonistId,
         UUID agentId
     ) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("partyId", partyId.toString());
-        payload.put("instanceId", instanceId.toString());
-        payload.put("protagonistId", protagonistId.toString());
+        Data data = new Data(
+            partyId.toString(),
+            instanceId.toString(),
+            protagonistId.toString()
+        );
 
         Map<String, String> metadata = new HashMap<>();
         metadata.put("instanceId", instanceId.toString());
@@ -41,16 +45,30 @@ public record PartyCreated(
 
         return new PartyCreated(
             UUID.randomUUID(),
-            "PartyCreated",
+            EVENT_TYPE,
             Instant.now(),
             partyId.toString(),
             "Party",
             1L,
-            payload,
+            data,
             metadata
         );
     }
 
+    /**
+     * Rebuild a stored event from its decoded payload.
+     */
+    public static PartyCreated restore(
+        UUID eventId,
+        Instant timestamp,
+        String aggregateId,
+        long version,
+        Data data,
+        Map<String, String> metadata
+    ) {
+        return new PartyCreated(eventId, EVENT_TYPE, timestamp, aggregateId, "Party", version, data, metadata);
+    }
+
     @Override
     public UUID getEventId() {
         return eventId;
@@ -81,13 +99,31 @@ public record PartyCreated(
         return version;
     }
 
-    @Override
-    public Map<String, Object> getPayload() {
-        return payload;
-    }
-
     @Override
     public Map<String, String> getMetadata() {
         return metadata;
     }
+
+    public record Data(
+        String partyId,
+        String instanceId,
+        String protagonistId
+    ) implements EventPayload {
+        private static final List<String> FIELDS = List.of("partyId", "instanceId", "protagonistId");
+
+        @Override
+        public List<String> fieldNames() {
+            return FIELDS;
+        }
+
+        @Override
+        public Object field(int index) {
+            return switch (index) {
+                case 0 -> partyId;
+                case 1 -> instanceId;
+                case 2 -> protagonistId;
+                default -> throw new IndexOutOfBoundsException(index);
+            };
+        }
+    }
 }
@@ -0,0 +1,151 @@
+package com.andara.domain;
+
+import com.andara.domain.combat.CombatRules;
+import com.andara.domain.combat.EncounterId;
+import com.andara.domain.combat.events.AttackExecuted;
+import com.andara.domain.combat.events.CombatEnded;
+import com.andara.domain.party.Appearance;
+import com.andara.domain.party.Attributes;
+import com.andara.domain.party.Character;
+import com.andara.domain.party.CharacterId;
+import com.andara.domain.party.CharacterName;
+import com.andara.domain.party.Origin;
+import com.andara.domain.party.events.CharacterCreated;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class TypedDomainEventTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void getPayload_shouldExposeTypedFieldsAsReadOnlyMap() {
+        CharacterCreated event = characterCreated();
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("characterId", event.getAggregateId());
+        expected.put("partyId", event.data().partyId());
+        expected.put("name", "Test Character");
+        expected.put("origin", Origin.VAULT_DWELLER.name());
+        expected.put("strength", 9);
+        expected.put("agility", 8);
+        expected.put("endurance", 7);
+        expected.put("intellect", 6);
+        expected.put("perception", 10);
+        expected.put("charisma", 11);
+        expected.put("startingSkills", Map.of("mechanics", 20));
+        expected.put("gender", event.data().gender());
+        expected.put("bodyType", event.data().bodyType());
+        expected.put("isProtagonist", true);
+
+        assertEquals(expected, event.getPayload());
+        assertEquals(9, event.getPayload().get("strength"));
+        assertNull(event.getPayload().get("unknown"));
+        assertThrows(UnsupportedOperationException.class, () -> event.getPayload().put("strength", 1));
+    }
+
+    @Test
+    void getPayload_shouldKeepNullFields() {
+        CombatEnded event = CombatEnded.create(EncounterId.generate(), 5, null);
+
+        assertTrue(event.getPayload().containsKey("winningTeam"));
+        assertNull(event.getPayload().get("winningTeam"));
+    }
+
+    @Test
+    void data_shouldSerializeLikeMapView() throws Exception {
+        CharacterCreated character = characterCreated();
+        AttackExecuted attack = attackExecuted();
+
+        assertEquals(objectMapper.valueToTree(character.getPayload()), objectMapper.valueToTree(character.data()));
+        assertEquals(objectMapper.valueToTree(attack.getPayload()), objectMapper.valueToTree(attack.data()));
+
+        String json = objectMapper.writeValueAsString(character.getPayload());
+        assertEquals(character.data(), objectMapper.readValue(json, CharacterCreated.Data.class));
+    }
+
+    @Test
+    void forEventType_shouldRestoreTypedEventFromStoredPayload() throws Exception {
+        CharacterCreated event = characterCreated();
+        String json = objectMapper.writeValueAsString(event.data());
+
+        DomainEventTypes.Binding<?> binding = DomainEventTypes.forEventType(CharacterCreated.EVENT_TYPE).orElseThrow();
+        DomainEvent restored = binding.restore(
+            event.getEventId(), event.getTimestamp(), event.getAggregateId(), 1L,
+            objectMapper.readValue(json, binding.payloadType()), event.getMetadata()
+        );
+
+        assertEquals(event, restored);
+        Character character = Character.fromEvents(List.of(restored));
+        assertEquals("Test Character", character.getName().getValue());
+        assertEquals(9, character.getAttributes().strength());
+        assertTrue(DomainEventTypes.forEventType("CombatStarted").isEmpty());
+    }
+
+    @Test
+    void replay_shouldAllocateLessPerEventThanMapPayload() throws Exception {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        String json = objectMapper.writeValueAsString(attackExecuted().data());
+        TypeReference<Map<String, Object>> mapType = new TypeReference<>() { };
+        int events = 20_000;
+        long thread = Thread.currentThread().getId();
+
+        // Warm up both paths so the measurement does not include class loading or compilation
+        long checksum = 0;
+        for (int i = 0; i < events; i++) {
+            checksum += objectMapper.readValue(json, AttackExecuted.Data.class).damage();
+            checksum += AttackExecuted.Data.fromPayload(objectMapper.readValue(json, mapType)).damage();
+        }
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < events; i++) {
+            checksum += objectMapper.readValue(json, AttackExecuted.Data.class).damage();
+        }
+        long typedBytes = (threads.getThreadAllocatedBytes(thread) - before) / events;
+
+        before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < events; i++) {
+            checksum += AttackExecuted.Data.fromPayload(objectMapper.readValue(json, mapType)).damage();
+        }
+        long mapBytes = (threads.getThreadAllocatedBytes(thread) - before) / events;
+
+        assertTrue(checksum > 0);
+        assertTrue(typedBytes < mapBytes,
+            String.format("typed payload allocated %d bytes/event, map payload %d bytes/event", typedBytes, mapBytes));
+    }
+
+    private static CharacterCreated characterCreated() {
+        return CharacterCreated.create(
+            CharacterId.random(),
+            CharacterName.of("Test Character"),
+            Origin.VAULT_DWELLER,
+            Attributes.create(9, 8, 7, 6, 10, 11),
+            Map.of("mechanics", 20),
+            Appearance.defaultAppearance(),
+            true,
+            UUID.randomUUID(),
+            UUID.randomUUID(),
+            UUID.randomUUID()
+        );
+    }
+
+    private static AttackExecuted attackExecuted() {
+        return AttackExecuted.create(
+            EncounterId.generate(), 3, "raider", "guard",
+            new CombatRules.AttackResult(true, false, 42, 65, 7), 12L
+        );
+    }
+}
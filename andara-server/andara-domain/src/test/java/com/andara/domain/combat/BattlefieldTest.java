@@ -0,0 +1,171 @@
+package com.andara.domain.combat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattlefieldTest {
+
+    @Test
+    void findPath_shouldGoAroundWallsWithoutCuttingCorners() {
+        // Wall along x = 2 from y = 0 to y = 3, open at y = 4
+        Battlefield battlefield = new Battlefield(5, 5);
+        for (int y = 0; y < 4; y++) {
+            battlefield.setTerrain(2, y, Battlefield.IMPASSABLE);
+        }
+        int[] path = new int[25];
+
+        int steps = battlefield.findPath(0, 0, 4, 0, path);
+
+        assertEquals(10, steps);
+        assertEquals(battlefield.cellIndex(4, 0), path[steps - 1]);
+        for (int i = 0; i < steps; i++) {
+            int x = battlefield.cellX(path[i]);
+            int y = battlefield.cellY(path[i]);
+            assertNotEquals(Battlefield.IMPASSABLE, battlefield.terrainCost(x, y), "walked through wall at " + x + "," + y);
+        }
+        // Passing the wall end must go through (2, 4), never diagonally around (2, 3)
+        boolean throughGap = false;
+        for (int i = 0; i < steps; i++) {
+            throughGap |= path[i] == battlefield.cellIndex(2, 4);
+        }
+        assertTrue(throughGap);
+        assertEquals(10, battlefield.lastSearchCost(battlefield.cellIndex(4, 0)));
+    }
+
+    @Test
+    void findPath_shouldAvoidOccupiedCellsAndRejectOccupiedGoal() {
+        Battlefield battlefield = new Battlefield(3, 1);
+        battlefield.occupy(1, 0, 7);
+        int[] path = new int[3];
+
+        assertEquals(-1, battlefield.findPath(0, 0, 2, 0, path));
+        assertEquals(-1, battlefield.findPath(0, 0, 1, 0, path));
+        assertFalse(battlefield.isValidPosition(1, 0));
+
+        battlefield.vacate(1, 0);
+        assertEquals(2, battlefield.findPath(0, 0, 2, 0, path));
+        assertTrue(battlefield.isValidPosition(BattlefieldPosition.of(1, 0)));
+    }
+
+    @Test
+    void findPath_shouldPreferCheapTerrain() {
+        Battlefield battlefield = new Battlefield(3, 3);
+        battlefield.setTerrain(1, 0, 5);
+        battlefield.setTerrain(1, 1, 5);
+        int[] path = new int[9];
+
+        int steps = battlefield.findPath(0, 0, 2, 0, path);
+
+        assertEquals(battlefield.cellIndex(1, 2), path[1]);
+        assertEquals(4, steps);
+        assertEquals(4, battlefield.lastSearchCost(battlefield.cellIndex(2, 0)));
+    }
+
+    @Test
+    void findPath_withTooSmallBuffer_shouldThrowException() {
+        Battlefield battlefield = new Battlefield(10, 1);
+        assertThrows(IllegalArgumentException.class, () -> battlefield.findPath(0, 0, 9, 0, new int[3]));
+    }
+
+    @Test
+    void movementRange_shouldRespectBudgetAndTerrainCost() {
+        Battlefield battlefield = new Battlefield(5, 1);
+        battlefield.setTerrain(2, 0, 3);
+        int[] cells = new int[battlefield.cellCount()];
+
+        int count = battlefield.movementRange(0, 0, 3, cells);
+
+        assertEquals(2, count);
+        assertEquals(battlefield.cellIndex(0, 0), cells[0]);
+        assertEquals(battlefield.cellIndex(1, 0), cells[1]);
+        assertEquals(-1, battlefield.lastSearchCost(battlefield.cellIndex(2, 0)));
+
+        assertEquals(4, battlefield.movementRange(0, 0, 5, cells));
+        assertEquals(5, battlefield.lastSearchCost(battlefield.cellIndex(3, 0)));
+    }
+
+    @Test
+    void movementRange_shouldAgreeWithFindPathOnARandomGrid() {
+        SplittableRandom random = new SplittableRandom(42);
+        Battlefield battlefield = new Battlefield(30, 30);
+        for (int y = 0; y < 30; y++) {
+            for (int x = 0; x < 30; x++) {
+                int roll = random.nextInt(10);
+                battlefield.setTerrain(x, y, roll == 0 ? Battlefield.IMPASSABLE : 1 + roll % 3);
+            }
+        }
+        battlefield.setTerrain(15, 15, 1);
+        int[] cells = new int[battlefield.cellCount()];
+        int[] costs = new int[battlefield.cellCount()];
+        int[] path = new int[battlefield.cellCount()];
+
+        int count = battlefield.movementRange(15, 15, 20, cells);
+        for (int i = 0; i < count; i++) {
+            costs[i] = battlefield.lastSearchCost(cells[i]);
+        }
+
+        assertTrue(count > 1);
+        for (int i = 1; i < count; i++) {
+            int cell = cells[i];
+            int steps = battlefield.findPath(15, 15, battlefield.cellX(cell), battlefield.cellY(cell), path);
+            assertTrue(steps > 0);
+            assertEquals(costs[i], battlefield.lastSearchCost(cell), "cost to " + battlefield.positionOf(cell));
+            int pathCost = 0;
+            for (int s = 0; s < steps; s++) {
+                pathCost += battlefield.terrainCost(battlefield.cellX(path[s]), battlefield.cellY(path[s]));
+                if (s > 0) {
+                    assertEquals(1, battlefield.distance(
+                        battlefield.cellX(path[s - 1]), battlefield.cellY(path[s - 1]),
+                        battlefield.cellX(path[s]), battlefield.cellY(path[s])));
+                }
+            }
+            assertEquals(costs[i], pathCost);
+        }
+    }
+
+    @Test
+    void hasLineOfSight_shouldBeBlockedByIntermediateCellsOnly() {
+        Battlefield battlefield = new Battlefield(7, 3);
+        battlefield.setBlocksSight(3, 1, true);
+
+        assertFalse(battlefield.hasLineOfSight(0, 1, 6, 1));
+        assertTrue(battlefield.hasLineOfSight(0, 0, 6, 0));
+        assertTrue(battlefield.hasLineOfSight(0, 1, 3, 1));
+        assertTrue(battlefield.hasLineOfSight(BattlefieldPosition.of(3, 1), BattlefieldPosition.of(6, 1)));
+    }
+
+    @Test
+    void getCoverBonus_shouldUseCellBehindTargetFacingAttacker() {
+        Battlefield battlefield = new Battlefield(7, 3);
+        battlefield.setCover(5, 1, 40);
+        battlefield.setCover(6, 1, 10);
+
+        assertEquals(40, battlefield.getCoverBonus(0, 1, 6, 1));
+        assertEquals(10, battlefield.getCoverBonus(6, 0, 6, 1));
+        assertEquals(40, battlefield.getCoverBonus(BattlefieldPosition.of(0, 1), BattlefieldPosition.of(5, 1)));
+
+        battlefield.setBlocksSight(3, 1, true);
+        assertEquals(Battlefield.MAX_COVER, battlefield.getCoverBonus(0, 1, 6, 1));
+    }
+
+    @Test
+    void distance_shouldCountDiagonalStepsAsOne() {
+        Battlefield battlefield = new Battlefield(10, 10);
+        assertEquals(5, battlefield.distance(BattlefieldPosition.of(0, 0), BattlefieldPosition.of(3, 5)));
+    }
+
+    @Test
+    void setters_withInvalidValues_shouldThrowException() {
+        Battlefield battlefield = new Battlefield(2, 2);
+        assertThrows(IllegalArgumentException.class, () -> battlefield.setCover(0, 0, 101));
+        assertThrows(IllegalArgumentException.class, () -> battlefield.setTerrain(2, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> battlefield.occupy(0, 0, Battlefield.EMPTY));
+        battlefield.setTerrain(1, 1, Battlefield.IMPASSABLE);
+        assertThrows(IllegalArgumentException.class, () -> battlefield.occupy(1, 1, 3));
+        assertFalse(battlefield.isValidPosition(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> BattlefieldPosition.of(-1, 0));
+    }
+}
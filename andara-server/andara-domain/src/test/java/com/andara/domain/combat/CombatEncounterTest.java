@@ -0,0 +1,232 @@
+package com.andara.domain.combat;
+
+import com.andara.domain.DomainEvent;
+import com.andara.domain.combat.events.AttackExecuted;
+import com.andara.domain.combat.events.CombatEnded;
+import com.andara.domain.combat.events.CombatStarted;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CombatEncounterTest {
+
+    private static final Weapon KNIFE = new Weapon("knife", 3, 5, 1, 3);
+    private static final Weapon RIFLE = new Weapon("rifle", 4, 8, 4, 4);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void start_shouldRollInitiativeAndGiveFirstCombatantItsActionPoints() {
+        CombatEncounter encounter = duel(7L);
+
+        assertEquals(1, encounter.getUncommittedEvents().size());
+        assertInstanceOf(CombatStarted.class, encounter.getUncommittedEvents().get(0));
+        assertEquals(EncounterStatus.ACTIVE, encounter.getStatus());
+        assertEquals(1, encounter.getTurnNumber());
+        assertEquals(2, encounter.getInitiativeOrder().size());
+        String first = encounter.getInitiativeOrder().get(0);
+        assertEquals(first, encounter.getCurrentCombatantId());
+        assertEquals(6, encounter.getActionPoints(first));
+        assertEquals(1L, encounter.getVersion());
+    }
+
+    @Test
+    void commands_shouldBeDeterministicForTheSameSeed() {
+        CombatEncounter first = duel(42L);
+        CombatEncounter second = duel(42L);
+
+        List<CombatRules.AttackResult> firstResults = fightToTheEnd(first);
+        List<CombatRules.AttackResult> secondResults = fightToTheEnd(second);
+
+        assertEquals(firstResults, secondResults);
+        assertEquals(first.getWinningTeam(), second.getWinningTeam());
+        assertEquals(first.getVersion(), second.getVersion());
+    }
+
+    @Test
+    void fromEvents_shouldRebuildTheEncounterFromStoredPayloads() {
+        CombatEncounter encounter = duel(3L);
+        sidestep(encounter);
+        fightToTheEnd(encounter);
+        List<DomainEvent> events = encounter.getUncommittedEvents();
+        assertInstanceOf(CombatEnded.class, events.get(events.size() - 1));
+
+        // Stored events come back as plain maps after a JSON round trip
+        List<DomainEvent> stored = new ArrayList<>();
+        for (DomainEvent event : events) {
+            stored.add(storedCopy(event));
+        }
+        CombatEncounter replayed = CombatEncounter.fromEvents(stored);
+
+        assertEquals(EncounterStatus.COMPLETED, replayed.getStatus());
+        assertEquals(encounter.getWinningTeam(), replayed.getWinningTeam());
+        assertEquals(encounter.getTurnNumber(), replayed.getTurnNumber());
+        assertEquals(encounter.getVersion(), replayed.getVersion());
+        for (String combatantId : List.of("a", "b")) {
+            assertEquals(encounter.getHealth(combatantId), replayed.getHealth(combatantId));
+            assertEquals(encounter.getPosition(combatantId), replayed.getPosition(combatantId));
+        }
+        assertTrue(replayed.getUncommittedEvents().isEmpty());
+    }
+
+    @Test
+    void fromSnapshot_shouldContinueWithTheSameRolls() {
+        CombatEncounter original = duel(11L);
+        String actor = original.getCurrentCombatantId();
+        original.attack(actor, opponent(actor));
+
+        CombatEncounter restored = CombatEncounter.empty(original.getEncounterId());
+        restored.fromSnapshot(original.toSnapshot());
+
+        assertEquals(original.getVersion(), restored.getVersion());
+        assertEquals(original.getActionPoints(actor), restored.getActionPoints(actor));
+        assertEquals(original.attack(actor, opponent(actor)), restored.attack(actor, opponent(actor)));
+        assertEquals(original.getHealth(opponent(actor)), restored.getHealth(opponent(actor)));
+    }
+
+    @Test
+    void attack_shouldRecordRolledOutcome() {
+        CombatEncounter encounter = duel(5L);
+        String actor = encounter.getCurrentCombatantId();
+
+        CombatRules.AttackResult result = encounter.attack(actor, opponent(actor));
+
+        AttackExecuted event = (AttackExecuted) encounter.getUncommittedEvents().get(1);
+        assertEquals(result.hit(), event.getPayload().get("hit"));
+        assertEquals(result.damage(), event.getPayload().get("damage"));
+        assertEquals(12 - result.damage(), encounter.getHealth(opponent(actor)));
+        assertEquals(3, encounter.getActionPoints(actor));
+    }
+
+    @Test
+    void commands_shouldRejectInvalidActions() {
+        CombatEncounter encounter = duel(9L);
+        String actor = encounter.getCurrentCombatantId();
+        String other = opponent(actor);
+
+        assertThrows(IllegalStateException.class, () -> encounter.attack(other, actor));
+        assertThrows(IllegalStateException.class, () -> encounter.endTurn(other));
+        assertThrows(IllegalArgumentException.class, () -> encounter.attack(actor, actor));
+        assertThrows(IllegalArgumentException.class, () -> encounter.attack(actor, "nobody"));
+        assertThrows(IllegalArgumentException.class, () -> encounter.move(actor, BattlefieldPosition.of(7, 0)));
+        BattlefieldPosition occupied = encounter.getPosition(other);
+        assertThrows(IllegalArgumentException.class, () -> encounter.move(actor, occupied));
+
+        // Side-stepping costs 1 of 6 action points, leaving too few for a second knife attack
+        sidestep(encounter);
+        encounter.attack(actor, other);
+        assertEquals(2, encounter.getActionPoints(actor));
+        assertThrows(IllegalArgumentException.class, () -> encounter.attack(actor, other));
+
+        encounter.endTurn(actor);
+        assertEquals(other, encounter.getCurrentCombatantId());
+    }
+
+    @Test
+    void attack_beyondWeaponRangeOrWithoutSight_shouldBeRejected() {
+        Battlefield battlefield = new Battlefield(10, 3);
+        battlefield.setBlocksSight(4, 1, true);
+        CombatEncounter encounter = CombatEncounter.start(
+            EncounterId.generate(),
+            battlefield,
+            List.of(
+                new CombatantPlacement(profile("a", 0, RIFLE), BattlefieldPosition.of(0, 1)),
+                new CombatantPlacement(profile("b", 1, RIFLE), BattlefieldPosition.of(9, 1))
+            ),
+            1L
+        );
+        String actor = encounter.getCurrentCombatantId();
+
+        // Distance 9 is beyond the rifle's range of 8
+        assertThrows(IllegalArgumentException.class, () -> encounter.attack(actor, opponent(actor)));
+        BattlefieldPosition closer = actor.equals("a") ? BattlefieldPosition.of(2, 1) : BattlefieldPosition.of(7, 1);
+        encounter.move(actor, closer);
+        // In range now, but the wall at (4, 1) blocks sight
+        assertThrows(IllegalArgumentException.class, () -> encounter.attack(actor, opponent(actor)));
+        assertEquals(4, encounter.getActionPoints(actor));
+    }
+
+    @Test
+    void dice_shouldDependOnlyOnSeedAndCounter() {
+        Dice dice = new Dice(99L);
+        int[] rolls = new int[100];
+        for (int i = 0; i < rolls.length; i++) {
+            rolls[i] = dice.roll(1, 100);
+            assertTrue(rolls[i] >= 1 && rolls[i] <= 100);
+        }
+
+        Dice resumed = new Dice(99L, 50);
+        for (int i = 50; i < rolls.length; i++) {
+            assertEquals(rolls[i], resumed.roll(1, 100));
+        }
+    }
+
+    private CombatEncounter duel(long seed) {
+        return CombatEncounter.start(
+            EncounterId.generate(),
+            new Battlefield(6, 2),
+            List.of(
+                new CombatantPlacement(profile("a", 0, KNIFE), BattlefieldPosition.of(0, 0)),
+                new CombatantPlacement(profile("b", 1, KNIFE), BattlefieldPosition.of(1, 0))
+            ),
+            seed
+        );
+    }
+
+    private static CombatantProfile profile(String id, int team, Weapon weapon) {
+        return new CombatantProfile(id, team, 12, 6, 12, 10, 10, 40, 1, weapon);
+    }
+
+    private static String opponent(String combatantId) {
+        return combatantId.equals("a") ? "b" : "a";
+    }
+
+    private static List<CombatRules.AttackResult> fightToTheEnd(CombatEncounter encounter) {
+        List<CombatRules.AttackResult> results = new ArrayList<>();
+        while (encounter.getStatus() == EncounterStatus.ACTIVE) {
+            String actor = encounter.getCurrentCombatantId();
+            String target = opponent(actor);
+            while (encounter.getStatus() == EncounterStatus.ACTIVE
+                && encounter.getActionPoints(actor) >= encounter.getProfile(actor).weapon().apCost()) {
+                results.add(encounter.attack(actor, target));
+            }
+            if (encounter.getStatus() == EncounterStatus.ACTIVE) {
+                encounter.endTurn(actor);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Move the current combatant to the cell below it, still diagonally next to its opponent.
+     */
+    private static void sidestep(CombatEncounter encounter) {
+        String actor = encounter.getCurrentCombatantId();
+        BattlefieldPosition position = encounter.getPosition(actor);
+        encounter.move(actor, BattlefieldPosition.of(position.getX(), 1));
+    }
+
+    private DomainEvent storedCopy(DomainEvent event) {
+        Map<String, Object> payload = objectMapper.convertValue(
+            objectMapper.valueToTree(event.getPayload()), new TypeReference<Map<String, Object>>() { }
+        );
+        return new DomainEvent() {
+            public UUID getEventId() { return event.getEventId(); }
+            public String getEventType() { return event.getEventType(); }
+            public Instant getTimestamp() { return event.getTimestamp(); }
+            public String getAggregateId() { return event.getAggregateId(); }
+            public String getAggregateType() { return event.getAggregateType(); }
+            public long getVersion() { return event.getVersion(); }
+            public Map<String, Object> getPayload() { return payload; }
+            public Map<String, String> getMetadata() { return event.getMetadata(); }
+        };
+    }
+}
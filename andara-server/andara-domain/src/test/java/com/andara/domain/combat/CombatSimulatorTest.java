@@ -0,0 +1,93 @@
+package com.andara.domain.combat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CombatSimulatorTest {
+
+    private static final Weapon RIFLE = new Weapon("rifle", 4, 8, 5, 4);
+    private static final Weapon CLUB = new Weapon("club", 2, 4, 1, 3);
+
+    private final CombatSimulator simulator = new CombatSimulator();
+
+    @Test
+    void simulateMany_shouldBeReproducibleForTheSameSeed() {
+        Battlefield battlefield = skirmishField();
+        List<CombatantPlacement> placements = lineup(40, 40);
+
+        SimulationReport first = simulator.simulateMany(battlefield, placements, 2024L, 500);
+        SimulationReport second = simulator.simulateMany(battlefield, placements, 2024L, 500);
+
+        assertEquals(first, second);
+        assertEquals(500, first.encounters());
+        assertEquals(500, first.winsByTeam().get(0) + first.winsByTeam().get(1) + first.draws());
+    }
+
+    @Test
+    void simulateMany_shouldFavourTheBetterArmedTeam() {
+        SimulationReport report = simulator.simulateMany(skirmishField(), lineup(90, 10), 7L, 1000);
+
+        assertTrue(report.winRate(0) > 0.8, "win rate " + report.winRate(0));
+        assertTrue(report.averageTurns() >= 1);
+    }
+
+    @Test
+    void simulate_shouldCloseInAndFinishTheFight() {
+        Battlefield battlefield = skirmishField();
+        List<CombatantPlacement> placements = List.of(
+            new CombatantPlacement(profile("brute", 0, 60, CLUB), BattlefieldPosition.of(0, 0)),
+            new CombatantPlacement(profile("target", 1, 0, CLUB), BattlefieldPosition.of(15, 9))
+        );
+
+        CombatSimulator.Outcome outcome = simulator.simulate(battlefield, placements, 1L);
+
+        assertNotEquals(-1, outcome.winningTeam());
+        assertEquals(1, outcome.survivors());
+        assertEquals(outcome, simulator.simulate(battlefield, placements, 1L));
+        // The template battlefield is not touched
+        assertTrue(battlefield.isValidPosition(0, 0));
+    }
+
+    @Test
+    void simulate_withUnreachableEnemies_shouldEndInADraw() {
+        Battlefield battlefield = new Battlefield(5, 1);
+        battlefield.setTerrain(2, 0, Battlefield.IMPASSABLE);
+        List<CombatantPlacement> placements = List.of(
+            new CombatantPlacement(profile("left", 0, 50, CLUB), BattlefieldPosition.of(0, 0)),
+            new CombatantPlacement(profile("right", 1, 50, CLUB), BattlefieldPosition.of(4, 0))
+        );
+
+        CombatSimulator.Outcome outcome = new CombatSimulator(10).simulate(battlefield, placements, 3L);
+
+        assertEquals(-1, outcome.winningTeam());
+        assertEquals(10, outcome.turns());
+        assertEquals(2, outcome.survivors());
+    }
+
+    private static Battlefield skirmishField() {
+        Battlefield battlefield = new Battlefield(16, 10);
+        for (int y = 2; y < 8; y++) {
+            battlefield.setTerrain(7, y, Battlefield.IMPASSABLE);
+            battlefield.setBlocksSight(7, y, true);
+        }
+        battlefield.setCover(8, 1, 30);
+        battlefield.setTerrain(10, 5, 3);
+        return battlefield;
+    }
+
+    private static List<CombatantPlacement> lineup(int skillA, int skillB) {
+        return List.of(
+            new CombatantPlacement(profile("a1", 0, skillA, RIFLE), BattlefieldPosition.of(0, 3)),
+            new CombatantPlacement(profile("a2", 0, skillA, CLUB), BattlefieldPosition.of(0, 6)),
+            new CombatantPlacement(profile("b1", 1, skillB, RIFLE), BattlefieldPosition.of(15, 3)),
+            new CombatantPlacement(profile("b2", 1, skillB, CLUB), BattlefieldPosition.of(15, 6))
+        );
+    }
+
+    private static CombatantProfile profile(String id, int team, int skill, Weapon weapon) {
+        return new CombatantProfile(id, team, 20, 8, 12, 10, 10, skill, 1, weapon);
+    }
+}
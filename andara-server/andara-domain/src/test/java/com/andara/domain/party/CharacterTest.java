@@ -116,5 +116,39 @@ class CharacterTest {
         assertEquals(origin, character.getOrigin());
         assertTrue(character.isProtagonist());
     }
-}
 
+    @Test
+    void getSkillLevel_shouldReadTrainedSkillsAndDefaultToZero() {
+        Character character = Character.create(
+            CharacterId.random(), CharacterName.of("Test Character"), Origin.VAULT_DWELLER,
+            Attributes.create(8, 8, 8, 8, 8, 8), List.of(SkillId.of("tracking")),
+            Appearance.defaultAppearance(), true, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()
+        );
+
+        assertEquals(20, character.getSkillLevel(SkillId.of("tracking")));
+        assertEquals(15, character.getSkillLevel(SkillTable.shared().indexOf(SkillId.of("mechanics"))));
+        assertEquals(0, character.getSkillLevel(SkillId.of("never_defined_skill")));
+        assertEquals(0, character.getSkillLevel(-1));
+
+        Map<SkillId, Proficiency> skills = character.getSkills();
+        assertEquals(3, skills.size());
+        assertEquals(Proficiency.of(20), skills.get(SkillId.of("tracking")));
+        assertFalse(skills.containsKey(SkillId.of("scavenging")));
+        assertThrows(UnsupportedOperationException.class, () -> skills.put(SkillId.of("scavenging"), Proficiency.of(5)));
+    }
+
+    @Test
+    void toSnapshot_shouldRoundTripSkills() {
+        Character character = Character.create(
+            CharacterId.random(), CharacterName.of("Test Character"), Origin.WASTELANDER,
+            Attributes.create(8, 8, 8, 8, 8, 8), List.of(SkillId.of("mechanics")),
+            Appearance.defaultAppearance(), false, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()
+        );
+
+        Character restored = Character.empty(character.getCharacterId());
+        restored.fromSnapshot(character.toSnapshot());
+
+        assertEquals(character.getSkills(), restored.getSkills());
+        assertEquals(15, restored.getSkillLevel(SkillId.of("scavenging")));
+    }
+}
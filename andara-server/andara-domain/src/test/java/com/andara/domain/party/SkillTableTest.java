@@ -0,0 +1,31 @@
+package com.andara.domain.party;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillTableTest {
+
+    @Test
+    void indexOf_shouldAssignDenseStableIndices() {
+        SkillTable table = new SkillTable();
+        table.registerAll(List.of("mechanics", "electronics"));
+
+        assertEquals(0, table.indexOf(SkillId.of("mechanics")));
+        assertEquals(1, table.indexOf(SkillId.of("electronics")));
+        assertEquals(2, table.indexOf(SkillId.of("tracking")));
+        assertEquals(0, table.indexOf(SkillId.of("mechanics")));
+        assertEquals(3, table.size());
+        assertEquals(SkillId.of("tracking"), table.skill(2));
+    }
+
+    @Test
+    void find_shouldNotRegisterUnknownSkills() {
+        SkillTable table = new SkillTable();
+
+        assertEquals(-1, table.find("mechanics"));
+        assertEquals(0, table.size());
+    }
+}
@@ -4,6 +4,8 @@ import com.andara.domain.AggregateId;
 import com.andara.domain.AggregateType;
 import com.andara.domain.ConcurrencyException;
 import com.andara.domain.DomainEvent;
+import com.andara.domain.DomainEventTypes;
+import com.andara.domain.TypedDomainEvent;
 import com.andara.domain.game.InstanceId;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -55,7 +57,9 @@ public class JdbcEventStore implements EventStore {
             long sequenceNumber = sequenceNumbers.get(aggregateId).get(aggregateType);
             
             try {
-                String payloadJson = objectMapper.writeValueAsString(event.getPayload());
+                // Typed payloads serialize straight from their record, with the same keys as the map view
+                Object payload = event instanceof TypedDomainEvent<?> typed ? typed.data() : event.getPayload();
+                String payloadJson = objectMapper.writeValueAsString(payload);
                 String metadataJson = objectMapper.writeValueAsString(event.getMetadata());
                 
                 // Extract instanceId and agentId from metadata
@@ -205,13 +209,21 @@ public class JdbcEventStore implements EventStore {
             long version = rs.getLong("sequence_number");
             
             @SuppressWarnings("unchecked")
-            Map<String, Object> payload = objectMapper.readValue(
-                rs.getString("payload"),
+            Map<String, String> metadata = objectMapper.readValue(
+                rs.getString("metadata"),
                 Map.class
             );
+
+            // Event types with a typed payload decode straight into their record
+            Optional<DomainEventTypes.Binding<?>> binding = DomainEventTypes.forEventType(eventType);
+            if (binding.isPresent()) {
+                Object data = objectMapper.readValue(rs.getString("payload"), binding.get().payloadType());
+                return binding.get().restore(eventId, timestamp, aggregateId, version, data, metadata);
+            }
+
             @SuppressWarnings("unchecked")
-            Map<String, String> metadata = objectMapper.readValue(
-                rs.getString("metadata"),
+            Map<String, Object> payload = objectMapper.readValue(
+                rs.getString("payload"),
                 Map.class
             );
 
@@ -4,6 +4,7 @@ import com.andara.domain.AggregateId;
 import com.andara.domain.AggregateNotFoundException;
 import com.andara.domain.AggregateRoot;
 import com.andara.domain.AggregateType;
+import com.andara.domain.ConcurrencyException;
 import com.andara.domain.DomainEvent;
 import com.andara.infrastructure.EventPublisher;
 import com.andara.infrastructure.eventstore.EventStore;
@@ -14,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,10 +60,14 @@ public abstract class AbstractEventSourcedRepository<T extends AggregateRoot, ID
         // Persist events to event store
         try {
             eventStore.append(events);
+        } catch (ConcurrencyException e) {
+            // Left unwrapped so the command pipeline can recognize the conflict and retry
+            throw e;
         } catch (Exception e) {
             log.error("Failed to persist events for aggregate {}", aggregate.getId(), e);
             throw new RuntimeException("Failed to persist events", e);
         }
+        AggregateReloadScope.written(scopeKey(aggregate.getId()));
         
         // Publish events to Kafka
         try {
@@ -113,7 +119,33 @@ public abstract class AbstractEventSourcedRepository<T extends AggregateRoot, ID
     public T load(ID id) {
         AggregateId aggregateId = toAggregateId(id);
         AggregateType aggregateType = getAggregateType();
-        
+        String scopeKey = scopeKey(aggregateId.getValue());
+
+        // Retrying after a conflict: rebuild what the failed attempt read and catch up from there
+        AggregateReloadScope.LoadedState loaded = AggregateReloadScope.recall(scopeKey);
+        if (loaded != null) {
+            T aggregate = createEmpty(id);
+            if (loaded.snapshot() != null) {
+                aggregate.fromSnapshot(loaded.snapshot());
+            }
+            for (DomainEvent event : loaded.events()) {
+                aggregate.applyHistoricalEvent(event);
+            }
+            List<DomainEvent> newer = eventStore.getEvents(aggregateId, aggregateType, loaded.version());
+            for (DomainEvent event : newer) {
+                aggregate.applyHistoricalEvent(event);
+            }
+            log.debug("Caught up aggregate {} with {} events after version {}",
+                aggregateId, newer.size(), loaded.version());
+            if (!newer.isEmpty()) {
+                List<DomainEvent> events = new ArrayList<>(loaded.events().size() + newer.size());
+                events.addAll(loaded.events());
+                events.addAll(newer);
+                AggregateReloadScope.remember(scopeKey, loaded.snapshot(), events, aggregate.getVersion());
+            }
+            return aggregate;
+        }
+
         // Try to load from snapshot first
         Optional<Snapshot> snapshot = snapshotRepository.findLatest(aggregateId, aggregateType);
         
@@ -143,10 +175,17 @@ public abstract class AbstractEventSourcedRepository<T extends AggregateRoot, ID
         if (snapshot.isPresent() && !events.isEmpty()) {
             log.debug("Replayed {} events since snapshot for aggregate {}", events.size(), aggregateId);
         }
-        
+
+        // Only keeps references to what was read; nothing is copied unless a retry loads it again
+        AggregateReloadScope.remember(
+            scopeKey, snapshot.map(Snapshot::snapshotData).orElse(null), events, aggregate.getVersion());
         return aggregate;
     }
     
+    private String scopeKey(String aggregateId) {
+        return getAggregateType().getValue() + "/" + aggregateId;
+    }
+
     @Override
     public boolean exists(ID id) {
         AggregateId aggregateId = toAggregateId(id);
@@ -0,0 +1,79 @@
+package com.andara.infrastructure.repository;
+
+import com.andara.domain.DomainEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the state of aggregates loaded on the current thread while a command is retried.
+ * A load only keeps references to the stored snapshot and events it already read, so loads
+ * that never retry pay nothing for it. When an attempt fails with a concurrency conflict, the
+ * next attempt's load rebuilds the aggregate from those in memory and reads only the events
+ * appended after their version, instead of reading the aggregate from the store again.
+ * Once an aggregate has been saved in the scope, later loads could read its own uncommitted
+ * events, which a rollback would undo; such aggregates are not remembered again.
+ */
+public final class AggregateReloadScope {
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    private AggregateReloadScope() {
+    }
+
+    /**
+     * Run an action with a reload scope open; a scope that is already open is reused.
+     */
+    public static <T> T call(Supplier<T> action) {
+        if (SCOPE.get() != null) {
+            return action.get();
+        }
+        SCOPE.set(new Scope());
+        try {
+            return action.get();
+        } finally {
+            SCOPE.remove();
+        }
+    }
+
+    static LoadedState recall(String key) {
+        Scope scope = SCOPE.get();
+        return scope != null ? scope.loaded.get(key) : null;
+    }
+
+    /**
+     * @param snapshot Stored snapshot the load started from, or null if it replayed from the start
+     * @param events   Events the load applied on top of the snapshot
+     * @param version  Aggregate version after those events
+     */
+    static void remember(String key, JsonNode snapshot, List<DomainEvent> events, long version) {
+        Scope scope = SCOPE.get();
+        if (scope != null && !scope.written.contains(key)) {
+            scope.loaded.put(key, new LoadedState(snapshot, events, version));
+        }
+    }
+
+    /**
+     * Forget an aggregate whose events were just appended and stop remembering it, since
+     * anything read from now on may include events that are not committed yet.
+     */
+    static void written(String key) {
+        Scope scope = SCOPE.get();
+        if (scope != null) {
+            scope.loaded.remove(key);
+            scope.written.add(key);
+        }
+    }
+
+    private static final class Scope {
+        final Map<String, LoadedState> loaded = new HashMap<>();
+        final Set<String> written = new HashSet<>();
+    }
+
+    record LoadedState(JsonNode snapshot, List<DomainEvent> events, long version) {
+    }
+}
@@ -0,0 +1,230 @@
+package com.andara.infrastructure.repository;
+
+import com.andara.domain.AggregateId;
+import com.andara.domain.AggregateRoot;
+import com.andara.domain.AggregateType;
+import com.andara.domain.ConcurrencyException;
+import com.andara.domain.DomainEvent;
+import com.andara.infrastructure.EventPublisher;
+import com.andara.infrastructure.eventstore.EventStore;
+import com.andara.infrastructure.snapshot.Snapshot;
+import com.andara.infrastructure.snapshot.SnapshotRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AbstractEventSourcedRepositoryTest {
+
+    private static final AggregateId ID = AggregateId.of("counter-1");
+    private static final AggregateType TYPE = AggregateType.of("Counter");
+
+    private EventStore eventStore;
+    private SnapshotRepository snapshotRepository;
+    private CounterRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        eventStore = mock(EventStore.class);
+        snapshotRepository = mock(SnapshotRepository.class);
+        repository = new CounterRepository(eventStore, mock(EventPublisher.class), snapshotRepository);
+        when(snapshotRepository.findLatest(ID, TYPE)).thenReturn(Optional.empty());
+        doThrow(new ConcurrencyException("Aggregate counter-1 was modified concurrently"))
+            .when(eventStore).append(anyList());
+    }
+
+    @Test
+    void load_afterConflict_shouldCatchUpFromTheFailedAttemptsEvents() {
+        when(eventStore.getEvents(ID, TYPE, 0L)).thenReturn(List.of(added(1, 5), added(2, 7)));
+        when(eventStore.getEvents(ID, TYPE, 2L)).thenReturn(List.of(added(3, 11)));
+
+        Counter reloaded = AggregateReloadScope.call(() -> {
+            Counter first = repository.load("counter-1");
+            first.add(100);
+            assertThrows(ConcurrencyException.class, () -> repository.save(first, first.getUncommittedEvents()));
+            return repository.load("counter-1");
+        });
+
+        assertEquals(23, reloaded.total);
+        assertEquals(3, reloaded.getVersion());
+        assertTrue(reloaded.getUncommittedEvents().isEmpty());
+        verify(eventStore, times(1)).getEvents(ID, TYPE, 0L);
+        verify(eventStore, times(1)).getEvents(ID, TYPE, 2L);
+        verify(snapshotRepository, times(1)).findLatest(ID, TYPE);
+    }
+
+    @Test
+    void load_afterConflict_shouldRestoreFromTheStoredSnapshotTheFailedAttemptRead() {
+        ObjectNode data = JsonNodeFactory.instance.objectNode().put("total", 40).put("version", 10);
+        when(snapshotRepository.findLatest(ID, TYPE))
+            .thenReturn(Optional.of(new Snapshot(ID, TYPE, 10, data, Instant.now())));
+        when(eventStore.getEvents(ID, TYPE, 10L)).thenReturn(List.of(added(11, 2)));
+        when(eventStore.getEvents(ID, TYPE, 11L)).thenReturn(List.of(added(12, 3)));
+
+        Counter reloaded = AggregateReloadScope.call(() -> {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                Counter counter = repository.load("counter-1");
+                counter.add(1);
+                assertThrows(ConcurrencyException.class, () -> repository.save(counter, counter.getUncommittedEvents()));
+            }
+            return repository.load("counter-1");
+        });
+
+        assertEquals(45, reloaded.total);
+        assertEquals(12, reloaded.getVersion());
+        verify(snapshotRepository, times(1)).findLatest(ID, TYPE);
+        verify(eventStore, times(1)).getEvents(ID, TYPE, 10L);
+        verify(eventStore, times(1)).getEvents(ID, TYPE, 11L);
+        verify(eventStore, times(1)).getEvents(ID, TYPE, 12L);
+        verify(eventStore, never()).getEvents(ID, TYPE, 0L);
+    }
+
+    @Test
+    void load_afterSaveReloadAndConflict_shouldNotReplayRolledBackEvents() {
+        // First read, then the attempt's own uncommitted event, then what is committed after the rollback
+        when(eventStore.getEvents(ID, TYPE, 0L))
+            .thenReturn(List.of(added(1, 5), added(2, 7)))
+            .thenReturn(List.of(added(1, 5), added(2, 7), added(3, 100)))
+            .thenReturn(List.of(added(1, 5), added(2, 7), added(3, 11)));
+        when(eventStore.getEvents(ID, TYPE, 2L)).thenReturn(List.of(added(3, 100)));
+        doNothing()
+            .doThrow(new ConcurrencyException("Aggregate counter-1 was modified concurrently"))
+            .when(eventStore).append(anyList());
+
+        Counter retried = AggregateReloadScope.call(() -> {
+            Counter first = repository.load("counter-1");
+            first.add(100);
+            repository.save(first, first.getUncommittedEvents());
+            Counter reloaded = repository.load("counter-1");
+            reloaded.add(1);
+            assertThrows(ConcurrencyException.class, () -> repository.save(reloaded, reloaded.getUncommittedEvents()));
+            return repository.load("counter-1");
+        });
+
+        assertEquals(23, retried.total);
+        assertEquals(3, retried.getVersion());
+        verify(eventStore, times(3)).getEvents(ID, TYPE, 0L);
+        verify(eventStore, never()).getEvents(ID, TYPE, 2L);
+    }
+
+    @Test
+    void load_outsideScope_shouldReadTheStoreEveryTime() {
+        when(eventStore.getEvents(ID, TYPE, 0L)).thenReturn(List.of(added(1, 5)));
+
+        repository.load("counter-1");
+        Counter second = repository.load("counter-1");
+
+        assertEquals(5, second.total);
+        verify(eventStore, times(2)).getEvents(ID, TYPE, 0L);
+        verify(snapshotRepository, never()).saveSnapshot(any());
+    }
+
+    private static Added added(long version, int amount) {
+        return new Added(UUID.randomUUID(), "counter-1", version, amount);
+    }
+
+    private record Added(UUID eventId, String aggregateId, long version, int amount) implements DomainEvent {
+        @Override
+        public UUID getEventId() {
+            return eventId;
+        }
+
+        @Override
+        public String getEventType() {
+            return "Added";
+        }
+
+        @Override
+        public Instant getTimestamp() {
+            return Instant.EPOCH;
+        }
+
+        @Override
+        public String getAggregateId() {
+            return aggregateId;
+        }
+
+        @Override
+        public String getAggregateType() {
+            return "Counter";
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public Map<String, Object> getPayload() {
+            return Map.of("amount", amount);
+        }
+
+        @Override
+        public Map<String, String> getMetadata() {
+            return Map.of();
+        }
+    }
+
+    private static final class Counter extends AggregateRoot {
+        int total;
+
+        Counter(String id) {
+            this.id = id;
+        }
+
+        void add(int amount) {
+            applyEvent(new Added(UUID.randomUUID(), id, version + 1, amount));
+        }
+
+        @Override
+        protected void when(DomainEvent event) {
+            if (event instanceof Added added) {
+                total += added.amount();
+            }
+        }
+
+        @Override
+        public JsonNode toSnapshot() {
+            return JsonNodeFactory.instance.objectNode().put("total", total).put("version", version);
+        }
+
+        @Override
+        public void fromSnapshot(JsonNode snapshot) {
+            total = snapshot.get("total").asInt();
+            version = snapshot.get("version").asLong();
+        }
+    }
+
+    private static final class CounterRepository extends AbstractEventSourcedRepository<Counter, String> {
+        CounterRepository(EventStore eventStore, EventPublisher eventPublisher, SnapshotRepository snapshotRepository) {
+            super(eventStore, eventPublisher, snapshotRepository, 100);
+        }
+
+        @Override
+        protected AggregateId toAggregateId(String id) {
+            return AggregateId.of(id);
+        }
+
+        @Override
+        protected AggregateType getAggregateType() {
+            return TYPE;
+        }
+
+        @Override
+        protected Counter createEmpty(String id) {
+            return new Counter(id);
+        }
+    }
+}
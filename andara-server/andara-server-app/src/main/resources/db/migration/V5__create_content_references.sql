@@ -0,0 +1,15 @@
+-- Reverse-dependency index for content
+-- One row per reference from an active content item to another item, maintained on import
+
+CREATE TABLE content_references (
+    source_type     VARCHAR(100) NOT NULL,
+    source_id       VARCHAR(255) NOT NULL,
+    target_type     VARCHAR(100) NOT NULL,
+    target_id       VARCHAR(255) NOT NULL,
+    path            VARCHAR(255) NOT NULL,
+    
+    PRIMARY KEY (source_type, source_id, target_type, target_id, path)
+);
+
+-- "What references X" lookups
+CREATE INDEX idx_content_references_target ON content_references(target_type, target_id);
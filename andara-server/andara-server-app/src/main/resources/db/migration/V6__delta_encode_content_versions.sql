@@ -0,0 +1,12 @@
+-- Delta-encoded content version history
+-- The newest version of an item always keeps its full body in content_data. When a newer
+-- version is saved, the previous one is replaced by a reverse JSON patch (RFC 6902) in
+-- content_patch that turns the next version back into it. Every Nth version stays a full
+-- checkpoint so reconstructing an old version never replays more than N-1 patches.
+
+ALTER TABLE content_versions ALTER COLUMN content_data DROP NOT NULL;
+
+ALTER TABLE content_versions ADD COLUMN content_patch JSONB;
+
+ALTER TABLE content_versions ADD CONSTRAINT chk_content_versions_body
+    CHECK (content_data IS NOT NULL OR content_patch IS NOT NULL);